@@ -0,0 +1,58 @@
+package com.rrlira96.origininsurancebackend;
+
+import com.rrlira96.origininsurancebackend.config.AuditConfig;
+import com.rrlira96.origininsurancebackend.config.BinaryProtocolConfig;
+import com.rrlira96.origininsurancebackend.config.ConcurrencyLimitConfig;
+import com.rrlira96.origininsurancebackend.config.ExecutionModeConfig;
+import com.rrlira96.origininsurancebackend.config.JacksonConfig;
+import com.rrlira96.origininsurancebackend.config.MetricsConfig;
+import com.rrlira96.origininsurancebackend.config.ProfilingConfig;
+import com.rrlira96.origininsurancebackend.config.ReactiveModeConfig;
+import com.rrlira96.origininsurancebackend.config.ScoringEngineConfig;
+import com.rrlira96.origininsurancebackend.config.ShadowConfig;
+import com.rrlira96.origininsurancebackend.config.ValidationConfig;
+import com.rrlira96.origininsurancebackend.config.WarmUpConfig;
+import com.rrlira96.origininsurancebackend.config.WebConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Entry point of the {@code fast-startup} profile. Serves the same API as {@link OriginInsuranceBackendApplication}
+ * without classpath scanning: the configuration classes are imported explicitly, the components are registered by
+ * {@link FastStartupInitializer} and beans off the request path are created on first use.
+ * <p>
+ * With {@code --fast-startup.exit-after-startup=true} the application exits as soon as it is ready, which is how the
+ * {@code fast-startup} Maven profile records the classes to put in the class-data sharing archive.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@Import({MetricsConfig.class, ScoringEngineConfig.class, ValidationConfig.class, JacksonConfig.class,
+        WebConfig.class, ExecutionModeConfig.class, ReactiveModeConfig.class, AuditConfig.class, ShadowConfig.class,
+        BinaryProtocolConfig.class, ConcurrencyLimitConfig.class, ProfilingConfig.class, WarmUpConfig.class})
+@Profile(FastStartupApplication.PROFILE)
+public class FastStartupApplication {
+    private static Logger logger = LoggerFactory.getLogger(FastStartupApplication.class);
+
+    static final String PROFILE = "fast-startup";
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FastStartupApplication.class)
+                .profiles(PROFILE)
+                .initializers(new FastStartupInitializer())
+                .run(args);
+        if (context instanceof WebServerApplicationContext) logger.info("API is ready");
+
+        if (context.getEnvironment().getProperty("fast-startup.exit-after-startup", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+}
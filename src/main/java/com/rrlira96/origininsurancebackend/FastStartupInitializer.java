@@ -0,0 +1,73 @@
+package com.rrlira96.origininsurancebackend;
+
+import com.rrlira96.origininsurancebackend.audit.AuditReplayRunner;
+import com.rrlira96.origininsurancebackend.bulk.BulkScoringRunner;
+import com.rrlira96.origininsurancebackend.bulk.PortfolioLoadRunner;
+import com.rrlira96.origininsurancebackend.controller.MetricsController;
+import com.rrlira96.origininsurancebackend.controller.ProfilingController;
+import com.rrlira96.origininsurancebackend.controller.ReadinessController;
+import com.rrlira96.origininsurancebackend.controller.RiskProfileController;
+import com.rrlira96.origininsurancebackend.controller.ShadowController;
+import com.rrlira96.origininsurancebackend.controller.exceptions.RestExceptionHandler;
+import com.rrlira96.origininsurancebackend.metrics.ParseTimingAdvice;
+import com.rrlira96.origininsurancebackend.portfolio.PortfolioStore;
+import com.rrlira96.origininsurancebackend.profiling.JfrEventStream;
+import com.rrlira96.origininsurancebackend.service.RiskProfileBatchService;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import com.rrlira96.origininsurancebackend.sweep.RiskProfileSweepService;
+import com.rrlira96.origininsurancebackend.warmup.WarmUp;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers the components that {@link OriginInsuranceBackendApplication} finds by classpath scanning, with their
+ * conditions ({@code @Profile}, {@code @ConditionalOnProperty}, ...) evaluated from their annotations as scanning
+ * would; a new component has to be added to this list as well.
+ * <p>
+ * The scoring engine and the user validator are kept out of lazy initialization so the first request does not pay
+ * for building them, and so are the portfolio store, which has to follow rule-set changes from startup, the JFR
+ * event stream, which has to count from startup, and the warm-up and application availability, which have to see the
+ * startup events.
+ */
+public class FastStartupInitializer implements ApplicationContextInitializer<GenericApplicationContext> {
+
+    @Override
+    public void initialize(GenericApplicationContext context) {
+        Environment environment = context.getEnvironment();
+        AnnotatedBeanDefinitionReader components = new AnnotatedBeanDefinitionReader(context, environment);
+
+        components.registerBean(RiskProfileService.class, "riskProfileService", RiskProfileService::new);
+        components.registerBean(RiskProfileBatchService.class, "riskProfileBatchService");
+        components.registerBean(RiskProfileSweepService.class, "riskProfileSweepService");
+        components.registerBean(RestExceptionHandler.class, "restExceptionHandler");
+        components.registerBean(ReadinessController.class, "readinessController", ReadinessController::new);
+        components.registerBean(RiskProfileController.class, "riskProfileController", RiskProfileController::new);
+        components.registerBean(MetricsController.class, "metricsController", MetricsController::new);
+        components.registerBean(ParseTimingAdvice.class, "parseTimingAdvice");
+        components.registerBean(ProfilingController.class, "profilingController", ProfilingController::new);
+        components.registerBean(ShadowController.class, "shadowController", ShadowController::new);
+        components.registerBean(BulkScoringRunner.class, "bulkScoringRunner");
+        components.registerBean(PortfolioLoadRunner.class, "portfolioLoadRunner");
+        components.registerBean(AuditReplayRunner.class, "auditReplayRunner");
+
+        // The controller is lazy here, so its token is checked up front as the scanned application does.
+        if (context.containsBeanDefinition("profilingController")) {
+            ProfilingController.requireUsableToken(environment.getProperty("risk-profile.jfr.token"));
+        }
+
+        context.registerBean("requestPathLazyInitializationExcludeFilter", LazyInitializationExcludeFilter.class,
+                () -> (beanName, beanDefinition, beanType) ->
+                        beanName.equals("userValidator")
+                                || beanType != null && (RiskProfileEngine.class.isAssignableFrom(beanType)
+                                || PortfolioStore.class.isAssignableFrom(beanType)
+                                || JfrEventStream.class.isAssignableFrom(beanType)
+                                || WarmUp.class.isAssignableFrom(beanType)
+                                || ApplicationAvailability.class.isAssignableFrom(beanType)));
+    }
+
+}
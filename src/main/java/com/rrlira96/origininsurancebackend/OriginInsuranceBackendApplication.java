@@ -4,6 +4,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 
 
 @SpringBootApplication
@@ -11,8 +13,8 @@ public class OriginInsuranceBackendApplication {
     private static Logger logger = LoggerFactory.getLogger(OriginInsuranceBackendApplication.class);
 
     public static void main(String[] args) {
-        SpringApplication.run(OriginInsuranceBackendApplication.class, args);
-        logger.info("API is ready");
+        ConfigurableApplicationContext context = SpringApplication.run(OriginInsuranceBackendApplication.class, args);
+        if (context instanceof WebServerApplicationContext) logger.info("API is ready");
     }
 
 }
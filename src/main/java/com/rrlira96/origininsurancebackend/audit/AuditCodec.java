@@ -0,0 +1,138 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+import com.rrlira96.origininsurancebackend.model.House;
+import com.rrlira96.origininsurancebackend.model.MaritalStatus;
+import com.rrlira96.origininsurancebackend.model.OwnershipStatus;
+import com.rrlira96.origininsurancebackend.model.RiskAnswers;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.Vehicle;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary format of the audit log. Each record is a frame:
+ *
+ * <pre>
+ *  int     body length, written last: 0 marks the end of the written part of a segment
+ *  int     CRC-32 of the body
+ *  body:
+ *  varlong timestamp, epoch milliseconds
+ *  varint  age, dependents, income
+ *  byte    bit 0 married, bits 1-2 house (none, owned, mortgaged), bit 3 has a vehicle
+ *  varint  vehicle year, only when there is a vehicle
+ *  varint  number of risk answers, then each answer
+ *  byte    RiskProfile code
+ * </pre>
+ *
+ * Integers are zig-zag varints, so a typical record takes about 20 bytes. Frames are little-endian. A frame whose
+ * length runs past the segment or whose CRC does not match was cut short by a crash and ends the segment.
+ */
+final class AuditCodec {
+
+    static final int HEADER = 8;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int MARRIED = 1;
+    private static final int OWNED = 1 << 1;
+    private static final int MORTGAGED = 2 << 1;
+    private static final int HOUSE = 3 << 1;
+    private static final int VEHICLE = 1 << 3;
+
+    private AuditCodec() {
+    }
+
+    static void encode(ByteBuffer body, long timestamp, User user, RiskProfile riskProfile) {
+        putVarLong(body, timestamp);
+        putVarInt(body, user.getAge());
+        putVarInt(body, user.getDependents());
+        putVarInt(body, user.getIncome());
+        House house = user.getHouse();
+        int flags = user.getMaritalStatus() == MaritalStatus.married ? MARRIED : 0;
+        if (house != null) flags |= house.getOwnershipStatus() == OwnershipStatus.mortgaged ? MORTGAGED : OWNED;
+        Vehicle vehicle = user.getVehicle();
+        if (vehicle != null) flags |= VEHICLE;
+        body.put((byte) flags);
+        if (vehicle != null) putVarInt(body, vehicle.getYear());
+        List<Integer> answers = user.getRiskAnswers();
+        putVarInt(body, answers.size());
+        for (Integer answer : answers) putVarInt(body, answer);
+        body.put((byte) riskProfile.code());
+    }
+
+    /**
+     * @return an upper bound of the body length of {@code user}'s record, with every varint at its longest
+     */
+    static int maxLength(User user) {
+        List<Integer> answers = user.getRiskAnswers();
+        return 10 + 5 * 3 + 1 + 5 + 5 + 5 * (answers == null ? 0 : answers.size()) + 1;
+    }
+
+    static AuditRecord decode(long sequence, ByteBuffer body) {
+        long timestamp = getVarLong(body);
+        int age = getVarInt(body);
+        int dependents = getVarInt(body);
+        int income = getVarInt(body);
+        int flags = body.get();
+        Vehicle vehicle = (flags & VEHICLE) != 0 ? new Vehicle(getVarInt(body)) : null;
+        int[] answers = new int[getVarInt(body)];
+        for (int i = 0; i < answers.length; i++) answers[i] = getVarInt(body);
+        RiskProfile riskProfile = RiskProfile.fromCode(body.get() & 0xFF);
+
+        House house = null;
+        if ((flags & HOUSE) == OWNED) house = new House(OwnershipStatus.owned);
+        else if ((flags & HOUSE) == MORTGAGED) house = new House(OwnershipStatus.mortgaged);
+        User user = new User(age, dependents, house, income,
+                (flags & MARRIED) != 0 ? MaritalStatus.married : MaritalStatus.single, new RiskAnswers(answers),
+                vehicle);
+        return new AuditRecord(sequence, timestamp, user, riskProfile);
+    }
+
+    static int crc(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @return the body length of the valid frame at {@code position} of {@code segment}, or -1 if there is none
+     */
+    static int frameLength(ByteBuffer segment, int position) {
+        if (segment.limit() - position < HEADER) return -1;
+        int length = segment.getInt(position);
+        if (length <= 0 || length > segment.limit() - position - HEADER) return -1;
+        ByteBuffer body = segment.duplicate().position(position + HEADER).limit(position + HEADER + length);
+        return crc(body) == segment.getInt(position + 4) ? length : -1;
+    }
+
+    private static void putVarInt(ByteBuffer out, int value) {
+        putVarLong(out, value);
+    }
+
+    private static void putVarLong(ByteBuffer out, long value) {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.put((byte) (zigZag & 0x7F | 0x80));
+            zigZag >>>= 7;
+        }
+        out.put((byte) zigZag);
+    }
+
+    private static int getVarInt(ByteBuffer in) {
+        return (int) getVarLong(in);
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long zigZag = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if (b >= 0) break;
+        }
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+}
@@ -0,0 +1,288 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+import com.rrlira96.origininsurancebackend.controller.exceptions.LogRateLimiter;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only log of every scoring decision. Request threads only {@link #publish} into an {@link AuditRingBuffer};
+ * one writer thread drains it in batches, encodes each record with {@link AuditCodec} into the current memory-mapped
+ * segment and forces the segment to disk according to the {@link FsyncPolicy}. When the writer falls behind and the
+ * buffer fills up, the {@link OverflowPolicy} decides between waiting, dropping and failing the request.
+ * <p>
+ * A record that could never fit in a segment is refused by {@link #publish}, and one that fails to encode is skipped
+ * and counted, so a single bad record does not stop the log. If a write fails (e.g. the disk is full) the writer
+ * stops and logs the error, and {@link #isWriterUp()} turns false for the readiness probe: records published from
+ * then on stay in the buffer until it is full, then get the overflow policy. {@link AuditLogReader} reads the log
+ * back.
+ */
+public class AuditLog implements Closeable {
+
+    private static Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final int MAX_BATCH = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final User MIN_SIZED_USER = new User(0, 0, null, 0, null, List.of(0, 0, 0), null);
+
+    private final AuditRingBuffer<Entry> buffer;
+    private final AuditSegments segments;
+    private final int maxRecordLength;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Thread writer;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong unencodable = new AtomicLong();
+    private final LogRateLimiter unencodableLog = new LogRateLimiter(logger, 10, Duration.ofMinutes(1));
+    private final AtomicLong fsyncs = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+    private volatile boolean failed;
+
+    private ByteBuffer body = ByteBuffer.allocate(256);
+    private long lastForceNanos = System.nanoTime();
+    private boolean dirty;
+
+    public AuditLog(Path directory, int bufferSize, int segmentSize, FsyncPolicy fsyncPolicy, Duration fsyncInterval,
+                    OverflowPolicy overflowPolicy, Duration blockTimeout) throws IOException {
+        this.maxRecordLength = segmentSize - AuditCodec.HEADER;
+        if (maxRecordLength < AuditCodec.maxLength(MIN_SIZED_USER)) {
+            throw new IllegalArgumentException("Audit segments of " + segmentSize + " bytes cannot hold a record");
+        }
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.segments = new AuditSegments(directory, segmentSize);
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.writer = new Thread(this::write, "audit-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Audit log in {} continues at sequence {}", directory, segments.nextSequence());
+    }
+
+    /**
+     * Queues a decision for the writer without blocking, unless the buffer is full and the policy is
+     * {@link OverflowPolicy#block}.
+     *
+     * @throws AuditLogFullException    if the buffer is full and the policy is {@link OverflowPolicy#reject}, or
+     *                                  {@link OverflowPolicy#block} and no space was freed in time
+     * @throws IllegalArgumentException if the record could be too long for a segment
+     */
+    public void publish(User user, RiskProfile riskProfile) {
+        publish(user, riskProfile, overflowPolicy);
+    }
+
+    /**
+     * Same as {@link #publish}, but never waits: with {@link OverflowPolicy#block}, a full buffer rejects at once. For
+     * callers such as event loops that must not park.
+     */
+    public void tryPublish(User user, RiskProfile riskProfile) {
+        publish(user, riskProfile, overflowPolicy == OverflowPolicy.block ? OverflowPolicy.reject : overflowPolicy);
+    }
+
+    private void publish(User user, RiskProfile riskProfile, OverflowPolicy overflowPolicy) {
+        if (AuditCodec.maxLength(user) > maxRecordLength) {
+            oversized.increment();
+            throw new IllegalArgumentException("Audit record for " + user.getRiskAnswers().size()
+                    + " risk answers does not fit in a segment");
+        }
+        Entry entry = new Entry(System.currentTimeMillis(), user, riskProfile);
+        if (!buffer.offer(entry)) {
+            overflow(entry, overflowPolicy);
+            if (overflowPolicy == OverflowPolicy.shed) return;
+        }
+        published.increment();
+        if (writerParked) LockSupport.unpark(writer);
+    }
+
+    public void writeTo(StringBuilder out) {
+        out.append("# HELP risk_profile_audit_records_total Scoring decisions sent to the audit log, by outcome.\n");
+        out.append("# TYPE risk_profile_audit_records_total counter\n");
+        out.append("risk_profile_audit_records_total{outcome=\"published\"} ").append(published.sum()).append('\n');
+        out.append("risk_profile_audit_records_total{outcome=\"written\"} ").append(written.get()).append('\n');
+        out.append("risk_profile_audit_records_total{outcome=\"shed\"} ").append(shed.sum()).append('\n');
+        out.append("risk_profile_audit_records_total{outcome=\"rejected\"} ").append(rejected.sum()).append('\n');
+        out.append("risk_profile_audit_records_total{outcome=\"oversized\"} ").append(oversized.sum()).append('\n');
+        out.append("risk_profile_audit_records_total{outcome=\"unencodable\"} ").append(unencodable.get())
+                .append('\n');
+        out.append("# HELP risk_profile_audit_fsyncs_total Forced writes of the audit log to disk.\n");
+        out.append("# TYPE risk_profile_audit_fsyncs_total counter\n");
+        out.append("risk_profile_audit_fsyncs_total ").append(fsyncs.get()).append('\n');
+        out.append("# HELP risk_profile_audit_buffer_records Records waiting for the audit log writer.\n");
+        out.append("# TYPE risk_profile_audit_buffer_records gauge\n");
+        out.append("risk_profile_audit_buffer_records ").append(buffer.size()).append('\n');
+        out.append("# HELP risk_profile_audit_writer_up Whether the audit log writer is running.\n");
+        out.append("# TYPE risk_profile_audit_writer_up gauge\n");
+        out.append("risk_profile_audit_writer_up ").append(failed ? 0 : 1).append('\n');
+    }
+
+    /**
+     * Whether the writer is still running, i.e. has not stopped on a failed write.
+     */
+    public boolean isWriterUp() {
+        return !failed;
+    }
+
+    long written() {
+        return written.get();
+    }
+
+    long unencodable() {
+        return unencodable.get();
+    }
+
+    long oversized() {
+        return oversized.sum();
+    }
+
+    long shed() {
+        return shed.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Writes every record published so far and forces the segment to disk.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        segments.close();
+    }
+
+    private void overflow(Entry entry, OverflowPolicy overflowPolicy) {
+        switch (overflowPolicy) {
+            case shed:
+                shed.increment();
+                return;
+            case block:
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                do {
+                    LockSupport.unpark(writer);
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (buffer.offer(entry)) return;
+                } while (System.nanoTime() - deadline < 0);
+                break;
+            default:
+                break;
+        }
+        rejected.increment();
+        throw new AuditLogFullException("Audit log buffer is full (" + buffer.capacity() + " records)");
+    }
+
+    private void write() {
+        try {
+            while (running || !buffer.isEmpty()) {
+                int drained = buffer.drain(this::append, MAX_BATCH);
+                if (drained > 0) dirty = true;
+                if (dirty && fsyncDue()) force();
+                if (drained == 0) idle();
+            }
+        } catch (RuntimeException ex) {
+            failed = true;
+            logger.error("Audit log writer stopped at sequence {}; decisions are no longer recorded.",
+                    segments.nextSequence(), ex);
+        }
+    }
+
+    private boolean fsyncDue() {
+        switch (fsyncPolicy) {
+            case batch:
+                return true;
+            case interval:
+                return System.nanoTime() - lastForceNanos >= fsyncIntervalNanos;
+            default:
+                return false;
+        }
+    }
+
+    private void force() {
+        segments.force();
+        fsyncs.incrementAndGet();
+        lastForceNanos = System.nanoTime();
+        dirty = false;
+    }
+
+    private void idle() {
+        long parkNanos = IDLE_PARK_NANOS;
+        if (dirty && fsyncPolicy == FsyncPolicy.interval) {
+            parkNanos = Math.min(parkNanos, fsyncIntervalNanos - (System.nanoTime() - lastForceNanos));
+        }
+        writerParked = true;
+        if (running && buffer.isEmpty() && parkNanos > 0) LockSupport.parkNanos(parkNanos);
+        writerParked = false;
+    }
+
+    private void append(Entry entry) {
+        try {
+            encode(entry);
+            segments.append(body, AuditCodec.crc(body));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (RuntimeException ex) {
+            // Only this record is lost; the writer carries on with the next one
+            unencodable.incrementAndGet();
+            if (unencodableLog.tryAcquire()) logger.error("Skipped an audit record that could not be encoded.", ex);
+            return;
+        }
+        written.incrementAndGet();
+    }
+
+    private void encode(Entry entry) {
+        while (true) {
+            body.clear();
+            try {
+                AuditCodec.encode(body, entry.timestamp, entry.user, entry.riskProfile);
+                break;
+            } catch (BufferOverflowException ex) {
+                body = ByteBuffer.allocate(body.capacity() * 2);
+            }
+        }
+        body.flip();
+    }
+
+    private static final class Entry {
+        private final long timestamp;
+        private final User user;
+        private final RiskProfile riskProfile;
+
+        private Entry(long timestamp, User user, RiskProfile riskProfile) {
+            this.timestamp = timestamp;
+            this.user = user;
+            this.riskProfile = riskProfile;
+        }
+    }
+
+}
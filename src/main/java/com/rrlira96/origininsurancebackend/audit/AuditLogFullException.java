@@ -0,0 +1,13 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+/**
+ * Thrown when a scoring decision cannot be published to the audit log, so the request fails instead of returning a
+ * decision that is not recorded.
+ */
+public class AuditLogFullException extends RuntimeException {
+
+    public AuditLogFullException(String message) {
+        super(message);
+    }
+
+}
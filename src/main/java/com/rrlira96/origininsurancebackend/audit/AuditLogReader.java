@@ -0,0 +1,90 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the records of an audit log directory in sequence order, starting at a given sequence. Safe to use while an
+ * {@link AuditLog} is writing to the same directory: it reads up to the last complete record it finds.
+ */
+public class AuditLogReader implements Iterator<AuditRecord>, Closeable {
+
+    private final List<Path> segments;
+    private final long fromSequence;
+    private int nextSegment;
+    private ByteBuffer segment;
+    private int position;
+    private long sequence;
+    private AuditRecord next;
+
+    public AuditLogReader(Path directory) throws IOException {
+        this(directory, 0);
+    }
+
+    public AuditLogReader(Path directory, long fromSequence) throws IOException {
+        this.segments = AuditSegments.list(directory);
+        this.fromSequence = fromSequence;
+        // Start at the last segment that begins at or before fromSequence
+        while (nextSegment + 1 < segments.size()
+                && AuditSegments.firstSequence(segments.get(nextSegment + 1)) <= fromSequence) {
+            nextSegment++;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                if (segment == null && !openNextSegment()) return false;
+                int length = AuditCodec.frameLength(segment, position);
+                if (length < 0) {
+                    segment = null;
+                    continue;
+                }
+                int bodyStart = position + AuditCodec.HEADER;
+                position = bodyStart + length;
+                long recordSequence = sequence++;
+                if (recordSequence < fromSequence) continue;
+                next = AuditCodec.decode(recordSequence,
+                        segment.duplicate().position(bodyStart).limit(bodyStart + length));
+            }
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public AuditRecord next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        AuditRecord record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void close() {
+        segment = null;
+        nextSegment = segments.size();
+    }
+
+    private boolean openNextSegment() throws IOException {
+        if (nextSegment >= segments.size()) return false;
+        Path file = segments.get(nextSegment++);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(AuditCodec.ORDER);
+        }
+        position = 0;
+        sequence = AuditSegments.firstSequence(file);
+        return true;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+
+/**
+ * One scoring decision read back from the audit log. Sequences start at 0 and have no gaps.
+ */
+public final class AuditRecord {
+
+    private final long sequence;
+    private final long timestamp;
+    private final User user;
+    private final RiskProfile riskProfile;
+
+    AuditRecord(long sequence, long timestamp, User user, RiskProfile riskProfile) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.user = user;
+        this.riskProfile = riskProfile;
+    }
+
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Epoch millisecond at which the decision was published.
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    public User user() {
+        return user;
+    }
+
+    public RiskProfile riskProfile() {
+        return riskProfile;
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replays the audit log when the application runs with the {@code audit-replay} profile: every recorded user from
+ * {@code audit-replay.from-sequence} on is scored again with the configured engine and rules, and the decisions that
+ * come out differently are counted and written to {@code audit-replay.output} as NDJSON, e.g.
+ * {@code java -jar app.jar --spring.profiles.active=audit-replay --audit-replay.directory=audit
+ * --risk-profile.engine=rule-set --risk-profile.rules.file=next.properties --audit-replay.output=diff.ndjson}.
+ * With {@code audit-replay.only-changed=false} every record is written, which exports the log.
+ */
+@Component
+@Profile("audit-replay")
+public class AuditReplayRunner implements CommandLineRunner {
+
+    private static Logger logger = LoggerFactory.getLogger(AuditReplayRunner.class);
+
+    private final RiskProfileEngine riskProfileEngine;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final String output;
+    private final long fromSequence;
+    private final boolean onlyChanged;
+
+    public AuditReplayRunner(RiskProfileEngine riskProfileEngine, ObjectMapper objectMapper,
+                             @Value("${audit-replay.directory:${risk-profile.audit.directory:audit}}") Path directory,
+                             @Value("${audit-replay.output:}") String output,
+                             @Value("${audit-replay.from-sequence:0}") long fromSequence,
+                             @Value("${audit-replay.only-changed:true}") boolean onlyChanged) {
+        this.riskProfileEngine = riskProfileEngine;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.output = output;
+        this.fromSequence = fromSequence;
+        this.onlyChanged = onlyChanged;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long records = 0;
+        long changed = 0;
+        long started = System.nanoTime();
+        try (AuditLogReader reader = new AuditLogReader(directory, fromSequence);
+             OutputStream out = output.isEmpty()
+                     ? OutputStream.nullOutputStream()
+                     : new BufferedOutputStream(Files.newOutputStream(Path.of(output)), 1 << 16)) {
+            while (reader.hasNext()) {
+                AuditRecord record = reader.next();
+                RiskProfile replayed = riskProfileEngine.buildRiskProfile(record.user());
+                records++;
+                boolean differs = replayed != record.riskProfile();
+                if (differs) changed++;
+                if (differs || !onlyChanged) {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("sequence", record.sequence());
+                    line.put("timestamp", Instant.ofEpochMilli(record.timestamp()).toString());
+                    line.put("user", record.user());
+                    line.put("recorded", record.riskProfile());
+                    line.put("replayed", replayed);
+                    out.write(objectMapper.writeValueAsBytes(line));
+                    out.write('\n');
+                }
+            }
+        }
+
+        logger.info("Replayed {} audit records from {} in {} s: {} decisions differ", records, directory,
+                String.format("%.2f", (System.nanoTime() - started) / 1e9), changed);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free queue for many producers and one consumer. A producer claims a sequence with a compare-and-set
+ * on the tail, as long as the slot it maps to has been consumed, then publishes its element into the slot; the
+ * consumer takes elements in sequence order and stops at the first slot not published yet.
+ */
+final class AuditRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    AuditRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+        this.mask = slots.length() - 1;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return false, without waiting, when the buffer is full
+     */
+    boolean offer(E element) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length()) return false;
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.lazySet((int) sequence & mask, element);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code limit} elements to {@code consumer}. Only called from the consumer thread.
+     *
+     * @return the number of elements taken
+     */
+    int drain(Consumer<E> consumer, int limit) {
+        long sequence = head.get();
+        int taken = 0;
+        while (taken < limit) {
+            int index = (int) sequence & mask;
+            E element = slots.get(index);
+            if (element == null) break;
+            slots.lazySet(index, null);
+            head.lazySet(++sequence);
+            taken++;
+            consumer.accept(element);
+        }
+        return taken;
+    }
+
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Appends frames to memory-mapped segment files of a fixed size, named after the sequence of their first record
+ * ({@code audit-00000000000000000000.log}), and starts a new segment when a frame does not fit. On opening, the last
+ * segment is scanned to its end to find where to continue; a frame cut short by a crash is erased.
+ */
+final class AuditSegments implements Closeable {
+
+    private static Logger logger = LoggerFactory.getLogger(AuditSegments.class);
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private MappedByteBuffer segment;
+    private long nextSequence;
+
+    AuditSegments(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+
+        List<Path> segments = list(directory);
+        if (segments.isEmpty()) {
+            segment = map(directory, 0, segmentSize);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        segment = map(directory, firstSequence(last), (int) Files.size(last));
+        long records = 0;
+        int position = 0;
+        int length;
+        while ((length = AuditCodec.frameLength(segment, position)) >= 0) {
+            position += AuditCodec.HEADER + length;
+            records++;
+        }
+        boolean erased = false;
+        for (int i = position; i < segment.limit(); i++) {
+            if (segment.get(i) == 0) continue;
+            segment.put(i, (byte) 0);
+            erased = true;
+        }
+        if (erased) logger.warn("Erased an incomplete audit record at offset {} of {}", position, last);
+        segment.position(position);
+        nextSequence = firstSequence(last) + records;
+    }
+
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Writes the frame of {@code body} (from its position to its limit), rolling to a new segment if it does not fit.
+     */
+    void append(ByteBuffer body, int crc) throws IOException {
+        int length = body.remaining();
+        if (AuditCodec.HEADER + length > segmentSize) {
+            throw new IllegalArgumentException("Audit record of " + length + " bytes does not fit in a segment");
+        }
+        if (segment.remaining() < AuditCodec.HEADER + length) {
+            segment.force();
+            segment = map(directory, nextSequence, segmentSize);
+        }
+        int position = segment.position();
+        segment.position(position + AuditCodec.HEADER);
+        segment.put(body);
+        segment.putInt(position + 4, crc);
+        // The length goes in last: until then the frame reads as the end of the segment
+        segment.putInt(position, length);
+        nextSequence++;
+    }
+
+    void force() {
+        segment.force();
+    }
+
+    @Override
+    public void close() {
+        segment.force();
+    }
+
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static MappedByteBuffer map(Path directory, long firstSequence, int size) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            mapped.order(AuditCodec.ORDER);
+            return mapped;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.warmup.WarmUpTraffic;
+
+/**
+ * Publishes every risk profile built by the delegate, with its user, to the {@link AuditLog} before returning it.
+ * {@link WarmUpTraffic} is not audited.
+ */
+public class AuditedRiskProfileEngine implements RiskProfileEngine {
+
+    private final RiskProfileEngine delegate;
+    private final AuditLog auditLog;
+    private final boolean mayBlock;
+
+    public AuditedRiskProfileEngine(RiskProfileEngine delegate, AuditLog auditLog) {
+        this(delegate, auditLog, true);
+    }
+
+    private AuditedRiskProfileEngine(RiskProfileEngine delegate, AuditLog auditLog, boolean mayBlock) {
+        this.delegate = delegate;
+        this.auditLog = auditLog;
+        this.mayBlock = mayBlock;
+    }
+
+    /**
+     * The same engine, publishing with {@link AuditLog#tryPublish} so a full buffer throws
+     * {@link AuditLogFullException} at once instead of parking the calling thread.
+     */
+    public AuditedRiskProfileEngine nonBlocking() {
+        return new AuditedRiskProfileEngine(delegate, auditLog, false);
+    }
+
+    @Override
+    public RiskProfile buildRiskProfile(User user) {
+        RiskProfile riskProfile = delegate.buildRiskProfile(user);
+        if (WarmUpTraffic.isCurrent()) return riskProfile;
+        if (mayBlock) auditLog.publish(user, riskProfile);
+        else auditLog.tryPublish(user, riskProfile);
+        return riskProfile;
+    }
+
+}
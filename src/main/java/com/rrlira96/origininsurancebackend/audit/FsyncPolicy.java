@@ -0,0 +1,19 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+/**
+ * When {@link AuditLog} forces written records from the page cache to disk.
+ */
+public enum FsyncPolicy {
+    /**
+     * After every batch the writer drains from the ring buffer, so concurrent requests share one fsync.
+     */
+    batch,
+    /**
+     * At most once per {@code fsync-interval}, bounding what a power loss can take to that interval.
+     */
+    interval,
+    /**
+     * Only when a segment is full and on close; a process crash loses nothing, a power loss can.
+     */
+    none
+}
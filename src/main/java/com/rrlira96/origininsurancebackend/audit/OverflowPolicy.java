@@ -0,0 +1,19 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+/**
+ * What {@link AuditLog#publish} does when the ring buffer is full because the writer is falling behind.
+ */
+public enum OverflowPolicy {
+    /**
+     * Waits for space for up to {@code block-timeout}, then rejects: requests slow down with the disk.
+     */
+    block,
+    /**
+     * Drops the record and counts it: requests are never slowed down, the log can have gaps.
+     */
+    shed,
+    /**
+     * Throws {@link AuditLogFullException} at once, so the request fails with 503 and can be retried.
+     */
+    reject
+}
@@ -0,0 +1,147 @@
+package com.rrlira96.origininsurancebackend.binary;
+
+import com.rrlira96.origininsurancebackend.model.House;
+import com.rrlira96.origininsurancebackend.model.MaritalStatus;
+import com.rrlira96.origininsurancebackend.model.OwnershipStatus;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.Vehicle;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Fixed-layout encoding of the risk-profile API for {@link BinaryScoringServer}. Integers are big-endian.
+ * <p>
+ * Request, {@value #REQUEST_LENGTH} bytes:
+ * <pre>
+ *  0  int   age
+ *  4  int   dependents
+ *  8  int   income
+ * 12  int   vehicle year, 0 for no vehicle
+ * 16  byte  house: 0 none, 1 owned, 2 mortgaged
+ * 17  byte  marital status: 0 single, 1 married
+ * 18  byte  risk answers: bit i is answer i, for i in 0..2
+ * 19  byte  reserved, 0
+ * </pre>
+ * Response, {@value #RESPONSE_LENGTH} bytes: the {@code InsurancePlan} ordinals of auto, disability, home and life,
+ * or {@code 0xFF 0xFF} followed by a 16-bit mask of the rejected fields ({@code AGE}, {@code DEPENDENTS}, ...) when
+ * the request does not decode or does not pass the same validation as a JSON {@link User}, or {@code 0xFF 0xFE 0 0}
+ * ({@link #UNAVAILABLE}) when it could not be scored for now, e.g. because the audit log is full, and should be retried.
+ */
+public final class BinaryProtocol {
+
+    public static final int REQUEST_LENGTH = 20;
+    public static final int RESPONSE_LENGTH = 4;
+
+    public static final int INVALID = 0xFFFF0000;
+    public static final int UNAVAILABLE = 0xFFFE0000;
+    public static final int AGE = 1;
+    public static final int DEPENDENTS = 1 << 1;
+    public static final int INCOME = 1 << 2;
+    public static final int HOUSE = 1 << 3;
+    public static final int MARITAL_STATUS = 1 << 4;
+    public static final int RISK_QUESTIONS = 1 << 5;
+    public static final int RESERVED = 1 << 6;
+
+    private static final OwnershipStatus[] OWNERSHIP = {OwnershipStatus.owned, OwnershipStatus.mortgaged};
+    private static final List<List<Integer>> RISK_ANSWERS = List.of(List.of(0, 0, 0), List.of(1, 0, 0),
+            List.of(0, 1, 0), List.of(1, 1, 0), List.of(0, 0, 1), List.of(1, 0, 1), List.of(0, 1, 1), List.of(1, 1, 1));
+
+    private BinaryProtocol() {
+    }
+
+    /**
+     * Encodes {@code user} at the buffer's position and advances it by {@value #REQUEST_LENGTH}. Risk answers other
+     * than 0 and 1 cannot be encoded.
+     */
+    public static void encode(User user, ByteBuffer out) {
+        List<Integer> riskAnswers = user.getRiskAnswers();
+        int answers = 0;
+        for (int i = 0; i < riskAnswers.size(); i++) {
+            int answer = riskAnswers.get(i);
+            if (answer != 0 && answer != 1) throw new IllegalArgumentException("Risk answers must be 0 or 1");
+            answers |= answer << i;
+        }
+        House house = user.getHouse();
+        out.putInt(user.getAge())
+                .putInt(user.getDependents())
+                .putInt(user.getIncome())
+                .putInt(user.getVehicle() == null ? 0 : user.getVehicle().getYear())
+                .put((byte) (house == null ? 0 : house.getOwnershipStatus() == OwnershipStatus.mortgaged ? 2 : 1))
+                .put((byte) user.getMaritalStatus().ordinal())
+                .put((byte) answers)
+                .put((byte) 0);
+    }
+
+    /**
+     * Decodes, validates and scores the request at the buffer's position, advancing it by {@value #REQUEST_LENGTH}.
+     *
+     * @return the response, as an int to write big-endian
+     */
+    static int score(ByteBuffer in, RiskProfileEngine riskProfileEngine, Validator userValidator) {
+        int age = in.getInt();
+        int dependents = in.getInt();
+        int income = in.getInt();
+        int vehicleYear = in.getInt();
+        int house = in.get();
+        int maritalStatus = in.get();
+        int answers = in.get();
+        int reserved = in.get();
+
+        int unreadable = 0;
+        if (house < 0 || house > 2) unreadable |= HOUSE;
+        if (maritalStatus < 0 || maritalStatus > 1) unreadable |= MARITAL_STATUS;
+        if ((answers & ~7) != 0) unreadable |= RISK_QUESTIONS;
+        if (reserved != 0) unreadable |= RESERVED;
+        if (unreadable != 0) return INVALID | unreadable;
+
+        User user = new User(age, dependents, house == 0 ? null : new House(OWNERSHIP[house - 1]), income,
+                maritalStatus == 0 ? MaritalStatus.single : MaritalStatus.married, RISK_ANSWERS.get(answers),
+                vehicleYear == 0 ? null : new Vehicle(vehicleYear));
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(user, "user");
+        userValidator.validate(user, errors);
+        if (errors.hasErrors()) return INVALID | rejectedFields(errors.getFieldErrors());
+
+        int code = riskProfileEngine.buildRiskProfile(user).code();
+        return (code >>> 6) << 24 | (code >>> 4 & 3) << 16 | (code >>> 2 & 3) << 8 | code & 3;
+    }
+
+    /**
+     * @return the risk profile in a response, or null for an {@link #INVALID} or {@link #UNAVAILABLE} one
+     */
+    public static RiskProfile riskProfile(int response) {
+        if (response >>> 24 == 0xFF) return null;
+        return RiskProfile.fromCode((response >>> 24) << 6 | (response >>> 16 & 3) << 4 | (response >>> 8 & 3) << 2
+                | response & 3);
+    }
+
+    private static int rejectedFields(List<FieldError> fieldErrors) {
+        int rejected = 0;
+        for (FieldError fieldError : fieldErrors) {
+            switch (fieldError.getField()) {
+                case "age":
+                    rejected |= AGE;
+                    break;
+                case "dependents":
+                    rejected |= DEPENDENTS;
+                    break;
+                case "income":
+                    rejected |= INCOME;
+                    break;
+                case "maritalStatus":
+                    rejected |= MARITAL_STATUS;
+                    break;
+                default:
+                    rejected |= RISK_QUESTIONS;
+                    break;
+            }
+        }
+        return rejected;
+    }
+
+}
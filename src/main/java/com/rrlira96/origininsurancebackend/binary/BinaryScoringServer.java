@@ -0,0 +1,290 @@
+package com.rrlira96.origininsurancebackend.binary;
+
+import com.rrlira96.origininsurancebackend.audit.AuditLogFullException;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.validation.Validator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the {@link BinaryProtocol} over TCP for internal callers. An acceptor thread hands new connections round
+ * robin to a few event loops; each loop owns a {@link Selector} and scores every complete request frame it reads,
+ * in order, straight into the connection's response buffer. Clients may pipeline as many requests as they like: a
+ * connection whose responses are not being read stops being read from until they are, so memory stays bounded by
+ * two direct buffers per connection.
+ * <p>
+ * Scoring is cheap enough to run on the event loops, so no request is handed to another thread. Nothing on that path
+ * may park the loop: a request that finds the audit log full gets {@link BinaryProtocol#UNAVAILABLE} right away,
+ * whatever the overflow policy, and any other failure closes its connection.
+ */
+public class BinaryScoringServer implements SmartLifecycle {
+
+    private static Logger logger = LoggerFactory.getLogger(BinaryScoringServer.class);
+
+    private final InetSocketAddress address;
+    private final int ioThreads;
+    private final int bufferSize;
+    private final RiskProfileEngine riskProfileEngine;
+    private final Validator userValidator;
+
+    private final LongAdder scored = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private ServerSocketChannel serverChannel;
+    private EventLoop[] eventLoops;
+    private Thread acceptor;
+    private volatile boolean running;
+
+    /**
+     * @param bufferSize bytes of read and of write buffer per connection, at least one request frame
+     */
+    public BinaryScoringServer(InetSocketAddress address, int ioThreads, int bufferSize,
+                               RiskProfileEngine riskProfileEngine, Validator userValidator) {
+        if (bufferSize < BinaryProtocol.REQUEST_LENGTH) {
+            throw new IllegalArgumentException("Buffer size must hold a request: " + bufferSize);
+        }
+        this.address = address;
+        this.ioThreads = ioThreads;
+        this.bufferSize = bufferSize;
+        this.riskProfileEngine = riskProfileEngine;
+        this.userValidator = userValidator;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(address, 1024);
+            eventLoops = new EventLoop[ioThreads];
+            for (int i = 0; i < ioThreads; i++) {
+                eventLoops[i] = new EventLoop("binary-scoring-io-" + (i + 1));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot listen on " + address, ex);
+        }
+        running = true;
+        for (EventLoop eventLoop : eventLoops) eventLoop.thread.start();
+        acceptor = new Thread(this::accept, "binary-scoring-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Binary scoring protocol listening on {}.", port());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        try {
+            serverChannel.close();
+            acceptor.join();
+            for (EventLoop eventLoop : eventLoops) {
+                eventLoop.selector.wakeup();
+                eventLoop.thread.join();
+            }
+        } catch (IOException ex) {
+            logger.warn("Could not close the binary scoring listener.", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * The port listened on, which is the one picked by the system when the configured port is 0.
+     */
+    public int port() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public void writeTo(StringBuilder out) {
+        out.append("# HELP risk_profile_binary_requests_total Binary protocol requests, by outcome.\n");
+        out.append("# TYPE risk_profile_binary_requests_total counter\n");
+        out.append("risk_profile_binary_requests_total{outcome=\"scored\"} ").append(scored.sum()).append('\n');
+        out.append("risk_profile_binary_requests_total{outcome=\"invalid\"} ").append(invalid.sum()).append('\n');
+        out.append("risk_profile_binary_requests_total{outcome=\"unavailable\"} ").append(unavailable.sum())
+                .append('\n');
+        out.append("# HELP risk_profile_binary_connections Open binary protocol connections.\n");
+        out.append("# TYPE risk_profile_binary_connections gauge\n");
+        out.append("risk_profile_binary_connections ").append(connections.get()).append('\n');
+    }
+
+    private void accept() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                connections.incrementAndGet();
+                eventLoops[next].register(channel);
+                next = (next + 1) % eventLoops.length;
+            } catch (ClosedChannelException ex) {
+                return;
+            } catch (IOException ex) {
+                logger.warn("Could not accept a binary scoring connection.", ex);
+            }
+        }
+    }
+
+    private void close(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            logger.debug("Could not close a binary scoring connection.", ex);
+        }
+        connections.decrementAndGet();
+    }
+
+    private final class EventLoop implements Runnable {
+
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<SocketChannel> registrations = new ConcurrentLinkedQueue<>();
+
+        private EventLoop(String name) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, name);
+            thread.setDaemon(true);
+        }
+
+        private void register(SocketChannel channel) {
+            registrations.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    for (SocketChannel channel; (channel = registrations.poll()) != null; ) {
+                        channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isWritable()) connection.onWritable(key);
+                            if (key.isValid() && key.isReadable()) connection.onReadable(key);
+                        } catch (IOException ex) {
+                            logger.debug("Closing binary scoring connection.", ex);
+                            connection.close(key);
+                        } catch (RuntimeException ex) {
+                            logger.error("Closing binary scoring connection after a failure.", ex);
+                            connection.close(key);
+                        }
+                    }
+                }
+            } catch (IOException | ClosedSelectorException ex) {
+                logger.error("Binary scoring event loop stopped.", ex);
+            } finally {
+                for (SelectionKey key : selector.keys()) ((Connection) key.attachment()).close(key);
+                for (SocketChannel channel; (channel = registrations.poll()) != null; ) close(channel);
+                try {
+                    selector.close();
+                } catch (IOException ex) {
+                    logger.warn("Could not close a binary scoring selector.", ex);
+                }
+            }
+        }
+
+    }
+
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(bufferSize);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(bufferSize);
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void onReadable(SelectionKey key) throws IOException {
+            if (channel.read(in) < 0) {
+                close(key);
+                return;
+            }
+            respond(key);
+        }
+
+        private void onWritable(SelectionKey key) throws IOException {
+            if (flush()) respond(key);
+        }
+
+        /**
+         * Scores the buffered requests and writes their responses until either runs out, then reads again, or
+         * waits for the socket to take the rest of the responses.
+         */
+        private void respond(SelectionKey key) throws IOException {
+            boolean flushed;
+            do {
+                in.flip();
+                while (in.remaining() >= BinaryProtocol.REQUEST_LENGTH
+                        && out.remaining() >= BinaryProtocol.RESPONSE_LENGTH) {
+                    out.putInt(score());
+                }
+                in.compact();
+                flushed = flush();
+            } while (flushed && in.position() >= BinaryProtocol.REQUEST_LENGTH);
+            key.interestOps(flushed ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+        }
+
+        private int score() {
+            int response;
+            try {
+                response = BinaryProtocol.score(in, riskProfileEngine, userValidator);
+            } catch (AuditLogFullException ex) {
+                unavailable.increment();
+                return BinaryProtocol.UNAVAILABLE;
+            }
+            if ((response & BinaryProtocol.INVALID) == BinaryProtocol.INVALID) invalid.increment();
+            else scored.increment();
+            return response;
+        }
+
+        /**
+         * @return whether every pending response was written
+         */
+        private boolean flush() throws IOException {
+            out.flip();
+            channel.write(out);
+            out.compact();
+            return out.position() == 0;
+        }
+
+        private void close(SelectionKey key) {
+            if (!channel.isOpen()) return;
+            key.cancel();
+            BinaryScoringServer.this.close(channel);
+        }
+
+    }
+
+}
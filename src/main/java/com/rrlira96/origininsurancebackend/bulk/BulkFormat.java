@@ -0,0 +1,13 @@
+package com.rrlira96.origininsurancebackend.bulk;
+
+import java.nio.file.Path;
+
+public enum BulkFormat {
+    ndjson,
+    csv;
+
+    public static BulkFormat of(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        return name.endsWith(".csv") ? csv : ndjson;
+    }
+}
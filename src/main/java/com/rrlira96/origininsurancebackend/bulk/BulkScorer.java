@@ -0,0 +1,253 @@
+package com.rrlira96.origininsurancebackend.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.rrlira96.origininsurancebackend.controller.exceptions.CachedTimestamp;
+import com.rrlira96.origininsurancebackend.controller.exceptions.ErrorResponse;
+import com.rrlira96.origininsurancebackend.controller.exceptions.StandardError;
+import com.rrlira96.origininsurancebackend.controller.exceptions.ValidationErrors;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongConsumer;
+
+/**
+ * Scores a file of users without the web stack. The input is split into chunks that end on a record boundary,
+ * each chunk is memory-mapped and scored as a fork-join task, and the encoded results are written to the output
+ * channel in input order. At most two chunks per worker are in flight, so memory use does not depend on the
+ * file size.
+ */
+public class BulkScorer {
+
+    private static final String PATH = "bulk";
+    private static final int BOUNDARY_PROBE_SIZE = 64 * 1024;
+
+    private final RiskProfileEngine riskProfileEngine;
+    private final Validator validator;
+    private final ObjectReader userReader;
+    private final ObjectWriter writer;
+    private final int parallelism;
+    private final int chunkSize;
+
+    public BulkScorer(RiskProfileEngine riskProfileEngine, Validator validator, ObjectMapper objectMapper,
+                      int parallelism, int chunkSize) {
+        this.riskProfileEngine = riskProfileEngine;
+        this.validator = validator;
+        this.userReader = objectMapper.readerFor(User.class);
+        this.writer = objectMapper.writer();
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param progress receives the number of input bytes consumed each time a chunk has been written
+     * @return number of records written
+     */
+    public long score(Path input, Path output, BulkFormat format, LongConsumer progress) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (format == BulkFormat.csv) write(out, ByteBuffer.wrap(("auto,disability,home,life,error\n").getBytes(StandardCharsets.US_ASCII)));
+
+            ArrayDeque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+            long size = in.size();
+            long start = format == BulkFormat.csv ? skipHeader(in) : 0;
+            long records = 0;
+
+            while (start < size || !inFlight.isEmpty()) {
+                while (start < size && inFlight.size() < parallelism * 2) {
+                    long end = nextBoundary(in, Math.min(start + chunkSize, size), size);
+                    MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                    inFlight.add(pool.submit(() -> scoreChunk(buffer, format)));
+                    start = end;
+                }
+
+                Chunk chunk = join(inFlight.poll());
+                write(out, chunk.output);
+                records += chunk.records;
+                progress.accept(chunk.inputBytes);
+            }
+
+            return records;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Chunk scoreChunk(ByteBuffer buffer, BulkFormat format) {
+        Output output = new Output(buffer.limit() / 2);
+        CsvUserReader csvReader = new CsvUserReader();
+        byte[] line = new byte[1024];
+        int records = 0;
+        int position = 0;
+        int limit = buffer.limit();
+
+        while (position < limit) {
+            int lineEnd = position;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') lineEnd++;
+            int contentEnd = lineEnd > position && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+
+            if (contentEnd > position) {
+                if (format == BulkFormat.csv) {
+                    writeCsv(output, scoreCsv(csvReader, buffer, position, contentEnd));
+                } else {
+                    int length = contentEnd - position;
+                    if (line.length < length) line = new byte[Math.max(length, line.length * 2)];
+                    for (int i = 0; i < length; i++) line[i] = buffer.get(position + i);
+                    writeJson(output, scoreJson(line, length));
+                }
+                records++;
+            }
+            position = lineEnd + 1;
+        }
+
+        return new Chunk(output.asByteBuffer(), records, limit);
+    }
+
+    private Object scoreJson(byte[] line, int length) {
+        User user;
+        try {
+            user = userReader.readValue(line, 0, length);
+        } catch (InvalidFormatException ex) {
+            return new ErrorResponse(List.of(ValidationErrors.invalidValue(ex.getValue(), PATH)));
+        } catch (IOException ex) {
+            String message = ex instanceof JsonProcessingException ? ((JsonProcessingException) ex).getOriginalMessage() : ex.getMessage();
+            return new ErrorResponse(List.of(ValidationErrors.malformedRecord(message, PATH)));
+        }
+        return score(user);
+    }
+
+    private Object scoreCsv(CsvUserReader reader, ByteBuffer buffer, int start, int end) {
+        try {
+            return score(reader.read(buffer, start, end));
+        } catch (CsvUserReader.InvalidCsvValueException ex) {
+            return new ErrorResponse(List.of(ValidationErrors.invalidValue(ex.getValue(), PATH)));
+        }
+    }
+
+    private Object score(User user) {
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(user, "user");
+        validator.validate(user, errors);
+        if (errors.hasErrors()) return ValidationErrors.of(errors, PATH);
+
+        try {
+            return riskProfileEngine.buildRiskProfile(user);
+        } catch (RuntimeException ex) {
+            HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+            return new ErrorResponse(List.of(new StandardError(CachedTimestamp.now(), status.value(), "Scoring failed",
+                    String.valueOf(ex.getMessage()), PATH)));
+        }
+    }
+
+    private void writeJson(Output output, Object result) {
+        try {
+            output.write(result instanceof RiskProfile ? ((RiskProfile) result).jsonBytes() : writer.writeValueAsBytes(result));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        output.write('\n');
+    }
+
+    private static void writeCsv(Output output, Object result) {
+        StringBuilder row = new StringBuilder(48);
+        if (result instanceof RiskProfile) {
+            RiskProfile riskProfile = (RiskProfile) result;
+            row.append(riskProfile.getAuto()).append(',').append(riskProfile.getDisability()).append(',')
+                    .append(riskProfile.getHome()).append(',').append(riskProfile.getLife()).append(',');
+        } else {
+            List<String> details = new ArrayList<>();
+            for (StandardError error : ((ErrorResponse) result).getErrors()) details.add(error.getDetail());
+            row.append(",,,,\"").append(String.join("; ", details).replace("\"", "\"\"")).append('"');
+        }
+        output.write(row.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long skipHeader(FileChannel in) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(CsvUserReader.HEADER.length());
+        in.read(probe, 0);
+        String firstLine = new String(probe.array(), 0, probe.position(), StandardCharsets.US_ASCII);
+        return firstLine.startsWith("age") ? nextBoundary(in, 0, in.size()) : 0;
+    }
+
+    /**
+     * @return the offset just past the first line feed at or after {@code position}, or {@code size}
+     */
+    private static long nextBoundary(FileChannel in, long position, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_SIZE);
+        while (position < size) {
+            probe.clear();
+            int read = in.read(probe, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') return position + i + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) out.write(buffer);
+    }
+
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while scoring", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Failed to score chunk", ex.getCause());
+        }
+    }
+
+    private static final class Chunk {
+        private final ByteBuffer output;
+        private final int records;
+        private final long inputBytes;
+
+        private Chunk(ByteBuffer output, int records, long inputBytes) {
+            this.output = output;
+            this.records = records;
+            this.inputBytes = inputBytes;
+        }
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+        private Output(int size) {
+            super(size);
+        }
+
+        @Override
+        public void write(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+
+        private ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+
+}
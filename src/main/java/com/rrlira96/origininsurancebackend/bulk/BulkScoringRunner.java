@@ -0,0 +1,71 @@
+package com.rrlira96.origininsurancebackend.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Validator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scores {@code bulk.input} into {@code bulk.output} when the application runs with the {@code bulk} profile, e.g.
+ * {@code java -jar app.jar --spring.profiles.active=bulk --bulk.input=book.ndjson --bulk.output=profiles.ndjson}.
+ */
+@Component
+@Profile("bulk")
+public class BulkScoringRunner implements CommandLineRunner {
+
+    private static Logger logger = LoggerFactory.getLogger(BulkScoringRunner.class);
+
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+
+    private final BulkScorer bulkScorer;
+    private final Path input;
+    private final Path output;
+
+    public BulkScoringRunner(RiskProfileEngine riskProfileEngine, @Qualifier("userValidator") Validator validator,
+                             ObjectMapper objectMapper,
+                             @Value("${bulk.input}") Path input,
+                             @Value("${bulk.output}") Path output,
+                             @Value("${bulk.parallelism:0}") int parallelism,
+                             @Value("${bulk.chunk-size:16777216}") int chunkSize) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.bulkScorer = new BulkScorer(riskProfileEngine, validator, objectMapper,
+                workers, chunkSize);
+        this.input = input;
+        this.output = output;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long totalBytes = Files.size(input);
+        long started = System.nanoTime();
+        AtomicLong lastReport = new AtomicLong(started);
+        AtomicLong bytesDone = new AtomicLong();
+
+        logger.info("Scoring {} ({} MB) into {}", input, totalBytes >> 20, output);
+
+        long records = bulkScorer.score(input, output, BulkFormat.of(input), bytes -> {
+            long done = bytesDone.addAndGet(bytes);
+            long now = System.nanoTime();
+            if (now - lastReport.get() >= REPORT_INTERVAL_NANOS) {
+                lastReport.set(now);
+                logger.info("Progress {}% ({} MB, {} MB/s)", done * 100 / Math.max(totalBytes, 1), done >> 20,
+                        String.format("%.1f", (done / 1048576.0) / ((now - started) / 1e9)));
+            }
+        });
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        logger.info("Scored {} records in {} s: {} records/s, {} MB/s", records, String.format("%.2f", seconds),
+                String.format("%.0f", records / seconds), String.format("%.1f", (totalBytes / 1048576.0) / seconds));
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.rrlira96.origininsurancebackend.bulk;
+
+import com.rrlira96.origininsurancebackend.model.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Parses one CSV record straight from a mapped buffer, without going through Jackson. Columns are
+ * {@code age,dependents,income,marital_status,risk_question_1,risk_question_2,risk_question_3,house_ownership_status,vehicle_year}
+ * where the last two are left empty when the applicant has no house or vehicle.
+ */
+class CsvUserReader {
+
+    static final String HEADER =
+            "age,dependents,income,marital_status,risk_question_1,risk_question_2,risk_question_3,house_ownership_status,vehicle_year";
+
+    private ByteBuffer buffer;
+    private int position;
+    private int end;
+
+    User read(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.position = start;
+        this.end = end;
+
+        int age = nextInt();
+        int dependents = nextInt();
+        int income = nextInt();
+        MaritalStatus maritalStatus = nextEnum(MaritalStatus.class);
+        List<Integer> riskAnswers = List.of(nextInt(), nextInt(), nextInt());
+        OwnershipStatus ownershipStatus = nextEnum(OwnershipStatus.class);
+        String vehicleYear = nextToken();
+        if (position < end) throw new InvalidCsvValueException(text(position, end));
+
+        return new User(age, dependents, ownershipStatus == null ? null : new House(ownershipStatus), income,
+                maritalStatus, riskAnswers, vehicleYear.isEmpty() ? null : new Vehicle(parseInt(vehicleYear)));
+    }
+
+    private int nextInt() {
+        int start = position;
+        int value = 0;
+        boolean negative = false;
+        if (position < end && buffer.get(position) == '-') {
+            negative = true;
+            position++;
+        }
+        int digits = 0;
+        while (position < end && buffer.get(position) != ',') {
+            int digit = buffer.get(position) - '0';
+            if (digit < 0 || digit > 9 || digits == 9) return parseInt(finishToken(start));
+            value = value * 10 + digit;
+            digits++;
+            position++;
+        }
+        if (digits == 0) throw new InvalidCsvValueException(finishToken(start));
+        skipSeparator();
+        return negative ? -value : value;
+    }
+
+    private <E extends Enum<E>> E nextEnum(Class<E> type) {
+        String token = nextToken();
+        if (token.isEmpty()) return null;
+        try {
+            return Enum.valueOf(type, token);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCsvValueException(token);
+        }
+    }
+
+    private String nextToken() {
+        return finishToken(position);
+    }
+
+    private String finishToken(int start) {
+        while (position < end && buffer.get(position) != ',') position++;
+        String token = text(start, position);
+        skipSeparator();
+        return token;
+    }
+
+    private void skipSeparator() {
+        if (position < end) position++;
+    }
+
+    private String text(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) bytes[i] = buffer.get(start + i);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int parseInt(String token) {
+        try {
+            return Integer.parseInt(token.trim());
+        } catch (NumberFormatException ex) {
+            throw new InvalidCsvValueException(token);
+        }
+    }
+
+    static class InvalidCsvValueException extends RuntimeException {
+        private final String value;
+
+        InvalidCsvValueException(String value) {
+            super("Invalid value: " + value, null, false, false);
+            this.value = value;
+        }
+
+        String getValue() {
+            return value;
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.rrlira96.origininsurancebackend.bulk;
+
+import com.rrlira96.origininsurancebackend.portfolio.PortfolioStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Validator;
+
+import java.nio.file.Path;
+
+/**
+ * Adds the customers in {@code portfolio.input} to the scored portfolio when the application runs with the
+ * {@code portfolio-load} profile, e.g. {@code java -jar app.jar --spring.profiles.active=portfolio-load
+ * --risk-profile.engine=rule-set --risk-profile.portfolio.directory=portfolio --portfolio.input=customers.csv}.
+ */
+@Component
+@Profile("portfolio-load")
+public class PortfolioLoadRunner implements CommandLineRunner {
+
+    private static Logger logger = LoggerFactory.getLogger(PortfolioLoadRunner.class);
+
+    private final PortfolioStore portfolioStore;
+    private final PortfolioLoader portfolioLoader;
+    private final Path input;
+
+    public PortfolioLoadRunner(PortfolioStore portfolioStore, @Qualifier("userValidator") Validator validator,
+                               @Value("${portfolio.input}") Path input) {
+        this.portfolioStore = portfolioStore;
+        this.portfolioLoader = new PortfolioLoader(validator);
+        this.input = input;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long started = System.nanoTime();
+        logger.info("Loading {} into a portfolio of {} customers", input, portfolioStore.size());
+
+        PortfolioLoader.Result result = portfolioLoader.load(input, portfolioStore);
+
+        logger.info("Loaded {} customers ({} skipped) in {} s, the portfolio now holds {}", result.loaded(),
+                result.rejected(), String.format("%.2f", (System.nanoTime() - started) / 1e9), portfolioStore.size());
+    }
+
+}
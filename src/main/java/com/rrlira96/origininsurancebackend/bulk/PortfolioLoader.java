@@ -0,0 +1,129 @@
+package com.rrlira96.origininsurancebackend.bulk;
+
+import com.rrlira96.origininsurancebackend.controller.exceptions.LogRateLimiter;
+import com.rrlira96.origininsurancebackend.controller.exceptions.StandardError;
+import com.rrlira96.origininsurancebackend.controller.exceptions.ValidationErrors;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.portfolio.PortfolioStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads customers into a {@link PortfolioStore} from CSV records made of a customer id followed by the
+ * {@link CsvUserReader} columns (see {@link #HEADER}, which may be the first line). A record that does not parse or
+ * fails validation is counted and logged, and loading goes on with the next one.
+ */
+public class PortfolioLoader {
+
+    private static Logger logger = LoggerFactory.getLogger(PortfolioLoader.class);
+
+    static final String HEADER = "customer_id," + CsvUserReader.HEADER;
+
+    private static final String PATH = "portfolio";
+
+    private final Validator validator;
+    private final CsvUserReader userReader = new CsvUserReader();
+    private final LogRateLimiter rejections = new LogRateLimiter(logger, 10, Duration.ofMinutes(1));
+
+    public PortfolioLoader(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Adds every valid record of {@code input} to {@code store}, then flushes the store.
+     */
+    public Result load(Path input, PortfolioStore store) throws IOException {
+        long loaded = 0;
+        long rejected = 0;
+        long lineNumber = 0;
+        try (BufferedReader lines = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty() || lineNumber == 1 && line.equals(HEADER)) continue;
+
+                String problem = load(line, store);
+                if (problem == null) {
+                    loaded++;
+                } else {
+                    rejected++;
+                    if (rejections.tryAcquire()) logger.warn("Skipping line {} of {}: {}", lineNumber, input, problem);
+                }
+            }
+        }
+        store.flush();
+        return new Result(loaded, rejected);
+    }
+
+    // Returns why the record was not loaded, or null once it is.
+    private String load(String line, PortfolioStore store) throws IOException {
+        int comma = line.indexOf(',');
+        if (comma < 0) return "Missing columns";
+        long customerId;
+        try {
+            customerId = Long.parseLong(line.substring(0, comma).trim());
+        } catch (NumberFormatException ex) {
+            return "Invalid customer id: " + line.substring(0, comma);
+        }
+
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        User user;
+        try {
+            user = userReader.read(ByteBuffer.wrap(bytes), comma + 1, bytes.length);
+        } catch (CsvUserReader.InvalidCsvValueException ex) {
+            return ex.getMessage();
+        }
+
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(user, "user");
+        validator.validate(user, errors);
+        if (errors.hasErrors()) {
+            List<String> details = new ArrayList<>();
+            for (StandardError error : ValidationErrors.of(errors, PATH).getErrors()) details.add(error.getDetail());
+            return String.join("; ", details);
+        }
+
+        store.add(customerId, user);
+        return null;
+    }
+
+    /**
+     * How many records one {@link #load} added to the store and how many it skipped.
+     */
+    public static final class Result {
+
+        private final long loaded;
+        private final long rejected;
+
+        Result(long loaded, long rejected) {
+            this.loaded = loaded;
+            this.rejected = rejected;
+        }
+
+        public long loaded() {
+            return loaded;
+        }
+
+        public long rejected() {
+            return rejected;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" + "loaded=" + loaded + ", rejected=" + rejected + '}';
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.rrlira96.origininsurancebackend.audit.AuditLog;
+import com.rrlira96.origininsurancebackend.audit.FsyncPolicy;
+import com.rrlira96.origininsurancebackend.audit.OverflowPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class AuditConfig {
+
+    /**
+     * Records every scoring decision in {@code risk-profile.audit.directory} when {@code risk-profile.audit.enabled}
+     * is true. Not created for the {@code audit-replay} profile, which reads the log instead of writing to it.
+     */
+    @Bean(destroyMethod = "close")
+    @Profile("!audit-replay")
+    @ConditionalOnProperty(name = "risk-profile.audit.enabled", havingValue = "true")
+    public AuditLog auditLog(@Value("${risk-profile.audit.directory:audit}") Path directory,
+                             @Value("${risk-profile.audit.buffer-size:65536}") int bufferSize,
+                             @Value("${risk-profile.audit.segment-size:64MB}") DataSize segmentSize,
+                             @Value("${risk-profile.audit.fsync:batch}") FsyncPolicy fsync,
+                             @Value("${risk-profile.audit.fsync-interval:100ms}") Duration fsyncInterval,
+                             @Value("${risk-profile.audit.overflow:block}") OverflowPolicy overflow,
+                             @Value("${risk-profile.audit.block-timeout:100ms}") Duration blockTimeout)
+            throws IOException {
+        return new AuditLog(directory, bufferSize, Math.toIntExact(segmentSize.toBytes()), fsync, fsyncInterval,
+                overflow, blockTimeout);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.rrlira96.origininsurancebackend.audit.AuditedRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.binary.BinaryScoringServer;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.Validator;
+
+import java.net.InetSocketAddress;
+
+@Configuration
+public class BinaryProtocolConfig {
+
+    /**
+     * Listens for the binary scoring protocol on {@code risk-profile.binary.port}, next to the HTTP API, with the
+     * same engine and user validation. Requests are scored on the event loops, so the audit log is published to
+     * without waiting even under {@code risk-profile.audit.overflow=block}: a full buffer answers
+     * {@code UNAVAILABLE} at once.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "risk-profile.binary.port")
+    public BinaryScoringServer binaryScoringServer(@Value("${risk-profile.binary.address:0.0.0.0}") String address,
+                                                   @Value("${risk-profile.binary.port}") int port,
+                                                   @Value("${risk-profile.binary.io-threads:2}") int ioThreads,
+                                                   @Value("${risk-profile.binary.buffer-size:64KB}") DataSize bufferSize,
+                                                   RiskProfileEngine riskProfileEngine,
+                                                   @Qualifier("userValidator") Validator userValidator) {
+        if (riskProfileEngine instanceof AuditedRiskProfileEngine) {
+            riskProfileEngine = ((AuditedRiskProfileEngine) riskProfileEngine).nonBlocking();
+        }
+        return new BinaryScoringServer(new InetSocketAddress(address, port), ioThreads,
+                Math.toIntExact(bufferSize.toBytes()), riskProfileEngine, userValidator);
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.limit.ConcurrencyLimitFilter;
+import com.rrlira96.origininsurancebackend.limit.GradientConcurrencyLimit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "risk-profile.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Sheds the risk-profile requests over a limit that adapts to their latency, starting at
+     * {@code risk-profile.concurrency-limit.initial-limit} and kept between the minimum and maximum limits.
+     */
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(
+            @Value("${risk-profile.concurrency-limit.initial-limit:100}") int initialLimit,
+            @Value("${risk-profile.concurrency-limit.min-limit:8}") int minLimit,
+            @Value("${risk-profile.concurrency-limit.max-limit:1000}") int maxLimit,
+            @Value("${risk-profile.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${risk-profile.concurrency-limit.window:100ms}") Duration window,
+            ObjectMapper objectMapper) {
+        return new ConcurrencyLimitFilter(new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance,
+                window.toNanos()), objectMapper);
+    }
+
+    /**
+     * Ahead of every other filter, and only for the risk-profile API: metrics and internal endpoints stay reachable
+     * when the API sheds load.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            ConcurrencyLimitFilter concurrencyLimitFilter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(concurrencyLimitFilter);
+        registration.addUrlPatterns("/api/v1/risk-profiles", "/api/v1/risk-profiles/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+}
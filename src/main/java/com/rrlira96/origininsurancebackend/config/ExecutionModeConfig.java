@@ -0,0 +1,108 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.rrlira96.origininsurancebackend.controller.RiskProfileCaching;
+import com.rrlira96.origininsurancebackend.controller.RiskProfileHandler;
+import com.rrlira96.origininsurancebackend.controller.exceptions.RestExceptionHandler;
+import com.rrlira96.origininsurancebackend.metrics.RiskProfileMetrics;
+import com.rrlira96.origininsurancebackend.metrics.Stage;
+import com.rrlira96.origininsurancebackend.service.RiskProfileBatchService;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.sweep.RiskProfileSweepService;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.function.RequestPredicates;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Selects how the risk-profile API is executed with {@code risk-profile.execution-mode}:
+ * <ul>
+ *     <li>{@code platform} (default): annotated controller on Tomcat's pooled platform threads;</li>
+ *     <li>{@code virtual}: annotated controller with one virtual thread per request, which needs a JDK with virtual
+ *     threads (21+);</li>
+ *     <li>{@code functional}: {@link RiskProfileHandler} routes on Tomcat's pooled platform threads;</li>
+ *     <li>{@code reactive}: {@link ReactiveModeConfig} routes on Netty's event loops, in a reactive web application
+ *     started by {@link ExecutionModeEnvironmentPostProcessor}. The concurrency limit and the profiling endpoint are
+ *     servlet-only and refused in this mode.</li>
+ * </ul>
+ */
+@Configuration
+public class ExecutionModeConfig {
+
+    static final String EXECUTION_MODE = "risk-profile.execution-mode";
+
+    private static final List<String> EXECUTION_MODES = List.of("platform", "virtual", "functional", "reactive");
+
+    public ExecutionModeConfig(@Value("${" + EXECUTION_MODE + ":platform}") String executionMode,
+                               @Value("${risk-profile.concurrency-limit.enabled:false}") boolean concurrencyLimit,
+                               @Value("${risk-profile.jfr.token:false}") String jfrToken) {
+        if (!EXECUTION_MODES.contains(executionMode)) {
+            throw new IllegalStateException("Unknown " + EXECUTION_MODE + ": " + executionMode);
+        }
+        if (executionMode.equals("reactive") && concurrencyLimit) {
+            throw new IllegalStateException("risk-profile.concurrency-limit is a servlet filter and does not apply to "
+                    + EXECUTION_MODE + "=reactive");
+        }
+        // The profiling endpoint sleeps for the length of the recording, which would stall an event loop
+        if (executionMode.equals("reactive") && !"false".equalsIgnoreCase(jfrToken)) {
+            throw new IllegalStateException("risk-profile.jfr.token enables /internal/profile, which blocks and is not "
+                    + "served with " + EXECUTION_MODE + "=reactive");
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = EXECUTION_MODE, havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = EXECUTION_MODE, havingValue = "functional")
+    public RouterFunction<ServerResponse> riskProfileRoutes(RiskProfileEngine riskProfileEngine,
+                                                            RiskProfileBatchService riskProfileBatchService,
+                                                            RiskProfileSweepService riskProfileSweepService,
+                                                            @Qualifier("userValidator") Validator userValidator,
+                                                            RestExceptionHandler restExceptionHandler,
+                                                            RiskProfileCaching riskProfileCaching,
+                                                            RiskProfileMetrics riskProfileMetrics) {
+        RiskProfileHandler handler = new RiskProfileHandler(riskProfileEngine, riskProfileBatchService,
+                riskProfileSweepService, userValidator, restExceptionHandler, riskProfileCaching,
+                riskProfileMetrics.stage(Stage.parse));
+        return RouterFunctions.route()
+                .GET("/api/v1/risk-profiles", handler::getRiskProfile)
+                .HEAD("/api/v1/risk-profiles", handler::getRiskProfile)
+                .POST("/api/v1/risk-profiles", handler::generateRiskProfile)
+                .POST("/api/v1/risk-profiles/batch",
+                        RequestPredicates.contentType(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON),
+                        handler::generateRiskProfiles)
+                .POST("/api/v1/risk-profiles/sweep", handler::sweepRiskProfiles)
+                .build();
+    }
+
+    // Looked up reflectively so the application still compiles and runs on Java 11.
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(EXECUTION_MODE + "=virtual needs a JDK with virtual threads (21+), running on "
+                    + Runtime.version(), ex);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Could not create a virtual thread executor", ex);
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Starts a reactive web application for {@code risk-profile.execution-mode=reactive}, which Spring Boot would
+ * otherwise never pick with Spring MVC on the classpath. An explicit {@code spring.main.web-application-type}, such
+ * as the bulk profile's {@code none}, is left alone.
+ */
+public class ExecutionModeEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    private static final String WEB_APPLICATION_TYPE = "spring.main.web-application-type";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"reactive".equals(environment.getProperty(ExecutionModeConfig.EXECUTION_MODE))
+                || environment.containsProperty(WEB_APPLICATION_TYPE)) {
+            return;
+        }
+        environment.getPropertySources().addLast(new MapPropertySource("riskProfileExecutionMode",
+                Map.of(WEB_APPLICATION_TYPE, "reactive")));
+    }
+
+    // After application.properties and the profile-specific files are loaded
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+
+}
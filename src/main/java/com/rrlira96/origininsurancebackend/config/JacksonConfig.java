@@ -0,0 +1,24 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.UserDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Picked up by Spring Boot's ObjectMapper. Set {@code risk-profile.json.user-deserializer=reflective} to fall
+     * back to Jackson's bean deserializer.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "risk-profile.json.user-deserializer", havingValue = "streaming", matchIfMissing = true)
+    public Module userModule() {
+        return new SimpleModule("user").addDeserializer(User.class, new UserDeserializer());
+    }
+
+}
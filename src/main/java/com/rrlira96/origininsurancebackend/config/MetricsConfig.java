@@ -0,0 +1,22 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.rrlira96.origininsurancebackend.metrics.RiskProfileMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Scraped from {@code GET /internal/metrics}. {@code risk-profile.metrics.enabled=false} removes the endpoint and
+     * every timing decorator; {@code risk-profile.metrics.rule-sample-rate} times the individual rules of the
+     * {@code rules} engine on one call in N.
+     */
+    @Bean
+    public RiskProfileMetrics riskProfileMetrics(@Value("${risk-profile.metrics.enabled:true}") boolean enabled,
+                                                 @Value("${risk-profile.metrics.rule-sample-rate:64}") int ruleSampleRate) {
+        return new RiskProfileMetrics(enabled, ruleSampleRate);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.rrlira96.origininsurancebackend.controller.ProfilingController;
+import com.rrlira96.origininsurancebackend.profiling.JfrEventStream;
+import com.rrlira96.origininsurancebackend.profiling.JfrProfiler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ProfilingConfig {
+
+    /**
+     * Backs {@code /internal/profile}, which only exists when {@code risk-profile.jfr.token} is set. A blank or short
+     * token stops the application here rather than leaving the endpoint open.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "risk-profile.jfr.token")
+    public JfrProfiler jfrProfiler(@Value("${risk-profile.jfr.token}") String token,
+                                   @Value("${risk-profile.jfr.sampling-interval:10ms}") Duration samplingInterval) {
+        ProfilingController.requireUsableToken(token);
+        return new JfrProfiler(samplingInterval);
+    }
+
+    /**
+     * Streams low-overhead JFR events into {@code /internal/metrics} when
+     * {@code risk-profile.jfr.continuous.enabled} is true.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "risk-profile.jfr.continuous.enabled", havingValue = "true")
+    public JfrEventStream jfrEventStream(
+            @Value("${risk-profile.jfr.continuous.sampling-interval:20ms}") Duration samplingInterval,
+            @Value("${risk-profile.jfr.continuous.allocation-rate:100/s}") String allocationRate,
+            @Value("${risk-profile.jfr.continuous.monitor-threshold:10ms}") Duration monitorThreshold) {
+        return new JfrEventStream(samplingInterval, allocationRate, monitorThreshold);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.audit.AuditedRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.controller.ReactiveRiskProfileHandler;
+import com.rrlira96.origininsurancebackend.controller.RiskProfileCaching;
+import com.rrlira96.origininsurancebackend.controller.exceptions.RestExceptionHandler;
+import com.rrlira96.origininsurancebackend.metrics.RiskProfileMetrics;
+import com.rrlira96.origininsurancebackend.metrics.Stage;
+import com.rrlira96.origininsurancebackend.service.RiskProfileBatchService;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.sweep.RiskProfileSweepService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+@ConditionalOnProperty(name = ExecutionModeConfig.EXECUTION_MODE, havingValue = "reactive")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveModeConfig {
+
+    /**
+     * Spring Boot prefers Tomcat for a reactive application whenever it is on the classpath, as it is here for the
+     * other modes.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Single requests are scored on the event loop, so the audit log is published to without waiting even under
+     * {@code risk-profile.audit.overflow=block}: a full buffer answers 503 at once. Batches and sweeps run on
+     * bounded-elastic workers with the engine as configured.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> reactiveRiskProfileRoutes(ObjectMapper objectMapper,
+                                                                    RiskProfileEngine riskProfileEngine,
+                                                                    RiskProfileBatchService riskProfileBatchService,
+                                                                    RiskProfileSweepService riskProfileSweepService,
+                                                                    @Qualifier("userValidator") Validator userValidator,
+                                                                    RestExceptionHandler restExceptionHandler,
+                                                                    RiskProfileCaching riskProfileCaching,
+                                                                    RiskProfileMetrics riskProfileMetrics) {
+        RiskProfileEngine eventLoopEngine = riskProfileEngine instanceof AuditedRiskProfileEngine
+                ? ((AuditedRiskProfileEngine) riskProfileEngine).nonBlocking() : riskProfileEngine;
+        ReactiveRiskProfileHandler handler = new ReactiveRiskProfileHandler(objectMapper, eventLoopEngine,
+                riskProfileBatchService, riskProfileSweepService, userValidator, restExceptionHandler,
+                riskProfileCaching, riskProfileMetrics.stage(Stage.parse));
+        return RouterFunctions.route()
+                .GET("/api/v1/risk-profiles", handler::getRiskProfile)
+                .HEAD("/api/v1/risk-profiles", handler::getRiskProfile)
+                .POST("/api/v1/risk-profiles", handler::generateRiskProfile)
+                .POST("/api/v1/risk-profiles/batch",
+                        RequestPredicates.contentType(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON),
+                        handler::generateRiskProfiles)
+                .POST("/api/v1/risk-profiles/sweep", handler::sweepRiskProfiles)
+                .build();
+    }
+
+}
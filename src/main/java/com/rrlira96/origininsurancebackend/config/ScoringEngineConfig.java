@@ -0,0 +1,116 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.rrlira96.origininsurancebackend.audit.AuditLog;
+import com.rrlira96.origininsurancebackend.audit.AuditedRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.metrics.RiskProfileMetrics;
+import com.rrlira96.origininsurancebackend.metrics.TimedRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.portfolio.PortfolioStore;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.DecisionTableRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.PrimitiveRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import com.rrlira96.origininsurancebackend.shadow.ShadowEvaluator;
+import com.rrlira96.origininsurancebackend.shadow.ShadowedRiskProfileEngine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class ScoringEngineConfig {
+
+    @Bean
+    public CurrentYear currentYear() {
+        return CurrentYear.SYSTEM;
+    }
+
+    @Bean
+    @Primary
+    public RiskProfileEngine riskProfileEngine(@Value("${risk-profile.engine:decision-table}") String engine,
+                                               RiskProfileService riskProfileService,
+                                               CurrentYear currentYear,
+                                               RiskProfileMetrics riskProfileMetrics,
+                                               ObjectProvider<RuleSetRiskProfileEngine> ruleSetRiskProfileEngine,
+                                               ObjectProvider<ShadowEvaluator> shadowEvaluator,
+                                               ObjectProvider<AuditLog> auditLog) {
+        RiskProfileEngine riskProfileEngine = engine(engine, riskProfileService, currentYear, ruleSetRiskProfileEngine);
+        if (riskProfileMetrics.isEnabled()) {
+            riskProfileEngine = new TimedRiskProfileEngine(riskProfileEngine, riskProfileMetrics);
+        }
+        ShadowEvaluator shadow = shadowEvaluator.getIfAvailable();
+        if (shadow != null) riskProfileEngine = new ShadowedRiskProfileEngine(riskProfileEngine, shadow);
+        AuditLog log = auditLog.getIfAvailable();
+        return log == null ? riskProfileEngine : new AuditedRiskProfileEngine(riskProfileEngine, log);
+    }
+
+    /**
+     * Scores with the rule set in {@code risk-profile.rules.file}, reloaded when the file changes, or with the
+     * built-in rules when no file is set.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "risk-profile.engine", havingValue = "rule-set")
+    public RuleSetRiskProfileEngine ruleSetRiskProfileEngine(
+            @Value("${risk-profile.rules.file:}") String file,
+            @Value("${risk-profile.rules.poll-interval:5s}") Duration pollInterval,
+            CurrentYear currentYear) throws IOException {
+        if (file.isEmpty()) return new RuleSetRiskProfileEngine(RuleSet.DEFAULT, currentYear);
+
+        Path path = Path.of(file);
+        RuleSetRiskProfileEngine engine = new RuleSetRiskProfileEngine(RuleSet.load(path), currentYear);
+        engine.watch(path, pollInterval);
+        return engine;
+    }
+
+    /**
+     * Keeps the scored portfolio in {@code risk-profile.portfolio.directory} in step with the rule-set engine: it is
+     * re-scored on startup if the rules or the year changed since it was last scored, then on every reload and, checked
+     * every {@code risk-profile.portfolio.year-check-interval}, when the year changes.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "risk-profile.portfolio.directory")
+    public PortfolioStore portfolioStore(@Value("${risk-profile.portfolio.directory}") String directory,
+                                         @Value("${risk-profile.portfolio.year-check-interval:1m}")
+                                                 Duration yearCheckInterval,
+                                         ObjectProvider<RuleSetRiskProfileEngine> ruleSetRiskProfileEngine,
+                                         CurrentYear currentYear) throws IOException {
+        RuleSetRiskProfileEngine engine = ruleSetRiskProfileEngine.getIfAvailable();
+        if (engine == null) {
+            throw new IllegalStateException("risk-profile.portfolio.directory needs risk-profile.engine=rule-set");
+        }
+
+        PortfolioStore store = PortfolioStore.open(Path.of(directory), engine.ruleSet(), currentYear);
+        engine.addListener(store);
+        RuleSet current = engine.ruleSet();
+        if (!store.ruleSet().changedKeys(current).isEmpty()) store.onRuleSetChange(store.ruleSet(), current);
+        else store.rescoreIfYearChanged();
+        store.watchYear(yearCheckInterval);
+        return store;
+    }
+
+    private static RiskProfileEngine engine(String engine, RiskProfileService riskProfileService,
+                                            CurrentYear currentYear,
+                                            ObjectProvider<RuleSetRiskProfileEngine> ruleSetRiskProfileEngine) {
+        switch (engine) {
+            case "decision-table":
+                return new DecisionTableRiskProfileEngine(riskProfileService, currentYear);
+            case "primitive":
+                return new PrimitiveRiskProfileEngine(currentYear);
+            case "rules":
+                return riskProfileService;
+            case "rule-set":
+                return ruleSetRiskProfileEngine.getObject();
+            default:
+                throw new IllegalStateException("Unknown risk-profile.engine: " + engine);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.shadow.ShadowEvaluator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class ShadowConfig {
+
+    /**
+     * Compares a sample of the served risk profiles with the ones the candidate rule set in
+     * {@code risk-profile.shadow.rules.file} would give. The file is reloaded when it changes, like the primary rules.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "risk-profile.shadow.enabled", havingValue = "true")
+    public ShadowEvaluator shadowEvaluator(@Value("${risk-profile.shadow.rules.file}") Path file,
+                                           @Value("${risk-profile.rules.poll-interval:5s}") Duration pollInterval,
+                                           @Value("${risk-profile.shadow.sample-rate:0.01}") double sampleRate,
+                                           @Value("${risk-profile.shadow.threads:1}") int threads,
+                                           @Value("${risk-profile.shadow.queue-size:1024}") int queueSize,
+                                           CurrentYear currentYear) throws IOException {
+        RuleSet candidateRules = RuleSet.load(file);
+        RuleSetRiskProfileEngine candidate = new RuleSetRiskProfileEngine(candidateRules, currentYear);
+        ShadowEvaluator evaluator = new ShadowEvaluator(candidate, candidateRules.version(), sampleRate, threads,
+                queueSize);
+        candidate.addListener(evaluator);
+        candidate.watch(file, pollInterval);
+        return evaluator;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.rrlira96.origininsurancebackend.metrics.RiskProfileMetrics;
+import com.rrlira96.origininsurancebackend.metrics.TimedUserValidator;
+import com.rrlira96.origininsurancebackend.model.CompiledUserValidator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+@Configuration
+public class ValidationConfig {
+
+    /**
+     * Validator applied to every {@code User} the API accepts: {@code compiled} (default) or {@code bean-validation}
+     * for Hibernate Validator.
+     */
+    @Bean
+    public Validator userValidator(@Value("${risk-profile.validation:compiled}") String validation,
+                                   ObjectProvider<javax.validation.Validator> beanValidator,
+                                   MessageSource messageSource,
+                                   RiskProfileMetrics riskProfileMetrics) {
+        Validator userValidator = validator(validation, beanValidator, messageSource);
+        return riskProfileMetrics.isEnabled() ? new TimedUserValidator(userValidator, riskProfileMetrics) : userValidator;
+    }
+
+    private static Validator validator(String validation, ObjectProvider<javax.validation.Validator> beanValidator,
+                                       MessageSource messageSource) {
+        switch (validation) {
+            case "compiled":
+                return new CompiledUserValidator(messageSource);
+            case "bean-validation":
+                return new SpringValidatorAdapter(beanValidator.getObject());
+            default:
+                throw new IllegalStateException("Unknown risk-profile.validation: " + validation);
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.warmup.WarmUp;
+import com.rrlira96.origininsurancebackend.warmup.WarmUpTrafficFilter;
+import com.rrlira96.origininsurancebackend.warmup.WarmUpTrafficWebFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class WarmUpConfig {
+
+    /**
+     * Sends synthetic traffic to the API once it is listening, for at most {@code risk-profile.warm-up.budget}, and
+     * holds {@code /internal/ready} at 503 until done.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "risk-profile.warm-up.enabled", havingValue = "true")
+    public WarmUp warmUp(ObjectMapper objectMapper, CurrentYear currentYear,
+                         @Value("${risk-profile.warm-up.budget:60s}") Duration budget,
+                         @Value("${risk-profile.warm-up.threads:2}") int threads) {
+        return new WarmUp(objectMapper, currentYear, budget, threads);
+    }
+
+    /**
+     * Keeps the warm-up requests out of the audit log, shadow evaluation and request metrics.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "risk-profile.warm-up.enabled", havingValue = "true")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public WarmUpTrafficFilter warmUpTrafficFilter(WarmUp warmUp) {
+        return new WarmUpTrafficFilter(warmUp);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "risk-profile.warm-up.enabled", havingValue = "true")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WarmUpTrafficWebFilter warmUpTrafficWebFilter(WarmUp warmUp) {
+        return new WarmUpTrafficWebFilter(warmUp);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.rrlira96.origininsurancebackend.config;
+
+import com.rrlira96.origininsurancebackend.controller.RiskProfileCaching;
+import com.rrlira96.origininsurancebackend.controller.RiskProfileHttpMessageConverter;
+import com.rrlira96.origininsurancebackend.metrics.RiskProfileMetrics;
+import com.rrlira96.origininsurancebackend.metrics.Stage;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RiskProfileMetrics riskProfileMetrics;
+
+    @Autowired
+    @Qualifier("userValidator")
+    private Validator userValidator;
+
+    @Autowired
+    private ObjectProvider<javax.validation.Validator> beanValidator;
+
+    @Bean
+    public RiskProfileCaching riskProfileCaching(CurrentYear currentYear,
+                                                 @Value("${risk-profile.cache.max-age:1h}") Duration maxAge) {
+        return new RiskProfileCaching(currentYear, maxAge);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new RiskProfileHttpMessageConverter(riskProfileMetrics.stage(Stage.serialization)));
+    }
+
+    /**
+     * Spring MVC's default validator would bootstrap Hibernate Validator during startup even though {@code User}
+     * bodies are checked by {@code userValidator}; other types fall back to bean validation on first use.
+     */
+    @Override
+    public Validator getValidator() {
+        return new UserFirstValidator(userValidator, beanValidator);
+    }
+
+    private static final class UserFirstValidator implements Validator {
+
+        private final Validator userValidator;
+        private final ObjectProvider<javax.validation.Validator> beanValidator;
+        private volatile Validator fallback;
+
+        private UserFirstValidator(Validator userValidator, ObjectProvider<javax.validation.Validator> beanValidator) {
+            this.userValidator = userValidator;
+            this.beanValidator = beanValidator;
+        }
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return true;
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            if (userValidator.supports(target.getClass())) userValidator.validate(target, errors);
+            else fallback().validate(target, errors);
+        }
+
+        private Validator fallback() {
+            Validator validator = fallback;
+            if (validator == null) fallback = validator = new SpringValidatorAdapter(beanValidator.getObject());
+            return validator;
+        }
+
+    }
+
+}
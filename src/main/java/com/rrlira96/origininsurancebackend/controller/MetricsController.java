@@ -0,0 +1,57 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.audit.AuditLog;
+import com.rrlira96.origininsurancebackend.binary.BinaryScoringServer;
+import com.rrlira96.origininsurancebackend.limit.ConcurrencyLimitFilter;
+import com.rrlira96.origininsurancebackend.metrics.RiskProfileMetrics;
+import com.rrlira96.origininsurancebackend.profiling.JfrEventStream;
+import com.rrlira96.origininsurancebackend.shadow.ShadowEvaluator;
+import com.rrlira96.origininsurancebackend.warmup.WarmUp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value = "/internal/metrics")
+@ConditionalOnProperty(name = "risk-profile.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsController {
+
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Autowired
+    private RiskProfileMetrics riskProfileMetrics;
+
+    @Autowired(required = false)
+    private AuditLog auditLog;
+
+    @Autowired(required = false)
+    private ShadowEvaluator shadowEvaluator;
+
+    @Autowired(required = false)
+    private BinaryScoringServer binaryScoringServer;
+
+    @Autowired(required = false)
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Autowired(required = false)
+    private JfrEventStream jfrEventStream;
+
+    @Autowired(required = false)
+    private WarmUp warmUp;
+
+    @GetMapping(produces = PROMETHEUS_TEXT)
+    public String scrape() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+        riskProfileMetrics.writeTo(out);
+        if (auditLog != null) auditLog.writeTo(out);
+        if (shadowEvaluator != null) shadowEvaluator.writeTo(out);
+        if (binaryScoringServer != null) binaryScoringServer.writeTo(out);
+        if (concurrencyLimitFilter != null) concurrencyLimitFilter.writeTo(out);
+        if (jfrEventStream != null) jfrEventStream.writeTo(out);
+        if (warmUp != null) warmUp.writeTo(out);
+        return out.toString();
+    }
+
+}
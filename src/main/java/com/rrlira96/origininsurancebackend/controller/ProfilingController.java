@@ -0,0 +1,88 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.controller.exceptions.CachedTimestamp;
+import com.rrlira96.origininsurancebackend.controller.exceptions.ErrorResponse;
+import com.rrlira96.origininsurancebackend.controller.exceptions.StandardError;
+import com.rrlira96.origininsurancebackend.profiling.JfrProfiler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Records a JFR profile of the running application on demand: {@code POST /internal/profile?seconds=10&top=20}
+ * with the {@code risk-profile.jfr.token} in the {@value #TOKEN_HEADER} header. Only present when a token is set, and
+ * the application refuses to start when the token is shorter than {@value #MIN_TOKEN_LENGTH} characters.
+ */
+@RestController
+@RequestMapping(value = "/internal/profile")
+@ConditionalOnProperty(name = "risk-profile.jfr.token")
+public class ProfilingController {
+
+    static final String TOKEN_HEADER = "X-Internal-Token";
+    static final int MIN_TOKEN_LENGTH = 16;
+
+    @Autowired
+    private JfrProfiler jfrProfiler;
+
+    @Value("${risk-profile.jfr.token}")
+    private String token;
+
+    @Value("${risk-profile.jfr.max-duration:60s}")
+    private Duration maxDuration;
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> profile(@RequestHeader(value = TOKEN_HEADER, required = false) String providedToken,
+                                     @RequestParam(defaultValue = "10") int seconds,
+                                     @RequestParam(defaultValue = "20") int top,
+                                     HttpServletRequest request) throws IOException, InterruptedException {
+        String path = request.getRequestURI();
+        // Compared in constant time so the response time does not tell how much of a guess was right
+        if (providedToken == null || !MessageDigest.isEqual(providedToken.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8))) {
+            return error(HttpStatus.UNAUTHORIZED, "Missing or wrong " + TOKEN_HEADER, path);
+        }
+        if (seconds < 1 || seconds > maxDuration.getSeconds() || top < 1) {
+            return error(HttpStatus.BAD_REQUEST, "seconds must be between 1 and " + maxDuration.getSeconds()
+                    + " and top at least 1", path);
+        }
+
+        try {
+            return ResponseEntity.ok(jfrProfiler.profile(Duration.ofSeconds(seconds), top));
+        } catch (IllegalStateException ex) {
+            return error(HttpStatus.CONFLICT, ex.getMessage(), path);
+        }
+    }
+
+    /**
+     * Fails startup when the configured token is blank or short enough to guess; an empty
+     * {@code risk-profile.jfr.token} would otherwise enable the endpoint for an empty header.
+     */
+    public static String requireUsableToken(String token) {
+        if (token == null || token.isBlank() || token.strip().length() < MIN_TOKEN_LENGTH) {
+            throw new IllegalStateException("risk-profile.jfr.token must be at least " + MIN_TOKEN_LENGTH
+                    + " non-blank characters, or unset to disable /internal/profile");
+        }
+        return token;
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String detail, String path) {
+        return ResponseEntity.status(status).body(new ErrorResponse(List.of(
+                new StandardError(CachedTimestamp.now(), status.value(), status.getReasonPhrase(), detail, path))));
+    }
+
+}
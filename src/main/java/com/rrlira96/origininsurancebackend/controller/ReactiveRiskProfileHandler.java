@@ -0,0 +1,317 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.rrlira96.origininsurancebackend.audit.AuditLogFullException;
+import com.rrlira96.origininsurancebackend.controller.exceptions.RestExceptionHandler;
+import com.rrlira96.origininsurancebackend.metrics.LatencyHistogram;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.RiskProfileBatchService;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.sweep.RiskProfileSweepService;
+import com.rrlira96.origininsurancebackend.sweep.SweepRequest;
+import com.rrlira96.origininsurancebackend.warmup.WarmUpTrafficWebFilter;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Reactive counterpart of {@link RiskProfileController}, served on Netty when
+ * {@code risk-profile.execution-mode=reactive}. Bodies are read without holding a thread. Single requests are then
+ * parsed, validated and scored on the event loop, which never waits for them; batches and sweeps, whose cost grows
+ * with the request, run on bounded-elastic workers. A batch is read and written as it streams, with backpressure on
+ * both sides. Responses and errors match the controller's.
+ * <p>
+ * Each synchronous step runs in the request's locale and, for warm-up requests, as {@code WarmUpTraffic}.
+ */
+public class ReactiveRiskProfileHandler {
+
+    private static final String MISSING_BODY = "Required request body is missing";
+    private static final int BATCH_BODY_PREFETCH = 8;
+
+    private final ObjectReader userReader;
+    private final ObjectReader sweepRequestReader;
+    private final RiskProfileEngine riskProfileEngine;
+    private final RiskProfileBatchService riskProfileBatchService;
+    private final RiskProfileSweepService riskProfileSweepService;
+    private final Validator userValidator;
+    private final RestExceptionHandler restExceptionHandler;
+    private final RiskProfileCaching riskProfileCaching;
+    private final LatencyHistogram parse;
+
+    public ReactiveRiskProfileHandler(ObjectMapper objectMapper, RiskProfileEngine riskProfileEngine,
+                                      RiskProfileBatchService riskProfileBatchService,
+                                      RiskProfileSweepService riskProfileSweepService, Validator userValidator,
+                                      RestExceptionHandler restExceptionHandler, RiskProfileCaching riskProfileCaching,
+                                      LatencyHistogram parse) {
+        this.userReader = objectMapper.readerFor(User.class);
+        this.sweepRequestReader = objectMapper.readerFor(SweepRequest.class);
+        this.riskProfileEngine = riskProfileEngine;
+        this.riskProfileBatchService = riskProfileBatchService;
+        this.riskProfileSweepService = riskProfileSweepService;
+        this.userValidator = userValidator;
+        this.restExceptionHandler = restExceptionHandler;
+        this.riskProfileCaching = riskProfileCaching;
+        this.parse = parse;
+    }
+
+    public Mono<ServerResponse> generateRiskProfile(ServerRequest request) {
+        return request.bodyToMono(byte[].class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException(MISSING_BODY)))
+                .flatMap(body -> call(request, () -> generateRiskProfile(request, body)));
+    }
+
+    public Mono<ServerResponse> getRiskProfile(ServerRequest request) {
+        return call(request, () -> {
+            BindingResult bindingResult = new MapBindingResult(new HashMap<>(), "user");
+            User user = UserQuery.parse(parameters(request), bindingResult);
+            if (user != null) userValidator.validate(user, bindingResult);
+            if (bindingResult.hasErrors()) {
+                return ServerResponse.badRequest()
+                        .bodyValue(restExceptionHandler.rejectFields(bindingResult, request.path()));
+            }
+
+            String canonical = UserQuery.canonical(user);
+            if (!canonical.equals(request.uri().getRawQuery())) {
+                return ServerResponse.status(HttpStatus.MOVED_PERMANENTLY)
+                        .location(URI.create(request.path() + '?' + canonical))
+                        .build();
+            }
+
+            try {
+                RiskProfile riskProfile = riskProfileEngine.buildRiskProfile(user);
+                return ServerResponse.ok()
+                        .eTag(riskProfileCaching.eTag(riskProfile))
+                        .cacheControl(riskProfileCaching.cacheControl(user))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(riskProfile.jsonBytes());
+            } catch (AuditLogFullException ex) {
+                return unrecorded(ex, request);
+            }
+        });
+    }
+
+    public Mono<ServerResponse> generateRiskProfiles(ServerRequest request) {
+        Flux<byte[]> body = request.body(BodyExtractors.toDataBuffers()).map(ReactiveRiskProfileHandler::drain);
+        DataBufferFactory bufferFactory = request.exchange().getResponse().bufferFactory();
+        Flux<DataBuffer> profiles = Flux.create(sink -> {
+            SinkOutputStream out = new SinkOutputStream(sink, bufferFactory);
+            Schedulers.boundedElastic().schedule(() -> {
+                try (Stream<byte[]> chunks = body.toStream(BATCH_BODY_PREFETCH)) {
+                    InputStream in = inputStream(chunks.iterator());
+                    call(request, () -> score(in, out, request.path()));
+                    sink.complete();
+                } catch (RuntimeException ex) {
+                    sink.error(ex);
+                }
+            });
+        });
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(BodyInserters.fromDataBuffers(profiles));
+    }
+
+    public Mono<ServerResponse> sweepRiskProfiles(ServerRequest request) {
+        return request.bodyToMono(byte[].class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException(MISSING_BODY)))
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(body -> call(request, () -> sweepRiskProfiles(request, body)));
+    }
+
+    private Mono<ServerResponse> generateRiskProfile(ServerRequest request, byte[] body) {
+        User user;
+        long start = parse == null ? 0 : System.nanoTime();
+        try {
+            user = userReader.readValue(body);
+            if (parse != null) parse.recordSince(start);
+        } catch (InvalidFormatException ex) {
+            return ServerResponse.badRequest().bodyValue(restExceptionHandler.rejectValue(ex, request.path()));
+        } catch (IOException ex) {
+            throw new ServerWebInputException("Failed to read HTTP message", null, ex);
+        }
+        if (user == null) throw new ServerWebInputException(MISSING_BODY);
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(user, "user");
+        userValidator.validate(user, bindingResult);
+        if (bindingResult.hasErrors()) {
+            return ServerResponse.badRequest()
+                    .bodyValue(restExceptionHandler.rejectFields(bindingResult, request.path()));
+        }
+
+        try {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(riskProfileEngine.buildRiskProfile(user).jsonBytes());
+        } catch (AuditLogFullException ex) {
+            return unrecorded(ex, request);
+        }
+    }
+
+    private Mono<ServerResponse> sweepRiskProfiles(ServerRequest request, byte[] body) {
+        SweepRequest sweepRequest;
+        try {
+            sweepRequest = sweepRequestReader.readValue(body);
+        } catch (InvalidFormatException ex) {
+            return ServerResponse.badRequest().bodyValue(restExceptionHandler.rejectValue(ex, request.path()));
+        } catch (IOException ex) {
+            throw new ServerWebInputException("Failed to read HTTP message", null, ex);
+        }
+        if (sweepRequest == null) throw new ServerWebInputException(MISSING_BODY);
+
+        BindingResult bindingResult = riskProfileSweepService.validate(sweepRequest);
+        if (bindingResult.hasErrors()) {
+            return ServerResponse.badRequest()
+                    .bodyValue(restExceptionHandler.rejectFields(bindingResult, request.path()));
+        }
+
+        try {
+            return ServerResponse.ok().bodyValue(riskProfileSweepService.sweep(sweepRequest));
+        } catch (AuditLogFullException ex) {
+            return unrecorded(ex, request);
+        }
+    }
+
+    private Mono<ServerResponse> unrecorded(AuditLogFullException ex, ServerRequest request) {
+        return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RestExceptionHandler.RETRY_AFTER_SECONDS)
+                .bodyValue(restExceptionHandler.rejectUnrecorded(ex, request.path()));
+    }
+
+    private long score(InputStream in, OutputStream out, String path) {
+        try {
+            return riskProfileBatchService.score(in, out, path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static <T> T call(ServerRequest request, Supplier<T> work) {
+        ServerWebExchange exchange = request.exchange();
+        LocaleContext previous = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocaleContext(exchange.getLocaleContext());
+        try {
+            return WarmUpTrafficWebFilter.call(exchange, work);
+        } finally {
+            LocaleContextHolder.setLocaleContext(previous);
+        }
+    }
+
+    private static Map<String, String[]> parameters(ServerRequest request) {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        request.queryParams().forEach((name, values) -> parameters.put(name, values.toArray(new String[0])));
+        return parameters;
+    }
+
+    // Copied out so a batch abandoned half-way leaves no pooled buffers behind in the prefetch queue
+    private static byte[] drain(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    private static InputStream inputStream(Iterator<byte[]> chunks) {
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return chunks.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return new ByteArrayInputStream(chunks.next());
+            }
+        });
+    }
+
+    /**
+     * Emits what is written to it as data buffers, making the writer wait while the response has no demand.
+     */
+    private static final class SinkOutputStream extends OutputStream {
+
+        private final FluxSink<DataBuffer> sink;
+        private final DataBufferFactory bufferFactory;
+        private long demand;
+        private boolean cancelled;
+
+        private SinkOutputStream(FluxSink<DataBuffer> sink, DataBufferFactory bufferFactory) {
+            this.sink = sink;
+            this.bufferFactory = bufferFactory;
+            sink.onRequest(this::request);
+            sink.onCancel(this::cancel);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return;
+            awaitDemand();
+            sink.next(bufferFactory.wrap(Arrays.copyOfRange(b, off, off + len)));
+        }
+
+        private synchronized void awaitDemand() throws IOException {
+            try {
+                while (demand == 0 && !cancelled) wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to write the response");
+            }
+            if (cancelled) throw new IOException("Response cancelled");
+            if (demand != Long.MAX_VALUE) demand--;
+        }
+
+        private synchronized void request(long n) {
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            notifyAll();
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+    }
+
+}
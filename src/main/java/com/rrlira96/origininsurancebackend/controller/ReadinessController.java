@@ -0,0 +1,51 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.audit.AuditLog;
+import com.rrlira96.origininsurancebackend.warmup.WarmUp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Readiness probe: 200 once the application accepts traffic and, with {@code risk-profile.warm-up.enabled}, the
+ * warm-up has finished; 503 before. With {@code risk-profile.audit.enabled} it turns 503 for good when the audit log
+ * writer stops, since decisions could no longer be recorded.
+ */
+@RestController
+@RequestMapping(value = "/internal/ready")
+public class ReadinessController {
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired(required = false)
+    private WarmUp warmUp;
+
+    @Autowired(required = false)
+    private AuditLog auditLog;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> ready() {
+        boolean accepting = applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+        boolean warm = warmUp == null || warmUp.isDone();
+        boolean auditing = auditLog == null || auditLog.isWriterUp();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", !accepting ? "refusing_traffic" : !auditing ? "audit_log_down" : warm ? "ready"
+                : "warming_up");
+        if (warmUp != null) body.put("warm_up", warmUp.report());
+        if (auditLog != null) body.put("audit_log", auditing ? "up" : "down");
+        boolean ready = accepting && auditing && warm;
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+}
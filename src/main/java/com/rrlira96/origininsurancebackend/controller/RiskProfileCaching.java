@@ -0,0 +1,48 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP caching headers for {@code GET /api/v1/risk-profiles}. The strong ETag is derived from the
+ * {@link RiskProfile#code() profile code}, so any URL scoring the same profile revalidates with the same tag. Scoring
+ * only depends on the calendar year through the vehicle's age, so responses for users with a vehicle are not cached
+ * past the next year rollover; other responses are cached for {@code risk-profile.cache.max-age}, which also bounds
+ * how long a reloaded rule set takes to reach caches.
+ */
+public class RiskProfileCaching {
+
+    private static final String[] ETAGS = new String[RiskProfile.CODES];
+
+    static {
+        for (int code = 0; code < RiskProfile.CODES; code++) ETAGS[code] = String.format("\"rp-%02x\"", code);
+    }
+
+    private final CurrentYear currentYear;
+    private final long maxAgeSeconds;
+    private final CacheControl cacheControl;
+
+    public RiskProfileCaching(CurrentYear currentYear, Duration maxAge) {
+        this.currentYear = currentYear;
+        this.maxAgeSeconds = maxAge.getSeconds();
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+    }
+
+    public String eTag(RiskProfile riskProfile) {
+        return ETAGS[riskProfile.code()];
+    }
+
+    public CacheControl cacheControl(User user) {
+        if (user.getVehicle() == null) return cacheControl;
+
+        long untilNextYear = currentYear.millisUntilNextYear() / 1000;
+        if (untilNextYear >= maxAgeSeconds) return cacheControl;
+        return CacheControl.maxAge(Math.max(0, untilNextYear), TimeUnit.SECONDS).cachePublic();
+    }
+
+}
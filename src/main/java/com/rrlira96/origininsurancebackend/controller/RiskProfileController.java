@@ -1,27 +1,111 @@
 package com.rrlira96.origininsurancebackend.controller;
 
+import com.rrlira96.origininsurancebackend.controller.exceptions.RestExceptionHandler;
 import com.rrlira96.origininsurancebackend.model.User;
 import com.rrlira96.origininsurancebackend.model.RiskProfile;
-import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import com.rrlira96.origininsurancebackend.service.RiskProfileBatchService;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.sweep.RiskProfileSweepService;
+import com.rrlira96.origininsurancebackend.sweep.SweepRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
 
 @RestController
+@ConditionalOnExpression("!{'functional', 'reactive'}.contains('${risk-profile.execution-mode:platform}')")
 @RequestMapping(value = "/api/v1/risk-profiles")
 public class RiskProfileController {
 
     @Autowired
-    private RiskProfileService riskProfileService;
+    private RiskProfileEngine riskProfileEngine;
+
+    @Autowired
+    private RiskProfileBatchService riskProfileBatchService;
+
+    @Autowired
+    private RiskProfileSweepService riskProfileSweepService;
+
+    @Autowired
+    private RestExceptionHandler restExceptionHandler;
+
+    @Autowired
+    private RiskProfileCaching riskProfileCaching;
+
+    @Autowired
+    @Qualifier("userValidator")
+    private Validator userValidator;
+
+    @InitBinder("user")
+    public void initUserBinder(WebDataBinder binder) {
+        binder.setValidator(userValidator);
+    }
 
     @PostMapping
     public ResponseEntity<RiskProfile> generateRiskProfile(@RequestBody @Valid User user) {
-        return ResponseEntity.ok().body(riskProfileService.buildRiskProfile(user));
+        return ResponseEntity.ok().body(riskProfileEngine.buildRiskProfile(user));
+    }
+
+    /**
+     * Cacheable form of {@link #generateRiskProfile}, with the user in the query string as described in
+     * {@link UserQuery}. A query that is not in canonical form is redirected to it. Answers to
+     * {@code If-None-Match} with a matching ETag are 304 without a body.
+     */
+    @GetMapping
+    public ResponseEntity<RiskProfile> getRiskProfile(HttpServletRequest request) throws BindException {
+        BindingResult bindingResult = new MapBindingResult(new HashMap<>(), "user");
+        User user = UserQuery.parse(request.getParameterMap(), bindingResult);
+        if (user != null) userValidator.validate(user, bindingResult);
+        if (bindingResult.hasErrors()) throw new BindException(bindingResult);
+
+        String canonical = UserQuery.canonical(user);
+        if (!canonical.equals(request.getQueryString())) {
+            return ResponseEntity.status(HttpStatus.MOVED_PERMANENTLY)
+                    .location(URI.create(request.getRequestURI() + '?' + canonical))
+                    .build();
+        }
+
+        RiskProfile riskProfile = riskProfileEngine.buildRiskProfile(user);
+        return ResponseEntity.ok()
+                .eTag(riskProfileCaching.eTag(riskProfile))
+                .cacheControl(riskProfileCaching.cacheControl(user))
+                .body(riskProfile);
+    }
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void generateRiskProfiles(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        riskProfileBatchService.score(request.getInputStream(), response.getOutputStream(), request.getRequestURI());
+    }
+
+    @PostMapping(value = "/sweep")
+    public ResponseEntity<?> sweepRiskProfiles(@RequestBody SweepRequest sweepRequest, HttpServletRequest request) {
+        BindingResult bindingResult = riskProfileSweepService.validate(sweepRequest);
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest()
+                    .body(restExceptionHandler.rejectFields(bindingResult, request.getRequestURI()));
+        }
+        return ResponseEntity.ok().body(riskProfileSweepService.sweep(sweepRequest));
     }
 
 }
@@ -0,0 +1,152 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.rrlira96.origininsurancebackend.audit.AuditLogFullException;
+import com.rrlira96.origininsurancebackend.controller.exceptions.RestExceptionHandler;
+import com.rrlira96.origininsurancebackend.metrics.LatencyHistogram;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.RiskProfileBatchService;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.sweep.RiskProfileSweepService;
+import com.rrlira96.origininsurancebackend.sweep.SweepRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.HashMap;
+
+/**
+ * Functional counterpart of {@link RiskProfileController}, served when {@code risk-profile.execution-mode=functional}.
+ * Requests skip handler-method argument resolution and data binder creation. Responses and errors match the
+ * controller's.
+ */
+public class RiskProfileHandler {
+
+    private final RiskProfileEngine riskProfileEngine;
+    private final RiskProfileBatchService riskProfileBatchService;
+    private final RiskProfileSweepService riskProfileSweepService;
+    private final Validator userValidator;
+    private final RestExceptionHandler restExceptionHandler;
+    private final RiskProfileCaching riskProfileCaching;
+    private final LatencyHistogram parse;
+
+    public RiskProfileHandler(RiskProfileEngine riskProfileEngine, RiskProfileBatchService riskProfileBatchService,
+                              RiskProfileSweepService riskProfileSweepService, Validator userValidator,
+                              RestExceptionHandler restExceptionHandler, RiskProfileCaching riskProfileCaching,
+                              LatencyHistogram parse) {
+        this.riskProfileEngine = riskProfileEngine;
+        this.riskProfileBatchService = riskProfileBatchService;
+        this.riskProfileSweepService = riskProfileSweepService;
+        this.userValidator = userValidator;
+        this.restExceptionHandler = restExceptionHandler;
+        this.riskProfileCaching = riskProfileCaching;
+        this.parse = parse;
+    }
+
+    public ServerResponse generateRiskProfile(ServerRequest request) throws ServletException, IOException {
+        User user;
+        long start = parse == null ? 0 : System.nanoTime();
+        try {
+            user = request.body(User.class);
+            if (parse != null) parse.recordSince(start);
+        } catch (HttpMessageNotReadableException ex) {
+            // Controller advice is not applied to handler functions, so reuse RestExceptionHandler explicitly.
+            if (!(ex.getCause() instanceof InvalidFormatException)) throw ex;
+            return ServerResponse.badRequest()
+                    .body(restExceptionHandler.rejectValue((InvalidFormatException) ex.getCause(), request.path()));
+        }
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(user, "user");
+        userValidator.validate(user, bindingResult);
+        if (bindingResult.hasErrors()) {
+            return ServerResponse.badRequest().body(restExceptionHandler.rejectFields(bindingResult, request.path()));
+        }
+
+        try {
+            return ServerResponse.ok().body(riskProfileEngine.buildRiskProfile(user));
+        } catch (AuditLogFullException ex) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RestExceptionHandler.RETRY_AFTER_SECONDS)
+                    .body(restExceptionHandler.rejectUnrecorded(ex, request.path()));
+        }
+    }
+
+    public ServerResponse getRiskProfile(ServerRequest request) {
+        HttpServletRequest servletRequest = request.servletRequest();
+        BindingResult bindingResult = new MapBindingResult(new HashMap<>(), "user");
+        User user = UserQuery.parse(servletRequest.getParameterMap(), bindingResult);
+        if (user != null) userValidator.validate(user, bindingResult);
+        if (bindingResult.hasErrors()) {
+            return ServerResponse.badRequest().body(restExceptionHandler.rejectFields(bindingResult, request.path()));
+        }
+
+        String canonical = UserQuery.canonical(user);
+        if (!canonical.equals(servletRequest.getQueryString())) {
+            return ServerResponse.status(HttpStatus.MOVED_PERMANENTLY)
+                    .location(URI.create(request.path() + '?' + canonical))
+                    .build();
+        }
+
+        try {
+            RiskProfile riskProfile = riskProfileEngine.buildRiskProfile(user);
+            return ServerResponse.ok()
+                    .eTag(riskProfileCaching.eTag(riskProfile))
+                    .cacheControl(riskProfileCaching.cacheControl(user))
+                    .body(riskProfile);
+        } catch (AuditLogFullException ex) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RestExceptionHandler.RETRY_AFTER_SECONDS)
+                    .body(restExceptionHandler.rejectUnrecorded(ex, request.path()));
+        }
+    }
+
+    public ServerResponse generateRiskProfiles(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).build((servletRequest, servletResponse) -> {
+            try {
+                riskProfileBatchService.score(servletRequest.getInputStream(), servletResponse.getOutputStream(),
+                        servletRequest.getRequestURI());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return null;
+        });
+    }
+
+    public ServerResponse sweepRiskProfiles(ServerRequest request) throws ServletException, IOException {
+        SweepRequest sweepRequest;
+        try {
+            sweepRequest = request.body(SweepRequest.class);
+        } catch (HttpMessageNotReadableException ex) {
+            if (!(ex.getCause() instanceof InvalidFormatException)) throw ex;
+            return ServerResponse.badRequest()
+                    .body(restExceptionHandler.rejectValue((InvalidFormatException) ex.getCause(), request.path()));
+        }
+
+        BindingResult bindingResult = riskProfileSweepService.validate(sweepRequest);
+        if (bindingResult.hasErrors()) {
+            return ServerResponse.badRequest().body(restExceptionHandler.rejectFields(bindingResult, request.path()));
+        }
+
+        try {
+            return ServerResponse.ok().body(riskProfileSweepService.sweep(sweepRequest));
+        } catch (AuditLogFullException ex) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RestExceptionHandler.RETRY_AFTER_SECONDS)
+                    .body(restExceptionHandler.rejectUnrecorded(ex, request.path()));
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.metrics.LatencyHistogram;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes the pre-encoded body of a canonical {@link RiskProfile} straight to the response, bypassing Jackson, and
+ * records the time taken in {@code serialization} when metrics are enabled.
+ */
+public class RiskProfileHttpMessageConverter extends AbstractHttpMessageConverter<RiskProfile> {
+
+    private final LatencyHistogram serialization;
+
+    public RiskProfileHttpMessageConverter(LatencyHistogram serialization) {
+        super(MediaType.APPLICATION_JSON);
+        this.serialization = serialization;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RiskProfile.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RiskProfile readInternal(Class<? extends RiskProfile> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("RiskProfile is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(RiskProfile riskProfile, MediaType contentType) {
+        return (long) riskProfile.jsonBytes().length;
+    }
+
+    @Override
+    protected void writeInternal(RiskProfile riskProfile, HttpOutputMessage outputMessage) throws IOException {
+        if (serialization == null) {
+            outputMessage.getBody().write(riskProfile.jsonBytes());
+            return;
+        }
+
+        long start = System.nanoTime();
+        outputMessage.getBody().write(riskProfile.jsonBytes());
+        serialization.recordSince(start);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.shadow.ShadowEvaluator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping(value = "/internal/shadow")
+@ConditionalOnProperty(name = "risk-profile.shadow.enabled", havingValue = "true")
+public class ShadowController {
+
+    @Autowired
+    private ShadowEvaluator shadowEvaluator;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> report() {
+        return shadowEvaluator.report();
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.model.House;
+import com.rrlira96.origininsurancebackend.model.MaritalStatus;
+import com.rrlira96.origininsurancebackend.model.OwnershipStatus;
+import com.rrlira96.origininsurancebackend.model.RiskAnswers;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.Vehicle;
+import org.springframework.validation.Errors;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query-string form of a {@link User} for {@code GET /api/v1/risk-profiles}, e.g.
+ * {@code age=35&dependents=2&house=owned&income=0&marital_status=married&risk_questions=0,1,0&vehicle_year=2018}.
+ * {@code house} and {@code vehicle_year} are left out when the user has none. The canonical form lists the parameters
+ * in that order, once each and with plain decimal numbers, so equal users always share one URL and one cache entry.
+ */
+public final class UserQuery {
+
+    static final String AGE = "age";
+    static final String DEPENDENTS = "dependents";
+    static final String HOUSE = "house";
+    static final String INCOME = "income";
+    static final String MARITAL_STATUS = "marital_status";
+    static final String RISK_QUESTIONS = "risk_questions";
+    static final String VEHICLE_YEAR = "vehicle_year";
+
+    private static final String NOT_NULL = "must not be null";
+    private static final String NOT_INTEGER = "must be an integer";
+
+    private UserQuery() {
+    }
+
+    /**
+     * Reads the user from request parameters, reporting missing and unreadable ones by parameter name. Unknown
+     * parameters are ignored, and only the first value of a repeated one is read.
+     *
+     * @return the user, or {@code null} if {@code errors} got any
+     */
+    public static User parse(Map<String, String[]> parameters, Errors errors) {
+        int age = readInt(parameters, AGE, errors);
+        int dependents = readInt(parameters, DEPENDENTS, errors);
+        int income = readInt(parameters, INCOME, errors);
+
+        House house = null;
+        String ownershipStatus = first(parameters, HOUSE);
+        if (ownershipStatus != null) {
+            OwnershipStatus status = constant(OwnershipStatus.values(), ownershipStatus);
+            if (status == null) errors.rejectValue(HOUSE, "typeMismatch", "must be one of owned, mortgaged");
+            else house = new House(status);
+        }
+
+        String maritalStatusValue = first(parameters, MARITAL_STATUS);
+        MaritalStatus maritalStatus = null;
+        if (maritalStatusValue == null) {
+            errors.rejectValue(MARITAL_STATUS, "NotNull", NOT_NULL);
+        } else {
+            maritalStatus = constant(MaritalStatus.values(), maritalStatusValue);
+            if (maritalStatus == null) {
+                errors.rejectValue(MARITAL_STATUS, "typeMismatch", "must be one of single, married");
+            }
+        }
+
+        List<Integer> riskAnswers = readRiskAnswers(first(parameters, RISK_QUESTIONS), errors);
+
+        Vehicle vehicle = null;
+        if (first(parameters, VEHICLE_YEAR) != null) vehicle = new Vehicle(readInt(parameters, VEHICLE_YEAR, errors));
+
+        if (errors.hasErrors()) return null;
+        return new User(age, dependents, house, income, maritalStatus, riskAnswers, vehicle);
+    }
+
+    public static String canonical(User user) {
+        StringBuilder query = new StringBuilder(112);
+        query.append(AGE).append('=').append(user.getAge());
+        query.append('&').append(DEPENDENTS).append('=').append(user.getDependents());
+        if (user.getHouse() != null) {
+            query.append('&').append(HOUSE).append('=').append(user.getHouse().getOwnershipStatus());
+        }
+        query.append('&').append(INCOME).append('=').append(user.getIncome());
+        query.append('&').append(MARITAL_STATUS).append('=').append(user.getMaritalStatus());
+        query.append('&').append(RISK_QUESTIONS).append('=');
+        List<Integer> riskAnswers = user.getRiskAnswers();
+        for (int i = 0; i < riskAnswers.size(); i++) {
+            if (i > 0) query.append(',');
+            query.append(riskAnswers.get(i));
+        }
+        if (user.getVehicle() != null) {
+            query.append('&').append(VEHICLE_YEAR).append('=').append(user.getVehicle().getYear());
+        }
+        return query.toString();
+    }
+
+    private static int readInt(Map<String, String[]> parameters, String name, Errors errors) {
+        String value = first(parameters, name);
+        if (value == null) {
+            errors.rejectValue(name, "NotNull", NOT_NULL);
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            errors.rejectValue(name, "typeMismatch", NOT_INTEGER);
+            return 0;
+        }
+    }
+
+    private static List<Integer> readRiskAnswers(String value, Errors errors) {
+        if (value == null) {
+            errors.rejectValue(RISK_QUESTIONS, "NotNull", NOT_NULL);
+            return null;
+        }
+        String[] parts = value.split(",", -1);
+        if (parts.length != 3) {
+            errors.rejectValue(RISK_QUESTIONS, "Size", "must be of size 3");
+            return null;
+        }
+        int[] answers = new int[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) answers[i] = Integer.parseInt(parts[i]);
+        } catch (NumberFormatException ex) {
+            errors.rejectValue(RISK_QUESTIONS, "typeMismatch", "must be comma-separated integers");
+            return null;
+        }
+        return new RiskAnswers(answers);
+    }
+
+    private static String first(Map<String, String[]> parameters, String name) {
+        String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    private static <E extends Enum<E>> E constant(E[] constants, String name) {
+        for (E constant : constants) {
+            if (constant.name().equals(name)) return constant;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.rrlira96.origininsurancebackend.controller.exceptions;
+
+import java.time.Instant;
+
+/**
+ * Millisecond-precision {@link Instant#now()} that hands out the same instance to every error created within the
+ * same millisecond. Error bodies only render seconds, so nothing visible changes.
+ */
+public final class CachedTimestamp {
+
+    private static volatile Instant last = Instant.EPOCH;
+
+    private CachedTimestamp() {
+    }
+
+    public static Instant now() {
+        long millis = System.currentTimeMillis();
+        Instant cached = last;
+        if (cached.toEpochMilli() == millis) return cached;
+
+        cached = Instant.ofEpochMilli(millis);
+        last = cached;
+        return cached;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.rrlira96.origininsurancebackend.controller.exceptions;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code limit} log lines through per {@code window}. The rest are only counted, and the count is logged
+ * as a single summary line by the first caller of the next window, so a flood of bad requests produces a bounded
+ * amount of logging.
+ *
+ * <pre>
+ * if (rejections.tryAcquire()) logger.warn("Rejected request to {}.", path);
+ * </pre>
+ */
+public class LogRateLimiter {
+
+    private final Logger logger;
+    private final int limit;
+    private final long windowNanos;
+    private final AtomicLong windowStart;
+    private final AtomicInteger used = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogRateLimiter(Logger logger, int limit, Duration window) {
+        this.logger = logger;
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+            long count = suppressed.sumThenReset();
+            if (count > 0) {
+                logger.warn("Suppressed {} similar log lines in the last {} ms.", count, (now - start) / 1_000_000);
+            }
+        }
+
+        if (used.get() < limit && used.incrementAndGet() <= limit) return true;
+        suppressed.increment();
+        return false;
+    }
+
+}
@@ -1,59 +1,132 @@
 package com.rrlira96.origininsurancebackend.controller.exceptions;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.rrlira96.origininsurancebackend.audit.AuditLogFullException;
+import com.rrlira96.origininsurancebackend.metrics.RiskProfileMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
-import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import javax.servlet.http.HttpServletRequest;
-import java.time.Instant;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
+import java.util.StringJoiner;
 
+/**
+ * Rejections are counted per field in {@link RiskProfileMetrics} (the validator counts constraint violations, this
+ * handler counts unreadable values) and only logged up to {@code risk-profile.rejections.log-limit} times per
+ * {@code risk-profile.rejections.log-window}, so invalid traffic stays cheaper than valid traffic.
+ */
 @ControllerAdvice
 public class RestExceptionHandler {
 
     private static Logger logger = LoggerFactory.getLogger(RestExceptionHandler.class);
 
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    private final LogRateLimiter rejections;
+    private final RiskProfileMetrics riskProfileMetrics;
+
+    public RestExceptionHandler(@Value("${risk-profile.rejections.log-limit:10}") int logLimit,
+                                @Value("${risk-profile.rejections.log-window:1s}") Duration logWindow,
+                                RiskProfileMetrics riskProfileMetrics) {
+        this.rejections = new LogRateLimiter(logger, logLimit, logWindow);
+        this.riskProfileMetrics = riskProfileMetrics;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> methodArgumentNotValidHandler(MethodArgumentNotValidException ex, HttpServletRequest request) {
-        String title = "Validation failed";
-        HttpStatus status = HttpStatus.BAD_REQUEST;
-        ErrorResponse errorResponse = new ErrorResponse(new ArrayList<>());
-        List<ObjectError> allErrors = ex.getBindingResult().getAllErrors();
-
-        for (ObjectError error : allErrors) {
-            String field = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            String detail = String.format("Field %s %s", field, errorMessage);
-            StandardError errorObject = new StandardError(Instant.now(), status.value(), title, detail, request.getRequestURI());
-            errorResponse.getErrors().add(errorObject);
-            logger.error("Field validation error. {}.", error);
-        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(rejectFields(ex.getBindingResult(), request.getRequestURI()));
+    }
 
-        return ResponseEntity.status(status).body(errorResponse);
+    /**
+     * Query parameters that are missing, unreadable or invalid, e.g. on {@code GET /api/v1/risk-profiles}.
+     */
+    @ExceptionHandler(BindException.class)
+    public ResponseEntity<ErrorResponse> bindExceptionHandler(BindException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(rejectFields(ex.getBindingResult(), request.getRequestURI()));
     }
 
     @ExceptionHandler(InvalidFormatException.class)
     public ResponseEntity<ErrorResponse> httpMessageNotReadableHandler(InvalidFormatException ex, HttpServletRequest request) {
-        String title = "Validation failed";
-        HttpStatus status = HttpStatus.BAD_REQUEST;
-        String message = String.format("Invalid value: %s", ex.getValue());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(rejectValue(ex, request.getRequestURI()));
+    }
 
-        ErrorResponse errorResponse = new ErrorResponse(new ArrayList<>());
-        StandardError errorObject = new StandardError(Instant.now(), status.value(), title, message, request.getRequestURI());
-        errorResponse.getErrors().add(errorObject);
+    @ExceptionHandler(AuditLogFullException.class)
+    public ResponseEntity<ErrorResponse> auditLogFullHandler(AuditLogFullException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(rejectUnrecorded(ex, request.getRequestURI()));
+    }
 
-        logger.error("Field validation error. {}.", ex.getMessage());
+    /**
+     * Body for a request whose user failed validation. Also used by the functional endpoints, which are not covered
+     * by controller advice.
+     */
+    public ErrorResponse rejectFields(BindingResult bindingResult, String path) {
+        if (rejections.tryAcquire()) {
+            logger.warn("Rejected request to {} with invalid fields {}.", path, fieldsOf(bindingResult));
+        }
+        return ValidationErrors.of(bindingResult, path);
+    }
 
-        return ResponseEntity.status(status).body(errorResponse);
+    /**
+     * Body for a request with a value that could not be read, such as an unknown enum constant.
+     */
+    public ErrorResponse rejectValue(InvalidFormatException ex, String path) {
+        String field = pathOf(ex);
+        if (riskProfileMetrics.isEnabled()) riskProfileMetrics.recordValidationFailure(field);
+
+        if (rejections.tryAcquire()) {
+            logger.warn("Rejected request to {} with invalid value for {}.", path, field);
+        }
+        return new ErrorResponse(List.of(ValidationErrors.invalidValue(ex.getValue(), path)));
+    }
+
+    /**
+     * Body for a request whose decision could not be recorded in the audit log, sent with status 503 and
+     * {@link #RETRY_AFTER_SECONDS}.
+     */
+    public ErrorResponse rejectUnrecorded(AuditLogFullException ex, String path) {
+        if (rejections.tryAcquire()) {
+            logger.warn("Rejected request to {}: {}.", path, ex.getMessage());
+        }
+        return new ErrorResponse(List.of(new StandardError(CachedTimestamp.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage(), path)));
     }
 
+    /**
+     * JSON path of the unreadable value, e.g. {@code house.ownership_status} or {@code risk_questions[1]}.
+     */
+    static String pathOf(JsonMappingException ex) {
+        StringBuilder path = new StringBuilder();
+        for (JsonMappingException.Reference reference : ex.getPath()) {
+            if (reference.getFieldName() != null) {
+                if (path.length() > 0) path.append('.');
+                path.append(reference.getFieldName());
+            } else if (reference.getIndex() >= 0) {
+                path.append('[').append(reference.getIndex()).append(']');
+            }
+        }
+        return path.length() == 0 ? "$" : path.toString();
+    }
+
+    private static String fieldsOf(BindingResult bindingResult) {
+        StringJoiner fields = new StringJoiner(", ", "[", "]");
+        for (FieldError error : bindingResult.getFieldErrors()) fields.add(error.getField());
+        return fields.toString();
+    }
 
 }
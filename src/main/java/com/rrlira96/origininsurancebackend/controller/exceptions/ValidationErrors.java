@@ -0,0 +1,61 @@
+package com.rrlira96.origininsurancebackend.controller.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class ValidationErrors {
+
+    public static final String TITLE = "Validation failed";
+
+    private static final int STATUS = HttpStatus.BAD_REQUEST.value();
+
+    // Field names and constraint messages form a small, fixed set, so each detail string is built once. The bound
+    // only guards against unexpected growth.
+    private static final int MAX_CACHED_FIELDS = 64;
+    private static final Map<String, Map<String, String>> FIELD_DETAILS = new ConcurrentHashMap<>();
+
+    private ValidationErrors() {
+    }
+
+    public static StandardError fieldError(String field, String message, String path) {
+        return new StandardError(CachedTimestamp.now(), STATUS, TITLE, fieldDetail(field, message), path);
+    }
+
+    public static StandardError invalidValue(Object value, String path) {
+        return new StandardError(CachedTimestamp.now(), STATUS, TITLE, "Invalid value: " + value, path);
+    }
+
+    public static StandardError malformedRecord(String message, String path) {
+        return new StandardError(CachedTimestamp.now(), STATUS, TITLE, "Malformed record: " + message, path);
+    }
+
+    public static ErrorResponse of(BindingResult bindingResult, String path) {
+        List<ObjectError> allErrors = bindingResult.getAllErrors();
+        List<StandardError> errors = new ArrayList<>(allErrors.size());
+        for (ObjectError error : allErrors) {
+            errors.add(fieldError(((FieldError) error).getField(), error.getDefaultMessage(), path));
+        }
+        return new ErrorResponse(errors);
+    }
+
+    static String fieldDetail(String field, String message) {
+        Map<String, String> details = FIELD_DETAILS.get(field);
+        String detail = details == null ? null : details.get(message);
+        if (detail != null) return detail;
+
+        detail = "Field " + field + " " + message;
+        if (details == null && FIELD_DETAILS.size() < MAX_CACHED_FIELDS) {
+            details = FIELD_DETAILS.computeIfAbsent(field, key -> new ConcurrentHashMap<>());
+        }
+        if (details != null && details.size() < MAX_CACHED_FIELDS) details.putIfAbsent(message, detail);
+        return detail;
+    }
+
+}
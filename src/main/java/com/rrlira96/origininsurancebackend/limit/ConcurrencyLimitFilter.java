@@ -0,0 +1,125 @@
+package com.rrlira96.origininsurancebackend.limit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.controller.exceptions.ErrorResponse;
+import com.rrlira96.origininsurancebackend.controller.exceptions.RestExceptionHandler;
+import com.rrlira96.origininsurancebackend.controller.exceptions.StandardError;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@link GradientConcurrencyLimit#limit()} requests through at a time and answers the others right away
+ * with 503 and {@code Retry-After}, before their body is read. The in-flight count is claimed with a compare-and-set
+ * against the current limit, and the rejection body is encoded once per path and second, so a rejection costs about
+ * as little as the server can answer.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String MESSAGE = "Too many requests in progress, retry later";
+
+    private static final int CACHED_PATHS = 8;
+
+    private final GradientConcurrencyLimit limit;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final Map<String, RejectionBody> rejectionBodies = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(GradientConcurrencyLimit limit, ObjectMapper objectMapper) {
+        this.limit = limit;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.limit()) {
+                reject(request.getRequestURI(), response);
+                return;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            inFlight.decrementAndGet();
+            if (completed) {
+                long now = System.nanoTime();
+                limit.onSample(now, now - start, current + 1);
+            }
+        }
+    }
+
+    public void writeTo(StringBuilder out) {
+        out.append("# HELP risk_profile_concurrency_limit Requests let through at the same time.\n");
+        out.append("# TYPE risk_profile_concurrency_limit gauge\n");
+        out.append("risk_profile_concurrency_limit ").append(limit.limit()).append('\n');
+        out.append("# HELP risk_profile_concurrency_in_flight Requests in progress.\n");
+        out.append("# TYPE risk_profile_concurrency_in_flight gauge\n");
+        out.append("risk_profile_concurrency_in_flight ").append(inFlight.get()).append('\n');
+        out.append("# HELP risk_profile_concurrency_rejections_total Requests rejected over the concurrency limit.\n");
+        out.append("# TYPE risk_profile_concurrency_rejections_total counter\n");
+        out.append("risk_profile_concurrency_rejections_total ").append(rejected.sum()).append('\n');
+    }
+
+    private void reject(String path, HttpServletResponse response) throws IOException {
+        rejected.increment();
+        byte[] body = rejectionBody(path);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RestExceptionHandler.RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Error bodies render their timestamp in seconds, so the encoded body of a path can be reused for a second.
+     */
+    private byte[] rejectionBody(String path) throws JsonProcessingException {
+        long second = System.currentTimeMillis() / 1000;
+        RejectionBody cached = rejectionBodies.get(path);
+        if (cached != null && cached.second == second) return cached.body;
+
+        StandardError error = new StandardError(Instant.ofEpochSecond(second), HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(), MESSAGE, path);
+        byte[] body = objectMapper.writeValueAsBytes(new ErrorResponse(List.of(error)));
+        if (cached != null || rejectionBodies.size() < CACHED_PATHS) {
+            rejectionBodies.put(path, new RejectionBody(second, body));
+        }
+        return body;
+    }
+
+    private static final class RejectionBody {
+
+        private final long second;
+        private final byte[] body;
+
+        private RejectionBody(long second, byte[] body) {
+            this.second = second;
+            this.body = body;
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.rrlira96.origininsurancebackend.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows the latency of the requests it lets through, in the style of the gradient
+ * algorithms of TCP congestion control. Latencies are summed per window; when a window closes, its average is
+ * compared with a long-term average: while they are close the limit grows by a small queue allowance, and as the
+ * recent latency rises above the long-term one (requests are queueing) the limit shrinks in proportion.
+ * <p>
+ * Recording a sample only adds to striped counters. The thread whose sample closes a window, chosen by a
+ * compare-and-set on the window end, computes the next limit; every other thread just reads it.
+ */
+public class GradientConcurrencyLimit {
+
+    /**
+     * Windows averaged into the long-term latency.
+     */
+    private static final int LONG_WINDOWS = 60;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong windowEnd = new AtomicLong();
+
+    // Only written by the thread closing a window, which can be a different one each time
+    private volatile double estimatedLimit;
+    private volatile double longLatency;
+
+    private volatile int limit;
+
+    /**
+     * @param tolerance how much higher than the long-term latency the recent one may be before the limit shrinks,
+     *                  e.g. 1.5 for 50%
+     */
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                    long windowNanos) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (tolerance < 1) throw new IllegalArgumentException("Tolerance must be at least 1: " + tolerance);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = windowNanos;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Records a request that was let through with {@code inFlight} requests in progress, itself included, and took
+     * {@code latencyNanos} once it ended at {@code now}, a {@link System#nanoTime()} reading.
+     */
+    public void onSample(long now, long latencyNanos, int inFlight) {
+        latencySum.add(latencyNanos);
+        samples.increment();
+        if (inFlight > maxInFlight.get()) maxInFlight.accumulateAndGet(inFlight, Math::max);
+
+        long end = windowEnd.get();
+        // The first window starts with the first sample
+        if (end == 0) {
+            windowEnd.compareAndSet(0, now + windowNanos);
+            return;
+        }
+        if (now - end < 0 || samples.sum() < MIN_WINDOW_SAMPLES) return;
+        if (windowEnd.compareAndSet(end, now + windowNanos)) closeWindow();
+    }
+
+    private void closeWindow() {
+        long count = samples.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        int peakInFlight = maxInFlight.getAndSet(0);
+        if (count == 0) return;
+
+        double shortLatency = (double) sum / count;
+        if (longLatency == 0) {
+            longLatency = shortLatency;
+        } else {
+            longLatency += (shortLatency - longLatency) * 2 / (LONG_WINDOWS + 1);
+            // After a slow period the long-term latency would keep the limit low for a long time; let it recover
+            if (longLatency > 2 * shortLatency) longLatency *= 0.95;
+        }
+
+        // Callers are not using the limit, so there is nothing to learn about it
+        if (peakInFlight < estimatedLimit / 2) return;
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1, tolerance * longLatency / shortLatency));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        next = estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+}
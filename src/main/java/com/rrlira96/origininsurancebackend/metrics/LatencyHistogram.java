@@ -0,0 +1,63 @@
+package com.rrlira96.origininsurancebackend.metrics;
+
+import com.rrlira96.origininsurancebackend.warmup.WarmUpTraffic;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets, from 128 ns up to about one second plus an
+ * overflow bucket. Recording is a couple of {@link LongAdder} increments, so concurrent requests do not contend.
+ * Nothing is recorded for {@link WarmUpTraffic}.
+ */
+public class LatencyHistogram {
+
+    private static final int MIN_SHIFT = 7;
+    private static final int MAX_SHIFT = 30;
+    private static final int OVERFLOW = MAX_SHIFT - MIN_SHIFT + 1;
+
+    private final LongAdder[] buckets = new LongAdder[OVERFLOW + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        if (WarmUpTraffic.isCurrent()) return;
+        buckets[bucketOf(nanos)].increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} and returns the current {@link System#nanoTime()}, so
+     * consecutive steps can be timed with one clock read each.
+     */
+    public long recordSince(long startNanos) {
+        long now = System.nanoTime();
+        record(now - startNanos);
+        return now;
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos <= 1L << MIN_SHIFT) return 0;
+        return Math.min(OVERFLOW, 64 - Long.numberOfLeadingZeros(nanos - 1) - MIN_SHIFT);
+    }
+
+    /**
+     * Appends the histogram in the Prometheus text format; {@code labels} is either empty or a comma-terminated list
+     * such as {@code stage="parse",}.
+     */
+    void writeTo(StringBuilder out, String name, String labels) {
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i].sum();
+            String le = i == OVERFLOW ? "+Inf" : Double.toString((1L << (MIN_SHIFT + i)) / 1e9);
+            out.append(name).append("_bucket{").append(labels).append("le=\"").append(le).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        String braced = labels.isEmpty() ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+        out.append(name).append("_sum").append(braced).append(' ').append(sumNanos.sum() / 1e9).append('\n');
+        out.append(name).append("_count").append(braced).append(' ').append(cumulative).append('\n');
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.rrlira96.origininsurancebackend.metrics;
+
+import com.rrlira96.origininsurancebackend.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Records the {@link Stage#parse} latency of {@code @RequestBody User} arguments: the message converter reads the
+ * body between {@link #beforeBodyRead} and {@link #afterBodyRead}, on the same thread.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "risk-profile.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class ParseTimingAdvice extends RequestBodyAdviceAdapter {
+
+    private static final ThreadLocal<long[]> START = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final LatencyHistogram parse;
+
+    public ParseTimingAdvice(RiskProfileMetrics metrics) {
+        this.parse = metrics.stage(Stage.parse);
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == User.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        START.get()[0] = System.nanoTime();
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        parse.recordSince(START.get()[0]);
+        return body;
+    }
+
+}
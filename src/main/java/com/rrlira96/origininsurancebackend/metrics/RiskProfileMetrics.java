@@ -0,0 +1,134 @@
+package com.rrlira96.origininsurancebackend.metrics;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.service.RuleTimer;
+import com.rrlira96.origininsurancebackend.warmup.WarmUpTraffic;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the hot-path metrics: a latency histogram per {@link Stage} and per scoring rule, a counter per
+ * {@link RiskProfile} outcome and validation failures by field. Everything is backed by {@link LongAdder}s and only
+ * aggregated when scraped. {@link WarmUpTraffic} is left out of all of them.
+ *
+ * <p>When disabled, {@link #stage(Stage)} returns {@code null} and no decorators are installed, so requests pay
+ * nothing beyond a null check.
+ */
+public class RiskProfileMetrics implements RuleTimer {
+
+    public static final List<String> RULES = List.of("base_score", "age", "income", "house", "dependents",
+            "marital_status", "vehicle", "plans", "ineligible");
+
+    /**
+     * Fields with their own validation failure counter, as named by the validator and by the JSON paths of unreadable
+     * values. Array indices are folded into {@code []} and anything else is counted as {@value #OTHER_FIELD}, so the
+     * label set stays fixed whatever the payload.
+     */
+    public static final List<String> FIELDS = List.of("$", "age", "dependents", "house", "house.ownership_status",
+            "income", "marital_status", "maritalStatus", "risk_questions", "risk_questions[]", "riskAnswers",
+            "vehicle", "vehicle.year");
+    public static final String OTHER_FIELD = "other";
+
+    private final boolean enabled;
+    private final int ruleSampleRate;
+    private final LatencyHistogram[] stages = new LatencyHistogram[Stage.values().length];
+    private final Map<String, LatencyHistogram> rules = new LinkedHashMap<>();
+    private final LongAdder[] outcomes = new LongAdder[RiskProfile.CODES];
+    private final Map<String, LongAdder> validationFailures = new TreeMap<>();
+
+    public RiskProfileMetrics(boolean enabled, int ruleSampleRate) {
+        if (ruleSampleRate < 1) throw new IllegalArgumentException("ruleSampleRate must be at least 1");
+
+        this.enabled = enabled;
+        this.ruleSampleRate = ruleSampleRate;
+        for (int i = 0; i < stages.length; i++) stages[i] = new LatencyHistogram();
+        for (String rule : RULES) rules.put(rule, new LatencyHistogram());
+        for (int i = 0; i < outcomes.length; i++) outcomes[i] = new LongAdder();
+        for (String field : FIELDS) validationFailures.put(field, new LongAdder());
+        validationFailures.put(OTHER_FIELD, new LongAdder());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LatencyHistogram stage(Stage stage) {
+        return enabled ? stages[stage.ordinal()] : null;
+    }
+
+    /**
+     * Whether this call should time the individual rules, which happens once every {@code ruleSampleRate} calls on
+     * average to keep the extra clock reads off most requests.
+     */
+    public boolean sampleRules() {
+        return ruleSampleRate == 1 || ThreadLocalRandom.current().nextInt(ruleSampleRate) == 0;
+    }
+
+    @Override
+    public long record(String rule, long startNanos) {
+        return rules.get(rule).recordSince(startNanos);
+    }
+
+    public void recordOutcome(RiskProfile riskProfile) {
+        if (WarmUpTraffic.isCurrent()) return;
+        outcomes[riskProfile.code()].increment();
+    }
+
+    public void recordValidationFailure(String field) {
+        if (WarmUpTraffic.isCurrent()) return;
+        LongAdder failures = validationFailures.get(normalize(field));
+        (failures != null ? failures : validationFailures.get(OTHER_FIELD)).increment();
+    }
+
+    /**
+     * Drops the {@code user.} prefix of nested requests such as sweeps and folds array indices into {@code []}.
+     */
+    static String normalize(String field) {
+        if (field.startsWith("user.")) field = field.substring("user.".length());
+        if (field.indexOf('[') < 0) return field;
+        return field.replaceAll("\\[\\d*]", "[]");
+    }
+
+    /**
+     * Appends every metric in the Prometheus text exposition format.
+     */
+    public void writeTo(StringBuilder out) {
+        out.append("# HELP risk_profile_stage_duration_seconds Time spent in each request stage.\n");
+        out.append("# TYPE risk_profile_stage_duration_seconds histogram\n");
+        for (Stage stage : Stage.values()) {
+            stages[stage.ordinal()].writeTo(out, "risk_profile_stage_duration_seconds", "stage=\"" + stage + "\",");
+        }
+
+        out.append("# HELP risk_profile_rule_duration_seconds Time spent in each scoring rule, sampled.\n");
+        out.append("# TYPE risk_profile_rule_duration_seconds histogram\n");
+        rules.forEach((rule, histogram) ->
+                histogram.writeTo(out, "risk_profile_rule_duration_seconds", "rule=\"" + rule + "\","));
+
+        out.append("# HELP risk_profile_outcomes_total Risk profiles returned, by insurance line and plan.\n");
+        out.append("# TYPE risk_profile_outcomes_total counter\n");
+        Map<String, Long> byLineAndPlan = new TreeMap<>();
+        for (int code = 0; code < outcomes.length; code++) {
+            long count = outcomes[code].sum();
+            if (count == 0) continue;
+            RiskProfile riskProfile = RiskProfile.fromCode(code);
+            byLineAndPlan.merge("line=\"auto\",plan=\"" + riskProfile.getAuto() + "\"", count, Long::sum);
+            byLineAndPlan.merge("line=\"disability\",plan=\"" + riskProfile.getDisability() + "\"", count, Long::sum);
+            byLineAndPlan.merge("line=\"home\",plan=\"" + riskProfile.getHome() + "\"", count, Long::sum);
+            byLineAndPlan.merge("line=\"life\",plan=\"" + riskProfile.getLife() + "\"", count, Long::sum);
+        }
+        byLineAndPlan.forEach((labels, count) ->
+                out.append("risk_profile_outcomes_total{").append(labels).append("} ").append(count).append('\n'));
+
+        out.append("# HELP risk_profile_validation_failures_total Rejected applicants, by field.\n");
+        out.append("# TYPE risk_profile_validation_failures_total counter\n");
+        validationFailures.forEach((field, count) ->
+                out.append("risk_profile_validation_failures_total{field=\"").append(field).append("\"} ")
+                        .append(count.sum()).append('\n'));
+    }
+
+}
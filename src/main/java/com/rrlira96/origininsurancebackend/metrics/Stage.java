@@ -0,0 +1,11 @@
+package com.rrlira96.origininsurancebackend.metrics;
+
+/**
+ * Pipeline stages of a risk-profile request that get their own latency histogram.
+ */
+public enum Stage {
+    parse,
+    validation,
+    scoring,
+    serialization
+}
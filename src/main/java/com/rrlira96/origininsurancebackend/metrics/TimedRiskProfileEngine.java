@@ -0,0 +1,38 @@
+package com.rrlira96.origininsurancebackend.metrics;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+
+/**
+ * Records the {@link Stage#scoring} latency and the outcome of every risk profile built by the delegate. When the
+ * delegate is the rule chain, sampled calls also time each rule.
+ */
+public class TimedRiskProfileEngine implements RiskProfileEngine {
+
+    private final RiskProfileEngine delegate;
+    private final RiskProfileService rules;
+    private final RiskProfileMetrics metrics;
+    private final LatencyHistogram scoring;
+
+    public TimedRiskProfileEngine(RiskProfileEngine delegate, RiskProfileMetrics metrics) {
+        this.delegate = delegate;
+        this.rules = delegate instanceof RiskProfileService ? (RiskProfileService) delegate : null;
+        this.metrics = metrics;
+        this.scoring = metrics.stage(Stage.scoring);
+    }
+
+    @Override
+    public RiskProfile buildRiskProfile(User user) {
+        long start = System.nanoTime();
+        RiskProfile riskProfile = rules != null && metrics.sampleRules()
+                ? rules.buildRiskProfile(user, metrics)
+                : delegate.buildRiskProfile(user);
+        scoring.recordSince(start);
+
+        metrics.recordOutcome(riskProfile);
+        return riskProfile;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.rrlira96.origininsurancebackend.metrics;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+
+/**
+ * Records the {@link Stage#validation} latency of the delegate and counts the fields it rejects.
+ */
+public class TimedUserValidator implements Validator {
+
+    private final Validator delegate;
+    private final RiskProfileMetrics metrics;
+    private final LatencyHistogram validation;
+
+    public TimedUserValidator(Validator delegate, RiskProfileMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.validation = metrics.stage(Stage.validation);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        int before = errors.getFieldErrorCount();
+        long start = System.nanoTime();
+        delegate.validate(target, errors);
+        validation.recordSince(start);
+
+        int after = errors.getFieldErrorCount();
+        if (after == before) return;
+        for (FieldError error : errors.getFieldErrors().subList(before, after)) {
+            metrics.recordValidationFailure(error.getField());
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.rrlira96.origininsurancebackend.model;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Straight-line equivalent of validating {@link User} with Bean Validation: same fields, error codes and default
+ * messages, without constraint metadata or reflection on the valid path.
+ *
+ * <p>Messages are looked up the way Spring Boot's Hibernate Validator does, in the locale of the current request
+ * ({@link LocaleContextHolder}): the {@link MessageSource}, then the application's {@code ValidationMessages} bundle,
+ * then Hibernate Validator's own, so {@code Accept-Language: de} gets the same German messages. They are resolved only
+ * when a check fails and kept for up to {@value #MAX_CACHED_LOCALES} locales.
+ *
+ * <p>{@code @Min(1)} on {@link Vehicle#getYear()} is not checked: {@code User.vehicle} is not annotated with
+ * {@code @Valid}, so Bean Validation never cascades into it either.
+ */
+public class CompiledUserValidator implements Validator {
+
+    static final String POSITIVE = "must be greater than 0";
+    static final String POSITIVE_OR_ZERO = "must be greater than or equal to 0";
+    static final String NOT_NULL = "must not be null";
+    // Set on the annotation itself, so not localized by Bean Validation either.
+    static final String SIZE_3 = "must be of size 3";
+
+    private static final String USER_BUNDLE = "ValidationMessages";
+    private static final String DEFAULT_BUNDLE = "org.hibernate.validator.ValidationMessages";
+    private static final int MAX_CACHED_LOCALES = 32;
+
+    private final MessageSource messageSource;
+    private final Map<Locale, Messages> messages = new ConcurrentHashMap<>();
+
+    public CompiledUserValidator() {
+        this(null);
+    }
+
+    public CompiledUserValidator(MessageSource messageSource) {
+        this.messageSource = messageSource;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return User.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        User user = (User) target;
+
+        if (user.getAge() <= 0) errors.rejectValue("age", "Positive", messages().positive);
+        if (user.getDependents() < 0) errors.rejectValue("dependents", "PositiveOrZero", messages().positiveOrZero);
+        if (user.getIncome() < 0) errors.rejectValue("income", "PositiveOrZero", messages().positiveOrZero);
+        if (user.getMaritalStatus() == null) errors.rejectValue("maritalStatus", "NotNull", messages().notNull);
+
+        List<Integer> riskAnswers = user.getRiskAnswers();
+        if (riskAnswers == null) errors.rejectValue("riskAnswers", "NotNull", messages().notNull);
+        else if (riskAnswers.size() != 3) errors.rejectValue("riskAnswers", "Size", SIZE_3);
+    }
+
+    private Messages messages() {
+        Locale locale = LocaleContextHolder.getLocale();
+        Messages cached = messages.get(locale);
+        if (cached != null) return cached;
+
+        Messages resolved = new Messages(
+                resolve("javax.validation.constraints.Positive.message", locale, POSITIVE),
+                resolve("javax.validation.constraints.PositiveOrZero.message", locale, POSITIVE_OR_ZERO),
+                resolve("javax.validation.constraints.NotNull.message", locale, NOT_NULL));
+        if (messages.size() < MAX_CACHED_LOCALES) messages.putIfAbsent(locale, resolved);
+        return resolved;
+    }
+
+    private String resolve(String key, Locale locale, String fallback) {
+        if (messageSource != null) {
+            String message = messageSource.getMessage(key, null, null, locale);
+            if (message != null) return message;
+        }
+        for (String bundle : List.of(USER_BUNDLE, DEFAULT_BUNDLE)) {
+            try {
+                return ResourceBundle.getBundle(bundle, locale).getString(key);
+            } catch (MissingResourceException ex) {
+                // Not in this bundle: try the next one.
+            }
+        }
+        return fallback;
+    }
+
+    private static final class Messages {
+        private final String positive;
+        private final String positiveOrZero;
+        private final String notNull;
+
+        private Messages(String positive, String positiveOrZero, String notNull) {
+            this.positive = positive;
+            this.positiveOrZero = positiveOrZero;
+            this.notNull = notNull;
+        }
+    }
+
+}
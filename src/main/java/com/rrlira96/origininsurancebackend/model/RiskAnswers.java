@@ -0,0 +1,37 @@
+package com.rrlira96.origininsurancebackend.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Risk question answers backed by an {@code int[]}, so binding and scoring do not box. Unmodifiable.
+ */
+public final class RiskAnswers extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] answers;
+
+    public RiskAnswers(int[] answers) {
+        this.answers = answers;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return answers[index];
+    }
+
+    public int getInt(int index) {
+        return answers[index];
+    }
+
+    @Override
+    public int size() {
+        return answers.length;
+    }
+
+    public int sum() {
+        int sum = 0;
+        for (int answer : answers) sum += answer;
+        return sum;
+    }
+
+}
@@ -1,15 +1,89 @@
 package com.rrlira96.origininsurancebackend.model;
 
-import lombok.*;
-
-@Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
-@Builder
-public class RiskProfile {
-    private InsurancePlan auto;
-    private InsurancePlan disability;
-    private InsurancePlan home;
-    private InsurancePlan life;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Immutable and canonical: there is exactly one instance per combination of plans, so profiles can be compared by
+ * identity and shared freely. Each instance carries its JSON body pre-encoded as UTF-8.
+ */
+@JsonPropertyOrder({"auto", "disability", "home", "life"})
+public final class RiskProfile {
+
+    public static final int CODES = 256;
+
+    private static final InsurancePlan[] PLANS = InsurancePlan.values();
+    private static final RiskProfile[] CANONICAL = new RiskProfile[CODES];
+
+    static {
+        for (int code = 0; code < CODES; code++) {
+            CANONICAL[code] = new RiskProfile(PLANS[code >>> 6 & 3], PLANS[code >>> 4 & 3], PLANS[code >>> 2 & 3],
+                    PLANS[code & 3], code);
+        }
+    }
+
+    @Getter
+    private final InsurancePlan auto;
+    @Getter
+    private final InsurancePlan disability;
+    @Getter
+    private final InsurancePlan home;
+    @Getter
+    private final InsurancePlan life;
+
+    private final int code;
+    private final byte[] json;
+
+    private RiskProfile(InsurancePlan auto, InsurancePlan disability, InsurancePlan home, InsurancePlan life, int code) {
+        this.auto = auto;
+        this.disability = disability;
+        this.home = home;
+        this.life = life;
+        this.code = code;
+        this.json = ("{\"auto\":\"" + auto + "\",\"disability\":\"" + disability + "\",\"home\":\"" + home
+                + "\",\"life\":\"" + life + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @JsonCreator
+    public static RiskProfile of(@JsonProperty("auto") InsurancePlan auto,
+                                 @JsonProperty("disability") InsurancePlan disability,
+                                 @JsonProperty("home") InsurancePlan home,
+                                 @JsonProperty("life") InsurancePlan life) {
+        return CANONICAL[codeOf(Objects.requireNonNull(auto, "auto"), Objects.requireNonNull(disability, "disability"),
+                Objects.requireNonNull(home, "home"), Objects.requireNonNull(life, "life"))];
+    }
+
+    public static RiskProfile fromCode(int code) {
+        return CANONICAL[code];
+    }
+
+    public static int codeOf(InsurancePlan auto, InsurancePlan disability, InsurancePlan home, InsurancePlan life) {
+        return auto.ordinal() << 6 | disability.ordinal() << 4 | home.ordinal() << 2 | life.ordinal();
+    }
+
+    /**
+     * Packs the four plans as 2 bit {@link InsurancePlan} ordinals: auto, disability, home, life from the most
+     * significant pair down.
+     */
+    public int code() {
+        return code;
+    }
+
+    /**
+     * The UTF-8 JSON body Jackson would produce for this profile. The array is shared and must not be modified.
+     */
+    public byte[] jsonBytes() {
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+
 }
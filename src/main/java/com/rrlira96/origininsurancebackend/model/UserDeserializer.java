@@ -0,0 +1,199 @@
+package com.rrlira96.origininsurancebackend.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-pass, reflection-free binding of {@link User}. Well-formed input is read straight off the token stream;
+ * anything unusual (coercions, nulls inside {@code risk_questions}, unknown enum values, wrong shapes) is handed to
+ * Jackson's standard deserializers, so errors such as {@code InvalidFormatException} are exactly the ones the
+ * reflective bean deserializer raises.
+ */
+public class UserDeserializer extends StdDeserializer<User> {
+
+    private static final Set<String> KNOWN_PROPERTIES =
+            Set.of("age", "dependents", "house", "income", "marital_status", "risk_questions", "vehicle");
+
+    public UserDeserializer() {
+        super(User.class);
+    }
+
+    @Override
+    public User deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        int age = 0;
+        int dependents = 0;
+        House house = null;
+        int income = 0;
+        MaritalStatus maritalStatus = null;
+        List<Integer> riskAnswers = null;
+        Vehicle vehicle = null;
+
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) token = p.nextToken();
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) return (User) ctxt.handleUnexpectedToken(User.class, p);
+
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            if (!KNOWN_PROPERTIES.contains(name)) {
+                ctxt.handleUnknownProperty(p, this, User.class, name);
+                continue;
+            }
+            try {
+                switch (name) {
+                    case "age":
+                        age = readInt(p, ctxt);
+                        break;
+                    case "dependents":
+                        dependents = readInt(p, ctxt);
+                        break;
+                    case "house":
+                        house = readHouse(p, ctxt);
+                        break;
+                    case "income":
+                        income = readInt(p, ctxt);
+                        break;
+                    case "marital_status":
+                        maritalStatus = readMaritalStatus(p, ctxt);
+                        break;
+                    case "risk_questions":
+                        riskAnswers = readRiskAnswers(p, ctxt);
+                        break;
+                    default:
+                        vehicle = readVehicle(p, ctxt);
+                }
+            } catch (JsonMappingException ex) {
+                // Same path as Jackson's bean deserializer reports, e.g. house.ownership_status
+                throw JsonMappingException.wrapWithPath(ex, User.class, name);
+            }
+        }
+
+        return new User(age, dependents, house, income, maritalStatus, riskAnswers, vehicle);
+    }
+
+    private House readHouse(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token != JsonToken.START_OBJECT) return ctxt.readValue(p, House.class);
+
+        OwnershipStatus ownershipStatus = null;
+        for (token = p.nextToken(); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            if (name.equals("ownership_status")) {
+                try {
+                    ownershipStatus = readOwnershipStatus(p, ctxt);
+                } catch (JsonMappingException ex) {
+                    throw JsonMappingException.wrapWithPath(ex, House.class, name);
+                }
+            } else {
+                ctxt.handleUnknownProperty(p, this, House.class, name);
+            }
+        }
+        return new House(ownershipStatus);
+    }
+
+    private Vehicle readVehicle(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token != JsonToken.START_OBJECT) return ctxt.readValue(p, Vehicle.class);
+
+        int year = 0;
+        for (token = p.nextToken(); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            if (name.equals("year")) {
+                try {
+                    year = readInt(p, ctxt);
+                } catch (JsonMappingException ex) {
+                    throw JsonMappingException.wrapWithPath(ex, Vehicle.class, name);
+                }
+            } else {
+                ctxt.handleUnknownProperty(p, this, Vehicle.class, name);
+            }
+        }
+        return new Vehicle(year);
+    }
+
+    private List<Integer> readRiskAnswers(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token != JsonToken.START_ARRAY) return ctxt.readValue(p, integerListType(ctxt));
+
+        int[] answers = new int[3];
+        int size = 0;
+        for (token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            if (token != JsonToken.VALUE_NUMBER_INT) return readBoxedRiskAnswers(p, ctxt, answers, size);
+            if (size == answers.length) answers = Arrays.copyOf(answers, size * 2);
+            answers[size++] = p.getIntValue();
+        }
+        return new RiskAnswers(size == answers.length ? answers : Arrays.copyOf(answers, size));
+    }
+
+    /**
+     * Continues an array that holds something other than plain integers with the standard element handling.
+     */
+    private List<Integer> readBoxedRiskAnswers(JsonParser p, DeserializationContext ctxt, int[] read, int size) throws IOException {
+        List<Integer> answers = new ArrayList<>(size + 1);
+        for (int i = 0; i < size; i++) answers.add(read[i]);
+        for (JsonToken token = p.currentToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            try {
+                answers.add(token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, Integer.class));
+            } catch (JsonMappingException ex) {
+                throw JsonMappingException.wrapWithPath(ex, answers, answers.size());
+            }
+        }
+        return answers;
+    }
+
+    private static int readInt(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) return p.getIntValue();
+        if (token == JsonToken.VALUE_NULL && !ctxt.isEnabled(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)) return 0;
+        return ctxt.readValue(p, Integer.TYPE);
+    }
+
+    private static MaritalStatus readMaritalStatus(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token == JsonToken.VALUE_STRING) {
+            switch (p.getText()) {
+                case "single":
+                    return MaritalStatus.single;
+                case "married":
+                    return MaritalStatus.married;
+            }
+        }
+        return ctxt.readValue(p, MaritalStatus.class);
+    }
+
+    private static OwnershipStatus readOwnershipStatus(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token == JsonToken.VALUE_STRING) {
+            switch (p.getText()) {
+                case "owned":
+                    return OwnershipStatus.owned;
+                case "mortgaged":
+                    return OwnershipStatus.mortgaged;
+            }
+        }
+        return ctxt.readValue(p, OwnershipStatus.class);
+    }
+
+    private static JavaType integerListType(DeserializationContext ctxt) {
+        return ctxt.getTypeFactory().constructCollectionType(List.class, Integer.class);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.rrlira96.origininsurancebackend.portfolio;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+
+/**
+ * Receives the customers whose profile changed while {@link PortfolioStore} re-scores, one call per customer.
+ */
+@FunctionalInterface
+public interface PlanChangeListener {
+
+    PlanChangeListener NONE = (customerId, previous, current) -> {
+    };
+
+    void onPlanChange(long customerId, RiskProfile previous, RiskProfile current);
+
+}
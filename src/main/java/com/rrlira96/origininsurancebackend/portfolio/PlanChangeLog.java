@@ -0,0 +1,60 @@
+package com.rrlira96.origininsurancebackend.portfolio;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes plan changes as newline-delimited JSON, one customer per line:
+ *
+ * <pre>
+ * {"customer_id":42,"previous":{"auto":"regular",...},"current":{"auto":"economic",...}}
+ * </pre>
+ */
+public class PlanChangeLog implements PlanChangeListener, Closeable {
+
+    private static final byte[] CUSTOMER_ID = "{\"customer_id\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PREVIOUS = ",\"previous\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CURRENT = ",\"current\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "}\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream output;
+    private long changes;
+
+    public PlanChangeLog(Path file) throws IOException {
+        this.output = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+    }
+
+    @Override
+    public void onPlanChange(long customerId, RiskProfile previous, RiskProfile current) {
+        try {
+            output.write(CUSTOMER_ID);
+            output.write(Long.toString(customerId).getBytes(StandardCharsets.US_ASCII));
+            output.write(PREVIOUS);
+            output.write(previous.jsonBytes());
+            output.write(CURRENT);
+            output.write(current.jsonBytes());
+            output.write(END);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        changes++;
+    }
+
+    public long changes() {
+        return changes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+}
@@ -0,0 +1,376 @@
+package com.rrlira96.origininsurancebackend.portfolio;
+
+import com.rrlira96.origininsurancebackend.model.House;
+import com.rrlira96.origininsurancebackend.model.MaritalStatus;
+import com.rrlira96.origininsurancebackend.model.OwnershipStatus;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.Vehicle;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetListener;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.PrimitiveRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.RiskFeatureKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Scored customers kept on disk in fixed-width records (see {@link RecordLayout}), one file per feature segment, with
+ * the rule set and year they were scored with in {@code portfolio.properties}.
+ * <p>
+ * When the rules change, {@link #rescore} works out from the changed keys which segments and records the change can
+ * reach, maps only those segment files, re-scores the reachable records in place and reports every customer whose
+ * profile changed. A change to one threshold typically reads a fraction of the portfolio and re-scores less.
+ * <p>
+ * Registered as a {@link RuleSetListener}, the store follows the engine's rule set and writes each diff to
+ * {@code changes/} with a {@link PlanChangeLog}. Customer ids are not checked for duplicates: the store is a scored
+ * snapshot of a customer base loaded in bulk. New records are scored in the year of the last re-score;
+ * {@link #rescoreIfYearChanged} catches up with a new year, and {@link #watchYear} calls it periodically. All methods
+ * are synchronized.
+ */
+public class PortfolioStore implements RuleSetListener, Closeable {
+
+    private static Logger logger = LoggerFactory.getLogger(PortfolioStore.class);
+
+    private static final String METADATA = "portfolio.properties";
+    private static final String SCORED_YEAR = "scored.year";
+    private static final String CHANGES = "changes";
+    private static final int APPEND_BUFFER = 8 * 1024;
+    private static final int MAP_CHUNK = Integer.MAX_VALUE / RecordLayout.SIZE * RecordLayout.SIZE;
+
+    private final Path directory;
+    private final CurrentYear currentYear;
+    private final FileChannel[] channels = new FileChannel[RecordLayout.SEGMENTS];
+    private final ByteBuffer[] appendBuffers = new ByteBuffer[RecordLayout.SEGMENTS];
+
+    private RuleSet ruleSet;
+    private int scoredYear;
+    private RecordScorer scorer;
+    private long size;
+    private ScheduledExecutorService yearWatcher;
+
+    private PortfolioStore(Path directory, CurrentYear currentYear, RuleSet ruleSet, int scoredYear, long size) {
+        this.directory = directory;
+        this.currentYear = currentYear;
+        this.ruleSet = ruleSet;
+        this.scoredYear = scoredYear;
+        this.scorer = new RecordScorer(ruleSet);
+        this.size = size;
+    }
+
+    /**
+     * Opens the store in {@code directory}, creating it scored with {@code ruleSet} if it does not exist. An existing
+     * store keeps the rule set it was scored with; {@link #rescore} it to move to another one.
+     */
+    public static PortfolioStore open(Path directory, RuleSet ruleSet, CurrentYear currentYear) throws IOException {
+        Files.createDirectories(directory);
+        Path metadata = directory.resolve(METADATA);
+        if (Files.notExists(metadata)) {
+            writeMetadata(directory, ruleSet, currentYear.get());
+            return new PortfolioStore(directory, currentYear, ruleSet, currentYear.get(), 0);
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(metadata, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        int scoredYear = Integer.parseInt(properties.getProperty(SCORED_YEAR));
+        properties.remove(SCORED_YEAR);
+
+        long size = 0;
+        for (int segment = 0; segment < RecordLayout.SEGMENTS; segment++) {
+            size += recoverSegment(segmentFile(directory, segment));
+        }
+        return new PortfolioStore(directory, currentYear, RuleSet.of(properties, METADATA), scoredYear, size);
+    }
+
+    public synchronized RuleSet ruleSet() {
+        return ruleSet;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized int scoredYear() {
+        return scoredYear;
+    }
+
+    /**
+     * Scores a validated {@code user} with the store's rule set and appends it. Appended records are buffered until
+     * {@link #flush}, {@link #rescore} or {@link #close}.
+     *
+     * @return the profile stored for the customer
+     */
+    public synchronized RiskProfile add(long customerId, User user) throws IOException {
+        int age = user.getAge();
+        int income = user.getIncome();
+        int baseScore = PrimitiveRiskProfileEngine.calculateBaseScore(user.getRiskAnswers());
+        Vehicle vehicle = user.getVehicle();
+        int vehicleYear = vehicle == null ? 0 : vehicle.getYear();
+        int house = houseCode(user.getHouse());
+        int flags = (user.getDependents() > 0 ? RecordLayout.DEPENDENTS_FLAG : 0)
+                | (user.getMaritalStatus() == MaritalStatus.married ? RecordLayout.MARRIED_FLAG : 0)
+                | (vehicle != null ? RecordLayout.VEHICLE_FLAG : 0);
+        int code = scorer.score(age, income, baseScore, vehicleYear, house, flags, scoredYear);
+
+        int segment = RecordLayout.segment(age, house, flags);
+        ByteBuffer buffer = appendBuffers[segment];
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(APPEND_BUFFER).order(RecordLayout.ORDER);
+            appendBuffers[segment] = buffer;
+        } else if (buffer.remaining() < RecordLayout.SIZE) {
+            writeBuffer(segment);
+        }
+        int offset = buffer.position();
+        buffer.putLong(offset + RecordLayout.CUSTOMER_ID, customerId)
+                .putInt(offset + RecordLayout.AGE, age)
+                .putInt(offset + RecordLayout.INCOME, income)
+                .putInt(offset + RecordLayout.BASE_SCORE, baseScore)
+                .putInt(offset + RecordLayout.VEHICLE_YEAR, vehicleYear)
+                .put(offset + RecordLayout.HOUSE, (byte) house)
+                .put(offset + RecordLayout.FLAGS, (byte) flags)
+                .put(offset + RecordLayout.CODE, (byte) code);
+        buffer.position(offset + RecordLayout.SIZE);
+        size++;
+        return RiskProfile.fromCode(code);
+    }
+
+    /**
+     * Writes the buffered records and forces them to disk.
+     */
+    public synchronized void flush() throws IOException {
+        for (int segment = 0; segment < RecordLayout.SEGMENTS; segment++) {
+            if (appendBuffers[segment] != null && appendBuffers[segment].position() > 0) writeBuffer(segment);
+            if (channels[segment] != null) channels[segment].force(false);
+        }
+    }
+
+    /**
+     * Re-scores the records that can have a different profile under {@code next}, in the current year, and calls
+     * {@code changes} for each one whose profile changed. The store then holds {@code next}.
+     * <p>
+     * Profiles are updated in place segment by segment and the rule set is recorded last, so a store interrupted
+     * half-way still records the previous rule set: re-scoring it again finishes the job, but only reports the
+     * changes of the segments it had not reached.
+     */
+    public synchronized RescoreResult rescore(RuleSet next, PlanChangeListener changes) throws IOException {
+        long start = System.nanoTime();
+        flush();
+
+        int nextYear = currentYear.get();
+        RuleSetImpact impact = RuleSetImpact.of(ruleSet, scoredYear, next, nextYear);
+        RecordScorer nextScorer = new RecordScorer(next);
+        int segmentsScanned = 0;
+        long[] counts = new long[3];
+        if (!impact.isEmpty()) {
+            for (int segment = 0; segment < RecordLayout.SEGMENTS; segment++) {
+                if (!impact.affectsSegment(segment)) continue;
+                Path file = segmentFile(directory, segment);
+                if (Files.notExists(file)) continue;
+                segmentsScanned++;
+                rescoreSegment(file, impact, nextScorer, nextYear, changes, counts);
+            }
+        }
+
+        writeMetadata(directory, next, nextYear);
+        ruleSet = next;
+        scoredYear = nextYear;
+        scorer = nextScorer;
+        return new RescoreResult(segmentsScanned, counts[0], counts[1], counts[2], System.nanoTime() - start);
+    }
+
+    /**
+     * Calls {@code visitor} with the profile and customer id of every record, segment by segment.
+     */
+    public synchronized void forEach(ObjLongConsumer<RiskProfile> visitor) throws IOException {
+        flush();
+        for (int segment = 0; segment < RecordLayout.SEGMENTS; segment++) {
+            Path file = segmentFile(directory, segment);
+            if (Files.notExists(file)) continue;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long length = channel.size();
+                for (long position = 0; position < length; position += MAP_CHUNK) {
+                    ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(MAP_CHUNK, length - position)).order(RecordLayout.ORDER);
+                    for (int offset = 0; offset < records.limit(); offset += RecordLayout.SIZE) {
+                        visitor.accept(RiskProfile.fromCode(records.get(offset + RecordLayout.CODE) & 0xFF),
+                                records.getLong(offset + RecordLayout.CUSTOMER_ID));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-scores the store with the engine's new rule set and writes the diff to
+     * {@code changes/<timestamp>-<version>.ndjson}.
+     */
+    @Override
+    public void onRuleSetChange(RuleSet previous, RuleSet current) {
+        try {
+            Path changes = directory.resolve(CHANGES);
+            Files.createDirectories(changes);
+            String version = current.version().replaceAll("[^A-Za-z0-9._-]", "_");
+            Path file = changes.resolve(System.currentTimeMillis() + "-" + version + ".ndjson");
+            RescoreResult result;
+            try (PlanChangeLog log = new PlanChangeLog(file)) {
+                result = rescore(current, log);
+            }
+            logger.info("Portfolio re-scored with rule set {}: {}, changes in {}", current.version(), result, file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Re-scores the store with its own rule set, as {@link #onRuleSetChange} would, if it was last scored in another
+     * year than the current one: profiles depending on vehicle age can change on New Year's Day.
+     *
+     * @return whether the store was re-scored
+     */
+    public boolean rescoreIfYearChanged() {
+        RuleSet current;
+        synchronized (this) {
+            if (scoredYear == currentYear.get()) return false;
+            current = ruleSet;
+        }
+        onRuleSetChange(current, current);
+        return true;
+    }
+
+    /**
+     * Calls {@link #rescoreIfYearChanged} every {@code interval} until the store is closed.
+     */
+    public synchronized void watchYear(Duration interval) {
+        if (yearWatcher != null) throw new IllegalStateException("Already watching the year");
+        yearWatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-year-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toMillis();
+        yearWatcher.scheduleWithFixedDelay(this::checkYear, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkYear() {
+        try {
+            rescoreIfYearChanged();
+        } catch (RuntimeException ex) {
+            logger.error("Could not re-score the portfolio for the new year, will retry: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (yearWatcher != null) yearWatcher.shutdownNow();
+        flush();
+        for (int segment = 0; segment < RecordLayout.SEGMENTS; segment++) {
+            if (channels[segment] != null) channels[segment].close();
+            channels[segment] = null;
+        }
+    }
+
+    private static void rescoreSegment(Path file, RuleSetImpact impact, RecordScorer scorer, int year,
+                                       PlanChangeListener changes, long[] counts) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long length = channel.size();
+            for (long position = 0; position < length; position += MAP_CHUNK) {
+                MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                        Math.min(MAP_CHUNK, length - position));
+                records.order(RecordLayout.ORDER);
+                for (int offset = 0; offset < records.limit(); offset += RecordLayout.SIZE) {
+                    int age = records.getInt(offset + RecordLayout.AGE);
+                    int income = records.getInt(offset + RecordLayout.INCOME);
+                    int vehicleYear = records.getInt(offset + RecordLayout.VEHICLE_YEAR);
+                    int house = records.get(offset + RecordLayout.HOUSE);
+                    int flags = records.get(offset + RecordLayout.FLAGS);
+                    if (!impact.affects(age, income, vehicleYear, house, flags, year)) continue;
+
+                    counts[1]++;
+                    int baseScore = records.getInt(offset + RecordLayout.BASE_SCORE);
+                    int previous = records.get(offset + RecordLayout.CODE) & 0xFF;
+                    int code = scorer.score(age, income, baseScore, vehicleYear, house, flags, year);
+                    if (code == previous) continue;
+
+                    counts[2]++;
+                    records.put(offset + RecordLayout.CODE, (byte) code);
+                    changes.onPlanChange(records.getLong(offset + RecordLayout.CUSTOMER_ID),
+                            RiskProfile.fromCode(previous), RiskProfile.fromCode(code));
+                }
+                counts[0] += records.limit() / RecordLayout.SIZE;
+                records.force();
+            }
+        }
+    }
+
+    private void writeBuffer(int segment) throws IOException {
+        FileChannel channel = channels[segment];
+        if (channel == null) {
+            channel = FileChannel.open(segmentFile(directory, segment), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channels[segment] = channel;
+        }
+        ByteBuffer buffer = appendBuffers[segment];
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    // A record cut short by a crash while appending is dropped.
+    private static long recoverSegment(Path file) throws IOException {
+        if (Files.notExists(file)) return 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long length = channel.size();
+            long complete = length - length % RecordLayout.SIZE;
+            if (complete != length) {
+                logger.warn("Dropping {} bytes of an incomplete record at the end of {}", length - complete, file);
+                channel.truncate(complete);
+            }
+            return complete / RecordLayout.SIZE;
+        }
+    }
+
+    private static void writeMetadata(Path directory, RuleSet ruleSet, int scoredYear) throws IOException {
+        Properties properties = ruleSet.toProperties();
+        properties.setProperty(SCORED_YEAR, Integer.toString(scoredYear));
+        Path temporary = directory.resolve(METADATA + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temporary, directory.resolve(METADATA), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path segmentFile(Path directory, int segment) {
+        return directory.resolve(String.format("segment-%03d.dat", segment));
+    }
+
+    private static int houseCode(House house) {
+        if (house == null) return RiskFeatureKey.NO_HOUSE;
+        return house.getOwnershipStatus() == OwnershipStatus.mortgaged
+                ? RiskFeatureKey.HOUSE_MORTGAGED
+                : RiskFeatureKey.HOUSE_OWNED;
+    }
+
+}
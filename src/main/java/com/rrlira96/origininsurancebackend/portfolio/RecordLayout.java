@@ -0,0 +1,77 @@
+package com.rrlira96.origininsurancebackend.portfolio;
+
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-width record of {@link PortfolioStore}, little-endian:
+ *
+ * <pre>
+ *  offset  0  long  customer id
+ *  offset  8  int   age
+ *  offset 12  int   income
+ *  offset 16  int   base score (sum of the risk answers)
+ *  offset 20  int   vehicle year, 0 when there is no vehicle (a vehicle can be of year 0 too)
+ *  offset 24  byte  house (none, owned, mortgaged)
+ *  offset 25  byte  flags: bit 0 has dependents, bit 1 married, bit 2 has a vehicle
+ *  offset 26  byte  RiskProfile code
+ *  offset 27  5 bytes reserved, zero
+ * </pre>
+ *
+ * Records are kept in one file per segment. A segment holds every record with the same age band, house, dependents,
+ * marital status and vehicle presence: the features a rule change can be narrowed down to without depending on the
+ * thresholds of any rule set.
+ */
+final class RecordLayout {
+
+    static final int SIZE = 32;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int CUSTOMER_ID = 0;
+    static final int AGE = 8;
+    static final int INCOME = 12;
+    static final int BASE_SCORE = 16;
+    static final int VEHICLE_YEAR = 20;
+    static final int HOUSE = 24;
+    static final int FLAGS = 25;
+    static final int CODE = 26;
+
+    static final int DEPENDENTS_FLAG = 1;
+    static final int MARRIED_FLAG = 2;
+    static final int VEHICLE_FLAG = 4;
+    static final int FLAG_COMBINATIONS = 8;
+
+    static final int AGE_BAND_WIDTH = 5;
+    static final int AGE_BANDS = 25;
+    static final int HOUSES = 3;
+    static final int SEGMENTS = AGE_BANDS * HOUSES * FLAG_COMBINATIONS;
+
+    private RecordLayout() {
+    }
+
+    static int segment(int age, int house, int flags) {
+        int ageBand = Math.min(Math.max(age, 0) / AGE_BAND_WIDTH, AGE_BANDS - 1);
+        return (ageBand * HOUSES + house) * FLAG_COMBINATIONS + flags;
+    }
+
+    static int minAge(int segment) {
+        return ageBand(segment) * AGE_BAND_WIDTH;
+    }
+
+    static int maxAge(int segment) {
+        int ageBand = ageBand(segment);
+        return ageBand == AGE_BANDS - 1 ? Integer.MAX_VALUE : ageBand * AGE_BAND_WIDTH + AGE_BAND_WIDTH - 1;
+    }
+
+    static int house(int segment) {
+        return segment / FLAG_COMBINATIONS % HOUSES;
+    }
+
+    static int flags(int segment) {
+        return segment % FLAG_COMBINATIONS;
+    }
+
+    private static int ageBand(int segment) {
+        return segment / (HOUSES * FLAG_COMBINATIONS);
+    }
+
+}
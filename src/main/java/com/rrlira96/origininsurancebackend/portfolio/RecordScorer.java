@@ -0,0 +1,94 @@
+package com.rrlira96.origininsurancebackend.portfolio;
+
+import com.rrlira96.origininsurancebackend.model.InsurancePlan;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.service.RiskFeatureKey;
+
+import static com.rrlira96.origininsurancebackend.rules.RuleSet.*;
+
+/**
+ * The rules of {@link RuleSet} applied to the fields of a stored record rather than to a
+ * {@link com.rrlira96.origininsurancebackend.model.User}, so re-scoring reads the mapped file without allocating.
+ * Gives the same result as {@code RuleSetRiskProfileEngine} with the same rule set.
+ */
+final class RecordScorer {
+
+    private final int ageYoungBelow;
+    private final int ageYoungPoints;
+    private final int ageMiddleMax;
+    private final int ageMiddlePoints;
+    private final int ageIneligibleAbove;
+    private final int incomeHighAbove;
+    private final int incomeHighPoints;
+    private final int houseMortgagedPoints;
+    private final int dependentsPoints;
+    private final int marriedLifePoints;
+    private final int marriedDisabilityPoints;
+    private final int vehicleRecentYears;
+    private final int vehicleRecentPoints;
+    private final int planRegularMin;
+    private final int planResponsibleMin;
+
+    RecordScorer(RuleSet ruleSet) {
+        this.ageYoungBelow = ruleSet.get(AGE_YOUNG_BELOW);
+        this.ageYoungPoints = ruleSet.get(AGE_YOUNG_POINTS);
+        this.ageMiddleMax = ruleSet.get(AGE_MIDDLE_MAX);
+        this.ageMiddlePoints = ruleSet.get(AGE_MIDDLE_POINTS);
+        this.ageIneligibleAbove = ruleSet.get(AGE_INELIGIBLE_ABOVE);
+        this.incomeHighAbove = ruleSet.get(INCOME_HIGH_ABOVE);
+        this.incomeHighPoints = ruleSet.get(INCOME_HIGH_POINTS);
+        this.houseMortgagedPoints = ruleSet.get(HOUSE_MORTGAGED_POINTS);
+        this.dependentsPoints = ruleSet.get(DEPENDENTS_POINTS);
+        this.marriedLifePoints = ruleSet.get(MARRIED_LIFE_POINTS);
+        this.marriedDisabilityPoints = ruleSet.get(MARRIED_DISABILITY_POINTS);
+        this.vehicleRecentYears = ruleSet.get(VEHICLE_RECENT_YEARS);
+        this.vehicleRecentPoints = ruleSet.get(VEHICLE_RECENT_POINTS);
+        this.planRegularMin = ruleSet.get(PLAN_REGULAR_MIN);
+        this.planResponsibleMin = ruleSet.get(PLAN_RESPONSIBLE_MIN);
+    }
+
+    /**
+     * @return the {@link RiskProfile#code()} of the record
+     */
+    int score(int age, int income, int baseScore, int vehicleYear, int house, int flags, int currentYear) {
+        int common = baseScore;
+        if (age < ageYoungBelow) common += ageYoungPoints;
+        else if (age <= ageMiddleMax) common += ageMiddlePoints;
+        if (income > incomeHighAbove) common += incomeHighPoints;
+
+        int auto = common;
+        int disability = common;
+        int home = common;
+        int life = common;
+
+        if (house == RiskFeatureKey.HOUSE_MORTGAGED) {
+            home += houseMortgagedPoints;
+            disability += houseMortgagedPoints;
+        }
+        if ((flags & RecordLayout.DEPENDENTS_FLAG) != 0) {
+            life += dependentsPoints;
+            disability += dependentsPoints;
+        }
+        if ((flags & RecordLayout.MARRIED_FLAG) != 0) {
+            life += marriedLifePoints;
+            disability += marriedDisabilityPoints;
+        }
+        boolean vehicle = (flags & RecordLayout.VEHICLE_FLAG) != 0;
+        if (vehicle && currentYear - vehicleYear <= vehicleRecentYears) auto += vehicleRecentPoints;
+
+        boolean senior = age > ageIneligibleAbove;
+        return RiskProfile.codeOf(
+                vehicle ? plan(auto) : InsurancePlan.ineligible,
+                income == 0 || senior ? InsurancePlan.ineligible : plan(disability),
+                house == RiskFeatureKey.NO_HOUSE ? InsurancePlan.ineligible : plan(home),
+                senior ? InsurancePlan.ineligible : plan(life));
+    }
+
+    private InsurancePlan plan(int score) {
+        if (score >= planResponsibleMin) return InsurancePlan.responsible;
+        if (score >= planRegularMin) return InsurancePlan.regular;
+        return InsurancePlan.economic;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.rrlira96.origininsurancebackend.portfolio;
+
+/**
+ * What one {@link PortfolioStore#rescore} did: the segments and records it read, the records the rule change could
+ * reach, and the records whose profile changed.
+ */
+public final class RescoreResult {
+
+    private final int segmentsScanned;
+    private final long recordsScanned;
+    private final long recordsRescored;
+    private final long recordsChanged;
+    private final long elapsedNanos;
+
+    RescoreResult(int segmentsScanned, long recordsScanned, long recordsRescored, long recordsChanged,
+                  long elapsedNanos) {
+        this.segmentsScanned = segmentsScanned;
+        this.recordsScanned = recordsScanned;
+        this.recordsRescored = recordsRescored;
+        this.recordsChanged = recordsChanged;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int segmentsScanned() {
+        return segmentsScanned;
+    }
+
+    public long recordsScanned() {
+        return recordsScanned;
+    }
+
+    public long recordsRescored() {
+        return recordsRescored;
+    }
+
+    public long recordsChanged() {
+        return recordsChanged;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RescoreResult{" + "segmentsScanned=" + segmentsScanned + ", recordsScanned=" + recordsScanned
+                + ", recordsRescored=" + recordsRescored + ", recordsChanged=" + recordsChanged
+                + ", elapsedMillis=" + elapsedNanos / 1_000_000 + '}';
+    }
+
+}
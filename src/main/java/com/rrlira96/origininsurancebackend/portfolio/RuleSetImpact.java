@@ -0,0 +1,173 @@
+package com.rrlira96.origininsurancebackend.portfolio;
+
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.service.RiskFeatureKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.rrlira96.origininsurancebackend.rules.RuleSet.*;
+
+/**
+ * The records whose profile can differ between two rule sets, worked out from the keys that changed: e.g. a new
+ * {@code age.young.below} only reaches ages between the old and the new threshold, a new
+ * {@code house.mortgaged.points} only mortgaged houses, and a new plan threshold everyone. Each changed key adds a
+ * {@link Condition}; a record is affected when it matches any of them, and a segment is skipped when none of them
+ * can match a record in it.
+ */
+final class RuleSetImpact {
+
+    private final List<Condition> conditions;
+
+    private RuleSetImpact(List<Condition> conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * @param previousYear year the records were scored in; vehicle recency changes with it
+     */
+    static RuleSetImpact of(RuleSet previous, int previousYear, RuleSet next, int nextYear) {
+        List<Condition> conditions = new ArrayList<>();
+        for (String key : previous.changedKeys(next)) {
+            int before = previous.get(key);
+            int after = next.get(key);
+            int low = Math.min(before, after);
+            int high = Math.max(before, after);
+            switch (key) {
+                case AGE_YOUNG_BELOW:
+                    conditions.add(new Condition().ages(low, high - 1));
+                    break;
+                case AGE_YOUNG_POINTS:
+                    conditions.add(new Condition().ages(Integer.MIN_VALUE, maxOf(previous, next, AGE_YOUNG_BELOW) - 1));
+                    break;
+                case AGE_MIDDLE_MAX:
+                case AGE_INELIGIBLE_ABOVE:
+                    conditions.add(new Condition().ages(low + 1, high));
+                    break;
+                case AGE_MIDDLE_POINTS:
+                    conditions.add(new Condition().ages(minOf(previous, next, AGE_YOUNG_BELOW),
+                            maxOf(previous, next, AGE_MIDDLE_MAX)));
+                    break;
+                case INCOME_HIGH_ABOVE:
+                    conditions.add(new Condition().incomes(low + 1, high));
+                    break;
+                case INCOME_HIGH_POINTS:
+                    conditions.add(new Condition().incomes(minOf(previous, next, INCOME_HIGH_ABOVE) + 1,
+                            Integer.MAX_VALUE));
+                    break;
+                case HOUSE_MORTGAGED_POINTS:
+                    conditions.add(new Condition().house(RiskFeatureKey.HOUSE_MORTGAGED));
+                    break;
+                case DEPENDENTS_POINTS:
+                    conditions.add(new Condition().flag(RecordLayout.DEPENDENTS_FLAG));
+                    break;
+                case MARRIED_LIFE_POINTS:
+                case MARRIED_DISABILITY_POINTS:
+                    conditions.add(new Condition().flag(RecordLayout.MARRIED_FLAG));
+                    break;
+                case VEHICLE_RECENT_YEARS:
+                    conditions.add(new Condition().vehicleAges(low + 1, high));
+                    break;
+                case VEHICLE_RECENT_POINTS:
+                    conditions.add(new Condition().vehicleAges(Integer.MIN_VALUE,
+                            maxOf(previous, next, VEHICLE_RECENT_YEARS)));
+                    break;
+                default:
+                    conditions.add(new Condition());
+            }
+        }
+        // Vehicle ages are measured in nextYear; when the year moved, any vehicle can have stopped being recent
+        if (previousYear != nextYear) {
+            conditions.add(new Condition().vehicleAges(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        }
+        return new RuleSetImpact(conditions);
+    }
+
+    boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    boolean affectsSegment(int segment) {
+        for (Condition condition : conditions) {
+            if (condition.matchesSegment(segment)) return true;
+        }
+        return false;
+    }
+
+    boolean affects(int age, int income, int vehicleYear, int house, int flags, int currentYear) {
+        for (Condition condition : conditions) {
+            if (condition.matches(age, income, vehicleYear, house, flags, currentYear)) return true;
+        }
+        return false;
+    }
+
+    private static int minOf(RuleSet previous, RuleSet next, String key) {
+        return Math.min(previous.get(key), next.get(key));
+    }
+
+    private static int maxOf(RuleSet previous, RuleSet next, String key) {
+        return Math.max(previous.get(key), next.get(key));
+    }
+
+    /**
+     * Records inside inclusive ranges of age, income and vehicle age, with a given house or flag. Every bound is open
+     * until set; a vehicle-age range also requires {@link RecordLayout#VEHICLE_FLAG}.
+     */
+    private static final class Condition {
+
+        private int minAge = Integer.MIN_VALUE;
+        private int maxAge = Integer.MAX_VALUE;
+        private int minIncome = Integer.MIN_VALUE;
+        private int maxIncome = Integer.MAX_VALUE;
+        private int house = -1;
+        private int flag;
+        private int minVehicleAge = Integer.MIN_VALUE;
+        private int maxVehicleAge = Integer.MAX_VALUE;
+
+        Condition ages(int min, int max) {
+            minAge = min;
+            maxAge = max;
+            return this;
+        }
+
+        Condition incomes(int min, int max) {
+            minIncome = min;
+            maxIncome = max;
+            return this;
+        }
+
+        Condition house(int house) {
+            this.house = house;
+            return this;
+        }
+
+        Condition flag(int flag) {
+            this.flag |= flag;
+            return this;
+        }
+
+        Condition vehicleAges(int min, int max) {
+            flag |= RecordLayout.VEHICLE_FLAG;
+            minVehicleAge = min;
+            maxVehicleAge = max;
+            return this;
+        }
+
+        boolean matchesSegment(int segment) {
+            return minAge <= RecordLayout.maxAge(segment) && RecordLayout.minAge(segment) <= maxAge
+                    && (house < 0 || house == RecordLayout.house(segment))
+                    && (RecordLayout.flags(segment) & flag) == flag;
+        }
+
+        boolean matches(int age, int income, int vehicleYear, int house, int flags, int currentYear) {
+            return minAge <= age && age <= maxAge
+                    && minIncome <= income && income <= maxIncome
+                    && (this.house < 0 || this.house == house)
+                    && (flags & flag) == flag
+                    && ((flags & RecordLayout.VEHICLE_FLAG) == 0
+                    || minVehicleAge <= currentYear - vehicleYear && currentYear - vehicleYear <= maxVehicleAge);
+        }
+
+    }
+
+}
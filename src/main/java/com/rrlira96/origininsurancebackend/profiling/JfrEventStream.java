@@ -0,0 +1,122 @@
+package com.rrlira96.origininsurancebackend.profiling;
+
+import jdk.jfr.EventSettings;
+import jdk.jfr.consumer.RecordedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Streams a few cheap JFR events for as long as the application runs and adds them to counters exported with the
+ * other metrics: CPU samples and sampled allocation by {@link ProfileStage}, garbage collection pauses and threads
+ * blocked on monitors. Allocation is sampled by the JVM at a bounded rate ({@code jdk.ObjectAllocationSample}, JDK
+ * 16+), and each sample weighs the bytes it stands for.
+ * <p>
+ * Event streaming needs JDK 14+; the stream is looked up reflectively so the application still compiles and runs on
+ * Java 11, where it logs a warning and exports nothing.
+ */
+public class JfrEventStream implements Closeable {
+
+    private static Logger logger = LoggerFactory.getLogger(JfrEventStream.class);
+
+    private static final ProfileStage[] STAGES = ProfileStage.values();
+
+    private final LongAdder[] cpuSamples = new LongAdder[STAGES.length];
+    private final LongAdder[] allocatedBytes = new LongAdder[STAGES.length];
+    private final LongAdder garbageCollections = new LongAdder();
+    private final LongAdder gcPauseNanos = new LongAdder();
+    private final LongAdder monitorBlockedNanos = new LongAdder();
+    private final AutoCloseable stream;
+
+    public JfrEventStream(Duration samplingInterval, String allocationRate, Duration monitorThreshold) {
+        for (int i = 0; i < STAGES.length; i++) {
+            cpuSamples[i] = new LongAdder();
+            allocatedBytes[i] = new LongAdder();
+        }
+        this.stream = start(samplingInterval, allocationRate, monitorThreshold);
+    }
+
+    public void writeTo(StringBuilder out) {
+        if (stream == null) return;
+        out.append("# HELP risk_profile_jfr_cpu_samples_total JFR CPU samples, by request stage.\n");
+        out.append("# TYPE risk_profile_jfr_cpu_samples_total counter\n");
+        for (ProfileStage stage : STAGES) {
+            out.append("risk_profile_jfr_cpu_samples_total{stage=\"").append(stage.name()).append("\"} ")
+                    .append(cpuSamples[stage.ordinal()].sum()).append('\n');
+        }
+        out.append("# HELP risk_profile_jfr_allocated_bytes_total Sampled allocated bytes, by request stage.\n");
+        out.append("# TYPE risk_profile_jfr_allocated_bytes_total counter\n");
+        for (ProfileStage stage : STAGES) {
+            out.append("risk_profile_jfr_allocated_bytes_total{stage=\"").append(stage.name()).append("\"} ")
+                    .append(allocatedBytes[stage.ordinal()].sum()).append('\n');
+        }
+        out.append("# HELP risk_profile_jfr_gc_total Garbage collections.\n");
+        out.append("# TYPE risk_profile_jfr_gc_total counter\n");
+        out.append("risk_profile_jfr_gc_total ").append(garbageCollections.sum()).append('\n');
+        out.append("# HELP risk_profile_jfr_gc_pause_seconds_total Time application threads were paused for GC.\n");
+        out.append("# TYPE risk_profile_jfr_gc_pause_seconds_total counter\n");
+        out.append("risk_profile_jfr_gc_pause_seconds_total ").append(gcPauseNanos.sum() / 1e9).append('\n');
+        out.append("# HELP risk_profile_jfr_monitor_blocked_seconds_total Time threads waited to enter a monitor.\n");
+        out.append("# TYPE risk_profile_jfr_monitor_blocked_seconds_total counter\n");
+        out.append("risk_profile_jfr_monitor_blocked_seconds_total ").append(monitorBlockedNanos.sum() / 1e9)
+                .append('\n');
+    }
+
+    @Override
+    public void close() {
+        if (stream == null) return;
+        try {
+            stream.close();
+        } catch (Exception ex) {
+            logger.warn("Could not close the JFR event stream.", ex);
+        }
+    }
+
+    private AutoCloseable start(Duration samplingInterval, String allocationRate, Duration monitorThreshold) {
+        Class<?> type;
+        try {
+            type = Class.forName("jdk.jfr.consumer.RecordingStream");
+        } catch (ClassNotFoundException ex) {
+            logger.warn("JFR event streaming needs JDK 14+, running on {}: not streaming.", Runtime.version());
+            return null;
+        }
+
+        try {
+            AutoCloseable recordingStream = (AutoCloseable) type.getConstructor().newInstance();
+            Method enable = type.getMethod("enable", String.class);
+            Method onEvent = type.getMethod("onEvent", String.class, Consumer.class);
+            ((EventSettings) enable.invoke(recordingStream, "jdk.ExecutionSample"))
+                    .withPeriod(samplingInterval);
+            ((EventSettings) enable.invoke(recordingStream, "jdk.ObjectAllocationSample"))
+                    .with("throttle", allocationRate);
+            enable.invoke(recordingStream, "jdk.GarbageCollection");
+            ((EventSettings) enable.invoke(recordingStream, "jdk.JavaMonitorEnter"))
+                    .withThreshold(monitorThreshold);
+
+            onEvent.invoke(recordingStream, "jdk.ExecutionSample", (Consumer<RecordedEvent>) event ->
+                    cpuSamples[ProfileStage.of(event.getStackTrace()).ordinal()].increment());
+            onEvent.invoke(recordingStream, "jdk.ObjectAllocationSample", (Consumer<RecordedEvent>) event ->
+                    allocatedBytes[ProfileStage.of(event.getStackTrace()).ordinal()].add(event.getLong("weight")));
+            onEvent.invoke(recordingStream, "jdk.GarbageCollection", (Consumer<RecordedEvent>) event -> {
+                garbageCollections.increment();
+                gcPauseNanos.add(event.getDuration("sumOfPauses").toNanos());
+            });
+            onEvent.invoke(recordingStream, "jdk.JavaMonitorEnter", (Consumer<RecordedEvent>) event ->
+                    monitorBlockedNanos.add(event.getDuration().toNanos()));
+            type.getMethod("startAsync").invoke(recordingStream);
+            logger.info("Streaming JFR events into the metrics.");
+            return recordingStream;
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException ex) {
+            throw new IllegalStateException("Unexpected jdk.jfr.consumer.RecordingStream API", ex);
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException("Could not start the JFR event stream", ex.getCause());
+        }
+    }
+
+}
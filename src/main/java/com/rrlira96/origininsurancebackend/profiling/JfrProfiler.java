@@ -0,0 +1,173 @@
+package com.rrlira96.origininsurancebackend.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records the application with Java Flight Recorder for a given time, with CPU sampling and allocation events, then
+ * reads the recording back with {@code jdk.jfr.consumer} and summarizes it: CPU samples and allocated bytes by
+ * {@link ProfileStage}, the methods most often on CPU and the sites that allocate the most. Allocation sites are the
+ * innermost frame outside the JDK, so a growing {@code ArrayList} is charged to the code that adds to it.
+ * <p>
+ * One recording runs at a time; the file is deleted once summarized.
+ */
+public class JfrProfiler {
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+    private static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+    private static final String[] JDK_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun."};
+
+    private final Duration samplingInterval;
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    public JfrProfiler(Duration samplingInterval) {
+        this.samplingInterval = samplingInterval;
+    }
+
+    /**
+     * Records for {@code duration}, blocking the calling thread, and returns the summary as a JSON-friendly tree.
+     *
+     * @param top number of hot methods and allocation sites to list
+     * @throws IllegalStateException if another recording is running
+     */
+    public Map<String, Object> profile(Duration duration, int top) throws IOException, InterruptedException {
+        if (!recording.compareAndSet(false, true)) throw new IllegalStateException("A profile is already recording");
+        Path file = Files.createTempFile("risk-profile-", ".jfr");
+        try {
+            try (Recording jfr = new Recording()) {
+                jfr.setName("risk-profile-on-demand");
+                jfr.enable(EXECUTION_SAMPLE).withPeriod(samplingInterval);
+                jfr.enable(ALLOCATION_IN_NEW_TLAB).withStackTrace();
+                jfr.enable(ALLOCATION_OUTSIDE_TLAB).withStackTrace();
+                jfr.start();
+                Thread.sleep(duration.toMillis());
+                jfr.stop();
+                jfr.dump(file);
+            }
+            Map<String, Object> summary = summarize(file, top);
+            summary.put("duration_seconds", duration.toMillis() / 1000.0);
+            return summary;
+        } finally {
+            Files.deleteIfExists(file);
+            recording.set(false);
+        }
+    }
+
+    static Map<String, Object> summarize(Path file, int top) throws IOException {
+        Map<ProfileStage, long[]> stages = new EnumMap<>(ProfileStage.class);
+        for (ProfileStage stage : ProfileStage.values()) stages.put(stage, new long[2]);
+        Map<String, Site> methods = new HashMap<>();
+        Map<String, Site> allocationSites = new HashMap<>();
+        long samples = 0;
+        long allocated = 0;
+
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                String name = event.getEventType().getName();
+                RecordedStackTrace stackTrace = event.getStackTrace();
+                if (stackTrace == null || stackTrace.getFrames().isEmpty()) continue;
+                ProfileStage stage = ProfileStage.of(stackTrace);
+
+                if (name.equals(EXECUTION_SAMPLE)) {
+                    samples++;
+                    stages.get(stage)[0]++;
+                    RecordedFrame frame = stackTrace.getFrames().get(0);
+                    methods.computeIfAbsent(method(frame), key -> new Site(key, stage)).weight++;
+                } else if (name.equals(ALLOCATION_IN_NEW_TLAB) || name.equals(ALLOCATION_OUTSIDE_TLAB)) {
+                    long bytes = event.getLong(name.equals(ALLOCATION_IN_NEW_TLAB) ? "tlabSize" : "allocationSize");
+                    allocated += bytes;
+                    stages.get(stage)[1] += bytes;
+                    RecordedFrame frame = allocationFrame(stackTrace.getFrames());
+                    String site = method(frame) + ":" + frame.getLineNumber() + " "
+                            + event.getClass("objectClass").getName();
+                    allocationSites.computeIfAbsent(site, key -> new Site(key, stage)).weight += bytes;
+                }
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("cpu_samples", samples);
+        summary.put("allocated_bytes", allocated);
+        Map<String, Object> byStage = new LinkedHashMap<>();
+        for (Map.Entry<ProfileStage, long[]> stage : stages.entrySet()) {
+            Map<String, Object> totals = new LinkedHashMap<>();
+            totals.put("cpu_samples", stage.getValue()[0]);
+            totals.put("cpu_share", share(stage.getValue()[0], samples));
+            totals.put("allocated_bytes", stage.getValue()[1]);
+            totals.put("allocation_share", share(stage.getValue()[1], allocated));
+            byStage.put(stage.getKey().name(), totals);
+        }
+        summary.put("stages", byStage);
+        summary.put("hot_methods", top(methods, top, "method", "samples", samples));
+        summary.put("allocation_sites", top(allocationSites, top, "site", "bytes", allocated));
+        return summary;
+    }
+
+    private static List<Map<String, Object>> top(Map<String, Site> sites, int top, String key, String weight,
+                                                 long total) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        sites.values().stream()
+                .sorted(Comparator.comparingLong((Site site) -> site.weight).reversed())
+                .limit(top)
+                .forEach(site -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put(key, site.name);
+                    entry.put(weight, site.weight);
+                    entry.put("share", share(site.weight, total));
+                    entry.put("stage", site.stage.name());
+                    entries.add(entry);
+                });
+        return entries;
+    }
+
+    private static RecordedFrame allocationFrame(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) continue;
+            String className = frame.getMethod().getType().getName();
+            boolean jdk = false;
+            for (String prefix : JDK_PACKAGES) jdk |= className.startsWith(prefix);
+            if (!jdk) return frame;
+        }
+        return frames.get(0);
+    }
+
+    private static String method(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static double share(long part, long total) {
+        return total == 0 ? 0 : Math.round(part * 1000.0 / total) / 1000.0;
+    }
+
+    private static final class Site {
+
+        private final String name;
+        private final ProfileStage stage;
+        private long weight;
+
+        private Site(String name, ProfileStage stage) {
+            this.name = name;
+            this.stage = stage;
+        }
+
+    }
+
+}
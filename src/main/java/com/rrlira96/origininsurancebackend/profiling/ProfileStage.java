@@ -0,0 +1,46 @@
+package com.rrlira96.origininsurancebackend.profiling;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+
+import java.util.List;
+
+/**
+ * Request stage a profiled stack trace belongs to, decided by its innermost frame in a class of the stage: a list
+ * grown by {@code UserDeserializer} counts as {@link #binding}, an error built by {@code ValidationErrors} as
+ * {@link #exception_handling}.
+ */
+public enum ProfileStage {
+    binding("com.rrlira96.origininsurancebackend.model.UserDeserializer", "com.fasterxml.jackson."),
+    validation("com.rrlira96.origininsurancebackend.model.CompiledUserValidator",
+            "com.rrlira96.origininsurancebackend.metrics.TimedUserValidator", "org.hibernate.validator.",
+            "javax.validation."),
+    scoring("com.rrlira96.origininsurancebackend.service.", "com.rrlira96.origininsurancebackend.rules."),
+    exception_handling("com.rrlira96.origininsurancebackend.controller.exceptions."),
+    serialization("com.rrlira96.origininsurancebackend.controller.RiskProfileHttpMessageConverter"),
+    other;
+
+    private static final ProfileStage[] STAGES = values();
+
+    private final String[] classPrefixes;
+
+    ProfileStage(String... classPrefixes) {
+        this.classPrefixes = classPrefixes;
+    }
+
+    public static ProfileStage of(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) return other;
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) continue;
+            String className = frame.getMethod().getType().getName();
+            for (ProfileStage stage : STAGES) {
+                for (String prefix : stage.classPrefixes) {
+                    if (className.startsWith(prefix)) return stage;
+                }
+            }
+        }
+        return other;
+    }
+
+}
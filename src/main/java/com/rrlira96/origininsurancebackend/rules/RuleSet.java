@@ -0,0 +1,169 @@
+package com.rrlira96.origininsurancebackend.rules;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Thresholds and points of the risk-profile rules, read from a properties file. Every key is optional and defaults to
+ * the rules hard-coded in {@code RiskProfileService}; unknown keys are rejected so a typo cannot be silently ignored.
+ *
+ * <pre>
+ * version=2024-06-03
+ * # age &lt; below: points on every line, otherwise age &lt;= max: points on every line
+ * age.young.below=30
+ * age.young.points=-2
+ * age.middle.max=40
+ * age.middle.points=-1
+ * # age &gt; above: disability and life are ineligible
+ * age.ineligible.above=60
+ * # income &gt; above: points on every line
+ * income.high.above=200000
+ * income.high.points=-1
+ * # mortgaged house: points on home and disability
+ * house.mortgaged.points=1
+ * # dependents &gt; 0: points on life and disability
+ * dependents.points=1
+ * married.life.points=1
+ * married.disability.points=-1
+ * # vehicle produced in the last years: points on auto
+ * vehicle.recent.years=5
+ * vehicle.recent.points=1
+ * # lowest score of each plan; anything below regular is economic
+ * plan.regular.min=1
+ * plan.responsible.min=3
+ * </pre>
+ */
+public final class RuleSet {
+
+    public static final String VERSION = "version";
+    public static final String AGE_YOUNG_BELOW = "age.young.below";
+    public static final String AGE_YOUNG_POINTS = "age.young.points";
+    public static final String AGE_MIDDLE_MAX = "age.middle.max";
+    public static final String AGE_MIDDLE_POINTS = "age.middle.points";
+    public static final String AGE_INELIGIBLE_ABOVE = "age.ineligible.above";
+    public static final String INCOME_HIGH_ABOVE = "income.high.above";
+    public static final String INCOME_HIGH_POINTS = "income.high.points";
+    public static final String HOUSE_MORTGAGED_POINTS = "house.mortgaged.points";
+    public static final String DEPENDENTS_POINTS = "dependents.points";
+    public static final String MARRIED_LIFE_POINTS = "married.life.points";
+    public static final String MARRIED_DISABILITY_POINTS = "married.disability.points";
+    public static final String VEHICLE_RECENT_YEARS = "vehicle.recent.years";
+    public static final String VEHICLE_RECENT_POINTS = "vehicle.recent.points";
+    public static final String PLAN_REGULAR_MIN = "plan.regular.min";
+    public static final String PLAN_RESPONSIBLE_MIN = "plan.responsible.min";
+
+    private static final Map<String, Integer> DEFAULTS = defaults();
+
+    public static final RuleSet DEFAULT = new RuleSet("built-in", DEFAULTS);
+
+    private final String version;
+    private final Map<String, Integer> values;
+
+    private RuleSet(String version, Map<String, Integer> values) {
+        this.version = version;
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    public static RuleSet load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return of(properties, file.getFileName().toString());
+    }
+
+    /**
+     * @param defaultVersion used when the properties have no {@code version} key
+     * @throws IllegalArgumentException if a key is unknown, a value is not an integer or the thresholds contradict
+     *                                  each other
+     */
+    public static RuleSet of(Properties properties, String defaultVersion) {
+        Map<String, Integer> values = new LinkedHashMap<>(DEFAULTS);
+        for (String key : properties.stringPropertyNames()) {
+            if (key.equals(VERSION)) continue;
+            if (!values.containsKey(key)) throw new IllegalArgumentException("Unknown rule-set key: " + key);
+
+            String value = properties.getProperty(key).trim();
+            try {
+                values.put(key, Integer.parseInt(value));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Rule-set key " + key + " is not an integer: " + value, ex);
+            }
+        }
+
+        if (values.get(AGE_YOUNG_BELOW) > values.get(AGE_MIDDLE_MAX) + 1) {
+            throw new IllegalArgumentException(AGE_YOUNG_BELOW + " must not be greater than " + AGE_MIDDLE_MAX + " + 1");
+        }
+        if (values.get(PLAN_REGULAR_MIN) > values.get(PLAN_RESPONSIBLE_MIN)) {
+            throw new IllegalArgumentException(PLAN_REGULAR_MIN + " must not be greater than " + PLAN_RESPONSIBLE_MIN);
+        }
+
+        return new RuleSet(properties.getProperty(VERSION, defaultVersion).trim(), values);
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public int get(String key) {
+        Integer value = values.get(key);
+        if (value == null) throw new IllegalArgumentException("Unknown rule-set key: " + key);
+        return value;
+    }
+
+    /**
+     * Keys whose value differs between this rule set and {@code other}.
+     */
+    public Set<String> changedKeys(RuleSet other) {
+        Set<String> changed = new TreeSet<>();
+        values.forEach((key, value) -> {
+            if (!value.equals(other.values.get(key))) changed.add(key);
+        });
+        return changed;
+    }
+
+    /**
+     * Every key with its value and the version, in the form {@link #of} reads back.
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty(VERSION, version);
+        values.forEach((key, value) -> properties.setProperty(key, value.toString()));
+        return properties;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleSet{" + "version='" + version + '\'' + ", values=" + values + '}';
+    }
+
+    private static Map<String, Integer> defaults() {
+        Map<String, Integer> defaults = new LinkedHashMap<>();
+        defaults.put(AGE_YOUNG_BELOW, 30);
+        defaults.put(AGE_YOUNG_POINTS, -2);
+        defaults.put(AGE_MIDDLE_MAX, 40);
+        defaults.put(AGE_MIDDLE_POINTS, -1);
+        defaults.put(AGE_INELIGIBLE_ABOVE, 60);
+        defaults.put(INCOME_HIGH_ABOVE, 200000);
+        defaults.put(INCOME_HIGH_POINTS, -1);
+        defaults.put(HOUSE_MORTGAGED_POINTS, 1);
+        defaults.put(DEPENDENTS_POINTS, 1);
+        defaults.put(MARRIED_LIFE_POINTS, 1);
+        defaults.put(MARRIED_DISABILITY_POINTS, -1);
+        defaults.put(VEHICLE_RECENT_YEARS, 5);
+        defaults.put(VEHICLE_RECENT_POINTS, 1);
+        defaults.put(PLAN_REGULAR_MIN, 1);
+        defaults.put(PLAN_RESPONSIBLE_MIN, 3);
+        return defaults;
+    }
+
+}
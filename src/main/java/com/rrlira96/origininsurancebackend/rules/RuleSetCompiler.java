@@ -0,0 +1,105 @@
+package com.rrlira96.origininsurancebackend.rules;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.service.PrimitiveRiskProfileEngine;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import static com.rrlira96.origininsurancebackend.model.InsurancePlan.*;
+import static com.rrlira96.origininsurancebackend.model.MaritalStatus.married;
+import static com.rrlira96.origininsurancebackend.model.OwnershipStatus.mortgaged;
+import static com.rrlira96.origininsurancebackend.rules.RuleSet.*;
+
+/**
+ * Compiles a {@link RuleSet} into a {@code (User, int currentYear) -> RiskProfile} method handle by binding every
+ * threshold and point value of {@link #evaluate} as an argument. Nothing is interpreted per request: a call is one
+ * handle invocation into straight-line code, with no rule lookup or map access. The bound values are not folded into
+ * the compiled code like literals, though. {@link RuleSetRiskProfileEngine} calls the handle through an instance
+ * field, which the JIT does not treat as a constant, so each call reads them from the bound handle.
+ */
+final class RuleSetCompiler {
+
+    static final MethodType EVALUATOR_TYPE = MethodType.methodType(RiskProfile.class, User.class, int.class);
+
+    private static final String[] PARAMETERS = {
+            AGE_YOUNG_BELOW, AGE_YOUNG_POINTS, AGE_MIDDLE_MAX, AGE_MIDDLE_POINTS, AGE_INELIGIBLE_ABOVE,
+            INCOME_HIGH_ABOVE, INCOME_HIGH_POINTS, HOUSE_MORTGAGED_POINTS, DEPENDENTS_POINTS, MARRIED_LIFE_POINTS,
+            MARRIED_DISABILITY_POINTS, VEHICLE_RECENT_YEARS, VEHICLE_RECENT_POINTS, PLAN_REGULAR_MIN,
+            PLAN_RESPONSIBLE_MIN};
+
+    private static final MethodHandle EVALUATE;
+
+    static {
+        Class<?>[] parameterTypes = new Class<?>[PARAMETERS.length + 2];
+        for (int i = 0; i < PARAMETERS.length; i++) parameterTypes[i] = int.class;
+        parameterTypes[PARAMETERS.length] = User.class;
+        parameterTypes[PARAMETERS.length + 1] = int.class;
+        try {
+            EVALUATE = MethodHandles.lookup().findStatic(RuleSetCompiler.class, "evaluate",
+                    MethodType.methodType(RiskProfile.class, parameterTypes));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private RuleSetCompiler() {
+    }
+
+    static MethodHandle compile(RuleSet ruleSet) {
+        Object[] constants = new Object[PARAMETERS.length];
+        for (int i = 0; i < PARAMETERS.length; i++) constants[i] = ruleSet.get(PARAMETERS[i]);
+        return MethodHandles.insertArguments(EVALUATE, 0, constants);
+    }
+
+    private static RiskProfile evaluate(int ageYoungBelow, int ageYoungPoints, int ageMiddleMax, int ageMiddlePoints,
+                                        int ageIneligibleAbove, int incomeHighAbove, int incomeHighPoints,
+                                        int houseMortgagedPoints, int dependentsPoints, int marriedLifePoints,
+                                        int marriedDisabilityPoints, int vehicleRecentYears, int vehicleRecentPoints,
+                                        int planRegularMin, int planResponsibleMin,
+                                        User user, int currentYear) {
+        int age = user.getAge();
+        int income = user.getIncome();
+
+        int common = PrimitiveRiskProfileEngine.calculateBaseScore(user.getRiskAnswers());
+        if (age < ageYoungBelow) common += ageYoungPoints;
+        else if (age <= ageMiddleMax) common += ageMiddlePoints;
+        if (income > incomeHighAbove) common += incomeHighPoints;
+
+        int auto = common;
+        int disability = common;
+        int home = common;
+        int life = common;
+
+        House house = user.getHouse();
+        if (house != null && house.getOwnershipStatus().equals(mortgaged)) {
+            home += houseMortgagedPoints;
+            disability += houseMortgagedPoints;
+        }
+        if (user.getDependents() > 0) {
+            life += dependentsPoints;
+            disability += dependentsPoints;
+        }
+        if (user.getMaritalStatus().equals(married)) {
+            life += marriedLifePoints;
+            disability += marriedDisabilityPoints;
+        }
+        Vehicle vehicle = user.getVehicle();
+        if (vehicle != null && currentYear - vehicle.getYear() <= vehicleRecentYears) auto += vehicleRecentPoints;
+
+        boolean senior = age > ageIneligibleAbove;
+        return RiskProfile.of(
+                vehicle == null ? ineligible : plan(auto, planRegularMin, planResponsibleMin),
+                income == 0 || senior ? ineligible : plan(disability, planRegularMin, planResponsibleMin),
+                house == null ? ineligible : plan(home, planRegularMin, planResponsibleMin),
+                senior ? ineligible : plan(life, planRegularMin, planResponsibleMin));
+    }
+
+    private static InsurancePlan plan(int score, int regularMin, int responsibleMin) {
+        if (score >= responsibleMin) return responsible;
+        if (score >= regularMin) return regular;
+        return economic;
+    }
+
+}
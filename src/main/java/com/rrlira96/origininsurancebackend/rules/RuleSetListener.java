@@ -0,0 +1,11 @@
+package com.rrlira96.origininsurancebackend.rules;
+
+/**
+ * Notified after {@link RuleSetRiskProfileEngine} starts scoring with a new rule set.
+ */
+@FunctionalInterface
+public interface RuleSetListener {
+
+    void onRuleSetChange(RuleSet previous, RuleSet current);
+
+}
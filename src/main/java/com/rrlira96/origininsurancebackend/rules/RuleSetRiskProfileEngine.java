@@ -0,0 +1,93 @@
+package com.rrlira96.origininsurancebackend.rules;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.VolatileCallSite;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Scores with a compiled {@link RuleSet} that can be replaced while serving. The evaluator sits behind a
+ * {@link VolatileCallSite}: {@link #reload(RuleSet)} compiles the new version first and then swaps the call site
+ * target in one step, so in-flight requests finish on the version they started with and never wait on a lock.
+ */
+public class RuleSetRiskProfileEngine implements RiskProfileEngine, Closeable {
+
+    private static Logger logger = LoggerFactory.getLogger(RuleSetRiskProfileEngine.class);
+
+    private final CurrentYear currentYear;
+    private final VolatileCallSite evaluator;
+    private final MethodHandle invoker;
+    private final List<RuleSetListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile RuleSet ruleSet;
+    private RuleSetWatcher watcher;
+
+    public RuleSetRiskProfileEngine(RuleSet ruleSet, CurrentYear currentYear) {
+        this.currentYear = currentYear;
+        this.evaluator = new VolatileCallSite(RuleSetCompiler.compile(ruleSet));
+        this.invoker = evaluator.dynamicInvoker();
+        this.ruleSet = ruleSet;
+        logger.info("Scoring with rule set {}.", ruleSet.version());
+    }
+
+    @Override
+    public RiskProfile buildRiskProfile(User user) {
+        try {
+            return (RiskProfile) invoker.invokeExact(user, currentYear.get());
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public RuleSet ruleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * Starts scoring with {@code next} and notifies the listeners.
+     */
+    public synchronized void reload(RuleSet next) {
+        RuleSet previous = ruleSet;
+        evaluator.setTarget(RuleSetCompiler.compile(next));
+        ruleSet = next;
+        logger.info("Scoring with rule set {}, changed {}.", next.version(), next.changedKeys(previous));
+
+        for (RuleSetListener listener : listeners) {
+            try {
+                listener.onRuleSetChange(previous, next);
+            } catch (RuntimeException ex) {
+                logger.error("Rule-set listener failed.", ex);
+            }
+        }
+    }
+
+    public void addListener(RuleSetListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Reloads {@code file} whenever it changes, checking every {@code pollInterval}.
+     */
+    public synchronized void watch(Path file, Duration pollInterval) {
+        if (watcher != null) throw new IllegalStateException("Already watching " + watcher.file());
+        watcher = new RuleSetWatcher(file, pollInterval, this);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watcher != null) watcher.close();
+        watcher = null;
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.rrlira96.origininsurancebackend.rules;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls a rule-set file and reloads the engine when its modification time or size changes. Polling works the same on
+ * every file system, including mounted config maps where watch events are unreliable. A file that fails to parse is
+ * logged and skipped until it changes again, and the engine keeps its current rule set.
+ */
+class RuleSetWatcher implements Closeable {
+
+    private static Logger logger = LoggerFactory.getLogger(RuleSetWatcher.class);
+
+    private final Path file;
+    private final RuleSetRiskProfileEngine engine;
+    private final ScheduledExecutorService executor;
+    private String stamp;
+
+    RuleSetWatcher(Path file, Duration pollInterval, RuleSetRiskProfileEngine engine) {
+        this.file = file;
+        this.engine = engine;
+        this.stamp = stampOf(file);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rule-set-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = pollInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::poll, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    Path file() {
+        return file;
+    }
+
+    private void poll() {
+        String current = stampOf(file);
+        if (current == null || Objects.equals(current, stamp)) return;
+        stamp = current;
+
+        try {
+            engine.reload(RuleSet.load(file));
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Keeping rule set {}, could not load {}: {}", engine.ruleSet().version(), file, ex.getMessage());
+        }
+    }
+
+    private static String stampOf(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.lastModifiedTime() + "/" + attributes.size();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
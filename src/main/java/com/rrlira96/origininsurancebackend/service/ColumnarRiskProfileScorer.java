@@ -0,0 +1,161 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+
+/**
+ * Same rules as {@link RiskProfileService}, applied to {@link UserColumns} one block of applicants at a time: each
+ * rule is one loop over int columns. Comparisons are written as sign-bit arithmetic, so the loops have no branches
+ * and C2 compiles them to SIMD instructions. Results are {@link RiskProfile#code()} bytes; use
+ * {@link RiskProfile#fromCode(int)} with {@code code & 0xFF} to get the profile.
+ * <p>
+ * Not thread-safe: the score columns are reused between calls. Use one instance per thread, each on its own range.
+ */
+public class ColumnarRiskProfileScorer {
+
+    private static final int BLOCK = 512;
+
+    private final CurrentYear currentYear;
+
+    // One block of each input column, copied so that every loop indexes all of its arrays with the same i: C2 does
+    // not vectorize a loop that stores to one int[] at i and loads another at offset + i, as they could overlap.
+    private final int[] ages = new int[BLOCK];
+    private final int[] incomes = new int[BLOCK];
+    private final int[] dependents = new int[BLOCK];
+    private final int[] married = new int[BLOCK];
+    private final int[] houses = new int[BLOCK];
+    private final int[] vehicles = new int[BLOCK];
+    private final int[] vehicleYears = new int[BLOCK];
+    private final int[] riskAnswers = new int[BLOCK];
+
+    private final int[] common = new int[BLOCK];
+    private final int[] auto = new int[BLOCK];
+    private final int[] disability = new int[BLOCK];
+    private final int[] home = new int[BLOCK];
+    private final int[] life = new int[BLOCK];
+    private final int[] code = new int[BLOCK];
+
+    public ColumnarRiskProfileScorer(CurrentYear currentYear) {
+        this.currentYear = currentYear;
+    }
+
+    /**
+     * Scores rows {@code from} (inclusive) to {@code to} (exclusive) into the same rows of {@code codes}.
+     */
+    public void score(UserColumns users, int from, int to, byte[] codes) {
+        int year = currentYear.get();
+        for (int offset = from; offset < to; offset += BLOCK) {
+            int length = Math.min(BLOCK, to - offset);
+            load(users, offset, length);
+            baseScore(length);
+            updateScoreByAge(length);
+            updateScoreByIncome(length);
+            updateScoreByHouse(length);
+            updateScoreByDependents(length);
+            updateScoreByMaritalStatus(length);
+            updateScoreByVehicle(length, year);
+            plans(length);
+            // Narrowed in a loop of its own: C2 only vectorizes loops whose arrays share one element type
+            for (int i = 0; i < length; i++) {
+                codes[offset + i] = (byte) code[i];
+            }
+        }
+    }
+
+    private void load(UserColumns users, int offset, int length) {
+        System.arraycopy(users.ages, offset, ages, 0, length);
+        System.arraycopy(users.incomes, offset, incomes, 0, length);
+        System.arraycopy(users.dependents, offset, dependents, 0, length);
+        System.arraycopy(users.married, offset, married, 0, length);
+        System.arraycopy(users.houses, offset, houses, 0, length);
+        System.arraycopy(users.vehicles, offset, vehicles, 0, length);
+        System.arraycopy(users.vehicleYears, offset, vehicleYears, 0, length);
+        System.arraycopy(users.riskAnswers, offset, riskAnswers, 0, length);
+    }
+
+    private void baseScore(int length) {
+        for (int i = 0; i < length; i++) {
+            int answers = riskAnswers[i];
+            common[i] = (answers & 1) + (answers >>> 1 & 1) + (answers >>> 2 & 1);
+        }
+    }
+
+    private void updateScoreByAge(int length) {
+        for (int i = 0; i < length; i++) {
+            int age = ages[i];
+            common[i] -= lessThan(age, 30) + lessThan(age, 41);
+        }
+    }
+
+    private void updateScoreByIncome(int length) {
+        for (int i = 0; i < length; i++) {
+            common[i] -= lessThan(200000, incomes[i]);
+        }
+    }
+
+    // The first rule to touch a line's score starts it from the common score.
+    private void updateScoreByHouse(int length) {
+        for (int i = 0; i < length; i++) {
+            int score = common[i] + (houses[i] >>> 1);
+            home[i] = score;
+            disability[i] = score;
+        }
+    }
+
+    private void updateScoreByDependents(int length) {
+        for (int i = 0; i < length; i++) {
+            int hasDependents = -dependents[i] >>> 31;
+            life[i] = common[i] + hasDependents;
+            disability[i] += hasDependents;
+        }
+    }
+
+    private void updateScoreByMaritalStatus(int length) {
+        for (int i = 0; i < length; i++) {
+            int isMarried = married[i];
+            life[i] += isMarried;
+            disability[i] -= isMarried;
+        }
+    }
+
+    private void updateScoreByVehicle(int length, int year) {
+        for (int i = 0; i < length; i++) {
+            // Whatever the year of a missing vehicle scores here is replaced by ineligible
+            auto[i] = common[i] + lessThan(year - vehicleYears[i], 6);
+        }
+    }
+
+    // One loop per line: a single loop over all of them is too large for C2 to vectorize.
+    private void plans(int length) {
+        for (int i = 0; i < length; i++) {
+            code[i] = plan(auto[i], vehicles[i] ^ 1) << 6;
+        }
+        for (int i = 0; i < length; i++) {
+            code[i] |= plan(disability[i], isZero(incomes[i]) | lessThan(60, ages[i])) << 4;
+        }
+        for (int i = 0; i < length; i++) {
+            code[i] |= plan(home[i], isZero(houses[i])) << 2;
+        }
+        for (int i = 0; i < length; i++) {
+            code[i] |= plan(life[i], lessThan(60, ages[i]));
+        }
+    }
+
+    /**
+     * {@link com.rrlira96.origininsurancebackend.model.InsurancePlan} ordinal: economic (0) below 1, regular (1)
+     * below 3, responsible (2) otherwise, and ineligible (3) when {@code ineligible} is 1.
+     */
+    private static int plan(int score, int ineligible) {
+        return (lessThan(0, score) + lessThan(2, score)) | -ineligible & 3;
+    }
+
+    // 1 when a < b, else 0. Exact as long as a - b does not overflow, which holds for the values a User can have.
+    private static int lessThan(int a, int b) {
+        return (a - b) >>> 31;
+    }
+
+    // 1 when value is 0, else 0.
+    private static int isZero(int value) {
+        return ~(value | -value) >>> 31;
+    }
+
+}
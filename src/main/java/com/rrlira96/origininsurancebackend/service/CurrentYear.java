@@ -0,0 +1,63 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import java.time.Clock;
+import java.time.Year;
+import java.time.ZonedDateTime;
+
+/**
+ * Cached equivalent of {@code Year.now(clock)}. The year is recomputed only once the clock passes the start
+ * of the next year, so the hot path is a single millisecond read and comparison.
+ */
+public final class CurrentYear {
+
+    public static final CurrentYear SYSTEM = new CurrentYear(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private volatile Snapshot snapshot;
+
+    public CurrentYear(Clock clock) {
+        this.clock = clock;
+        this.snapshot = snapshotOf(clock);
+    }
+
+    public int get() {
+        Snapshot current = snapshot;
+        if (clock.millis() >= current.nextYearStartMillis) {
+            current = snapshotOf(clock);
+            snapshot = current;
+        }
+        return current.year;
+    }
+
+    /**
+     * Epoch millisecond at which {@link #get()} will start returning the next year.
+     */
+    public long nextYearStartMillis() {
+        get();
+        return snapshot.nextYearStartMillis;
+    }
+
+    /**
+     * Milliseconds until {@link #get()} starts returning the next year, by the same clock.
+     */
+    public long millisUntilNextYear() {
+        return nextYearStartMillis() - clock.millis();
+    }
+
+    private static Snapshot snapshotOf(Clock clock) {
+        int year = ZonedDateTime.now(clock).getYear();
+        long nextYearStart = Year.of(year + 1).atDay(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        return new Snapshot(year, nextYearStart);
+    }
+
+    private static final class Snapshot {
+        private final int year;
+        private final long nextYearStartMillis;
+
+        private Snapshot(int year, long nextYearStartMillis) {
+            this.year = year;
+            this.nextYearStartMillis = nextYearStartMillis;
+        }
+    }
+
+}
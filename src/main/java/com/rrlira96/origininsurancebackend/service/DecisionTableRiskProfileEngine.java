@@ -0,0 +1,60 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.*;
+
+import java.util.List;
+
+import static com.rrlira96.origininsurancebackend.service.RiskFeatureKey.*;
+
+/**
+ * Evaluates the rules of {@link RiskProfileService} once for every reachable {@link RiskFeatureKey} and
+ * answers requests with a single array load. Users outside the key space are handed to the rule chain.
+ */
+public class DecisionTableRiskProfileEngine implements RiskProfileEngine {
+
+    private static final int[] AGE_BY_BUCKET = {20, 35, 50, 65};
+    private static final List<List<Integer>> RISK_ANSWERS_BY_BASE_SCORE = List.of(
+            List.of(0, 0, 0), List.of(1, 0, 0), List.of(1, 1, 0), List.of(1, 1, 1));
+
+    private final RiskProfileService riskProfileService;
+    private final CurrentYear currentYear;
+    private final RiskProfile[] table;
+
+    public DecisionTableRiskProfileEngine(RiskProfileService riskProfileService, CurrentYear currentYear) {
+        this.riskProfileService = riskProfileService;
+        this.currentYear = currentYear;
+        this.table = buildTable(riskProfileService, currentYear.get());
+    }
+
+    @Override
+    public RiskProfile buildRiskProfile(User user) {
+        int key = RiskFeatureKey.of(user, currentYear.get());
+        if (key == OUT_OF_DOMAIN) return riskProfileService.buildRiskProfile(user);
+        return table[key];
+    }
+
+    private static RiskProfile[] buildTable(RiskProfileService riskProfileService, int currentYear) {
+        RiskProfile[] table = new RiskProfile[SIZE];
+
+        for (int key = 0; key < SIZE; key++) {
+            if (isReachable(key)) table[key] = riskProfileService.buildRiskProfile(representativeOf(key, currentYear));
+        }
+
+        return table;
+    }
+
+    static User representativeOf(int key, int currentYear) {
+        int income = highIncomeOf(key) ? 300000 : noIncomeOf(key) ? 0 : 50000;
+        House house = null;
+        if (houseOf(key) == HOUSE_OWNED) house = new House(OwnershipStatus.owned);
+        if (houseOf(key) == HOUSE_MORTGAGED) house = new House(OwnershipStatus.mortgaged);
+        Vehicle vehicle = null;
+        if (vehicleOf(key) == VEHICLE_NEW) vehicle = new Vehicle(currentYear);
+        if (vehicleOf(key) == VEHICLE_OLD) vehicle = new Vehicle(currentYear - 10);
+
+        return new User(AGE_BY_BUCKET[ageBucketOf(key)], dependentsOf(key) ? 1 : 0, house, income,
+                marriedOf(key) ? MaritalStatus.married : MaritalStatus.single,
+                RISK_ANSWERS_BY_BASE_SCORE.get(baseScoreOf(key)), vehicle);
+    }
+
+}
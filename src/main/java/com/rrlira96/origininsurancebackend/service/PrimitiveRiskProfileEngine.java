@@ -0,0 +1,77 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.*;
+
+import java.util.List;
+
+import static com.rrlira96.origininsurancebackend.model.InsurancePlan.*;
+import static com.rrlira96.origininsurancebackend.model.MaritalStatus.married;
+import static com.rrlira96.origininsurancebackend.model.OwnershipStatus.mortgaged;
+
+/**
+ * Same rules as {@link RiskProfileService}, evaluated on one primitive score per insurance line instead of a
+ * {@code Map<String, Integer>}. Profiles are canonical, so scoring does not allocate.
+ */
+public class PrimitiveRiskProfileEngine implements RiskProfileEngine {
+
+    private final CurrentYear currentYear;
+
+    public PrimitiveRiskProfileEngine(CurrentYear currentYear) {
+        this.currentYear = currentYear;
+    }
+
+    @Override
+    public RiskProfile buildRiskProfile(User user) {
+        int baseScore = calculateBaseScore(user.getRiskAnswers());
+        int age = user.getAge();
+        int income = user.getIncome();
+
+        int common = baseScore;
+        if (age < 30) common -= 2;
+        else if (age <= 40) common -= 1;
+        if (income > 200000) common -= 1;
+
+        int auto = common;
+        int disability = common;
+        int home = common;
+        int life = common;
+
+        House house = user.getHouse();
+        if (house != null && house.getOwnershipStatus().equals(mortgaged)) {
+            home++;
+            disability++;
+        }
+        if (user.getDependents() > 0) {
+            life++;
+            disability++;
+        }
+        if (user.getMaritalStatus().equals(married)) {
+            life++;
+            disability--;
+        }
+        Vehicle vehicle = user.getVehicle();
+        if (vehicle != null && currentYear.get() - vehicle.getYear() <= 5) auto++;
+
+        return RiskProfile.of(
+                vehicle == null ? ineligible : planFor(auto),
+                income == 0 || age > 60 ? ineligible : planFor(disability),
+                house == null ? ineligible : planFor(home),
+                age > 60 ? ineligible : planFor(life));
+    }
+
+    public static int calculateBaseScore(List<Integer> riskAnswers) {
+        if (riskAnswers instanceof RiskAnswers) return ((RiskAnswers) riskAnswers).sum();
+        int sum = 0;
+        for (int i = 0; i < riskAnswers.size(); i++) {
+            sum += riskAnswers.get(i);
+        }
+        return sum;
+    }
+
+    static InsurancePlan planFor(int score) {
+        if (score >= 3) return responsible;
+        if (score >= 1) return regular;
+        return economic;
+    }
+
+}
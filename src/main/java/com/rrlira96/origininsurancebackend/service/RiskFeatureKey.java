@@ -0,0 +1,148 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.House;
+import com.rrlira96.origininsurancebackend.model.MaritalStatus;
+import com.rrlira96.origininsurancebackend.model.OwnershipStatus;
+import com.rrlira96.origininsurancebackend.model.RiskAnswers;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.Vehicle;
+
+import java.util.List;
+
+/**
+ * Packs the inputs that can change a {@link com.rrlira96.origininsurancebackend.model.RiskProfile}
+ * into a 12 bit key:
+ *
+ * <pre>
+ *  bits  0-1  base score (0..3)
+ *  bits  2-3  age bucket (under 30, 30-40, 41-60, over 60)
+ *  bit     4  income over 200000
+ *  bit     5  no income
+ *  bits  6-7  house (none, owned, mortgaged)
+ *  bit     8  has dependents
+ *  bit     9  married
+ *  bits 10-11 vehicle (none, built in the last five years, older)
+ * </pre>
+ *
+ * Users that fall outside this space (e.g. risk answers that do not add up to 0..3) get {@link #OUT_OF_DOMAIN}.
+ */
+public final class RiskFeatureKey {
+
+    public static final int SIZE = 1 << 12;
+    public static final int OUT_OF_DOMAIN = -1;
+
+    public static final int AGE_UNDER_30 = 0;
+    public static final int AGE_30_TO_40 = 1;
+    public static final int AGE_41_TO_60 = 2;
+    public static final int AGE_OVER_60 = 3;
+
+    public static final int NO_HOUSE = 0;
+    public static final int HOUSE_OWNED = 1;
+    public static final int HOUSE_MORTGAGED = 2;
+
+    public static final int NO_VEHICLE = 0;
+    public static final int VEHICLE_NEW = 1;
+    public static final int VEHICLE_OLD = 2;
+
+    private static final int AGE_SHIFT = 2;
+    private static final int HIGH_INCOME_BIT = 1 << 4;
+    private static final int NO_INCOME_BIT = 1 << 5;
+    private static final int HOUSE_SHIFT = 6;
+    private static final int DEPENDENTS_BIT = 1 << 8;
+    private static final int MARRIED_BIT = 1 << 9;
+    private static final int VEHICLE_SHIFT = 10;
+
+    private RiskFeatureKey() {
+    }
+
+    public static int of(User user, int currentYear) {
+        int baseScore = baseScore(user.getRiskAnswers());
+        int house = houseCode(user.getHouse());
+        MaritalStatus maritalStatus = user.getMaritalStatus();
+        if (baseScore < 0 || baseScore > 3 || house < 0 || maritalStatus == null) return OUT_OF_DOMAIN;
+
+        return pack(baseScore, ageBucket(user.getAge()), user.getIncome(), house, user.getDependents(),
+                maritalStatus == MaritalStatus.married, vehicleCode(user.getVehicle(), currentYear));
+    }
+
+    public static int pack(int baseScore, int ageBucket, int income, int house, int dependents,
+                           boolean married, int vehicle) {
+        int key = baseScore | ageBucket << AGE_SHIFT | house << HOUSE_SHIFT | vehicle << VEHICLE_SHIFT;
+        if (income > 200000) key |= HIGH_INCOME_BIT;
+        if (income == 0) key |= NO_INCOME_BIT;
+        if (dependents > 0) key |= DEPENDENTS_BIT;
+        if (married) key |= MARRIED_BIT;
+        return key;
+    }
+
+    public static int ageBucket(int age) {
+        if (age < 30) return AGE_UNDER_30;
+        if (age <= 40) return AGE_30_TO_40;
+        if (age <= 60) return AGE_41_TO_60;
+        return AGE_OVER_60;
+    }
+
+    public static int vehicleCode(Vehicle vehicle, int currentYear) {
+        if (vehicle == null) return NO_VEHICLE;
+        return currentYear - vehicle.getYear() <= 5 ? VEHICLE_NEW : VEHICLE_OLD;
+    }
+
+    static int houseCode(House house) {
+        if (house == null) return NO_HOUSE;
+        OwnershipStatus status = house.getOwnershipStatus();
+        if (status == null) return OUT_OF_DOMAIN;
+        return status == OwnershipStatus.mortgaged ? HOUSE_MORTGAGED : HOUSE_OWNED;
+    }
+
+    private static int baseScore(List<Integer> riskAnswers) {
+        if (riskAnswers == null) return OUT_OF_DOMAIN;
+        if (riskAnswers instanceof RiskAnswers) return ((RiskAnswers) riskAnswers).sum();
+        int sum = 0;
+        for (int i = 0; i < riskAnswers.size(); i++) {
+            Integer answer = riskAnswers.get(i);
+            if (answer == null) return OUT_OF_DOMAIN;
+            sum += answer;
+        }
+        return sum;
+    }
+
+    public static int baseScoreOf(int key) {
+        return key & 0b11;
+    }
+
+    public static int ageBucketOf(int key) {
+        return key >>> AGE_SHIFT & 0b11;
+    }
+
+    public static boolean highIncomeOf(int key) {
+        return (key & HIGH_INCOME_BIT) != 0;
+    }
+
+    public static boolean noIncomeOf(int key) {
+        return (key & NO_INCOME_BIT) != 0;
+    }
+
+    public static int houseOf(int key) {
+        return key >>> HOUSE_SHIFT & 0b11;
+    }
+
+    public static boolean dependentsOf(int key) {
+        return (key & DEPENDENTS_BIT) != 0;
+    }
+
+    public static boolean marriedOf(int key) {
+        return (key & MARRIED_BIT) != 0;
+    }
+
+    public static int vehicleOf(int key) {
+        return key >>> VEHICLE_SHIFT & 0b11;
+    }
+
+    /**
+     * Whether the key describes a combination that a real {@link User} can produce.
+     */
+    public static boolean isReachable(int key) {
+        return !(highIncomeOf(key) && noIncomeOf(key)) && houseOf(key) <= HOUSE_MORTGAGED && vehicleOf(key) <= VEHICLE_OLD;
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.rrlira96.origininsurancebackend.controller.exceptions.CachedTimestamp;
+import com.rrlira96.origininsurancebackend.controller.exceptions.ErrorResponse;
+import com.rrlira96.origininsurancebackend.controller.exceptions.StandardError;
+import com.rrlira96.origininsurancebackend.controller.exceptions.ValidationErrors;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.warmup.WarmUpTraffic;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Scores a JSON array or newline-delimited stream of users, writing one NDJSON line per input record in input
+ * order. Records are read and scored in bounded chunks so memory use does not grow with the payload size.
+ */
+@Service
+public class RiskProfileBatchService {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final int PARALLEL_THRESHOLD = 256;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectReader userReader;
+    private final ObjectWriter writer;
+    private final RiskProfileEngine riskProfileEngine;
+    private final Validator validator;
+
+    public RiskProfileBatchService(ObjectMapper objectMapper, RiskProfileEngine riskProfileEngine,
+                                   @Qualifier("userValidator") Validator validator) {
+        this.userReader = objectMapper.readerFor(User.class);
+        this.writer = objectMapper.writer();
+        this.riskProfileEngine = riskProfileEngine;
+        this.validator = validator;
+    }
+
+    /**
+     * @return number of records written
+     */
+    public long score(InputStream in, OutputStream out, String path) throws IOException {
+        Object[] chunk = new Object[CHUNK_SIZE];
+        long written = 0;
+        boolean endOfInput = false;
+
+        try (MappingIterator<User> users = userReader.readValues(in);
+             OutputStream buffered = new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE)) {
+
+            while (!endOfInput) {
+                int size = 0;
+                while (size < CHUNK_SIZE && !endOfInput) {
+                    try {
+                        if (!users.hasNextValue()) {
+                            endOfInput = true;
+                        } else {
+                            User user = users.nextValue();
+                            chunk[size++] = user;
+                        }
+                    } catch (InvalidFormatException ex) {
+                        chunk[size++] = new ErrorResponse(List.of(ValidationErrors.invalidValue(ex.getValue(), path)));
+                    } catch (JsonParseException ex) {
+                        chunk[size++] = malformedRecord(ex, path);
+                        endOfInput = true;
+                    } catch (JsonMappingException ex) {
+                        chunk[size++] = malformedRecord(ex, path);
+                    }
+                }
+
+                scoreChunk(chunk, size, path);
+
+                for (int i = 0; i < size; i++) {
+                    Object result = chunk[i];
+                    buffered.write(result instanceof RiskProfile ? ((RiskProfile) result).jsonBytes() : writer.writeValueAsBytes(result));
+                    buffered.write('\n');
+                    chunk[i] = null;
+                }
+                buffered.flush();
+                written += size;
+            }
+        }
+
+        return written;
+    }
+
+    /**
+     * Large chunks are scored in parallel, except for {@link WarmUpTraffic}, which is only marked on the request
+     * thread. Parallel workers validate in the request's locale, so their messages match the sequential path.
+     */
+    private void scoreChunk(Object[] chunk, int size, String path) {
+        if (size >= PARALLEL_THRESHOLD && !WarmUpTraffic.isCurrent()) {
+            LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+            IntStream.range(0, size).parallel().forEach(i -> {
+                LocaleContext previous = LocaleContextHolder.getLocaleContext();
+                LocaleContextHolder.setLocaleContext(localeContext);
+                try {
+                    chunk[i] = scoreRecord(chunk[i], path);
+                } finally {
+                    LocaleContextHolder.setLocaleContext(previous);
+                }
+            });
+        } else {
+            for (int i = 0; i < size; i++) chunk[i] = scoreRecord(chunk[i], path);
+        }
+    }
+
+    private Object scoreRecord(Object record, String path) {
+        if (!(record instanceof User)) return record;
+        User user = (User) record;
+
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(user, "user");
+        validator.validate(user, errors);
+        if (errors.hasErrors()) return ValidationErrors.of(errors, path);
+
+        try {
+            return riskProfileEngine.buildRiskProfile(user);
+        } catch (RuntimeException ex) {
+            HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+            return new ErrorResponse(List.of(new StandardError(CachedTimestamp.now(), status.value(), "Scoring failed",
+                    String.valueOf(ex.getMessage()), path)));
+        }
+    }
+
+    private static ErrorResponse malformedRecord(JsonProcessingException ex, String path) {
+        return new ErrorResponse(List.of(ValidationErrors.malformedRecord(ex.getOriginalMessage(), path)));
+    }
+
+}
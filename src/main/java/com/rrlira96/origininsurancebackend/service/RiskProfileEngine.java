@@ -0,0 +1,10 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+
+public interface RiskProfileEngine {
+
+    RiskProfile buildRiskProfile(User user);
+
+}
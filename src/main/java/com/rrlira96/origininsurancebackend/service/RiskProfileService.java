@@ -14,23 +14,41 @@ import static com.rrlira96.origininsurancebackend.model.MaritalStatus.married;
 import static com.rrlira96.origininsurancebackend.model.OwnershipStatus.mortgaged;
 
 @Service
-public class RiskProfileService {
+public class RiskProfileService implements RiskProfileEngine {
 
+    @Override
     public RiskProfile buildRiskProfile(User user) {
-        RiskProfile riskProfile = new RiskProfile();
+        return buildRiskProfile(user, RuleTimer.NONE);
+    }
+
+    /**
+     * Runs the rule chain, reporting the time spent in each rule to {@code ruleTimer}.
+     */
+    public RiskProfile buildRiskProfile(User user, RuleTimer ruleTimer) {
         Map<String, Integer> riskPointsMap = new HashMap<>();
+        long start = System.nanoTime();
 
         initializeRiskPointsMap(calculateBaseScore(user.getRiskAnswers()), riskPointsMap);
+        start = ruleTimer.record("base_score", start);
 
         updateScoreByAge(user.getAge(), riskPointsMap);
+        start = ruleTimer.record("age", start);
         updateScoreByIncome(user.getIncome(), riskPointsMap);
+        start = ruleTimer.record("income", start);
         updateScoreByHouse(user.getHouse(), riskPointsMap);
+        start = ruleTimer.record("house", start);
         updateScoreByDependents(user.getDependents(), riskPointsMap);
+        start = ruleTimer.record("dependents", start);
         updateScoreByMaritalStatus(user.getMaritalStatus(), riskPointsMap);
+        start = ruleTimer.record("marital_status", start);
         updateScoreByVehicle(user.getVehicle(), riskPointsMap);
+        start = ruleTimer.record("vehicle", start);
+
+        RiskProfile riskProfile = riskForInsurances(riskPointsMap);
+        start = ruleTimer.record("plans", start);
 
-        setRiskForInsurances(riskPointsMap, riskProfile);
-        setIneligibleInsurance(user, riskProfile);
+        riskProfile = withIneligibleInsurance(user, riskProfile);
+        ruleTimer.record("ineligible", start);
 
         return riskProfile;
     }
@@ -75,11 +93,12 @@ public class RiskProfileService {
         }
     }
 
-    private void setRiskForInsurances(Map<String, Integer> riskPointsMap, RiskProfile riskProfile) {
-        riskProfile.setLife(calculateInsurancePlan(riskPointsMap.get("life")));
-        riskProfile.setHome(calculateInsurancePlan(riskPointsMap.get("home")));
-        riskProfile.setDisability(calculateInsurancePlan(riskPointsMap.get("disability")));
-        riskProfile.setAuto(calculateInsurancePlan(riskPointsMap.get("auto")));
+    private RiskProfile riskForInsurances(Map<String, Integer> riskPointsMap) {
+        return RiskProfile.of(
+                calculateInsurancePlan(riskPointsMap.get("auto")),
+                calculateInsurancePlan(riskPointsMap.get("disability")),
+                calculateInsurancePlan(riskPointsMap.get("home")),
+                calculateInsurancePlan(riskPointsMap.get("life")));
     }
 
     public static InsurancePlan calculateInsurancePlan(Integer score) {
@@ -103,11 +122,18 @@ public class RiskProfileService {
         riskPointsMap.put("life", baseScore);
     }
 
-    public static void setIneligibleInsurance(User user, RiskProfile riskProfile) {
-        if (user.getIncome() == 0 || user.getAge() > 60) riskProfile.setDisability(ineligible);
-        if (user.getAge() > 60) riskProfile.setLife(ineligible);
-        if (Objects.isNull(user.getVehicle())) riskProfile.setAuto(ineligible);
-        if (Objects.isNull(user.getHouse())) riskProfile.setHome(ineligible);
+    public static RiskProfile withIneligibleInsurance(User user, RiskProfile riskProfile) {
+        InsurancePlan auto = riskProfile.getAuto();
+        InsurancePlan disability = riskProfile.getDisability();
+        InsurancePlan home = riskProfile.getHome();
+        InsurancePlan life = riskProfile.getLife();
+
+        if (user.getIncome() == 0 || user.getAge() > 60) disability = ineligible;
+        if (user.getAge() > 60) life = ineligible;
+        if (Objects.isNull(user.getVehicle())) auto = ineligible;
+        if (Objects.isNull(user.getHouse())) home = ineligible;
+
+        return RiskProfile.of(auto, disability, home, life);
     }
 
 }
@@ -0,0 +1,20 @@
+package com.rrlira96.origininsurancebackend.service;
+
+/**
+ * Receives the duration of each step of {@link RiskProfileService#buildRiskProfile(com.rrlira96.origininsurancebackend.model.User, RuleTimer)}.
+ */
+public interface RuleTimer {
+
+    /**
+     * Records nothing; what {@link RiskProfileService#buildRiskProfile(com.rrlira96.origininsurancebackend.model.User)}
+     * uses.
+     */
+    RuleTimer NONE = (rule, startNanos) -> startNanos;
+
+    /**
+     * Records that {@code rule} ran from {@code startNanos} until now and returns the current
+     * {@link System#nanoTime()}, which becomes the start of the next rule.
+     */
+    long record(String rule, long startNanos);
+
+}
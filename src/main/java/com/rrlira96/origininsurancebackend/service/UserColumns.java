@@ -0,0 +1,87 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.House;
+import com.rrlira96.origininsurancebackend.model.MaritalStatus;
+import com.rrlira96.origininsurancebackend.model.OwnershipStatus;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.Vehicle;
+
+import java.util.List;
+
+/**
+ * Applicants stored column by column for {@link ColumnarRiskProfileScorer}: row {@code i} of every array is one
+ * applicant. The arrays are public so callers can fill them straight from their own storage.
+ * <ul>
+ *     <li>{@code houses}: {@link #NO_HOUSE}, {@link #HOUSE_OWNED} or {@link #HOUSE_MORTGAGED};</li>
+ *     <li>{@code married}: 1 when married, 0 when single;</li>
+ *     <li>{@code vehicles}: 1 when there is a vehicle, 0 when there is none;</li>
+ *     <li>{@code vehicleYears}: the vehicle's year, any value when there is none;</li>
+ *     <li>{@code riskAnswers}: the three 0/1 answers packed as bits 0 to 2.</li>
+ * </ul>
+ * Rows must hold values a validated {@link User} can have: positive ages, incomes and dependents not negative.
+ */
+public final class UserColumns {
+
+    public static final int NO_HOUSE = RiskFeatureKey.NO_HOUSE;
+    public static final int HOUSE_OWNED = RiskFeatureKey.HOUSE_OWNED;
+    public static final int HOUSE_MORTGAGED = RiskFeatureKey.HOUSE_MORTGAGED;
+
+    public final int[] ages;
+    public final int[] incomes;
+    public final int[] dependents;
+    public final int[] married;
+    public final int[] houses;
+    public final int[] vehicles;
+    public final int[] vehicleYears;
+    public final int[] riskAnswers;
+
+    public UserColumns(int capacity) {
+        this.ages = new int[capacity];
+        this.incomes = new int[capacity];
+        this.dependents = new int[capacity];
+        this.married = new int[capacity];
+        this.houses = new int[capacity];
+        this.vehicles = new int[capacity];
+        this.vehicleYears = new int[capacity];
+        this.riskAnswers = new int[capacity];
+    }
+
+    public int capacity() {
+        return ages.length;
+    }
+
+    /**
+     * Copies a validated {@code user} into row {@code row}.
+     *
+     * @throws IllegalArgumentException if a risk answer is not 0 or 1, which the packed column cannot hold
+     */
+    public void set(int row, User user) {
+        ages[row] = user.getAge();
+        incomes[row] = user.getIncome();
+        dependents[row] = user.getDependents();
+        married[row] = user.getMaritalStatus() == MaritalStatus.married ? 1 : 0;
+        houses[row] = houseCode(user.getHouse());
+        Vehicle vehicle = user.getVehicle();
+        vehicles[row] = vehicle == null ? 0 : 1;
+        vehicleYears[row] = vehicle == null ? 0 : vehicle.getYear();
+        riskAnswers[row] = packRiskAnswers(user.getRiskAnswers());
+    }
+
+    public static int packRiskAnswers(List<Integer> answers) {
+        int packed = 0;
+        for (int i = 0; i < answers.size(); i++) {
+            int answer = answers.get(i);
+            if ((answer & ~1) != 0) {
+                throw new IllegalArgumentException("Risk answer " + i + " is " + answer + ", expected 0 or 1");
+            }
+            packed |= answer << i;
+        }
+        return packed;
+    }
+
+    private static int houseCode(House house) {
+        if (house == null) return NO_HOUSE;
+        return house.getOwnershipStatus() == OwnershipStatus.mortgaged ? HOUSE_MORTGAGED : HOUSE_OWNED;
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.rrlira96.origininsurancebackend.shadow;
+
+import com.rrlira96.origininsurancebackend.model.InsurancePlan;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetListener;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scores a sample of the served requests again with a candidate engine and counts where it disagrees with the
+ * primary one, by insurance line and plan transition. The candidate runs on its own small pool with a bounded queue:
+ * when the pool cannot keep up, samples are dropped and counted instead of making request threads wait.
+ * <p>
+ * Counters are {@link LongAdder}s, so request and shadow threads update them without contending on one cache line.
+ * They start over whenever the candidate rule set changes, so they always describe a single candidate version.
+ * The evaluator owns the candidate engine and closes it with itself.
+ */
+public class ShadowEvaluator implements RuleSetListener, Closeable {
+
+    private static Logger logger = LoggerFactory.getLogger(ShadowEvaluator.class);
+
+    private static final String[] LINES = {"auto", "disability", "home", "life"};
+    private static final InsurancePlan[] PLANS = InsurancePlan.values();
+
+    private final RiskProfileEngine candidate;
+    private final double sampleRate;
+    private final ThreadPoolExecutor executor;
+
+    private volatile Counters counters;
+
+    public ShadowEvaluator(RiskProfileEngine candidate, String candidateVersion, double sampleRate, int threads,
+                           int queueSize) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.candidate = candidate;
+        this.sampleRate = sampleRate;
+        this.counters = new Counters(candidateVersion);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "shadow-scoring-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }, (runnable, pool) -> counters.dropped.increment());
+    }
+
+    /**
+     * Called on the request thread after the primary engine returned {@code primary} for {@code user}. Never blocks.
+     */
+    public void offer(User user, RiskProfile primary) {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) return;
+
+        Counters sampledFor = counters;
+        sampledFor.sampled.increment();
+        executor.execute(() -> compare(sampledFor, user, primary));
+    }
+
+    @Override
+    public void onRuleSetChange(RuleSet previous, RuleSet current) {
+        counters = new Counters(current.version());
+    }
+
+    /**
+     * The counters as a JSON-friendly tree: totals, then divergences by line and {@code from->to} plan transition.
+     */
+    public Map<String, Object> report() {
+        Counters current = counters;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("candidate", current.version);
+        report.put("since", current.since.toString());
+        report.put("sample_rate", sampleRate);
+        report.put("sampled", current.sampled.sum());
+        report.put("dropped", current.dropped.sum());
+        report.put("failed", current.failed.sum());
+        report.put("compared", current.compared.sum());
+        report.put("diverged", current.diverged.sum());
+
+        Map<String, Object> lines = new LinkedHashMap<>();
+        for (int line = 0; line < LINES.length; line++) {
+            Map<String, Long> transitions = new LinkedHashMap<>();
+            for (int from = 0; from < PLANS.length; from++) {
+                for (int to = 0; to < PLANS.length; to++) {
+                    long count = current.transitions[index(line, from, to)].sum();
+                    if (count > 0) transitions.put(PLANS[from] + "->" + PLANS[to], count);
+                }
+            }
+            lines.put(LINES[line], transitions);
+        }
+        report.put("divergences", lines);
+        return report;
+    }
+
+    public void writeTo(StringBuilder out) {
+        Counters current = counters;
+        out.append("# HELP risk_profile_shadow_requests_total Requests sampled for the candidate rules, by outcome.\n");
+        out.append("# TYPE risk_profile_shadow_requests_total counter\n");
+        out.append("risk_profile_shadow_requests_total{outcome=\"sampled\"} ").append(current.sampled.sum())
+                .append('\n');
+        out.append("risk_profile_shadow_requests_total{outcome=\"dropped\"} ").append(current.dropped.sum())
+                .append('\n');
+        out.append("risk_profile_shadow_requests_total{outcome=\"failed\"} ").append(current.failed.sum())
+                .append('\n');
+        out.append("risk_profile_shadow_requests_total{outcome=\"compared\"} ").append(current.compared.sum())
+                .append('\n');
+        out.append("risk_profile_shadow_requests_total{outcome=\"diverged\"} ").append(current.diverged.sum())
+                .append('\n');
+        out.append("# HELP risk_profile_shadow_divergences_total Plans changed by the candidate rules, by line.\n");
+        out.append("# TYPE risk_profile_shadow_divergences_total counter\n");
+        for (int line = 0; line < LINES.length; line++) {
+            for (int from = 0; from < PLANS.length; from++) {
+                for (int to = 0; to < PLANS.length; to++) {
+                    if (from == to) continue;
+                    out.append("risk_profile_shadow_divergences_total{line=\"").append(LINES[line])
+                            .append("\",from=\"").append(PLANS[from]).append("\",to=\"").append(PLANS[to])
+                            .append("\"} ").append(current.transitions[index(line, from, to)].sum()).append('\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the shadow pool, dropping queued samples, and closes the candidate engine if it is closeable.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        if (candidate instanceof Closeable) ((Closeable) candidate).close();
+    }
+
+    private void compare(Counters counters, User user, RiskProfile primary) {
+        RiskProfile shadow;
+        try {
+            shadow = candidate.buildRiskProfile(user);
+        } catch (RuntimeException ex) {
+            counters.failed.increment();
+            logger.debug("Candidate rules failed on a sampled request.", ex);
+            return;
+        }
+        counters.compared.increment();
+        if (shadow == primary) return;
+
+        counters.diverged.increment();
+        int primaryCode = primary.code();
+        int shadowCode = shadow.code();
+        for (int line = 0; line < LINES.length; line++) {
+            int shift = 6 - 2 * line;
+            int from = primaryCode >>> shift & 3;
+            int to = shadowCode >>> shift & 3;
+            if (from != to) counters.transitions[index(line, from, to)].increment();
+        }
+    }
+
+    private static int index(int line, int from, int to) {
+        return line << 4 | from << 2 | to;
+    }
+
+    private static final class Counters {
+
+        private final String version;
+        private final Instant since = Instant.now();
+        private final LongAdder sampled = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder compared = new LongAdder();
+        private final LongAdder diverged = new LongAdder();
+        private final LongAdder[] transitions = new LongAdder[LINES.length << 4];
+
+        private Counters(String version) {
+            this.version = version;
+            for (int i = 0; i < transitions.length; i++) transitions[i] = new LongAdder();
+        }
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.rrlira96.origininsurancebackend.shadow;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.warmup.WarmUpTraffic;
+
+/**
+ * Returns the risk profile built by the delegate and hands a sample of them to the {@link ShadowEvaluator}, leaving
+ * out {@link WarmUpTraffic}.
+ */
+public class ShadowedRiskProfileEngine implements RiskProfileEngine {
+
+    private final RiskProfileEngine delegate;
+    private final ShadowEvaluator shadowEvaluator;
+
+    public ShadowedRiskProfileEngine(RiskProfileEngine delegate, ShadowEvaluator shadowEvaluator) {
+        this.delegate = delegate;
+        this.shadowEvaluator = shadowEvaluator;
+    }
+
+    @Override
+    public RiskProfile buildRiskProfile(User user) {
+        RiskProfile riskProfile = delegate.buildRiskProfile(user);
+        if (!WarmUpTraffic.isCurrent()) shadowEvaluator.offer(user, riskProfile);
+        return riskProfile;
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.rrlira96.origininsurancebackend.sweep;
+
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scores how a user's risk profile changes along ranges of one field at a time. Instead of scoring every value, each
+ * range is cut at the {@link SweepField#boundaries rule boundaries} of the rules in force, those of the
+ * {@code rule-set} engine or else the built-in ones, and one value per piece is scored; equal neighbouring pieces are
+ * merged. A range of any width costs at most a handful of evaluations.
+ */
+@Service
+public class RiskProfileSweepService {
+
+    public static final int MAX_RANGES = 16;
+
+    private final RiskProfileEngine riskProfileEngine;
+    private final Validator validator;
+    private final CurrentYear currentYear;
+    private final ObjectProvider<RuleSetRiskProfileEngine> ruleSetRiskProfileEngine;
+
+    public RiskProfileSweepService(RiskProfileEngine riskProfileEngine,
+                                   @Qualifier("userValidator") Validator validator,
+                                   CurrentYear currentYear,
+                                   ObjectProvider<RuleSetRiskProfileEngine> ruleSetRiskProfileEngine) {
+        this.riskProfileEngine = riskProfileEngine;
+        this.validator = validator;
+        this.currentYear = currentYear;
+        this.ruleSetRiskProfileEngine = ruleSetRiskProfileEngine;
+    }
+
+    /**
+     * Checks the base user with the user validator, reported under {@code user.}, and each range.
+     */
+    public BindingResult validate(SweepRequest request) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(request, "sweepRequest");
+        if (request.getUser() == null) {
+            bindingResult.rejectValue("user", "NotNull", "must not be null");
+        } else {
+            bindingResult.pushNestedPath("user");
+            validator.validate(request.getUser(), bindingResult);
+            bindingResult.popNestedPath();
+        }
+
+        List<SweepRange> ranges = request.getRanges();
+        if (ranges == null || ranges.isEmpty() || ranges.size() > MAX_RANGES) {
+            bindingResult.rejectValue("ranges", "Size", "must have between 1 and " + MAX_RANGES + " elements");
+            return bindingResult;
+        }
+        for (int i = 0; i < ranges.size(); i++) {
+            SweepRange range = ranges.get(i);
+            String prefix = "ranges[" + i + "].";
+            if (range == null) {
+                bindingResult.rejectValue("ranges[" + i + "]", "NotNull", "must not be null");
+            } else if (range.getField() == null) {
+                bindingResult.rejectValue(prefix + "field", "NotNull", "must not be null");
+            } else if (range.getFrom() < range.getField().min()) {
+                bindingResult.rejectValue(prefix + "from", "Min",
+                        "must be greater than or equal to " + range.getField().min());
+            } else if (range.getTo() < range.getFrom()) {
+                bindingResult.rejectValue(prefix + "to", "Min", "must be greater than or equal to from");
+            }
+        }
+        return bindingResult;
+    }
+
+    /**
+     * @param request a request that passed {@link #validate}
+     */
+    public SweepResponse sweep(SweepRequest request) {
+        RuleSetRiskProfileEngine engine = ruleSetRiskProfileEngine.getIfAvailable();
+        RuleSet ruleSet = engine == null ? RuleSet.DEFAULT : engine.ruleSet();
+        int year = currentYear.get();
+
+        List<Sweep> sweeps = new ArrayList<>(request.getRanges().size());
+        for (SweepRange range : request.getRanges()) sweeps.add(sweep(request.getUser(), range, ruleSet, year));
+        return new SweepResponse(sweeps);
+    }
+
+    private Sweep sweep(User user, SweepRange range, RuleSet ruleSet, int year) {
+        SweepField field = range.getField();
+        int[] boundaries = field.boundaries(ruleSet, year);
+        Arrays.sort(boundaries);
+
+        List<SweepInterval> intervals = new ArrayList<>();
+        int from = range.getFrom();
+        while (true) {
+            int to = range.getTo();
+            for (int boundary : boundaries) {
+                if (boundary > from) {
+                    to = Math.min(to, boundary - 1);
+                    break;
+                }
+            }
+
+            RiskProfile riskProfile = riskProfileEngine.buildRiskProfile(field.with(user, from));
+            int last = intervals.size() - 1;
+            if (last >= 0 && intervals.get(last).getRiskProfile() == riskProfile) {
+                intervals.set(last, new SweepInterval(intervals.get(last).getFrom(), to, riskProfile));
+            } else {
+                intervals.add(new SweepInterval(from, to, riskProfile));
+            }
+
+            if (to == range.getTo()) break;
+            from = to + 1;
+        }
+        return new Sweep(field, range.getFrom(), range.getTo(), intervals);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.rrlira96.origininsurancebackend.sweep;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Result of one {@link SweepRange}: its values split into intervals, where consecutive intervals always score
+ * differently.
+ */
+@Getter
+@AllArgsConstructor
+public class Sweep {
+    private final SweepField field;
+    private final int from;
+    private final int to;
+    private final List<SweepInterval> intervals;
+}
@@ -0,0 +1,88 @@
+package com.rrlira96.origininsurancebackend.sweep;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.Vehicle;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+
+/**
+ * A user field a sweep can vary, with the values at which the rules can start giving a different result: between two
+ * consecutive boundaries every value scores the same, so a range is scored once per boundary it crosses.
+ */
+public enum SweepField {
+
+    age(1) {
+        @Override
+        int[] boundaries(RuleSet ruleSet, int currentYear) {
+            return new int[]{ruleSet.get(RuleSet.AGE_YOUNG_BELOW), ruleSet.get(RuleSet.AGE_MIDDLE_MAX) + 1,
+                    ruleSet.get(RuleSet.AGE_INELIGIBLE_ABOVE) + 1};
+        }
+
+        @Override
+        User with(User user, int value) {
+            return new User(value, user.getDependents(), user.getHouse(), user.getIncome(), user.getMaritalStatus(),
+                    user.getRiskAnswers(), user.getVehicle());
+        }
+    },
+    dependents(0) {
+        @Override
+        int[] boundaries(RuleSet ruleSet, int currentYear) {
+            return new int[]{1};
+        }
+
+        @Override
+        User with(User user, int value) {
+            return new User(user.getAge(), value, user.getHouse(), user.getIncome(), user.getMaritalStatus(),
+                    user.getRiskAnswers(), user.getVehicle());
+        }
+    },
+    income(0) {
+        @Override
+        int[] boundaries(RuleSet ruleSet, int currentYear) {
+            return new int[]{1, ruleSet.get(RuleSet.INCOME_HIGH_ABOVE) + 1};
+        }
+
+        @Override
+        User with(User user, int value) {
+            return new User(user.getAge(), user.getDependents(), user.getHouse(), value, user.getMaritalStatus(),
+                    user.getRiskAnswers(), user.getVehicle());
+        }
+    },
+    @JsonProperty("vehicle.year")
+    vehicle_year(1) {
+        @Override
+        int[] boundaries(RuleSet ruleSet, int currentYear) {
+            return new int[]{currentYear - ruleSet.get(RuleSet.VEHICLE_RECENT_YEARS)};
+        }
+
+        @Override
+        User with(User user, int value) {
+            return new User(user.getAge(), user.getDependents(), user.getHouse(), user.getIncome(),
+                    user.getMaritalStatus(), user.getRiskAnswers(), new Vehicle(value));
+        }
+    };
+
+    private final int min;
+
+    SweepField(int min) {
+        this.min = min;
+    }
+
+    /**
+     * Lowest value the user validation accepts.
+     */
+    public int min() {
+        return min;
+    }
+
+    /**
+     * Values that may score differently from the value just below them, in any order.
+     */
+    abstract int[] boundaries(RuleSet ruleSet, int currentYear);
+
+    /**
+     * Copy of {@code user} with this field set to {@code value}.
+     */
+    abstract User with(User user, int value);
+
+}
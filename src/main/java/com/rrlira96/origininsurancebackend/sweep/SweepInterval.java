@@ -0,0 +1,18 @@
+package com.rrlira96.origininsurancebackend.sweep;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Consecutive values, {@code from} to {@code to} inclusive, that all score {@code riskProfile}.
+ */
+@Getter
+@AllArgsConstructor
+public class SweepInterval {
+    private final int from;
+    private final int to;
+    @JsonProperty(value = "risk_profile")
+    private final RiskProfile riskProfile;
+}
@@ -0,0 +1,19 @@
+package com.rrlira96.origininsurancebackend.sweep;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Values of one field to score, from {@code from} to {@code to} inclusive.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SweepRange {
+    private SweepField field;
+    private int from;
+    private int to;
+}
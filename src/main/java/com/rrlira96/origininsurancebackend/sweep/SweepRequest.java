@@ -0,0 +1,22 @@
+package com.rrlira96.origininsurancebackend.sweep;
+
+import com.rrlira96.origininsurancebackend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * A base user and the ranges to sweep. Each range varies its field on its own, with every other field taken from the
+ * base user.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SweepRequest {
+    private User user;
+    private List<SweepRange> ranges;
+}
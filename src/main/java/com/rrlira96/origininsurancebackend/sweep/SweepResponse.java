@@ -0,0 +1,15 @@
+package com.rrlira96.origininsurancebackend.sweep;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One {@link Sweep} per requested range, in request order.
+ */
+@Getter
+@AllArgsConstructor
+public class SweepResponse {
+    private final List<Sweep> sweeps;
+}
@@ -0,0 +1,241 @@
+package com.rrlira96.origininsurancebackend.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Warms the JIT up before the application reports ready. Once the web server is listening, the {@link WarmUpCorpus}
+ * is sent to it over loopback in rounds, so binding, validation, scoring, error handling and serialization are all
+ * compiled by the same requests production sends. It stops when compilation has settled, i.e. the JIT spent less
+ * than 1% of a round compiling for three rounds in a row, or when {@code budget} runs out, whichever comes first;
+ * {@link #isDone()} stays false until then.
+ * <p>
+ * Warm-up requests carry {@link #HEADER} so that {@link WarmUpTrafficFilter} marks them as {@link WarmUpTraffic}:
+ * they are scored like any other request but stay out of the audit log, shadow evaluation and request metrics.
+ */
+public class WarmUp implements ApplicationListener<ApplicationReadyEvent>, Closeable {
+
+    private static Logger logger = LoggerFactory.getLogger(WarmUp.class);
+
+    static final String HEADER = "X-Warm-Up";
+
+    private static final int SETTLED_ROUNDS = 3;
+    private static final double SETTLED_COMPILATION_SHARE = 0.01;
+
+    private final ObjectMapper objectMapper;
+    private final CurrentYear currentYear;
+    private final Duration budget;
+    private final int threads;
+    private final CompilationMXBean compilation;
+    private final String token = UUID.randomUUID().toString();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder unexpected = new LongAdder();
+    private final AtomicInteger rounds = new AtomicInteger();
+    private volatile long startNanos;
+    private volatile long elapsedNanos;
+    private volatile long compilationMillis;
+    private volatile boolean settled;
+    private volatile boolean done;
+    private volatile boolean stopped;
+
+    public WarmUp(ObjectMapper objectMapper, CurrentYear currentYear, Duration budget, int threads) {
+        this.objectMapper = objectMapper;
+        this.currentYear = currentYear;
+        this.budget = budget;
+        this.threads = threads;
+        CompilationMXBean bean = ManagementFactory.getCompilationMXBean();
+        this.compilation = bean != null && bean.isCompilationTimeMonitoringSupported() ? bean : null;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        if (!(context instanceof WebServerApplicationContext) || startNanos != 0) {
+            done = true;
+            return;
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        startNanos = System.nanoTime();
+        WarmUpTraffic.started();
+        Thread thread = new Thread(() -> run(URI.create("http://127.0.0.1:" + port)), "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    String token() {
+        return token;
+    }
+
+    @Override
+    public void close() {
+        stopped = true;
+    }
+
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("done", done);
+        report.put("settled", settled);
+        report.put("seconds", elapsedNanos / 1e9);
+        report.put("rounds", rounds.get());
+        report.put("requests", requests.sum());
+        report.put("unexpected_responses", unexpected.sum());
+        report.put("jit_compilation_seconds", compilationMillis / 1e3);
+        return report;
+    }
+
+    public void writeTo(StringBuilder out) {
+        out.append("# HELP risk_profile_warm_up_done Whether warm-up has finished.\n");
+        out.append("# TYPE risk_profile_warm_up_done gauge\n");
+        out.append("risk_profile_warm_up_done ").append(done ? 1 : 0).append('\n');
+        out.append("# HELP risk_profile_warm_up_settled Whether warm-up ended because compilation settled.\n");
+        out.append("# TYPE risk_profile_warm_up_settled gauge\n");
+        out.append("risk_profile_warm_up_settled ").append(settled ? 1 : 0).append('\n');
+        out.append("# HELP risk_profile_warm_up_seconds Time spent warming up.\n");
+        out.append("# TYPE risk_profile_warm_up_seconds gauge\n");
+        out.append("risk_profile_warm_up_seconds ").append(elapsedNanos / 1e9).append('\n');
+        out.append("# HELP risk_profile_warm_up_rounds_total Passes over the warm-up corpus.\n");
+        out.append("# TYPE risk_profile_warm_up_rounds_total counter\n");
+        out.append("risk_profile_warm_up_rounds_total ").append(rounds.get()).append('\n');
+        out.append("# HELP risk_profile_warm_up_requests_total Warm-up requests, by status outcome.\n");
+        out.append("# TYPE risk_profile_warm_up_requests_total counter\n");
+        long unexpectedCount = unexpected.sum();
+        out.append("risk_profile_warm_up_requests_total{outcome=\"expected\"} ")
+                .append(requests.sum() - unexpectedCount).append('\n');
+        out.append("risk_profile_warm_up_requests_total{outcome=\"unexpected\"} ")
+                .append(unexpectedCount).append('\n');
+        out.append("# HELP risk_profile_warm_up_jit_compilation_seconds JIT compilation time during warm-up.\n");
+        out.append("# TYPE risk_profile_warm_up_jit_compilation_seconds gauge\n");
+        out.append("risk_profile_warm_up_jit_compilation_seconds ").append(compilationMillis / 1e3).append('\n');
+    }
+
+    private void run(URI server) {
+        long deadline = startNanos + budget.toNanos();
+        long compiledBefore = compilationMillis();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "warm-up-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<WarmUpRequest> corpus = WarmUpCorpus.requests(objectMapper, currentYear.get());
+            int quietRounds = 0;
+            while (!stopped && System.nanoTime() - deadline < 0) {
+                long roundStart = System.nanoTime();
+                long compiledAtStart = compilationMillis();
+
+                List<Future<?>> workers = new ArrayList<>(threads);
+                for (int worker = 0; worker < threads; worker++) {
+                    int first = worker;
+                    workers.add(executor.submit(() -> {
+                        for (int i = first; i < corpus.size() && !stopped; i += threads) {
+                            if (System.nanoTime() - deadline >= 0) return;
+                            send(client, server, corpus.get(i));
+                        }
+                    }));
+                }
+                for (Future<?> worker : workers) worker.get();
+
+                rounds.incrementAndGet();
+                long now = System.nanoTime();
+                long compiled = compilationMillis();
+                compilationMillis = compiled - compiledBefore;
+                elapsedNanos = now - startNanos;
+                boolean quiet = compilation != null
+                        && (compiled - compiledAtStart) * 1e6 <= SETTLED_COMPILATION_SHARE * (now - roundStart);
+                quietRounds = quiet ? quietRounds + 1 : 0;
+                if (quietRounds >= SETTLED_ROUNDS) {
+                    settled = true;
+                    break;
+                }
+            }
+        } catch (ExecutionException ex) {
+            logger.warn("Warm-up stopped early.", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            logger.warn("Warm-up stopped early.", ex);
+        } finally {
+            executor.shutdownNow();
+            elapsedNanos = System.nanoTime() - startNanos;
+            done = true;
+            WarmUpTraffic.ended();
+            logger.info("Warm-up {} after {} s: {} rounds, {} requests ({} unexpected), {} s of JIT compilation.",
+                    settled ? "settled" : "ended", String.format("%.2f", elapsedNanos / 1e9), rounds.get(),
+                    requests.sum(), unexpected.sum(), String.format("%.2f", compilationMillis / 1e3));
+        }
+    }
+
+    private void send(HttpClient client, URI server, WarmUpRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(server.resolve(request.pathAndQuery))
+                .timeout(Duration.ofSeconds(10))
+                .header(HEADER, token);
+        if (request.contentType != null) builder.header("Content-Type", request.contentType);
+        builder.method(request.method, request.body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(request.body));
+
+        int status;
+        try {
+            status = client.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stopped = true;
+            return;
+        }
+
+        requests.increment();
+        if (status != request.expectedStatus) {
+            unexpected.increment();
+            if (unexpected.sum() == 1) {
+                logger.warn("Warm-up request {} got {} instead of {}.", request, status, request.expectedStatus);
+            }
+        }
+    }
+
+    private long compilationMillis() {
+        return compilation == null ? 0 : compilation.getTotalCompilationTime();
+    }
+
+}
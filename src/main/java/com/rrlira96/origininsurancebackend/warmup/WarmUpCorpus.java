@@ -0,0 +1,134 @@
+package com.rrlira96.origininsurancebackend.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.controller.UserQuery;
+import com.rrlira96.origininsurancebackend.model.House;
+import com.rrlira96.origininsurancebackend.model.MaritalStatus;
+import com.rrlira96.origininsurancebackend.model.OwnershipStatus;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.Vehicle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic requests that take every branch of the request path: one scoring request per combination of the rule
+ * inputs (age bucket, income, house, dependents, marital status, base score, vehicle age), so every rule and plan is
+ * reached, the same users through the cacheable GET, a batch and a sweep, and one request per kind of rejection the
+ * API reports: each validation error, unreadable values, malformed JSON, bad query parameters and a non-canonical
+ * query.
+ */
+final class WarmUpCorpus {
+
+    static final String PATH = "/api/v1/risk-profiles";
+
+    private static final String JSON = "application/json";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int BATCH_SIZE = 64;
+
+    private static final int[] AGES = {25, 35, 50, 65};
+    private static final int[] INCOMES = {0, 50_000, 250_000};
+    private static final OwnershipStatus[] HOUSES = {null, OwnershipStatus.owned, OwnershipStatus.mortgaged};
+    private static final List<List<Integer>> RISK_ANSWERS = List.of(List.of(0, 0, 0), List.of(1, 0, 0),
+            List.of(0, 1, 1), List.of(1, 1, 1));
+
+    private static final String VALID = "\"age\":35,\"dependents\":2,\"house\":{\"ownership_status\":\"owned\"},"
+            + "\"income\":0,\"marital_status\":\"married\",\"risk_questions\":[0,1,0],\"vehicle\":{\"year\":2018}";
+    private static final List<String> INVALID_BODIES = List.of(
+            VALID.replace("\"age\":35", "\"age\":0"),
+            VALID.replace("\"dependents\":2", "\"dependents\":-1"),
+            VALID.replace("\"income\":0", "\"income\":-1"),
+            VALID.replace(",\"marital_status\":\"married\"", ""),
+            VALID.replace("[0,1,0]", "[0,1]"),
+            VALID.replace(",\"risk_questions\":[0,1,0]", ""),
+            VALID.replace("\"married\"", "\"widowed\""),
+            VALID.replace("\"owned\"", "\"rented\""));
+    private static final List<String> INVALID_QUERIES = List.of(
+            "age=0&dependents=2&income=0&marital_status=married&risk_questions=0,1,0",
+            "age=old&dependents=2&marital_status=widowed&risk_questions=0,1");
+    private static final String NON_CANONICAL_QUERY = "income=0&age=035&dependents=2&marital_status=single"
+            + "&risk_questions=0,1,0";
+
+    private WarmUpCorpus() {
+    }
+
+    static List<WarmUpRequest> requests(ObjectMapper objectMapper, int currentYear) {
+        List<User> users = users(currentYear);
+        List<WarmUpRequest> requests = new ArrayList<>(2 * users.size() + 32);
+        try {
+            for (User user : users) {
+                requests.add(new WarmUpRequest("POST", PATH, JSON, objectMapper.writeValueAsBytes(user), 200));
+                requests.add(new WarmUpRequest("GET", PATH + '?' + UserQuery.canonical(user), null, null, 200));
+            }
+
+            for (int first = 0; first < users.size(); first += users.size() / 4) {
+                ByteArrayOutputStream batch = new ByteArrayOutputStream();
+                for (User user : users.subList(first, Math.min(users.size(), first + BATCH_SIZE))) {
+                    batch.write(objectMapper.writeValueAsBytes(user));
+                    batch.write('\n');
+                }
+                batch.write(INVALID_BODIES.get(0).getBytes(StandardCharsets.UTF_8));
+                requests.add(new WarmUpRequest("POST", PATH + "/batch", NDJSON, batch.toByteArray(), 200));
+            }
+
+            String sweep = "{\"user\":" + objectMapper.writeValueAsString(users.get(users.size() / 2))
+                    + ",\"ranges\":[{\"field\":\"age\",\"from\":18,\"to\":90},"
+                    + "{\"field\":\"income\",\"from\":0,\"to\":300000},"
+                    + "{\"field\":\"vehicle.year\",\"from\":" + (currentYear - 20) + ",\"to\":" + currentYear + "}]}";
+            requests.add(new WarmUpRequest("POST", PATH + "/sweep", JSON, utf8(sweep), 200));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        for (String body : INVALID_BODIES) {
+            requests.add(new WarmUpRequest("POST", PATH, JSON, utf8("{" + body + "}"), 400));
+        }
+        requests.add(new WarmUpRequest("POST", PATH, JSON, utf8("{" + VALID), 400));
+        for (String query : INVALID_QUERIES) {
+            requests.add(new WarmUpRequest("GET", PATH + '?' + query, null, null, 400));
+        }
+        requests.add(new WarmUpRequest("GET", PATH + '?' + NON_CANONICAL_QUERY, null, null, 301));
+        return requests;
+    }
+
+    /**
+     * One user per combination of the inputs the rules look at.
+     */
+    static List<User> users(int currentYear) {
+        List<Vehicle> vehicles = new ArrayList<>();
+        vehicles.add(null);
+        vehicles.add(new Vehicle(currentYear - 1));
+        vehicles.add(new Vehicle(currentYear - 10));
+
+        List<User> users = new ArrayList<>();
+        for (int age : AGES) {
+            for (int income : INCOMES) {
+                for (OwnershipStatus house : HOUSES) {
+                    for (int dependents = 0; dependents <= 2; dependents += 2) {
+                        for (MaritalStatus maritalStatus : MaritalStatus.values()) {
+                            for (List<Integer> riskAnswers : RISK_ANSWERS) {
+                                for (Vehicle vehicle : vehicles) {
+                                    users.add(new User(age, dependents, house == null ? null : new House(house),
+                                            income, maritalStatus, riskAnswers, vehicle));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return users;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
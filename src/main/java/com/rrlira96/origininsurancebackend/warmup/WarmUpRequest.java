@@ -0,0 +1,27 @@
+package com.rrlira96.origininsurancebackend.warmup;
+
+/**
+ * One synthetic request of the {@link WarmUpCorpus} and the status the API must answer it with.
+ */
+final class WarmUpRequest {
+
+    final String method;
+    final String pathAndQuery;
+    final String contentType;
+    final byte[] body;
+    final int expectedStatus;
+
+    WarmUpRequest(String method, String pathAndQuery, String contentType, byte[] body, int expectedStatus) {
+        this.method = method;
+        this.pathAndQuery = pathAndQuery;
+        this.contentType = contentType;
+        this.body = body;
+        this.expectedStatus = expectedStatus;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + pathAndQuery;
+    }
+
+}
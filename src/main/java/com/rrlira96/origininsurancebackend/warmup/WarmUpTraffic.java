@@ -0,0 +1,36 @@
+package com.rrlira96.origininsurancebackend.warmup;
+
+/**
+ * Tells whether the current thread is serving a warm-up request, so the audit log, shadow evaluation and request
+ * metrics can leave it out. Outside a warm-up this costs one volatile read.
+ */
+public final class WarmUpTraffic {
+
+    private static final ThreadLocal<Boolean> CURRENT = new ThreadLocal<>();
+
+    private static volatile int inProgress;
+
+    private WarmUpTraffic() {
+    }
+
+    public static boolean isCurrent() {
+        return inProgress > 0 && CURRENT.get() != null;
+    }
+
+    static synchronized void started() {
+        inProgress++;
+    }
+
+    static synchronized void ended() {
+        inProgress--;
+    }
+
+    static void enter() {
+        CURRENT.set(Boolean.TRUE);
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+
+}
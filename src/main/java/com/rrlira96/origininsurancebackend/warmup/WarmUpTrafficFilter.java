@@ -0,0 +1,39 @@
+package com.rrlira96.origininsurancebackend.warmup;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Marks the requests sent by {@link WarmUp} as {@link WarmUpTraffic}. They are recognised by a header carrying a
+ * token drawn at startup, so a client cannot keep its own requests out of the audit log by sending it.
+ */
+public class WarmUpTrafficFilter extends OncePerRequestFilter {
+
+    private final WarmUp warmUp;
+
+    public WarmUpTrafficFilter(WarmUp warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (warmUp.isDone() || !warmUp.token().equals(request.getHeader(WarmUp.HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        WarmUpTraffic.enter();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            WarmUpTraffic.exit();
+        }
+    }
+
+}
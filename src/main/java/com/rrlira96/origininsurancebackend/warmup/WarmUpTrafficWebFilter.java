@@ -0,0 +1,46 @@
+package com.rrlira96.origininsurancebackend.warmup;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Reactive counterpart of {@link WarmUpTrafficFilter}. A reactive request does not stay on one thread, so the filter
+ * only flags the exchange, and the handler marks each synchronous step it runs for it with {@link #call}.
+ */
+public class WarmUpTrafficWebFilter implements WebFilter {
+
+    private static final String ATTRIBUTE = WarmUpTrafficWebFilter.class.getName() + ".WARM_UP";
+
+    private final WarmUp warmUp;
+
+    public WarmUpTrafficWebFilter(WarmUp warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!warmUp.isDone() && warmUp.token().equals(exchange.getRequest().getHeaders().getFirst(WarmUp.HEADER))) {
+            exchange.getAttributes().put(ATTRIBUTE, Boolean.TRUE);
+        }
+        return chain.filter(exchange);
+    }
+
+    /**
+     * Runs {@code work} on the current thread, as {@link WarmUpTraffic} if the exchange was flagged by this filter.
+     */
+    public static <T> T call(ServerWebExchange exchange, Supplier<T> work) {
+        if (exchange.getAttribute(ATTRIBUTE) == null) return work.get();
+
+        WarmUpTraffic.enter();
+        try {
+            return work.get();
+        } finally {
+            WarmUpTraffic.exit();
+        }
+    }
+
+}
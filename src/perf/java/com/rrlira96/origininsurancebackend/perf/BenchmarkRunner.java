@@ -0,0 +1,91 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the benchmarks with the GC profiler, writes the JSON results to {@code target/jmh-result.json} and
+ * compares them with the baseline in {@code src/perf/jmh-baseline.json}.
+ *
+ * <p>The baseline is not shipped, because scores only compare between runs on the same hardware. Record one on the
+ * machine that runs the comparisons with {@code --update-baseline}, then commit it. Without a baseline, and without
+ * {@code --update-baseline}, the runner fails before running anything.
+ *
+ * <p>Arguments: an optional benchmark include pattern, and {@code --update-baseline} to replace the baseline with
+ * the results of this run.
+ */
+public final class BenchmarkRunner {
+
+    private static final Path RESULT = Paths.get("target", "jmh-result.json");
+    private static final Path BASELINE = Paths.get("src", "perf", "jmh-baseline.json");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = ".*Benchmark.*";
+        boolean updateBaseline = false;
+        for (String arg : args) {
+            if (arg.equals("--update-baseline")) updateBaseline = true;
+            else if (!arg.isEmpty()) include = arg;
+        }
+        if (!updateBaseline && !Files.exists(BASELINE)) {
+            System.err.printf("No baseline at %s to compare with. Record one on this machine with%n"
+                    + "  mvn -Pperf test-compile exec:exec -Dperf.args=--update-baseline%n"
+                    + "and commit it.%n", BASELINE);
+            System.exit(2);
+        }
+
+        Files.createDirectories(RESULT.getParent());
+        new Runner(new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT.toString())
+                .build()).run();
+
+        if (Files.exists(BASELINE)) compare(scores(BASELINE), scores(RESULT));
+        else System.out.printf("%nNo baseline yet; this run becomes the first one.%n");
+        if (updateBaseline) Files.copy(RESULT, BASELINE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void compare(Map<String, Double> baseline, Map<String, Double> current) {
+        System.out.printf("%n%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            String change = before == null ? "new" : String.format("%+.1f%%", (entry.getValue() - before) * 100 / before);
+            System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(),
+                    before == null ? "-" : String.format("%.3f", before), entry.getValue(), change);
+        }
+    }
+
+    /**
+     * Primary and secondary (e.g. {@code gc.alloc.rate.norm}) scores keyed by benchmark, parameters and metric.
+     */
+    private static Map<String, Double> scores(Path path) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(path.toFile())) {
+            String name = run.get("benchmark").asText() + (run.has("params") ? run.get("params").toString() : "");
+            scores.put(name, run.get("primaryMetric").get("score").asDouble());
+            run.path("secondaryMetrics").fields().forEachRemaining(metric -> {
+                // older JMH versions prefix profiler metrics with a middle dot
+                if (metric.getKey().endsWith("gc.alloc.rate.norm"))
+                    scores.put(name + ":gc.alloc.rate.norm", metric.getValue().get("score").asDouble());
+            });
+        }
+        return scores;
+    }
+
+}
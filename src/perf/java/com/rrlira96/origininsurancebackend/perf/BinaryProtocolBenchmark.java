@@ -0,0 +1,108 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.rrlira96.origininsurancebackend.binary.BinaryProtocol;
+import com.rrlira96.origininsurancebackend.binary.BinaryScoringServer;
+import com.rrlira96.origininsurancebackend.model.CompiledUserValidator;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.DecisionTableRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts a {@link BinaryScoringServer} with the default engine on a loopback port and drives it from blocking
+ * clients that each keep a window of requests in flight on one connection, reporting requests per second:
+ *
+ * <pre>
+ * --connections=4
+ * --pipeline=256        requests written before reading their responses
+ * --io-threads=2
+ * --duration=10         seconds, after as long a warm-up
+ * </pre>
+ */
+public final class BinaryProtocolBenchmark {
+
+    private BinaryProtocolBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 2) options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        int connections = Integer.parseInt(options.getOrDefault("connections", "4"));
+        int pipeline = Integer.parseInt(options.getOrDefault("pipeline", "256"));
+        int ioThreads = Integer.parseInt(options.getOrDefault("io-threads", "2"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "10")));
+
+        User[] users = UserCorpus.users(1 << 16, 42);
+        ByteBuffer corpus = ByteBuffer.allocate(users.length * BinaryProtocol.REQUEST_LENGTH);
+        for (User user : users) BinaryProtocol.encode(user, corpus);
+
+        BinaryScoringServer server = new BinaryScoringServer(new InetSocketAddress("127.0.0.1", 0), ioThreads,
+                64 * 1024, new DecisionTableRiskProfileEngine(new RiskProfileService(), CurrentYear.SYSTEM),
+                new CompiledUserValidator());
+        server.start();
+        try {
+            for (String phase : new String[]{"warm-up", "measured"}) {
+                LongAdder requests = new LongAdder();
+                long deadline = System.nanoTime() + durationNanos;
+                List<Thread> clients = new ArrayList<>();
+                for (int i = 0; i < connections; i++) {
+                    int offset = i * 4099 % users.length;
+                    Thread client = new Thread(() -> drive(server.port(), corpus, offset, pipeline, deadline,
+                            requests));
+                    client.start();
+                    clients.add(client);
+                }
+                long start = System.nanoTime();
+                for (Thread client : clients) client.join();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%-8s %d connections x %d in flight: %,.0f requests/s%n", phase, connections,
+                        pipeline, requests.sum() / seconds);
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void drive(int port, ByteBuffer corpus, int offset, int pipeline, long deadline,
+                              LongAdder requests) {
+        int users = corpus.capacity() / BinaryProtocol.REQUEST_LENGTH;
+        ByteBuffer out = ByteBuffer.allocateDirect(pipeline * BinaryProtocol.REQUEST_LENGTH);
+        ByteBuffer in = ByteBuffer.allocateDirect(pipeline * BinaryProtocol.RESPONSE_LENGTH);
+        int next = offset;
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", port))) {
+            channel.socket().setTcpNoDelay(true);
+            while (System.nanoTime() < deadline) {
+                out.clear();
+                for (int i = 0; i < pipeline; i++) {
+                    int position = next * BinaryProtocol.REQUEST_LENGTH;
+                    out.put(corpus.duplicate().position(position).limit(position + BinaryProtocol.REQUEST_LENGTH));
+                    next = (next + 1) % users;
+                }
+                out.flip();
+                while (out.hasRemaining()) channel.write(out);
+                in.clear();
+                while (in.hasRemaining()) {
+                    if (channel.read(in) < 0) throw new IOException("Server closed the connection");
+                }
+                requests.add(pipeline);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
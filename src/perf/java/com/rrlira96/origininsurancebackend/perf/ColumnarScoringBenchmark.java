@@ -0,0 +1,55 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.ColumnarRiskProfileScorer;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.PrimitiveRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.UserColumns;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per applicant when scoring an in-memory portfolio: the columnar scorer against the per-user primitive engine
+ * on the same applicants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarScoringBenchmark {
+
+    private static final int SIZE = 1 << 20;
+
+    private final ColumnarRiskProfileScorer columnarScorer = new ColumnarRiskProfileScorer(CurrentYear.SYSTEM);
+    private final PrimitiveRiskProfileEngine primitiveEngine = new PrimitiveRiskProfileEngine(CurrentYear.SYSTEM);
+
+    private User[] users;
+    private UserColumns columns;
+    private byte[] codes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        users = UserCorpus.users(SIZE, 42);
+        columns = new UserColumns(SIZE);
+        for (int row = 0; row < SIZE; row++) columns.set(row, users[row]);
+        codes = new byte[SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public byte[] columnar() {
+        columnarScorer.score(columns, 0, SIZE, codes);
+        return codes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public byte[] primitivePerUser() {
+        for (int row = 0; row < SIZE; row++) codes[row] = (byte) primitiveEngine.buildRiskProfile(users[row]).code();
+        return codes;
+    }
+
+}
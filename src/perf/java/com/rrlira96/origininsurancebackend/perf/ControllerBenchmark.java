@@ -0,0 +1,78 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full request path through the dispatcher servlet: binding, validation, scoring, exception handling and
+ * serialization, without the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerBenchmark {
+
+    private static final int MASK = 1023;
+    private static final String URL = "/api/v1/risk-profiles";
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private byte[][] validPayloads;
+    private byte[][] invalidPayloads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PerfContext.start(WebApplicationType.SERVLET);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+        validPayloads = UserCorpus.json(UserCorpus.users(MASK + 1, 42), objectMapper);
+        User[] invalidUsers = UserCorpus.users(MASK + 1, 43);
+        for (User user : invalidUsers) {
+            user.setDependents(-1);
+            user.setRiskAnswers(List.of(1));
+        }
+        invalidPayloads = UserCorpus.json(invalidUsers, objectMapper);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public byte[] validRequest(Cursor cursor) throws Exception {
+        return perform(validPayloads[cursor.next++ & MASK]);
+    }
+
+    @Benchmark
+    public byte[] invalidRequest(Cursor cursor) throws Exception {
+        return perform(invalidPayloads[cursor.next++ & MASK]);
+    }
+
+    private byte[] perform(byte[] payload) throws Exception {
+        return mockMvc.perform(post(URL).contentType(MediaType.APPLICATION_JSON).content(payload))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+}
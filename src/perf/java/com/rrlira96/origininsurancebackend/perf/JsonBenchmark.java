@@ -0,0 +1,66 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    private static final int MASK = 1023;
+
+    private ConfigurableApplicationContext context;
+    private ObjectReader userReader;
+    private ObjectWriter writer;
+    private byte[][] payloads;
+    private RiskProfile[] riskProfiles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PerfContext.start(WebApplicationType.NONE);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        RiskProfileEngine riskProfileEngine = context.getBean(RiskProfileEngine.class);
+
+        User[] users = UserCorpus.users(MASK + 1, 42);
+        userReader = objectMapper.readerFor(User.class);
+        writer = objectMapper.writer();
+        payloads = UserCorpus.json(users, objectMapper);
+        riskProfiles = new RiskProfile[users.length];
+        for (int i = 0; i < users.length; i++) riskProfiles[i] = riskProfileEngine.buildRiskProfile(users[i]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public User deserializeUser(Cursor cursor) throws IOException {
+        return userReader.readValue(payloads[cursor.next++ & MASK]);
+    }
+
+    @Benchmark
+    public byte[] serializeRiskProfile(Cursor cursor) throws IOException {
+        return writer.writeValueAsBytes(riskProfiles[cursor.next++ & MASK]);
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.rrlira96.origininsurancebackend.OriginInsuranceBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the real application so benchmarks measure the beans and Jackson/validator configuration that serve
+ * production traffic.
+ */
+public final class PerfContext {
+
+    private PerfContext() {
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType type, String... args) {
+        return new SpringApplicationBuilder(OriginInsuranceBackendApplication.class)
+                .web(type)
+                .logStartupInfo(false)
+                .run(concat(args, "--server.port=0", "--logging.level.root=WARN"));
+    }
+
+    private static String[] concat(String[] args, String... defaults) {
+        String[] all = new String[args.length + defaults.length];
+        System.arraycopy(defaults, 0, all, 0, defaults.length);
+        System.arraycopy(args, 0, all, defaults.length, args.length);
+        return all;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.portfolio.PlanChangeListener;
+import com.rrlira96.origininsurancebackend.portfolio.PortfolioStore;
+import com.rrlira96.origininsurancebackend.portfolio.RescoreResult;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Loads a portfolio of randomized customers into a new {@link PortfolioStore}, then re-scores it through a series of
+ * rule changes, from one narrow threshold to a plan threshold that reaches every customer:
+ *
+ * <pre>
+ * --customers=50000000
+ * --directory=target/portfolio-benchmark   (deleted and recreated)
+ * </pre>
+ */
+public final class PortfolioRescoreBenchmark {
+
+    private static final int CHUNK = 1 << 20;
+
+    private PortfolioRescoreBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 2) options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        long customers = Long.parseLong(options.getOrDefault("customers", "50000000"));
+        Path directory = Path.of(options.getOrDefault("directory", "target/portfolio-benchmark"));
+        delete(directory);
+
+        long start = System.nanoTime();
+        try (PortfolioStore store = PortfolioStore.open(directory, RuleSet.DEFAULT, CurrentYear.SYSTEM)) {
+            for (long id = 0; id < customers; ) {
+                User[] users = UserCorpus.users((int) Math.min(CHUNK, customers - id), id);
+                for (User user : users) store.add(id++, user);
+            }
+            store.flush();
+            System.out.printf("loaded %d customers in %d ms%n", store.size(), (System.nanoTime() - start) / 1_000_000);
+
+            Map<String, String> changes = new LinkedHashMap<>();
+            changes.put("age.young.below 30 -> 32", "age.young.below=32\n");
+            changes.put("house.mortgaged.points 1 -> 2", "age.young.below=32\nhouse.mortgaged.points=2\n");
+            changes.put("income.high.above -> 150000",
+                    "age.young.below=32\nhouse.mortgaged.points=2\nincome.high.above=150000\n");
+            changes.put("plan.responsible.min 3 -> 2",
+                    "age.young.below=32\nhouse.mortgaged.points=2\nincome.high.above=150000\nplan.responsible.min=2\n");
+            for (Map.Entry<String, String> change : changes.entrySet()) {
+                Properties properties = new Properties();
+                properties.load(new StringReader(change.getValue()));
+                RescoreResult result = store.rescore(RuleSet.of(properties, change.getKey()), PlanChangeListener.NONE);
+                System.out.printf("%-32s %4d segments %,12d scanned %,12d re-scored %,12d changed %7d ms%n",
+                        change.getKey(), result.segmentsScanned(), result.recordsScanned(),
+                        result.recordsRescored(), result.recordsChanged(), result.elapsedNanos() / 1_000_000);
+            }
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        if (Files.notExists(directory)) return;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) Files.delete(path);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.service.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringBenchmark {
+
+    private static final int MASK = 1023;
+
+    @Param({"rules", "decision-table", "primitive"})
+    public String engine;
+
+    private RiskProfileEngine riskProfileEngine;
+    private User[] users;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RiskProfileService riskProfileService = new RiskProfileService();
+        switch (engine) {
+            case "decision-table":
+                riskProfileEngine = new DecisionTableRiskProfileEngine(riskProfileService, CurrentYear.SYSTEM);
+                break;
+            case "primitive":
+                riskProfileEngine = new PrimitiveRiskProfileEngine(CurrentYear.SYSTEM);
+                break;
+            default:
+                riskProfileEngine = riskProfileService;
+        }
+        users = UserCorpus.users(MASK + 1, 42);
+    }
+
+    @Benchmark
+    public Object buildRiskProfile() {
+        return riskProfileEngine.buildRiskProfile(nextUser());
+    }
+
+    @Benchmark
+    public Object updateScoreByAge() {
+        Map<String, Integer> riskPointsMap = riskPointsMap();
+        RiskProfileService.updateScoreByAge(nextUser().getAge(), riskPointsMap);
+        return riskPointsMap;
+    }
+
+    @Benchmark
+    public Object updateScoreByIncome() {
+        Map<String, Integer> riskPointsMap = riskPointsMap();
+        RiskProfileService.updateScoreByIncome(nextUser().getIncome(), riskPointsMap);
+        return riskPointsMap;
+    }
+
+    @Benchmark
+    public Object updateScoreByHouse() {
+        Map<String, Integer> riskPointsMap = riskPointsMap();
+        RiskProfileService.updateScoreByHouse(nextUser().getHouse(), riskPointsMap);
+        return riskPointsMap;
+    }
+
+    @Benchmark
+    public Object updateScoreByDependents() {
+        Map<String, Integer> riskPointsMap = riskPointsMap();
+        RiskProfileService.updateScoreByDependents(nextUser().getDependents(), riskPointsMap);
+        return riskPointsMap;
+    }
+
+    @Benchmark
+    public Object updateScoreByMaritalStatus() {
+        Map<String, Integer> riskPointsMap = riskPointsMap();
+        RiskProfileService.updateScoreByMaritalStatus(nextUser().getMaritalStatus(), riskPointsMap);
+        return riskPointsMap;
+    }
+
+    @Benchmark
+    public Object updateScoreByVehicle() {
+        Map<String, Integer> riskPointsMap = riskPointsMap();
+        RiskProfileService.updateScoreByVehicle(nextUser().getVehicle(), riskPointsMap);
+        return riskPointsMap;
+    }
+
+    /**
+     * Cost of the map set-up shared by the {@code updateScoreBy*} benchmarks.
+     */
+    @Benchmark
+    public Object riskPointsMapBaseline() {
+        nextUser();
+        return riskPointsMap();
+    }
+
+    private User nextUser() {
+        return users[next++ & MASK];
+    }
+
+    private static Map<String, Integer> riskPointsMap() {
+        Map<String, Integer> riskPointsMap = new HashMap<>();
+        riskPointsMap.put("auto", 1);
+        riskPointsMap.put("disability", 1);
+        riskPointsMap.put("home", 1);
+        riskPointsMap.put("life", 1);
+        return riskPointsMap;
+    }
+
+}
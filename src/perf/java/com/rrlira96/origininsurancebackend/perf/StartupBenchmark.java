@@ -0,0 +1,136 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.rrlira96.origininsurancebackend.FastStartupApplication;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time from launching a new JVM to the first successful {@code POST /api/v1/risk-profiles}, over several runs:
+ *
+ * <pre>
+ * --runs=5
+ * --main=com.rrlira96.origininsurancebackend.FastStartupApplication   started from this benchmark's classpath
+ * --jar=target/fast-startup/origin-insurance-backend-0.0.1-SNAPSHOT-fast-startup.jar   started with -jar instead
+ * --jvm-args="-XX:SharedArchiveFile=target/fast-startup/app.jsa -Xlog:cds=off"
+ * --timeout=60   (seconds per run)
+ * </pre>
+ *
+ * Any other {@code --key=value} is passed to the application, e.g. {@code --risk-profile.engine=primitive}.
+ */
+public final class StartupBenchmark {
+
+    private static final List<String> OPTIONS = List.of("runs", "main", "jar", "jvm-args", "timeout");
+
+    private static final String USER = "{\"age\":35,\"dependents\":2,\"house\":{\"ownership_status\":\"owned\"},"
+            + "\"income\":0,\"marital_status\":\"married\",\"risk_questions\":[0,1,0],\"vehicle\":{\"year\":2018}}";
+
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (name != null && OPTIONS.contains(name)) options.put(name, arg.substring(equals + 1));
+            else appArgs.add(arg);
+        }
+
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "60")));
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArgs = options.getOrDefault("jvm-args", "").trim();
+        if (!jvmArgs.isEmpty()) command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+        if (options.containsKey("jar")) {
+            command.add("-jar");
+            command.add(options.get("jar"));
+        } else {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(options.getOrDefault("main", FastStartupApplication.class.getName()));
+        }
+        command.add("--logging.level.root=WARN");
+        command.addAll(appArgs);
+
+        HttpClient client = HttpClient.newHttpClient();
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = timeToFirstResponse(client, command, timeout);
+            System.out.printf("run %d: %d ms%n", run + 1, millis[run]);
+        }
+
+        Arrays.sort(millis);
+        String target = options.getOrDefault("jar", options.getOrDefault("main", FastStartupApplication.class.getName()));
+        System.out.printf("%s %s%ntime to first response over %d runs: min %d ms, median %d ms, max %d ms%n",
+                jvmArgs, target, runs, millis[0], millis[runs / 2], millis[runs - 1]);
+    }
+
+    private static long timeToFirstResponse(HttpClient client, List<String> command, Duration timeout)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/risk-profiles"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(USER))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(withPort).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ": " + withPort);
+                }
+                // A plain connect keeps the probe cheap on the CPU the application is starting on
+                if (!isListening(port)) {
+                    Thread.sleep(POLL_INTERVAL_MILLIS);
+                    continue;
+                }
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) return (System.nanoTime() - start) / 1_000_000;
+                throw new IllegalStateException("First response was " + response.statusCode());
+            }
+            throw new IllegalStateException("No response within " + timeout.toSeconds() + "s: " + withPort);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static boolean isListening(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port));
+            return true;
+        } catch (IOException notListening) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
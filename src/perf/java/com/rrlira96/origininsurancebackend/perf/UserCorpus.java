@@ -0,0 +1,75 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.model.*;
+
+import java.time.Year;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded, randomized applicants spread over every branch of the scoring rules.
+ */
+public final class UserCorpus {
+
+    private UserCorpus() {
+    }
+
+    public static User[] users(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int year = Year.now().getValue();
+        User[] users = new User[size];
+
+        for (int i = 0; i < size; i++) {
+            int incomeBand = random.nextInt(4);
+            int income = incomeBand == 0 ? 0 : incomeBand == 3 ? random.nextInt(200001, 1_000_000) : random.nextInt(1, 200001);
+            int houseBand = random.nextInt(3);
+            House house = houseBand == 0 ? null : new House(houseBand == 1 ? OwnershipStatus.owned : OwnershipStatus.mortgaged);
+            Vehicle vehicle = random.nextBoolean() ? new Vehicle(year - random.nextInt(15)) : null;
+
+            users[i] = new User(random.nextInt(18, 90), random.nextInt(4), house, income,
+                    random.nextBoolean() ? MaritalStatus.married : MaritalStatus.single,
+                    List.of(random.nextInt(2), random.nextInt(2), random.nextInt(2)), vehicle);
+        }
+
+        return users;
+    }
+
+    /**
+     * One applicant for every combination of the rule boundaries in {@code RiskProfileService}: ages around 30, 40
+     * and 60, incomes around 0 and 200000, every house status, vehicles on both sides of the five-year cut-off, with
+     * and without dependents, both marital statuses and the lowest and highest base score.
+     */
+    public static User[] boundaries() {
+        int year = Year.now().getValue();
+        int[] ages = {29, 30, 40, 41, 60, 61};
+        int[] incomes = {0, 1, 200000, 200001};
+        House[] houses = {null, new House(OwnershipStatus.owned), new House(OwnershipStatus.mortgaged)};
+        Vehicle[] vehicles = {null, new Vehicle(year - 5), new Vehicle(year - 6)};
+        List<List<Integer>> answers = List.of(List.of(0, 0, 0), List.of(1, 1, 1));
+
+        User[] users = new User[ages.length * incomes.length * houses.length * vehicles.length * 2 * 2 * answers.size()];
+        int i = 0;
+        for (int age : ages)
+            for (int income : incomes)
+                for (House house : houses)
+                    for (Vehicle vehicle : vehicles)
+                        for (int dependents = 0; dependents <= 1; dependents++)
+                            for (MaritalStatus maritalStatus : MaritalStatus.values())
+                                for (List<Integer> riskAnswers : answers)
+                                    users[i++] = new User(age, dependents, house, income, maritalStatus, riskAnswers, vehicle);
+        return users;
+    }
+
+    public static byte[][] json(User[] users, ObjectMapper objectMapper) {
+        byte[][] payloads = new byte[users.length][];
+        try {
+            for (int i = 0; i < users.length; i++) payloads[i] = objectMapper.writeValueAsBytes(users[i]);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return payloads;
+    }
+
+}
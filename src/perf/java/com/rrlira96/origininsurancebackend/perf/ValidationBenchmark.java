@@ -0,0 +1,60 @@
+package com.rrlira96.origininsurancebackend.perf;
+
+import com.rrlira96.origininsurancebackend.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.validation.Validator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int MASK = 1023;
+
+    private ConfigurableApplicationContext context;
+    private Validator validator;
+    private User[] validUsers;
+    private User[] invalidUsers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PerfContext.start(WebApplicationType.NONE);
+        validator = context.getBean(Validator.class);
+        validUsers = UserCorpus.users(MASK + 1, 42);
+        invalidUsers = UserCorpus.users(MASK + 1, 43);
+        for (int i = 0; i < invalidUsers.length; i++) {
+            invalidUsers[i].setAge(-invalidUsers[i].getAge());
+            if (i % 2 == 0) invalidUsers[i].setRiskAnswers(List.of(1, 0));
+            if (i % 3 == 0) invalidUsers[i].setMaritalStatus(null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public Object validateValidUser(Cursor cursor) {
+        return validator.validate(validUsers[cursor.next++ & MASK]);
+    }
+
+    @Benchmark
+    public Object validateInvalidUser(Cursor cursor) {
+        return validator.validate(invalidUsers[cursor.next++ & MASK]);
+    }
+
+}
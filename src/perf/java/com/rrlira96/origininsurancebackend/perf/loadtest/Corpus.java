@@ -0,0 +1,47 @@
+package com.rrlira96.origininsurancebackend.perf.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.perf.UserCorpus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request bodies replayed by {@link LoadGenerator}, in order and round-robin.
+ */
+final class Corpus {
+
+    private Corpus() {
+    }
+
+    /**
+     * Every rule-boundary applicant from {@link UserCorpus#boundaries()} followed by seeded random applicants, so each
+     * branch of the rules is hit on every pass.
+     */
+    static byte[][] synthetic(ObjectMapper objectMapper, int randomUsers, long seed) {
+        User[] boundaries = UserCorpus.boundaries();
+        User[] random = UserCorpus.users(randomUsers, seed);
+        User[] users = new User[boundaries.length + random.length];
+        System.arraycopy(boundaries, 0, users, 0, boundaries.length);
+        System.arraycopy(random, 0, users, boundaries.length, random.length);
+        return UserCorpus.json(users, objectMapper);
+    }
+
+    /**
+     * A captured corpus: one JSON request body per line, blank lines ignored.
+     */
+    static byte[][] fromFile(Path file) throws IOException {
+        List<byte[]> payloads = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) payloads.add(line.getBytes(StandardCharsets.UTF_8));
+        }
+        if (payloads.isEmpty()) throw new IllegalArgumentException("No payloads in " + file);
+        return payloads.toArray(new byte[0][]);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.rrlira96.origininsurancebackend.perf.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.perf.PerfContext;
+import com.rrlira96.origininsurancebackend.perf.loadtest.LoadGenerator.LoadResult;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the application once per {@code risk-profile.execution-mode} and drives {@code POST /api/v1/risk-profiles}
+ * with the same closed-loop load, reporting throughput and latency percentiles for each mode on the same machine.
+ *
+ * <p>{@code mvn -Pperf test-compile exec:exec
+ * -Dperf.main=com.rrlira96.origininsurancebackend.perf.loadtest.ExecutionModeLoadTest
+ * -Dperf.args="--modes=platform,functional,reactive --clients=64 --warmup=10 --duration=30"}
+ */
+public final class ExecutionModeLoadTest {
+
+    private ExecutionModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = Arrays.asList(option(args, "modes", defaultModes()).split(","));
+        int clients = Integer.parseInt(option(args, "clients", "64"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(option(args, "warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(option(args, "duration", "30")));
+        Path output = Path.of(option(args, "output", "target/loadtest"));
+
+        List<String> report = new ArrayList<>();
+        report.add(LoadReport.HEADER);
+
+        for (String mode : modes) {
+            WebApplicationType type = mode.equals("reactive") ? WebApplicationType.REACTIVE : WebApplicationType.SERVLET;
+            try (ConfigurableApplicationContext context =
+                         PerfContext.start(type, "--risk-profile.execution-mode=" + mode)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                byte[][] payloads = Corpus.synthetic(context.getBean(ObjectMapper.class), 4096, 42);
+                URI uri = URI.create("http://localhost:" + port + "/api/v1/risk-profiles");
+
+                LoadGenerator generator = new LoadGenerator(uri, payloads);
+                generator.closedLoop(clients, warmup);
+                LoadResult result = generator.closedLoop(clients, duration);
+
+                Map<String, Object> config = new LinkedHashMap<>();
+                config.put("mode", "closed");
+                config.put("clients", clients);
+                config.put("warmupSeconds", warmup.toSeconds());
+                config.put("durationSeconds", duration.toSeconds());
+                config.put("executionMode", mode);
+                LoadReport.write(output, "execution-mode-" + mode, config, result);
+                report.add(LoadReport.summary(mode, result));
+            }
+        }
+
+        report.forEach(System.out::println);
+    }
+
+    private static String defaultModes() {
+        return Runtime.version().feature() >= 21 ? "platform,virtual,functional,reactive"
+                : "platform,functional,reactive";
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return defaultValue;
+    }
+
+}
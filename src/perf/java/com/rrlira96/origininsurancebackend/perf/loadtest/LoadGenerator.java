@@ -0,0 +1,135 @@
+package com.rrlira96.origininsurancebackend.perf.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@code POST} requests with a corpus of bodies and records latencies in nanoseconds.
+ *
+ * <p>{@link #closedLoop} keeps a fixed number of clients busy, each sending its next request when the previous one
+ * completes. {@link #openLoop} sends at a constant rate regardless of responses and measures every request from the
+ * time it was scheduled to be sent, so a stalled server shows up as latency instead of slowing the generator down
+ * (no coordinated omission).
+ */
+final class LoadGenerator {
+
+    private static final int MAX_IN_FLIGHT = 16_384;
+
+    private final HttpClient httpClient;
+    private final HttpRequest[] requests;
+
+    LoadGenerator(URI uri, byte[][] payloads) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.requests = new HttpRequest[payloads.length];
+        for (int i = 0; i < payloads.length; i++) {
+            requests[i] = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(payloads[i]))
+                    .build();
+        }
+    }
+
+    LoadResult closedLoop(int clients, Duration duration) throws InterruptedException {
+        Recorder recorder = new Recorder(3);
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (long i = client; System.nanoTime() < deadline; i += clients) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response =
+                                    httpClient.send(request(i), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) errors.incrementAndGet();
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        recorder.recordValue(System.nanoTime() - sent);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        done.await();
+        return new LoadResult(recorder.getIntervalHistogram(), errors.get(), System.nanoTime() - start);
+    }
+
+    LoadResult openLoop(int ratePerSecond, Duration duration) throws InterruptedException {
+        Recorder recorder = new Recorder(3);
+        AtomicLong errors = new AtomicLong();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long interval = 1_000_000_000L / ratePerSecond;
+        long start = System.nanoTime();
+        long count = duration.toNanos() / interval;
+
+        for (long i = 0; i < count; i++) {
+            long intended = start + i * interval;
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+
+            inFlight.acquire();
+            httpClient.sendAsync(request(i), HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                recorder.recordValue(System.nanoTime() - intended);
+                if (ex != null || response.statusCode() / 100 != 2) errors.incrementAndGet();
+                inFlight.release();
+            });
+        }
+
+        inFlight.acquire(MAX_IN_FLIGHT);
+        return new LoadResult(recorder.getIntervalHistogram(), errors.get(), System.nanoTime() - start);
+    }
+
+    private HttpRequest request(long i) {
+        return requests[(int) (i % requests.length)];
+    }
+
+    static final class LoadResult {
+
+        final Histogram latencies;
+        final long errors;
+        final long elapsedNanos;
+
+        LoadResult(Histogram latencies, long errors, long elapsedNanos) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        long requests() {
+            return latencies.getTotalCount();
+        }
+
+        double throughput() {
+            return requests() / (elapsedNanos / 1e9);
+        }
+
+        long percentileMicros(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000;
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.rrlira96.origininsurancebackend.perf.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rrlira96.origininsurancebackend.perf.loadtest.LoadGenerator.LoadResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints load-test results and stores each run as JSON, including the compressed HdrHistogram (decode it with
+ * {@code Histogram.decodeFromCompressedByteBuffer}) so runs can be compared or merged later.
+ */
+final class LoadReport {
+
+    static final String HEADER = String.format("%-24s %10s %10s %9s %9s %9s %9s %9s %8s",
+            "run", "requests", "req/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us", "errors");
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+
+    private LoadReport() {
+    }
+
+    static String summary(String label, LoadResult result) {
+        return String.format("%-24s %10d %10.0f %9d %9d %9d %9d %9d %8d", label, result.requests(),
+                result.throughput(), result.percentileMicros(50), result.percentileMicros(90),
+                result.percentileMicros(99), result.percentileMicros(99.9), result.latencies.getMaxValue() / 1000,
+                result.errors);
+    }
+
+    static Path write(Path directory, String label, Map<String, Object> config, LoadResult result) throws IOException {
+        Map<String, Object> latencyMicros = new LinkedHashMap<>();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latencyMicros.put(PERCENTILE_NAMES[i], result.percentileMicros(PERCENTILES[i]));
+        }
+        latencyMicros.put("max", result.latencies.getMaxValue() / 1000);
+        latencyMicros.put("mean", result.latencies.getMean() / 1000);
+
+        ByteBuffer histogram = ByteBuffer.allocate(result.latencies.getNeededByteBufferCapacity());
+        int length = result.latencies.encodeIntoCompressedByteBuffer(histogram);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        report.put("label", label);
+        report.put("timestamp", now.toString());
+        report.put("java", Runtime.version().toString());
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("config", config);
+        report.put("requests", result.requests());
+        report.put("errors", result.errors);
+        report.put("elapsedSeconds", result.elapsedNanos / 1e9);
+        report.put("throughput", result.throughput());
+        report.put("latencyMicros", latencyMicros);
+        report.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(histogram.array(), length)));
+
+        Files.createDirectories(directory);
+        String timestamp = now.format(DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss"));
+        Path file = directory.resolve("loadtest-" + label + "-" + timestamp + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+}
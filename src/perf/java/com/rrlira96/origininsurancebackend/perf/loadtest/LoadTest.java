@@ -0,0 +1,99 @@
+package com.rrlira96.origininsurancebackend.perf.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.perf.PerfContext;
+import com.rrlira96.origininsurancebackend.perf.loadtest.LoadGenerator.LoadResult;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test of {@code POST /api/v1/risk-profiles}. Starts the application on a random local port, unless
+ * {@code --url} points at a running instance, warms it up and then measures one run:
+ *
+ * <pre>
+ * --mode=closed|open   closed: --clients busy clients (default); open: --rate requests per second
+ * --clients=64 --rate=1000 --warmup=10 --duration=30   (seconds)
+ * --corpus=users.ndjson   one captured request body per line instead of the synthetic corpus
+ * --label=name --output=target/loadtest
+ * </pre>
+ *
+ * Any other {@code --key=value} is passed to the application, e.g. {@code --risk-profile.engine=primitive}.
+ */
+public final class LoadTest {
+
+    private static final List<String> OPTIONS =
+            List.of("mode", "clients", "rate", "warmup", "duration", "corpus", "url", "label", "output");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (name != null && OPTIONS.contains(name)) options.put(name, arg.substring(equals + 1));
+            else appArgs.add(arg);
+        }
+
+        String mode = options.getOrDefault("mode", "closed");
+        if (!mode.equals("closed") && !mode.equals("open")) throw new IllegalArgumentException("Unknown mode: " + mode);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        int rate = Integer.parseInt(options.getOrDefault("rate", "1000"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        String label = options.getOrDefault("label", mode);
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest"));
+
+        ConfigurableApplicationContext context = options.containsKey("url")
+                ? null
+                : PerfContext.start(WebApplicationType.SERVLET, appArgs.toArray(new String[0]));
+        try {
+            URI uri = context == null
+                    ? URI.create(options.get("url"))
+                    : URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                    + "/api/v1/risk-profiles");
+            ObjectMapper objectMapper = context == null ? new ObjectMapper() : context.getBean(ObjectMapper.class);
+            byte[][] payloads = options.containsKey("corpus")
+                    ? Corpus.fromFile(Path.of(options.get("corpus")))
+                    : Corpus.synthetic(objectMapper, 4096, 42);
+
+            LoadGenerator generator = new LoadGenerator(uri, payloads);
+            LoadResult result;
+            if (mode.equals("closed")) {
+                generator.closedLoop(clients, warmup);
+                result = generator.closedLoop(clients, duration);
+            } else {
+                generator.openLoop(rate, warmup);
+                result = generator.openLoop(rate, duration);
+            }
+
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("mode", mode);
+            config.put(mode.equals("closed") ? "clients" : "rate", mode.equals("closed") ? clients : rate);
+            config.put("warmupSeconds", warmup.toSeconds());
+            config.put("durationSeconds", duration.toSeconds());
+            config.put("target", uri.toString());
+            config.put("corpus", options.getOrDefault("corpus", "synthetic"));
+            config.put("corpusSize", payloads.length);
+            config.put("appArgs", appArgs);
+
+            System.out.println(LoadReport.HEADER);
+            System.out.println(LoadReport.summary(label, result));
+            System.out.println("Results written to " + LoadReport.write(output, label, config, result));
+        } finally {
+            if (context != null) context.close();
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.rrlira96.origininsurancebackend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastStartupInitializerTest {
+
+    private static final Map<String, List<String>> PROPERTIES = Map.of(
+            "risk-profile.execution-mode", List.of("platform", "functional", "reactive"),
+            "risk-profile.metrics.enabled", List.of("true", "false", "FALSE"),
+            "risk-profile.jfr.token", List.of("0123456789abcdef", "false"),
+            "risk-profile.shadow.enabled", List.of("true", "TRUE", "false", "yes"));
+    private static final String[][] PROFILES = {{}, {"bulk"}, {"audit-replay"}, {"portfolio-load", "bulk"}};
+
+    private final FastStartupInitializer initializer = new FastStartupInitializer();
+    private final MetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory();
+
+    @Test
+    void givenPropertyAndProfileCombinations_whenInitialize_thenRegisterWhatScanningFinds() {
+        for (Map<String, Object> properties : propertyCombinations()) {
+            for (String[] profiles : PROFILES) {
+                // Given
+                GenericApplicationContext scannedContext = context(properties, profiles);
+                ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(scannedContext, true,
+                        scannedContext.getEnvironment());
+                scanner.setIncludeAnnotationConfig(false);
+                scanner.setMetadataReaderFactory(metadataReaderFactory);
+                scanner.scan(OriginInsuranceBackendApplication.class.getPackageName());
+                GenericApplicationContext context = context(properties, profiles);
+
+                // When
+                initializer.initialize(context);
+
+                // Then
+                String combination = properties + " " + Arrays.toString(profiles);
+                Set<String> scanned = components(scannedContext);
+                assertFalse(scanned.isEmpty(), combination);
+                assertEquals(scanned, components(context), combination);
+            }
+        }
+    }
+
+    @Test
+    void givenDefaultProperties_whenInitialize_thenSkipBulkRunner() {
+        // Given
+        GenericApplicationContext context = context(Map.of());
+
+        // When
+        initializer.initialize(context);
+
+        // Then
+        List<String> names = List.of(context.getBeanDefinitionNames());
+        assertTrue(names.containsAll(List.of("riskProfileService", "riskProfileBatchService", "restExceptionHandler",
+                "riskProfileController", "metricsController", "parseTimingAdvice", "riskProfileSweepService",
+                "readinessController")));
+        assertFalse(names.contains("bulkScoringRunner"));
+    }
+
+    @Test
+    void givenFunctionalModeWithoutMetrics_whenInitialize_thenSkipControllerAndMetricsComponents() {
+        // Given
+        GenericApplicationContext context = context(Map.of(
+                "risk-profile.execution-mode", "functional",
+                "risk-profile.metrics.enabled", "false"));
+
+        // When
+        initializer.initialize(context);
+
+        // Then
+        List<String> names = List.of(context.getBeanDefinitionNames());
+        assertTrue(names.containsAll(List.of("riskProfileService", "riskProfileBatchService", "restExceptionHandler")));
+        assertFalse(names.contains("riskProfileController"));
+        assertFalse(names.contains("metricsController"));
+        assertFalse(names.contains("parseTimingAdvice"));
+    }
+
+    private static GenericApplicationContext context(Map<String, Object> properties, String... profiles) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", properties));
+        context.getEnvironment().setActiveProfiles(profiles);
+        return context;
+    }
+
+    /**
+     * Every combination of the properties the components are conditional on, each unset or set to the values whose
+     * reading differs between a hand-written check and the annotation.
+     */
+    private static List<Map<String, Object>> propertyCombinations() {
+        List<Map<String, Object>> combinations = new ArrayList<>(List.of(Map.of()));
+        for (Map.Entry<String, List<String>> property : PROPERTIES.entrySet()) {
+            List<Map<String, Object>> next = new ArrayList<>();
+            for (Map<String, Object> combination : combinations) {
+                next.add(combination);
+                for (String value : property.getValue()) {
+                    Map<String, Object> extended = new HashMap<>(combination);
+                    extended.put(property.getKey(), value);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+        return combinations;
+    }
+
+    // Classes of the application's components, leaving out configuration classes and the reader's own processors.
+    private static Set<String> components(GenericApplicationContext context) {
+        return Arrays.stream(context.getBeanDefinitionNames())
+                .map(name -> context.getBeanDefinition(name).getBeanClassName())
+                .filter(className -> className != null
+                        && className.startsWith(OriginInsuranceBackendApplication.class.getPackageName())
+                        && !isConfiguration(className))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static boolean isConfiguration(String className) {
+        return AnnotatedElementUtils.hasAnnotation(ClassUtils.resolveClassName(className, null), Configuration.class);
+    }
+
+}
@@ -0,0 +1,269 @@
+package com.rrlira96.origininsurancebackend.audit;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 2000;
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenConcurrentPublishers_whenReadBack_thenEveryDecisionInPublishOrder() throws Exception {
+        // Given
+        AuditLog auditLog = auditLog(4096, OverflowPolicy.block);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> publishers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int first = thread * PER_THREAD;
+            publishers.add(executor.submit(() -> {
+                for (int income = first; income < first + PER_THREAD; income++) {
+                    User user = user(income);
+                    auditLog.publish(user, riskProfileService.buildRiskProfile(user));
+                }
+            }));
+        }
+        for (Future<?> publisher : publishers) publisher.get();
+        executor.shutdown();
+
+        // When
+        auditLog.close();
+        List<AuditRecord> records = readAll(0);
+
+        // Then
+        assertEquals(THREADS * PER_THREAD, records.size());
+        Map<Integer, Integer> lastIncomeByThread = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            AuditRecord record = records.get(i);
+            User user = record.user();
+            assertEquals(i, record.sequence());
+            assertSame(riskProfileService.buildRiskProfile(user), record.riskProfile());
+            assertSameUser(user(user.getIncome()), user);
+            Integer previous = lastIncomeByThread.put(user.getIncome() / PER_THREAD, user.getIncome());
+            if (previous != null) assertTrue(previous < user.getIncome());
+        }
+    }
+
+    @Test
+    void givenTornRecordAtEnd_whenReopen_thenEraseItAndContinueTheSequence() throws IOException {
+        // Given
+        AuditLog auditLog = auditLog(1 << 20, OverflowPolicy.block);
+        for (int income = 0; income < 10; income++) auditLog.publish(user(income), RiskProfile.fromCode(0));
+        auditLog.close();
+        Path segment = AuditSegments.list(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()).order(AuditCodec.ORDER);
+            int position = 0;
+            for (int i = 0; i < 10; i++) position += AuditCodec.HEADER + AuditCodec.frameLength(torn, position);
+            torn.putInt(position, 25).put(position + AuditCodec.HEADER, (byte) 7);
+        }
+
+        // When
+        auditLog = auditLog(1 << 20, OverflowPolicy.block);
+        auditLog.publish(user(10), RiskProfile.fromCode(0));
+        auditLog.close();
+
+        // Then
+        List<AuditRecord> records = readAll(0);
+        assertEquals(11, records.size());
+        assertEquals(10, records.get(10).sequence());
+        assertEquals(10, records.get(10).user().getIncome());
+        assertEquals(List.of(8L, 9L, 10L),
+                readAll(8).stream().map(AuditRecord::sequence).collect(Collectors.toList()));
+    }
+
+    @Test
+    void givenStoppedWriterAndFullBuffer_whenPublish_thenShedOrReject() throws Exception {
+        // Given
+        AuditLog shedding = fullAuditLog("shed", OverflowPolicy.shed, Duration.ZERO);
+        AuditLog rejecting = fullAuditLog("reject", OverflowPolicy.reject, Duration.ZERO);
+
+        // When / Then
+        shedding.publish(user(5), RiskProfile.fromCode(0));
+        assertEquals(1, shedding.shed());
+        assertThrows(AuditLogFullException.class, () -> rejecting.publish(user(5), RiskProfile.fromCode(0)));
+        assertEquals(1, rejecting.rejected());
+        assertFalse(rejecting.isWriterUp());
+    }
+
+    @Test
+    void givenBlockPolicyAndFullBuffer_whenTryPublish_thenRejectWithoutWaiting() throws Exception {
+        // Given
+        AuditLog auditLog = fullAuditLog("block", OverflowPolicy.block, Duration.ofMinutes(1));
+
+        // When
+        long start = System.nanoTime();
+        assertThrows(AuditLogFullException.class, () -> auditLog.tryPublish(user(5), RiskProfile.fromCode(0)));
+
+        // Then
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(10).toNanos());
+        assertEquals(1, auditLog.rejected());
+    }
+
+    @Test
+    void givenUnencodableRecord_whenWrite_thenSkipItAndKeepWriting() throws IOException {
+        // Given
+        AuditLog auditLog = auditLog(1 << 20, OverflowPolicy.block);
+        User unencodable = new User(30, 0, null, 0, MaritalStatus.single, null, null);
+
+        // When
+        auditLog.publish(user(0), RiskProfile.fromCode(0));
+        auditLog.publish(unencodable, RiskProfile.fromCode(0));
+        auditLog.publish(user(1), RiskProfile.fromCode(0));
+        auditLog.close();
+
+        // Then
+        assertTrue(auditLog.isWriterUp());
+        assertEquals(1, auditLog.unencodable());
+        assertEquals(2, auditLog.written());
+        assertEquals(List.of(0, 1), readAll(0).stream().map(record -> record.user().getIncome())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void givenVehicleOfYearZeroAndNoVehicle_whenReadBack_thenTellThemApart() throws IOException {
+        // Given
+        AuditLog auditLog = auditLog(1 << 20, OverflowPolicy.block);
+        User yearZero = new User(30, 0, null, 0, MaritalStatus.single, List.of(0, 0, 0), new Vehicle(0));
+        User noVehicle = new User(30, 0, null, 0, MaritalStatus.single, List.of(0, 0, 0), null);
+
+        // When
+        auditLog.publish(yearZero, riskProfileService.buildRiskProfile(yearZero));
+        auditLog.publish(noVehicle, riskProfileService.buildRiskProfile(noVehicle));
+        auditLog.close();
+        List<AuditRecord> records = readAll(0);
+
+        // Then
+        assertEquals(0, records.get(0).user().getVehicle().getYear());
+        assertSame(riskProfileService.buildRiskProfile(yearZero), records.get(0).riskProfile());
+        assertNull(records.get(1).user().getVehicle());
+        assertSame(riskProfileService.buildRiskProfile(noVehicle), records.get(1).riskProfile());
+    }
+
+    @Test
+    void givenRecordTooLongForASegment_whenPublish_thenRefuseIt() throws IOException {
+        // Given
+        AuditLog auditLog = auditLog(64, OverflowPolicy.block);
+        User user = new User(30, 0, null, 0, MaritalStatus.single, Collections.nCopies(10, 1), null);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> auditLog.publish(user, RiskProfile.fromCode(0)));
+        assertEquals(1, auditLog.oversized());
+        auditLog.publish(user(0), RiskProfile.fromCode(0));
+        auditLog.close();
+        assertEquals(1, readAll(0).size());
+        assertThrows(IllegalArgumentException.class, () -> auditLog(16, OverflowPolicy.block));
+    }
+
+    @Test
+    void givenFullRingBuffer_whenOffer_thenRefuseUntilDrained() {
+        // Given
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+        for (int i = 0; i < 4; i++) assertTrue(buffer.offer(i));
+
+        // When / Then
+        assertFalse(buffer.offer(4));
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drain(drained::add, 2));
+        assertTrue(buffer.offer(4));
+        assertEquals(3, buffer.drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    private AuditLog auditLog(int segmentSize, OverflowPolicy overflowPolicy) throws IOException {
+        return new AuditLog(directory, 1024, segmentSize, FsyncPolicy.batch, Duration.ZERO, overflowPolicy,
+                Duration.ofSeconds(5));
+    }
+
+    /**
+     * An audit log whose directory is replaced by a file once it has started, so its writer stops when it rolls over
+     * to the second segment, on the third record.
+     */
+    private AuditLog failingAuditLog(String name, OverflowPolicy overflowPolicy, Duration blockTimeout)
+            throws IOException {
+        Path logDirectory = directory.resolve(name);
+        AuditLog auditLog = new AuditLog(logDirectory, 2, 64, FsyncPolicy.none, Duration.ZERO, overflowPolicy,
+                blockTimeout);
+        for (Path segment : AuditSegments.list(logDirectory)) Files.delete(segment);
+        Files.delete(logDirectory);
+        Files.createFile(logDirectory);
+        return auditLog;
+    }
+
+    /**
+     * A {@link #failingAuditLog} whose writer has stopped with its two-record buffer full.
+     */
+    private AuditLog fullAuditLog(String name, OverflowPolicy overflowPolicy, Duration blockTimeout)
+            throws Exception {
+        AuditLog auditLog = failingAuditLog(name, overflowPolicy, blockTimeout);
+        auditLog.publish(user(0), RiskProfile.fromCode(0));
+        auditLog.publish(user(1), RiskProfile.fromCode(0));
+        for (int i = 0; i < 500 && auditLog.written() < 2; i++) Thread.sleep(10);
+        auditLog.publish(user(2), RiskProfile.fromCode(0));
+        awaitWriterDown(auditLog);
+        auditLog.publish(user(3), RiskProfile.fromCode(0));
+        auditLog.publish(user(4), RiskProfile.fromCode(0));
+        return auditLog;
+    }
+
+    private List<AuditRecord> readAll(long fromSequence) throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        try (AuditLogReader reader = new AuditLogReader(directory, fromSequence)) {
+            reader.forEachRemaining(records::add);
+        }
+        return records;
+    }
+
+    private static void awaitWriterDown(AuditLog auditLog) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            StringBuilder metrics = new StringBuilder();
+            auditLog.writeTo(metrics);
+            if (metrics.indexOf("risk_profile_audit_writer_up 0") >= 0) return;
+            Thread.sleep(10);
+        }
+        fail("Audit log writer did not stop");
+    }
+
+    private static void assertSameUser(User expected, User actual) {
+        assertEquals(expected.getAge(), actual.getAge());
+        assertEquals(expected.getDependents(), actual.getDependents());
+        assertEquals(expected.getHouse() == null, actual.getHouse() == null);
+        assertEquals(expected.getMaritalStatus(), actual.getMaritalStatus());
+        assertEquals(expected.getRiskAnswers(), actual.getRiskAnswers());
+        assertEquals(expected.getVehicle().getYear(), actual.getVehicle().getYear());
+    }
+
+    private static User user(int income) {
+        return new User(20 + income % 50, income % 3, income % 2 == 0 ? null : new House(OwnershipStatus.mortgaged),
+                income, income % 4 == 0 ? MaritalStatus.married : MaritalStatus.single, List.of(income % 2, 1, 0),
+                new Vehicle(2000 + income % 20));
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.rrlira96.origininsurancebackend.binary;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryScoringServerTest {
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+    private BinaryScoringServer server;
+
+    @BeforeEach
+    void startServer() {
+        // A buffer of a few frames, so pipelined requests go through many read and write rounds
+        server = new BinaryScoringServer(new InetSocketAddress("127.0.0.1", 0), 2, 64, riskProfileService,
+                new CompiledUserValidator());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void givenPipelinedRequests_whenScore_thenRespondInOrderLikeRiskProfileService() throws IOException {
+        // Given
+        List<User> users = users();
+        ByteBuffer requests = ByteBuffer.allocate(users.size() * BinaryProtocol.REQUEST_LENGTH);
+        for (User user : users) BinaryProtocol.encode(user, requests);
+        requests.flip();
+
+        // When
+        ByteBuffer responses = ByteBuffer.allocate(users.size() * BinaryProtocol.RESPONSE_LENGTH);
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.port()))) {
+            // Send in uneven slices, so frames are split across reads
+            while (requests.hasRemaining()) {
+                ByteBuffer slice = requests.duplicate();
+                slice.limit(Math.min(requests.limit(), requests.position() + 1013));
+                channel.write(slice);
+                requests.position(slice.position());
+            }
+            while (responses.hasRemaining()) assertTrue(channel.read(responses) >= 0);
+        }
+
+        // Then
+        responses.flip();
+        for (User user : users) {
+            assertSame(riskProfileService.buildRiskProfile(user), BinaryProtocol.riskProfile(responses.getInt()));
+        }
+    }
+
+    @Test
+    void givenInvalidRequests_whenScore_thenRespondWithRejectedFields() throws IOException {
+        // Given
+        ByteBuffer requests = ByteBuffer.allocate(3 * BinaryProtocol.REQUEST_LENGTH);
+        BinaryProtocol.encode(new User(0, -1, null, 0, MaritalStatus.single, List.of(0, 0, 0), null), requests);
+        BinaryProtocol.encode(new User(30, 0, null, -5, MaritalStatus.married, List.of(1, 1, 1), null), requests);
+        requests.putInt(30).putInt(0).putInt(0).putInt(0).put((byte) 3).put((byte) 2).put((byte) 8).put((byte) 1);
+        requests.flip();
+
+        // When
+        ByteBuffer responses = ByteBuffer.allocate(3 * BinaryProtocol.RESPONSE_LENGTH);
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.port()))) {
+            while (requests.hasRemaining()) channel.write(requests);
+            while (responses.hasRemaining()) assertTrue(channel.read(responses) >= 0);
+        }
+
+        // Then
+        responses.flip();
+        assertEquals(BinaryProtocol.INVALID | BinaryProtocol.AGE | BinaryProtocol.DEPENDENTS, responses.getInt());
+        assertEquals(BinaryProtocol.INVALID | BinaryProtocol.INCOME, responses.getInt());
+        assertEquals(BinaryProtocol.INVALID | BinaryProtocol.HOUSE | BinaryProtocol.MARITAL_STATUS
+                | BinaryProtocol.RISK_QUESTIONS | BinaryProtocol.RESERVED, responses.getInt());
+        StringBuilder metrics = new StringBuilder();
+        server.writeTo(metrics);
+        assertTrue(metrics.indexOf("risk_profile_binary_requests_total{outcome=\"invalid\"} 3") >= 0);
+    }
+
+    private static List<User> users() {
+        int year = Year.now().getValue();
+        House[] houses = {null, new House(OwnershipStatus.owned), new House(OwnershipStatus.mortgaged)};
+        Vehicle[] vehicles = {null, new Vehicle(year - 5), new Vehicle(year - 6)};
+        List<User> users = new ArrayList<>();
+        for (int age : new int[]{18, 30, 41, 61})
+            for (int income : new int[]{0, 200001})
+                for (House house : houses)
+                    for (Vehicle vehicle : vehicles)
+                        for (int answers = 0; answers < 8; answers++)
+                            for (MaritalStatus maritalStatus : MaritalStatus.values()) {
+                                users.add(new User(age, answers % 2, house, income, maritalStatus,
+                                        List.of(answers & 1, answers >> 1 & 1, answers >> 2), vehicle));
+                            }
+        return users;
+    }
+
+}
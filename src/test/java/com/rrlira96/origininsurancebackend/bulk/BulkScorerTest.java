@@ -0,0 +1,160 @@
+package com.rrlira96.origininsurancebackend.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkScorerTest {
+
+    private static final int USERS = 2000;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new SimpleModule("user").addDeserializer(User.class, new UserDeserializer()))
+            .build();
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenNdjsonSplitIntoSmallChunks_whenScore_thenWriteEveryRecordInInputOrder() throws IOException {
+        // Given
+        List<User> users = users();
+        StringBuilder input = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (User user : users) {
+            input.append(objectMapper.writeValueAsString(user)).append('\n');
+            expected.add(new String(riskProfileService.buildRiskProfile(user).jsonBytes(), StandardCharsets.UTF_8));
+        }
+        AtomicLong consumed = new AtomicLong();
+
+        // When: 100-byte chunks cut through nearly every record
+        long records = score(input.toString(), "users.ndjson", BulkFormat.ndjson, 100, consumed);
+
+        // Then
+        assertEquals(USERS, records);
+        assertEquals(expected, output());
+        assertEquals(Files.size(directory.resolve("users.ndjson")), consumed.get());
+    }
+
+    @Test
+    void givenCsvWithHeaderAndCrlf_whenScore_thenSkipHeaderAndWriteRowsInInputOrder() throws IOException {
+        // Given
+        List<User> users = users();
+        StringBuilder input = new StringBuilder(CsvUserReader.HEADER).append("\r\n");
+        List<String> expected = new ArrayList<>(List.of("auto,disability,home,life,error"));
+        for (User user : users) {
+            input.append(csv(user)).append("\r\n");
+            expected.add(csvRow(riskProfileService.buildRiskProfile(user)));
+        }
+
+        // When
+        long records = score(input.toString(), "users.csv", BulkFormat.csv, 64, new AtomicLong());
+
+        // Then
+        assertEquals(USERS, records);
+        assertEquals(expected, output());
+    }
+
+    @Test
+    void givenCsvWithoutHeaderOrFinalNewline_whenScore_thenScoreTheFirstAndLastRecord() throws IOException {
+        // Given
+        User first = users().get(1);
+        User last = users().get(2);
+
+        // When
+        long records = score(csv(first) + "\n" + csv(last), "users.csv", BulkFormat.csv, 8, new AtomicLong());
+
+        // Then
+        assertEquals(2, records);
+        assertEquals(List.of("auto,disability,home,life,error", csvRow(riskProfileService.buildRiskProfile(first)),
+                csvRow(riskProfileService.buildRiskProfile(last))), output());
+    }
+
+    @Test
+    void givenInvalidCsvRecords_whenScore_thenReportEachInItsRow() throws IOException {
+        // Given
+        String input = "35,0,2147483648,single,0,0,0,,\n"
+                + "0,-1,0,single,0,0,0,,\n"
+                + "35,,0,single,0,0,0,,\n";
+
+        // When
+        score(input, "users.csv", BulkFormat.csv, 1024, new AtomicLong());
+
+        // Then
+        assertEquals(List.of("auto,disability,home,life,error",
+                ",,,,\"Invalid value: 2147483648\"",
+                ",,,,\"Field age must be greater than 0; Field dependents must be greater than or equal to 0\"",
+                ",,,,\"Invalid value: \""), output());
+    }
+
+    @Test
+    void givenRecordTheEngineFailsOn_whenScore_thenReportItInItsLineAndScoreTheOthers() throws IOException {
+        // Given: a house without an ownership status passes validation but cannot be scored
+        User user = users().get(1);
+        String input = objectMapper.writeValueAsString(user) + "\n"
+                + "{\"age\":35,\"dependents\":0,\"house\":{},\"income\":0,\"marital_status\":\"single\","
+                + "\"risk_questions\":[0,0,0]}\n"
+                + objectMapper.writeValueAsString(user) + "\n";
+        String expected = new String(riskProfileService.buildRiskProfile(user).jsonBytes(), StandardCharsets.UTF_8);
+
+        // When
+        long records = score(input, "users.ndjson", BulkFormat.ndjson, 1024, new AtomicLong());
+
+        // Then
+        List<String> output = output();
+        assertEquals(3, records);
+        assertEquals(expected, output.get(0));
+        assertTrue(output.get(1).contains("\"title\":\"Scoring failed\""), output.get(1));
+        assertEquals(expected, output.get(2));
+    }
+
+    private long score(String input, String name, BulkFormat format, int chunkSize, AtomicLong consumed)
+            throws IOException {
+        Path file = Files.writeString(directory.resolve(name), input);
+        BulkScorer scorer = new BulkScorer(riskProfileService, new CompiledUserValidator(), objectMapper, 4, chunkSize);
+        return scorer.score(file, directory.resolve("out"), format, consumed::addAndGet);
+    }
+
+    private List<String> output() throws IOException {
+        return Files.readAllLines(directory.resolve("out"));
+    }
+
+    private static List<User> users() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User(18 + i % 60, i % 3, i % 4 == 0 ? null : new House(OwnershipStatus.values()[i % 2]),
+                    i % 7 * 50000, MaritalStatus.values()[i % 2], List.of(i & 1, i >> 1 & 1, i >> 2 & 1),
+                    i % 5 == 0 ? null : new Vehicle(2026 - i % 9)));
+        }
+        return users;
+    }
+
+    private static String csv(User user) {
+        List<Integer> answers = user.getRiskAnswers();
+        return user.getAge() + "," + user.getDependents() + "," + user.getIncome() + "," + user.getMaritalStatus()
+                + "," + answers.get(0) + "," + answers.get(1) + "," + answers.get(2) + ","
+                + (user.getHouse() == null ? "" : user.getHouse().getOwnershipStatus()) + ","
+                + (user.getVehicle() == null ? "" : user.getVehicle().getYear());
+    }
+
+    private static String csvRow(RiskProfile riskProfile) {
+        return riskProfile.getAuto() + "," + riskProfile.getDisability() + "," + riskProfile.getHome() + ","
+                + riskProfile.getLife() + ",";
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.rrlira96.origininsurancebackend.bulk;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvUserReaderTest {
+
+    private final CsvUserReader reader = new CsvUserReader();
+
+    @Test
+    void givenCompleteRecord_whenRead_thenBindEveryColumn() {
+        // When
+        User user = read("35,2,2147483647,married,0,1,0,mortgaged,2018");
+
+        // Then
+        assertEquals(35, user.getAge());
+        assertEquals(2, user.getDependents());
+        assertEquals(Integer.MAX_VALUE, user.getIncome());
+        assertEquals(MaritalStatus.married, user.getMaritalStatus());
+        assertEquals(List.of(0, 1, 0), user.getRiskAnswers());
+        assertEquals(OwnershipStatus.mortgaged, user.getHouse().getOwnershipStatus());
+        assertEquals(2018, user.getVehicle().getYear());
+    }
+
+    @Test
+    void givenEmptyHouseAndVehicle_whenRead_thenLeaveThemNull() {
+        // When
+        User user = read("60,0,0,single,1,1,1,,");
+
+        // Then
+        assertNull(user.getHouse());
+        assertNull(user.getVehicle());
+    }
+
+    @Test
+    void givenNegativeNumbers_whenRead_thenKeepTheSign() {
+        // When
+        User user = read("-1,-3,-2147483648,single,0,0,0,,-5");
+
+        // Then
+        assertEquals(-1, user.getAge());
+        assertEquals(-3, user.getDependents());
+        assertEquals(Integer.MIN_VALUE, user.getIncome());
+        assertEquals(-5, user.getVehicle().getYear());
+    }
+
+    @Test
+    void givenOverflowingEmptyOrUnreadableNumber_whenRead_thenRejectTheValue() {
+        assertInvalid("2147483648", "35,0,2147483648,single,0,0,0,,");
+        assertInvalid("-2147483649", "35,0,-2147483649,single,0,0,0,,");
+        assertInvalid("99999999999999999999", "99999999999999999999,0,0,single,0,0,0,,");
+        assertInvalid("", "35,,0,single,0,0,0,,");
+        assertInvalid("-", "-,0,0,single,0,0,0,,");
+        assertInvalid("3x", "35,0,0,single,0,3x,0,,");
+        assertInvalid("divorced", "35,0,0,divorced,0,0,0,,");
+        assertInvalid("extra", "35,0,0,single,0,0,0,,,extra");
+    }
+
+    private void assertInvalid(String value, String record) {
+        CsvUserReader.InvalidCsvValueException ex =
+                assertThrows(CsvUserReader.InvalidCsvValueException.class, () -> read(record), record);
+        assertEquals(value, ex.getValue(), record);
+    }
+
+    private User read(String record) {
+        // Surrounded by other bytes, as a record is inside a mapped chunk
+        byte[] bytes = ("x\n" + record + "\ny").getBytes(StandardCharsets.UTF_8);
+        return reader.read(ByteBuffer.wrap(bytes), 2, 2 + record.length());
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.rrlira96.origininsurancebackend.bulk;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.portfolio.PortfolioStore;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioLoaderTest {
+
+    private final PortfolioLoader portfolioLoader = new PortfolioLoader(new CompiledUserValidator());
+    private final RuleSetRiskProfileEngine engine = new RuleSetRiskProfileEngine(RuleSet.DEFAULT, CurrentYear.SYSTEM);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenCustomersCsv_whenLoad_thenStoreTheirProfilesUnderTheirIds() throws Exception {
+        // Given
+        User married = new User(35, 2, new House(OwnershipStatus.owned), 0, MaritalStatus.married, List.of(0, 1, 0),
+                new Vehicle(2018));
+        User single = new User(25, 0, null, 250000, MaritalStatus.single, List.of(1, 1, 1), null);
+        Path input = csv(PortfolioLoader.HEADER,
+                "17,35,2,0,married,0,1,0,owned,2018",
+                "",
+                "42,25,0,250000,single,1,1,1,,");
+
+        // When
+        Map<Long, RiskProfile> profiles = new HashMap<>();
+        PortfolioLoader.Result result;
+        try (PortfolioStore store = PortfolioStore.open(directory.resolve("portfolio"), RuleSet.DEFAULT,
+                CurrentYear.SYSTEM)) {
+            result = portfolioLoader.load(input, store);
+            store.forEach((profile, customerId) -> profiles.put(customerId, profile));
+        }
+
+        // Then
+        assertEquals(2, result.loaded());
+        assertEquals(0, result.rejected());
+        assertEquals(Map.of(17L, engine.buildRiskProfile(married), 42L, engine.buildRiskProfile(single)), profiles);
+    }
+
+    @Test
+    void givenInvalidRecords_whenLoad_thenSkipThemAndLoadTheRest() throws Exception {
+        // Given
+        Path input = csv("1,35,2,0,married,0,1,0,owned,2018",
+                "x,35,2,0,married,0,1,0,owned,2018",
+                "2,35,2,0,divorced,0,1,0,owned,2018",
+                "3,0,-1,0,single,0,0,0,,",
+                "4",
+                "5,40,0,0,single,0,0,0,,");
+
+        // When
+        PortfolioLoader.Result result;
+        long size;
+        try (PortfolioStore store = PortfolioStore.open(directory.resolve("portfolio"), RuleSet.DEFAULT,
+                CurrentYear.SYSTEM)) {
+            result = portfolioLoader.load(input, store);
+            size = store.size();
+        }
+
+        // Then
+        assertEquals(2, result.loaded());
+        assertEquals(4, result.rejected());
+        assertEquals(2, size);
+    }
+
+    private Path csv(String... lines) throws Exception {
+        Path file = directory.resolve("customers.csv");
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+}
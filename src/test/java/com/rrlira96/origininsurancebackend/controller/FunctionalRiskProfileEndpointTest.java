@@ -0,0 +1,15 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "risk-profile.execution-mode=functional")
+@AutoConfigureMockMvc
+class FunctionalRiskProfileEndpointTest extends RiskProfileEndpointTest {
+
+    @Override
+    boolean annotatedController() {
+        return false;
+    }
+
+}
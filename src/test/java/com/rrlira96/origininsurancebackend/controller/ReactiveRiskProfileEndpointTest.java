@@ -0,0 +1,154 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.OriginInsuranceBackendApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveRiskProfileEndpointTest {
+
+    private static final String USER = "{\"age\":35,\"dependents\":2,\"house\":{\"ownership_status\":\"owned\"},"
+            + "\"income\":0,\"marital_status\":\"married\",\"risk_questions\":[0,1,0],\"vehicle\":{\"year\":2018}}";
+    private static final String QUERY = "age=35&dependents=2&house=owned&income=0&marital_status=married"
+            + "&risk_questions=0,1,0&vehicle_year=2018";
+    private static final String PROFILE =
+            "{\"auto\":\"economic\",\"disability\":\"ineligible\",\"home\":\"economic\",\"life\":\"regular\"}";
+
+    private static ConfigurableApplicationContext context;
+    private static WebTestClient client;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(OriginInsuranceBackendApplication.class)
+                .run("--risk-profile.execution-mode=reactive", "--server.port=0");
+        int port = ((ReactiveWebServerApplicationContext) context).getWebServer().getPort();
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void givenReactiveMode_whenStart_thenServeOnNettyWithoutTheAnnotatedController() {
+        // Then
+        assertTrue(((ReactiveWebServerApplicationContext) context).getWebServer() instanceof NettyWebServer);
+        assertFalse(context.containsBean("riskProfileController"));
+    }
+
+    @Test
+    void givenValidUser_whenPost_thenReturnRiskProfile() {
+        client.post().uri("/api/v1/risk-profiles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(USER)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo(PROFILE);
+    }
+
+    @Test
+    void givenInvalidUserAndAcceptLanguage_whenPost_thenRejectEachFieldInThatLanguage() {
+        client.post().uri("/api/v1/risk-profiles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "de")
+                .bodyValue("{\"age\":0,\"dependents\":0,\"income\":0,\"marital_status\":\"single\","
+                        + "\"risk_questions\":[0,0,0]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].detail").isEqualTo("Field age muss größer als 0 sein")
+                .jsonPath("$.errors[0].path").isEqualTo("/api/v1/risk-profiles");
+    }
+
+    @Test
+    void givenUnreadableValue_whenPost_thenRejectIt() {
+        client.post().uri("/api/v1/risk-profiles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"age\":35,\"marital_status\":\"divorced\",\"risk_questions\":[0,0,0]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].detail").isEqualTo("Invalid value: divorced");
+    }
+
+    @Test
+    void givenCanonicalQuery_whenGetTwice_thenAnswerTheMatchingETagWith304() {
+        // Given
+        String eTag = client.get().uri("/api/v1/risk-profiles?" + QUERY)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo(PROFILE)
+                .returnResult().getResponseHeaders().getETag();
+
+        // Then
+        assertNotNull(eTag);
+        client.get().uri("/api/v1/risk-profiles?" + QUERY)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void givenQueryNotInCanonicalForm_whenGet_thenRedirectToIt() {
+        client.get().uri("/api/v1/risk-profiles?income=0&age=035&dependents=2&house=owned&marital_status=married"
+                        + "&risk_questions=0,1,0&vehicle_year=2018&utm_source=mail")
+                .exchange()
+                .expectStatus().isEqualTo(301)
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "/api/v1/risk-profiles?" + QUERY);
+    }
+
+    @Test
+    void givenLargeNdjsonBatch_whenPostBatch_thenStreamOneLinePerUserInOrder() {
+        // Given
+        List<String> users = new ArrayList<>(Collections.nCopies(5000, USER));
+        users.set(1234, "{\"age\":0,\"marital_status\":\"single\",\"risk_questions\":[0,0,0]}");
+
+        // When
+        byte[] body = client.post().uri("/api/v1/risk-profiles/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(String.join("\n", users))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody().returnResult().getResponseBody();
+
+        // Then
+        List<String> lines = new String(body, StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        assertEquals(5000, lines.size());
+        assertEquals(PROFILE, lines.get(0));
+        assertTrue(lines.get(1234).contains("\"detail\":\"Field age must be greater than 0\""), lines.get(1234));
+        assertEquals(PROFILE, lines.get(4999));
+    }
+
+    @Test
+    void givenSweepRequest_whenPostSweep_thenReturnOneSweepPerRange() {
+        client.post().uri("/api/v1/risk-profiles/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"user\":" + USER + ",\"ranges\":[{\"field\":\"age\",\"from\":18,\"to\":90}]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.sweeps.length()").isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RiskProfileBatchEndpointTest {
+
+    private static final String USER = "{\"age\":35,\"dependents\":2,\"house\":{\"ownership_status\":\"owned\"},"
+            + "\"income\":0,\"marital_status\":\"married\",\"risk_questions\":[0,1,0],\"vehicle\":{\"year\":2018}}";
+    private static final String PROFILE =
+            "{\"auto\":\"economic\",\"disability\":\"ineligible\",\"home\":\"economic\",\"life\":\"regular\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void givenNdjsonBody_whenPostBatch_thenStreamNdjsonProfiles() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/risk-profiles/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(USER + "\n{\"age\":0,\"marital_status\":\"single\",\"risk_questions\":[0,0,0]}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        // Then
+        List<String> lines = lines(result);
+        assertEquals(2, lines.size());
+        assertEquals(PROFILE, lines.get(0));
+        assertTrue(lines.get(1).contains("\"detail\":\"Field age must be greater than 0\""), lines.get(1));
+        assertTrue(lines.get(1).contains("\"path\":\"/api/v1/risk-profiles/batch\""), lines.get(1));
+    }
+
+    @Test
+    void givenJsonArrayBody_whenPostBatch_thenStreamOneLinePerUser() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/risk-profiles/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + USER + "," + USER + "]"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertEquals(List.of(PROFILE, PROFILE), lines(result));
+    }
+
+    @Test
+    void givenAcceptLanguage_whenPostBatch_thenReportErrorsInThatLanguage() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/risk-profiles/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header("Accept-Language", "de")
+                        .content("{\"age\":0,\"marital_status\":\"single\",\"risk_questions\":[0,0,0]}\n"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        List<String> lines = lines(result);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"detail\":\"Field age muss größer als 0 sein\""), lines.get(0));
+    }
+
+    private static List<String> lines(MvcResult result) {
+        return new String(result.getResponse().getContentAsByteArray(), StandardCharsets.UTF_8).lines()
+                .collect(Collectors.toList());
+    }
+
+}
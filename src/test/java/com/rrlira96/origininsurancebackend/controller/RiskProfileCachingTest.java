@@ -0,0 +1,55 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskProfileCachingTest {
+
+    private static final CurrentYear TWO_MINUTES_BEFORE_NEW_YEAR =
+            new CurrentYear(Clock.fixed(Instant.parse("2025-12-31T23:58:00Z"), ZoneOffset.UTC));
+
+    private final RiskProfileCaching riskProfileCaching =
+            new RiskProfileCaching(TWO_MINUTES_BEFORE_NEW_YEAR, Duration.ofHours(1));
+
+    @Test
+    void givenUserWithVehicle_whenCacheControl_thenExpireAtTheYearRollover() {
+        // Given
+        User user = user(new Vehicle(2021));
+
+        // When / Then
+        assertEquals("max-age=120, public", riskProfileCaching.cacheControl(user).getHeaderValue());
+    }
+
+    @Test
+    void givenUserWithoutVehicle_whenCacheControl_thenUseTheConfiguredMaxAge() {
+        // Given
+        User user = user(null);
+
+        // When / Then
+        assertEquals("max-age=3600, public", riskProfileCaching.cacheControl(user).getHeaderValue());
+    }
+
+    @Test
+    void givenEveryProfile_whenETag_thenStrongAndDistinct() {
+        // When / Then
+        assertEquals("\"rp-00\"", riskProfileCaching.eTag(RiskProfile.fromCode(0)));
+        assertEquals("\"rp-b4\"", riskProfileCaching.eTag(RiskProfile.fromCode(0xb4)));
+        assertEquals(RiskProfile.CODES, IntStream.range(0, RiskProfile.CODES)
+                .mapToObj(code -> riskProfileCaching.eTag(RiskProfile.fromCode(code))).distinct().count());
+    }
+
+    private static User user(Vehicle vehicle) {
+        return new User(35, 0, null, 1000, MaritalStatus.single, List.of(0, 1, 0), vehicle);
+    }
+
+}
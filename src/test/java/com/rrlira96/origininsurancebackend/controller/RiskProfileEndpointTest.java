@@ -0,0 +1,94 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * {@code GET /api/v1/risk-profiles} as served by the annotated controller of the platform execution mode.
+ * {@link FunctionalRiskProfileEndpointTest} runs the same checks against the functional routes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RiskProfileEndpointTest {
+
+    private static final String QUERY = "age=35&dependents=2&house=owned&income=0&marital_status=married"
+            + "&risk_questions=0,1,0";
+    private static final String PROFILE =
+            "{\"auto\":\"ineligible\",\"disability\":\"ineligible\",\"home\":\"economic\",\"life\":\"regular\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    boolean annotatedController() {
+        return true;
+    }
+
+    @Test
+    void givenExecutionMode_whenStart_thenServeFromItsEndpoint() {
+        // Then
+        assertEquals(annotatedController(), context.containsBean("riskProfileController"));
+    }
+
+    @Test
+    void givenCanonicalQuery_whenGet_thenReturnRiskProfileWithCachingHeaders() throws Exception {
+        mockMvc.perform(get("/api/v1/risk-profiles?" + QUERY))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(PROFILE))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void givenMatchingIfNoneMatch_whenGet_thenAnswer304() throws Exception {
+        // Given
+        String eTag = mockMvc.perform(get("/api/v1/risk-profiles?" + QUERY))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Then
+        assertNotNull(eTag);
+        mockMvc.perform(get("/api/v1/risk-profiles?" + QUERY).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/risk-profiles?" + QUERY).header(HttpHeaders.IF_NONE_MATCH, "\"rp-ff\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void givenQueryNotInCanonicalForm_whenGet_thenRedirectToIt() throws Exception {
+        mockMvc.perform(get("/api/v1/risk-profiles?income=0&age=035&dependents=2&house=owned"
+                        + "&marital_status=married&risk_questions=0,1,0&utm_source=mail"))
+                .andExpect(status().isMovedPermanently())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/risk-profiles?" + QUERY));
+    }
+
+    @Test
+    void givenInvalidQuery_whenGet_thenRejectEachField() throws Exception {
+        mockMvc.perform(get("/api/v1/risk-profiles?age=0&dependents=2&income=0&marital_status=married"
+                        + "&risk_questions=0,x,0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].status").value(400))
+                .andExpect(jsonPath("$.errors[0].path").value("/api/v1/risk-profiles"));
+        mockMvc.perform(get("/api/v1/risk-profiles?age=0&dependents=2&income=0&marital_status=married"
+                        + "&risk_questions=0,1,0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value("Field age must be greater than 0"))
+                .andExpect(jsonPath("$.errors[0].path").value("/api/v1/risk-profiles"));
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.rrlira96.origininsurancebackend.controller;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserQueryTest {
+
+    @Test
+    void givenCanonicalQuery_whenParse_thenReadEveryFieldAndWriteTheSameQueryBack() {
+        // Given
+        String query = "age=35&dependents=2&house=mortgaged&income=0&marital_status=married"
+                + "&risk_questions=0,1,0&vehicle_year=2018";
+        MapBindingResult errors = new MapBindingResult(new HashMap<>(), "user");
+
+        // When
+        User user = UserQuery.parse(parameters(query), errors);
+
+        // Then
+        assertFalse(errors.hasErrors());
+        assertEquals(35, user.getAge());
+        assertEquals(2, user.getDependents());
+        assertEquals(OwnershipStatus.mortgaged, user.getHouse().getOwnershipStatus());
+        assertEquals(0, user.getIncome());
+        assertEquals(MaritalStatus.married, user.getMaritalStatus());
+        assertEquals(List.of(0, 1, 0), user.getRiskAnswers());
+        assertEquals(2018, user.getVehicle().getYear());
+        assertEquals(query, UserQuery.canonical(user));
+    }
+
+    @Test
+    void givenReorderedPaddedQueryWithExtras_whenParse_thenCanonicalFormDiffers() {
+        // Given
+        String query = "utm_source=mail&risk_questions=1,1,1&income=+0100&age=040&marital_status=single&dependents=0";
+        MapBindingResult errors = new MapBindingResult(new HashMap<>(), "user");
+
+        // When
+        User user = UserQuery.parse(parameters(query), errors);
+
+        // Then
+        assertFalse(errors.hasErrors());
+        assertNull(user.getHouse());
+        assertNull(user.getVehicle());
+        assertEquals("age=40&dependents=0&income=100&marital_status=single&risk_questions=1,1,1",
+                UserQuery.canonical(user));
+    }
+
+    @Test
+    void givenMissingAndUnreadableParameters_whenParse_thenRejectEachByName() {
+        // Given
+        String query = "age=old&income=1&house=rented&marital_status=married&risk_questions=0,x,1&vehicle_year=";
+        MapBindingResult errors = new MapBindingResult(new HashMap<>(), "user");
+
+        // When
+        User user = UserQuery.parse(parameters(query), errors);
+
+        // Then
+        assertNull(user);
+        assertEquals(List.of("age", "dependents", "house", "risk_questions", "vehicle_year"),
+                errors.getFieldErrors().stream().map(FieldError::getField).collect(Collectors.toList()));
+    }
+
+    private static Map<String, String[]> parameters(String query) {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            parameters.put(pair.substring(0, equals), new String[]{pair.substring(equals + 1)});
+        }
+        return parameters;
+    }
+
+}
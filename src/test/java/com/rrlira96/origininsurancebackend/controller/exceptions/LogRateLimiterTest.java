@@ -0,0 +1,29 @@
+package com.rrlira96.origininsurancebackend.controller.exceptions;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRateLimiterTest {
+
+    @Test
+    void givenMoreEventsThanLimit_whenTryAcquire_thenOnlyLimitPassPerWindow() throws InterruptedException {
+        // Given
+        LogRateLimiter limiter = new LogRateLimiter(LoggerFactory.getLogger(LogRateLimiterTest.class), 3,
+                Duration.ofMillis(200));
+
+        // When
+        int passed = 0;
+        for (int i = 0; i < 100; i++) if (limiter.tryAcquire()) passed++;
+        Thread.sleep(250);
+        boolean passedInNextWindow = limiter.tryAcquire();
+
+        // Then
+        assertEquals(3, passed);
+        assertTrue(passedInNextWindow);
+    }
+
+}
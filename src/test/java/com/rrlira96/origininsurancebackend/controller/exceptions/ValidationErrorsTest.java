@@ -0,0 +1,43 @@
+package com.rrlira96.origininsurancebackend.controller.exceptions;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationErrorsTest {
+
+    @Test
+    void givenSameFieldAndMessage_whenFieldError_thenReuseDetail() {
+        // When
+        StandardError first = ValidationErrors.fieldError("age", "must be greater than 0", "/api/v1/risk-profiles");
+        StandardError second = ValidationErrors.fieldError("age", "must be greater than 0", "/api/v1/risk-profiles");
+
+        // Then
+        assertEquals("Field age must be greater than 0", first.getDetail());
+        assertSame(first.getDetail(), second.getDetail());
+        assertEquals(Integer.valueOf(400), second.getStatus());
+        assertEquals(ValidationErrors.TITLE, second.getTitle());
+    }
+
+    @Test
+    void givenInvalidValue_whenInvalidValue_thenDescribeValue() {
+        assertEquals("Invalid value: rented", ValidationErrors.invalidValue("rented", "/").getDetail());
+        assertEquals("Malformed record: oops", ValidationErrors.malformedRecord("oops", "/").getDetail());
+    }
+
+    @Test
+    void givenSameMillisecond_whenNow_thenReuseInstant() {
+        // When
+        long before = System.currentTimeMillis();
+        Instant first = CachedTimestamp.now();
+        Instant second = CachedTimestamp.now();
+        long after = System.currentTimeMillis();
+
+        // Then
+        assertTrue(first.toEpochMilli() >= before && second.toEpochMilli() <= after);
+        if (first.toEpochMilli() == second.toEpochMilli()) assertSame(first, second);
+    }
+
+}
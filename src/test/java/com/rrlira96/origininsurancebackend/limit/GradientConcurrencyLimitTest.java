@@ -0,0 +1,78 @@
+package com.rrlira96.origininsurancebackend.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long WINDOW = 100_000_000L;
+    private static final long LATENCY = 2_000_000L;
+
+    @Test
+    void givenSteadyLatencyAtTheLimit_whenWindowsClose_thenGrowUpToTheMaximum() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 8, 200, 1.5, WINDOW);
+
+        // When
+        long now = 0;
+        for (int window = 0; window < 200; window++) now = runWindow(limit, now, LATENCY, limit.limit());
+
+        // Then
+        assertEquals(200, limit.limit());
+    }
+
+    @Test
+    void givenLatencyRisingWithLoad_whenWindowsClose_thenShrinkTowardsTheMinimum() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 8, 200, 1.5, WINDOW);
+        long now = 0;
+        for (int window = 0; window < 20; window++) now = runWindow(limit, now, LATENCY, limit.limit());
+        int before = limit.limit();
+
+        // When
+        for (int window = 0; window < 20; window++) now = runWindow(limit, now, 10 * LATENCY, limit.limit());
+
+        // Then
+        assertTrue(limit.limit() < before / 2, before + " -> " + limit.limit());
+        assertTrue(limit.limit() >= 8);
+    }
+
+    @Test
+    void givenCallersFarBelowTheLimit_whenWindowsClose_thenKeepTheLimit() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 8, 200, 1.5, WINDOW);
+
+        // When
+        long now = 0;
+        for (int window = 0; window < 20; window++) now = runWindow(limit, now, LATENCY, 4);
+        for (int window = 0; window < 20; window++) now = runWindow(limit, now, 10 * LATENCY, 4);
+
+        // Then
+        assertEquals(100, limit.limit());
+    }
+
+    @Test
+    void givenTooFewSamples_whenWindowEnds_thenWaitForMoreBeforeAdapting() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 8, 200, 1.5, WINDOW);
+        limit.onSample(0, LATENCY, 100);
+
+        // When / Then
+        for (int i = 1; i < 9; i++) limit.onSample(2 * WINDOW + i, LATENCY, 100);
+        assertEquals(100, limit.limit());
+        limit.onSample(2 * WINDOW + 9, LATENCY, 100);
+        assertTrue(limit.limit() > 100);
+    }
+
+    /**
+     * Records 50 samples spread over one window, then one past its end to close it.
+     */
+    private static long runWindow(GradientConcurrencyLimit limit, long start, long latency, int inFlight) {
+        for (int i = 0; i < 50; i++) limit.onSample(start + i * (WINDOW / 50), latency, inFlight);
+        long end = start + WINDOW + 1;
+        limit.onSample(end, latency, inFlight);
+        return end;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.rrlira96.origininsurancebackend.metrics;
+
+import com.rrlira96.origininsurancebackend.model.CompiledUserValidator;
+import com.rrlira96.origininsurancebackend.model.MaritalStatus;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.util.List;
+
+import static com.rrlira96.origininsurancebackend.model.InsurancePlan.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskProfileMetricsTest {
+
+    private final RiskProfileMetrics metrics = new RiskProfileMetrics(true, 1);
+
+    @Test
+    void givenLatencies_whenWriteTo_thenExposeCumulativeBuckets() {
+        // Given
+        LatencyHistogram parse = metrics.stage(Stage.parse);
+        parse.record(100);
+        parse.record(1_000);
+        parse.record(5_000_000_000L);
+
+        // When
+        String scrape = scrape();
+
+        // Then
+        assertTrue(scrape.contains("risk_profile_stage_duration_seconds_bucket{stage=\"parse\",le=\"1.28E-7\"} 1\n"));
+        assertTrue(scrape.contains("risk_profile_stage_duration_seconds_bucket{stage=\"parse\",le=\"1.024E-6\"} 2\n"));
+        assertTrue(scrape.contains("risk_profile_stage_duration_seconds_bucket{stage=\"parse\",le=\"+Inf\"} 3\n"));
+        assertTrue(scrape.contains("risk_profile_stage_duration_seconds_count{stage=\"parse\"} 3\n"));
+        assertTrue(scrape.contains("risk_profile_stage_duration_seconds_count{stage=\"scoring\"} 0\n"));
+    }
+
+    @Test
+    void givenOutcomes_whenWriteTo_thenCountPlansPerLine() {
+        // Given
+        metrics.recordOutcome(RiskProfile.of(regular, ineligible, economic, regular));
+        metrics.recordOutcome(RiskProfile.of(regular, regular, ineligible, responsible));
+
+        // When
+        String scrape = scrape();
+
+        // Then
+        assertTrue(scrape.contains("risk_profile_outcomes_total{line=\"auto\",plan=\"regular\"} 2\n"));
+        assertTrue(scrape.contains("risk_profile_outcomes_total{line=\"disability\",plan=\"ineligible\"} 1\n"));
+        assertTrue(scrape.contains("risk_profile_outcomes_total{line=\"life\",plan=\"responsible\"} 1\n"));
+        assertFalse(scrape.contains("line=\"auto\",plan=\"economic\""));
+    }
+
+    @Test
+    void givenRejectedUser_whenValidate_thenCountFailuresByField() {
+        // Given
+        TimedUserValidator validator = new TimedUserValidator(new CompiledUserValidator(), metrics);
+        User user = new User(0, 0, null, -1, MaritalStatus.single, List.of(1, 1, 1), null);
+
+        // When
+        validator.validate(user, new BeanPropertyBindingResult(user, "user"));
+        validator.validate(user, new BeanPropertyBindingResult(user, "user"));
+
+        // Then
+        String scrape = scrape();
+        assertTrue(scrape.contains("risk_profile_validation_failures_total{field=\"age\"} 2\n"));
+        assertTrue(scrape.contains("risk_profile_validation_failures_total{field=\"income\"} 2\n"));
+        assertTrue(scrape.contains("risk_profile_stage_duration_seconds_count{stage=\"validation\"} 2\n"));
+    }
+
+    @Test
+    void givenIndexedAndUnknownPaths_whenRecordValidationFailure_thenKeepLabelSetFixed() {
+        // Given
+        metrics.recordValidationFailure("risk_questions[1]");
+        metrics.recordValidationFailure("risk_questions[123456]");
+        metrics.recordValidationFailure("user.age");
+        metrics.recordValidationFailure("ranges[7].from");
+        metrics.recordValidationFailure("x".repeat(64));
+
+        // When
+        String scrape = scrape();
+
+        // Then
+        assertTrue(scrape.contains("risk_profile_validation_failures_total{field=\"risk_questions[]\"} 2\n"));
+        assertTrue(scrape.contains("risk_profile_validation_failures_total{field=\"age\"} 1\n"));
+        assertTrue(scrape.contains("risk_profile_validation_failures_total{field=\"other\"} 2\n"));
+        assertEquals(RiskProfileMetrics.FIELDS.size() + 1,
+                scrape.lines().filter(line -> line.startsWith("risk_profile_validation_failures_total{")).count());
+    }
+
+    @Test
+    void givenDisabledMetrics_whenStage_thenNoHistogram() {
+        assertNull(new RiskProfileMetrics(false, 64).stage(Stage.scoring));
+    }
+
+    private String scrape() {
+        StringBuilder out = new StringBuilder();
+        metrics.writeTo(out);
+        return out.toString();
+    }
+
+}
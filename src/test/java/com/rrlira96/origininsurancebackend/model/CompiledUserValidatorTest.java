@@ -0,0 +1,100 @@
+package com.rrlira96.origininsurancebackend.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocaleContextMessageInterpolator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Configuration;
+import javax.validation.Validation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledUserValidatorTest {
+
+    private final Validator beanValidator =
+            new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator());
+    private final Validator compiledValidator = new CompiledUserValidator();
+
+    @Test
+    void givenUsers_whenValidate_thenMatchBeanValidation() {
+        // Given
+        List<User> users = List.of(
+                new User(35, 2, null, 0, MaritalStatus.married, List.of(0, 1, 0), new Vehicle(2018)),
+                new User(0, -1, null, -1, null, null, null),
+                new User(-5, 0, null, 0, MaritalStatus.single, List.of(1, 1), null),
+                new User(1, 0, null, 0, MaritalStatus.single, Arrays.asList(1, 1, 1, 1), new Vehicle(0)),
+                new User(20, 0, null, 0, MaritalStatus.single, List.of(), null));
+
+        for (User user : users) {
+            // When
+            Set<String> expected = describe(validate(beanValidator, user));
+            Set<String> actual = describe(validate(compiledValidator, user));
+
+            // Then
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void givenRequestLocale_whenValidate_thenMatchBeanValidationMessages() {
+        // Given
+        Configuration<?> configuration = Validation.byDefaultProvider().configure();
+        Validator localizedBeanValidator = new SpringValidatorAdapter(configuration
+                .messageInterpolator(new LocaleContextMessageInterpolator(
+                        configuration.getDefaultMessageInterpolator()))
+                .buildValidatorFactory().getValidator());
+        User user = new User(0, -1, null, -1, null, List.of(1), null);
+
+        for (Locale locale : List.of(Locale.ENGLISH, Locale.GERMAN, Locale.FRENCH, new Locale("pt", "BR"))) {
+            LocaleContextHolder.setLocale(locale);
+            try {
+                // When
+                Set<String> expected = describe(validate(localizedBeanValidator, user));
+                Set<String> actual = describe(validate(compiledValidator, user));
+
+                // Then
+                assertEquals(expected, actual, locale.toString());
+            } finally {
+                LocaleContextHolder.resetLocaleContext();
+            }
+        }
+        LocaleContextHolder.setLocale(Locale.GERMAN);
+        try {
+            assertTrue(describe(validate(compiledValidator, user)).contains("age Positive 0 muss größer als 0 sein"));
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    @Test
+    void givenUser_whenSupports_thenTrue() {
+        assertTrue(compiledValidator.supports(User.class));
+        assertFalse(compiledValidator.supports(Vehicle.class));
+    }
+
+    private static Errors validate(Validator validator, User user) {
+        Errors errors = new BeanPropertyBindingResult(user, "user");
+        validator.validate(user, errors);
+        return errors;
+    }
+
+    private static Set<String> describe(Errors errors) {
+        Set<String> fieldErrors = new TreeSet<>();
+        for (FieldError error : errors.getFieldErrors()) {
+            fieldErrors.add(error.getField() + " " + error.getCode() + " " + error.getRejectedValue() + " "
+                    + error.getDefaultMessage());
+        }
+        return fieldErrors;
+    }
+
+}
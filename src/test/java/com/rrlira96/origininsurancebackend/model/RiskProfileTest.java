@@ -0,0 +1,41 @@
+package com.rrlira96.origininsurancebackend.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.rrlira96.origininsurancebackend.model.InsurancePlan.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskProfileTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void givenSamePlans_whenOf_thenReturnSameInstance() {
+        // When
+        RiskProfile first = RiskProfile.of(regular, economic, ineligible, responsible);
+        RiskProfile second = RiskProfile.of(regular, economic, ineligible, responsible);
+
+        // Then
+        assertSame(first, second);
+        assertSame(first, RiskProfile.fromCode(first.code()));
+    }
+
+    @Test
+    void givenEveryCanonicalProfile_whenSerialize_thenMatchPreEncodedBytes() throws Exception {
+        for (int code = 0; code < RiskProfile.CODES; code++) {
+            // Given
+            RiskProfile riskProfile = RiskProfile.fromCode(code);
+
+            // When
+            String json = objectMapper.writeValueAsString(riskProfile);
+
+            // Then
+            assertEquals(json, new String(riskProfile.jsonBytes(), StandardCharsets.UTF_8));
+            assertSame(riskProfile, objectMapper.readValue(json, RiskProfile.class));
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.rrlira96.origininsurancebackend.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDeserializerTest {
+
+    private final ObjectMapper reflectiveMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .registerModule(new ParameterNamesModule());
+    private final ObjectMapper streamingMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .registerModule(new ParameterNamesModule())
+            .registerModule(new SimpleModule().addDeserializer(User.class, new UserDeserializer()));
+
+    @Test
+    void givenPayloads_whenDeserialize_thenMatchReflectiveBinding() throws Exception {
+        // Given
+        List<String> payloads = List.of(
+                "{\"age\":35,\"dependents\":2,\"house\":{\"ownership_status\":\"owned\"},\"income\":0,"
+                        + "\"marital_status\":\"married\",\"risk_questions\":[0,1,0],\"vehicle\":{\"year\":2018}}",
+                "{\"risk_questions\":[1,1,1,1],\"marital_status\":\"single\",\"age\":\"41\",\"income\":200001.7}",
+                "{\"age\":20,\"unknown\":{\"nested\":[1,2]},\"house\":null,\"vehicle\":{\"year\":2020,\"model\":\"x\"}}",
+                "{\"age\":null,\"risk_questions\":[1,\"0\",null],\"house\":{}}",
+                "{}");
+
+        for (String payload : payloads) {
+            // When
+            User expected = reflectiveMapper.readValue(payload, User.class);
+            User actual = streamingMapper.readValue(payload, User.class);
+
+            // Then
+            assertEquals(describe(expected), describe(actual), payload);
+        }
+    }
+
+    @Test
+    void givenInvalidValues_whenDeserialize_thenReportSamePathAsReflectiveBinding() {
+        // Given
+        List<String> payloads = List.of(
+                "{\"age\":30,\"house\":{\"ownership_status\":\"rented\"}}",
+                "{\"marital_status\":\"divorced\"}",
+                "{\"vehicle\":{\"year\":\"new\"}}",
+                "{\"risk_questions\":[1,null,\"x\"]}");
+
+        for (String payload : payloads) {
+            // When
+            InvalidFormatException expected = assertThrows(InvalidFormatException.class,
+                    () -> reflectiveMapper.readValue(payload, User.class));
+            InvalidFormatException actual = assertThrows(InvalidFormatException.class,
+                    () -> streamingMapper.readValue(payload, User.class));
+
+            // Then
+            assertEquals(expected.getPathReference(), actual.getPathReference(), payload);
+        }
+    }
+
+    @Test
+    void givenIntegerAnswers_whenDeserialize_thenStoreThemUnboxed() throws Exception {
+        // When
+        User user = streamingMapper.readValue("{\"risk_questions\":[1,0,1]}", User.class);
+
+        // Then
+        assertTrue(user.getRiskAnswers() instanceof RiskAnswers);
+        assertEquals(2, ((RiskAnswers) user.getRiskAnswers()).sum());
+    }
+
+    @Test
+    void givenInvalidEnumAndNumber_whenDeserialize_thenThrowSameInvalidFormatException() {
+        for (String payload : List.of("{\"marital_status\":\"divorced\"}", "{\"house\":{\"ownership_status\":\"rented\"}}",
+                "{\"age\":\"abc\"}", "{\"vehicle\":{\"year\":\"new\"}}")) {
+            // When
+            InvalidFormatException expected = assertThrows(InvalidFormatException.class,
+                    () -> reflectiveMapper.readValue(payload, User.class));
+            InvalidFormatException actual = assertThrows(InvalidFormatException.class,
+                    () -> streamingMapper.readValue(payload, User.class));
+
+            // Then
+            assertEquals(expected.getValue(), actual.getValue());
+            assertEquals(expected.getOriginalMessage(), actual.getOriginalMessage());
+        }
+    }
+
+    @Test
+    void givenWrongShape_whenDeserialize_thenThrowMismatchedInput() {
+        assertThrows(MismatchedInputException.class, () -> streamingMapper.readValue("[1, 2]", User.class));
+        assertThrows(MismatchedInputException.class, () -> streamingMapper.readValue("{\"risk_questions\":{}}", User.class));
+    }
+
+    private static String describe(User user) {
+        return Arrays.asList(user.getAge(), user.getDependents(), user.getIncome(), user.getMaritalStatus(),
+                user.getRiskAnswers(),
+                user.getHouse() == null ? "no house" : user.getHouse().getOwnershipStatus(),
+                user.getVehicle() == null ? "no vehicle" : user.getVehicle().getYear()).toString();
+    }
+
+}
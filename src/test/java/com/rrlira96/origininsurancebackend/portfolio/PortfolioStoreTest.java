@@ -0,0 +1,229 @@
+package com.rrlira96.origininsurancebackend.portfolio;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioStoreTest {
+
+    private static final CurrentYear YEAR_2024 = yearOf("2024-06-01T00:00:00Z");
+    private static final CurrentYear YEAR_2025 = yearOf("2025-06-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenRuleChange_whenRescore_thenMatchEngineAndReportChangedCustomers() throws IOException {
+        // Given
+        List<User> users = users(2024);
+        PortfolioStore store = storeOf(users, YEAR_2024);
+        RuleSet next = ruleSet("version=v2\nage.young.below=35\nincome.high.above=100000\n");
+        RuleSetRiskProfileEngine previousEngine = new RuleSetRiskProfileEngine(RuleSet.DEFAULT, YEAR_2024);
+        RuleSetRiskProfileEngine nextEngine = new RuleSetRiskProfileEngine(next, YEAR_2024);
+        Map<Long, List<RiskProfile>> changes = new HashMap<>();
+
+        // When
+        RescoreResult result = store.rescore(next, (customerId, previous, current) ->
+                changes.put(customerId, List.of(previous, current)));
+
+        // Then
+        Map<Long, List<RiskProfile>> expectedChanges = new HashMap<>();
+        for (int id = 0; id < users.size(); id++) {
+            RiskProfile previous = previousEngine.buildRiskProfile(users.get(id));
+            RiskProfile current = nextEngine.buildRiskProfile(users.get(id));
+            if (previous != current) expectedChanges.put((long) id, List.of(previous, current));
+        }
+        assertFalse(expectedChanges.isEmpty());
+        assertEquals(expectedChanges, changes);
+        assertEquals(changes.size(), result.recordsChanged());
+        assertTrue(result.recordsRescored() < users.size());
+        store.forEach((profile, customerId) ->
+                assertSame(nextEngine.buildRiskProfile(users.get((int) customerId)), profile));
+        assertEquals("v2", store.ruleSet().version());
+        store.close();
+    }
+
+    @Test
+    void givenVehicleOfYearZero_whenAddAndRescore_thenScoreItAsAVehicle() throws IOException {
+        // Given
+        User user = new User(30, 0, null, 1, MaritalStatus.single, List.of(1, 0, 0), new Vehicle(0));
+        PortfolioStore store = PortfolioStore.open(directory, RuleSet.DEFAULT, YEAR_2024);
+        RuleSet next = ruleSet("version=v2\nvehicle.recent.years=3000\n");
+        Map<Long, RiskProfile> profiles = new HashMap<>();
+
+        // When
+        RiskProfile added = store.add(7, user);
+        RescoreResult result = store.rescore(next, (customerId, previous, current) -> { });
+        store.forEach((profile, customerId) -> profiles.put(customerId, profile));
+
+        // Then
+        assertSame(new RuleSetRiskProfileEngine(RuleSet.DEFAULT, YEAR_2024).buildRiskProfile(user), added);
+        assertEquals(InsurancePlan.economic, added.getAuto());
+        assertEquals(1, result.recordsChanged());
+        assertEquals(Map.of(7L, new RuleSetRiskProfileEngine(next, YEAR_2024).buildRiskProfile(user)), profiles);
+        assertEquals(InsurancePlan.regular, profiles.get(7L).getAuto());
+        store.close();
+    }
+
+    @Test
+    void givenMarriedPointsChange_whenRescore_thenOnlyScanMarriedSegments() throws IOException {
+        // Given
+        List<User> users = users(2024);
+        PortfolioStore store = storeOf(users, YEAR_2024);
+        long married = users.stream().filter(user -> user.getMaritalStatus() == MaritalStatus.married).count();
+
+        // When
+        RescoreResult result = store.rescore(ruleSet("married.life.points=2\n"), PlanChangeListener.NONE);
+
+        // Then
+        assertEquals(married, result.recordsScanned());
+        assertEquals(married, result.recordsRescored());
+        store.close();
+    }
+
+    @Test
+    void givenReopenedStoreInNextYear_whenRescore_thenKeepRuleSetAndUpdateVehicles() throws IOException {
+        // Given
+        List<User> users = users(2024);
+        RuleSet next = ruleSet("version=v2\nplan.responsible.min=2\n");
+        storeOf(users, YEAR_2024).rescore(next, PlanChangeListener.NONE);
+        PortfolioStore store = PortfolioStore.open(directory, RuleSet.DEFAULT, YEAR_2025);
+        RuleSetRiskProfileEngine engine = new RuleSetRiskProfileEngine(next, YEAR_2025);
+        List<Long> changed = new ArrayList<>();
+
+        // When
+        RescoreResult result = store.rescore(store.ruleSet(), (customerId, previous, current) -> changed.add(customerId));
+
+        // Then
+        assertEquals(Set.of(), store.ruleSet().changedKeys(next));
+        assertEquals(users.size(), store.size());
+        assertFalse(changed.isEmpty());
+        for (long customerId : changed) assertNotNull(users.get((int) customerId).getVehicle());
+        assertEquals(changed.size(), result.recordsChanged());
+        store.forEach((profile, customerId) ->
+                assertSame(engine.buildRiskProfile(users.get((int) customerId)), profile));
+        store.close();
+    }
+
+    @Test
+    void givenStoreScoredLastYear_whenRescoreIfYearChanged_thenRescoreOnceInTheNewYear() throws IOException {
+        // Given
+        List<User> users = users(2024);
+        storeOf(users, YEAR_2024).close();
+        PortfolioStore store = PortfolioStore.open(directory, RuleSet.DEFAULT, YEAR_2025);
+        RuleSetRiskProfileEngine engine = new RuleSetRiskProfileEngine(RuleSet.DEFAULT, YEAR_2025);
+
+        // When
+        boolean rescored = store.rescoreIfYearChanged();
+
+        // Then
+        assertTrue(rescored);
+        assertFalse(store.rescoreIfYearChanged());
+        assertEquals(2025, store.scoredYear());
+        try (Stream<Path> changes = Files.list(directory.resolve("changes"))) {
+            assertEquals(1, changes.count());
+        }
+        store.forEach((profile, customerId) ->
+                assertSame(engine.buildRiskProfile(users.get((int) customerId)), profile));
+        store.close();
+    }
+
+    @Test
+    void givenWatchedYear_whenYearRollsOver_thenRescoreInTheNewYear() throws Exception {
+        // Given
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-12-31T23:59:59Z"));
+        CurrentYear currentYear = new CurrentYear(new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        });
+        List<User> users = users(2024);
+        PortfolioStore store = storeOf(users, currentYear);
+        store.watchYear(Duration.ofMillis(10));
+
+        // When
+        now.set(Instant.parse("2025-01-01T00:00:01Z"));
+        for (int i = 0; i < 500 && store.scoredYear() != 2025; i++) Thread.sleep(10);
+
+        // Then
+        assertEquals(2025, store.scoredYear());
+        RuleSetRiskProfileEngine engine = new RuleSetRiskProfileEngine(RuleSet.DEFAULT, YEAR_2025);
+        store.forEach((profile, customerId) ->
+                assertSame(engine.buildRiskProfile(users.get((int) customerId)), profile));
+        store.close();
+    }
+
+    private PortfolioStore storeOf(List<User> users, CurrentYear currentYear) throws IOException {
+        PortfolioStore store = PortfolioStore.open(directory, RuleSet.DEFAULT, currentYear);
+        for (int id = 0; id < users.size(); id++) store.add(id, users.get(id));
+        return store;
+    }
+
+    private static List<User> users(int year) {
+        int[] ages = {18, 29, 30, 34, 35, 40, 41, 60, 61, 90};
+        int[] incomes = {0, 1, 100000, 100001, 200000, 200001};
+        House[] houses = {null, new House(OwnershipStatus.owned), new House(OwnershipStatus.mortgaged)};
+        Vehicle[] vehicles = {null, new Vehicle(year - 4), new Vehicle(year - 5), new Vehicle(year - 6), new Vehicle(0)};
+        List<List<Integer>> answers = List.of(List.of(0, 0, 0), List.of(1, 0, 1), List.of(1, 1, 1));
+
+        List<User> users = new ArrayList<>();
+        for (int age : ages)
+            for (int income : incomes)
+                for (House house : houses)
+                    for (Vehicle vehicle : vehicles)
+                        for (List<Integer> riskAnswers : answers)
+                            for (int dependents = 0; dependents <= 1; dependents++)
+                                for (MaritalStatus maritalStatus : MaritalStatus.values())
+                                    users.add(new User(age, dependents, house, income, maritalStatus, riskAnswers, vehicle));
+        return users;
+    }
+
+    private static CurrentYear yearOf(String instant) {
+        return new CurrentYear(Clock.fixed(Instant.parse(instant), ZoneOffset.UTC));
+    }
+
+    private static RuleSet ruleSet(String text) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(text));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return RuleSet.of(properties, "test");
+    }
+
+}
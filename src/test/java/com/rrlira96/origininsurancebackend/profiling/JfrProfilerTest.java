@@ -0,0 +1,70 @@
+package com.rrlira96.origininsurancebackend.profiling;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrProfilerTest {
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenScoringWorkload_whenProfile_thenChargeCpuSamplesToTheScoringStage() throws Exception {
+        // Given
+        JfrProfiler profiler = new JfrProfiler(Duration.ofMillis(10));
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread workload = new Thread(() -> {
+            int income = 0;
+            while (running.get()) riskProfileService.buildRiskProfile(user(income++));
+        });
+        workload.start();
+
+        // When
+        Map<String, Object> summary;
+        try {
+            summary = profiler.profile(Duration.ofSeconds(1), 10);
+        } finally {
+            running.set(false);
+            workload.join();
+        }
+
+        // Then
+        assertTrue((long) summary.get("cpu_samples") > 0);
+        Map<String, Map<String, Object>> stages = (Map<String, Map<String, Object>>) summary.get("stages");
+        assertTrue((long) stages.get("scoring").get("cpu_samples") > 0, stages.toString());
+        assertFalse(((List<?>) summary.get("hot_methods")).isEmpty());
+    }
+
+    @Test
+    void givenRecordingInProgress_whenProfileAgain_thenRefuse() throws Exception {
+        // Given
+        JfrProfiler profiler = new JfrProfiler(Duration.ofMillis(10));
+        Thread first = new Thread(() -> {
+            try {
+                profiler.profile(Duration.ofMillis(500), 1);
+            } catch (Exception ignored) {
+            }
+        });
+        first.start();
+        Thread.sleep(100);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> profiler.profile(Duration.ofMillis(10), 1));
+        first.join();
+    }
+
+    private static User user(int income) {
+        return new User(20 + income % 50, income % 3, income % 2 == 0 ? null : new House(OwnershipStatus.mortgaged),
+                income % 300_000, income % 4 == 0 ? MaritalStatus.married : MaritalStatus.single,
+                List.of(income % 2, 1, 0), new Vehicle(2000 + income % 20));
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.rrlira96.origininsurancebackend.rules;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import static com.rrlira96.origininsurancebackend.model.InsurancePlan.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleSetRiskProfileEngineTest {
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+
+    @Test
+    void givenDefaultRuleSet_whenBuildRiskProfile_thenMatchRuleChain() {
+        // Given
+        RuleSetRiskProfileEngine engine = new RuleSetRiskProfileEngine(RuleSet.DEFAULT, CurrentYear.SYSTEM);
+        int year = Year.now().getValue();
+        int[] ages = {18, 29, 30, 40, 41, 60, 61, 90};
+        int[] incomes = {0, 1, 200000, 200001};
+        House[] houses = {null, new House(OwnershipStatus.owned), new House(OwnershipStatus.mortgaged)};
+        Vehicle[] vehicles = {null, new Vehicle(year - 5), new Vehicle(year - 6)};
+        List<List<Integer>> answers = List.of(List.of(0, 0, 0), List.of(1, 0, 1), List.of(1, 1, 1));
+
+        for (int age : ages)
+            for (int income : incomes)
+                for (House house : houses)
+                    for (Vehicle vehicle : vehicles)
+                        for (List<Integer> riskAnswers : answers)
+                            for (int dependents = 0; dependents <= 1; dependents++)
+                                for (MaritalStatus maritalStatus : MaritalStatus.values()) {
+                                    User user = new User(age, dependents, house, income, maritalStatus, riskAnswers, vehicle);
+
+                                    // When / Then
+                                    assertSame(riskProfileService.buildRiskProfile(user), engine.buildRiskProfile(user));
+                                }
+    }
+
+    @Test
+    void givenReload_whenBuildRiskProfile_thenUseNewThresholdsAndNotifyListeners() {
+        // Given
+        RuleSetRiskProfileEngine engine = new RuleSetRiskProfileEngine(RuleSet.DEFAULT, CurrentYear.SYSTEM);
+        User user = new User(50, 0, new House(OwnershipStatus.owned), 150000, MaritalStatus.single,
+                List.of(1, 0, 0), null);
+        List<Set<String>> changes = new ArrayList<>();
+        engine.addListener((previous, current) -> changes.add(current.changedKeys(previous)));
+        RuleSet lowerHighIncome = ruleSet("version=v2\nincome.high.above=100000\n");
+
+        // When
+        RiskProfile before = engine.buildRiskProfile(user);
+        engine.reload(lowerHighIncome);
+        RiskProfile after = engine.buildRiskProfile(user);
+
+        // Then
+        assertEquals(regular, before.getHome());
+        assertEquals(economic, after.getHome());
+        assertEquals("v2", engine.ruleSet().version());
+        assertEquals(List.of(Set.of(RuleSet.INCOME_HIGH_ABOVE)), changes);
+    }
+
+    @Test
+    void givenInvalidRuleSets_whenParse_thenReject() {
+        assertThrows(IllegalArgumentException.class, () -> ruleSet("income.hihg.above=100000\n"));
+        assertThrows(IllegalArgumentException.class, () -> ruleSet("plan.regular.min=one\n"));
+        assertThrows(IllegalArgumentException.class, () -> ruleSet("plan.regular.min=4\n"));
+        assertThrows(IllegalArgumentException.class, () -> ruleSet("age.young.below=45\n"));
+    }
+
+    @Test
+    void givenWatchedFile_whenFileChanges_thenReloadAndKeepLastGoodVersionOnErrors(@TempDir Path dir) throws Exception {
+        // Given
+        Path file = dir.resolve("rules.properties");
+        Files.writeString(file, "version=v1\n");
+        User user = new User(35, 0, null, 50000, MaritalStatus.single, List.of(1, 0, 0), new Vehicle(2000));
+
+        try (RuleSetRiskProfileEngine engine = new RuleSetRiskProfileEngine(RuleSet.load(file), CurrentYear.SYSTEM)) {
+            engine.watch(file, Duration.ofMillis(10));
+            assertEquals(economic, engine.buildRiskProfile(user).getAuto());
+
+            // When
+            Files.writeString(file, "version=v2\nage.middle.points=0\n");
+            awaitVersion(engine, "v2");
+            Files.writeString(file, "version=v3\nage.middle.points=zero\n");
+            Thread.sleep(200);
+
+            // Then
+            assertEquals("v2", engine.ruleSet().version());
+            assertEquals(regular, engine.buildRiskProfile(user).getAuto());
+        }
+    }
+
+    private static void awaitVersion(RuleSetRiskProfileEngine engine, String version) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!engine.ruleSet().version().equals(version)) {
+            if (System.nanoTime() > deadline) fail("Rule set " + version + " was not loaded");
+            Thread.sleep(10);
+        }
+    }
+
+    private static RuleSet ruleSet(String text) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(text));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return RuleSet.of(properties, "test");
+    }
+
+}
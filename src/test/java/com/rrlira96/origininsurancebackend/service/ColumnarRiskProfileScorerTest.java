@@ -0,0 +1,102 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarRiskProfileScorerTest {
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+    private final ColumnarRiskProfileScorer scorer = new ColumnarRiskProfileScorer(CurrentYear.SYSTEM);
+
+    @Test
+    void givenUsersAcrossAllRuleBoundaries_whenScore_thenMatchRuleChain() {
+        // Given
+        List<User> users = boundaryUsers();
+        UserColumns columns = new UserColumns(users.size());
+        for (int row = 0; row < users.size(); row++) columns.set(row, users.get(row));
+        byte[] codes = new byte[users.size()];
+
+        // When
+        scorer.score(columns, 0, users.size(), codes);
+
+        // Then
+        for (int row = 0; row < users.size(); row++) {
+            assertEquals(riskProfileService.buildRiskProfile(users.get(row)), RiskProfile.fromCode(codes[row] & 0xFF));
+        }
+    }
+
+    @Test
+    void givenRangeAcrossBlocks_whenScore_thenOnlyWriteRowsInRange() {
+        // Given
+        List<User> users = boundaryUsers();
+        UserColumns columns = new UserColumns(users.size());
+        for (int row = 0; row < users.size(); row++) columns.set(row, users.get(row));
+        byte[] codes = new byte[users.size()];
+        Arrays.fill(codes, (byte) -1);
+        int from = 1000;
+        int to = 3100;
+
+        // When
+        scorer.score(columns, from, to, codes);
+
+        // Then
+        for (int row = 0; row < users.size(); row++) {
+            if (row < from || row >= to) assertEquals(-1, codes[row]);
+            else assertEquals(riskProfileService.buildRiskProfile(users.get(row)).code(), codes[row] & 0xFF);
+        }
+    }
+
+    @Test
+    void givenVehicleOfYearZero_whenScore_thenScoreItAsAVehicle() {
+        // Given
+        User user = new User(30, 0, null, 0, MaritalStatus.single, List.of(0, 0, 0), new Vehicle(0));
+        UserColumns columns = new UserColumns(1);
+        columns.set(0, user);
+        byte[] codes = new byte[1];
+
+        // When
+        scorer.score(columns, 0, 1, codes);
+
+        // Then
+        assertEquals(riskProfileService.buildRiskProfile(user), RiskProfile.fromCode(codes[0] & 0xFF));
+        assertEquals(InsurancePlan.economic, RiskProfile.fromCode(codes[0] & 0xFF).getAuto());
+    }
+
+    @Test
+    void givenRiskAnswerOtherThanZeroOrOne_whenPackRiskAnswers_thenThrowIllegalArgumentException() {
+        // Given
+        List<Integer> riskAnswers = List.of(1, 2, 0);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> UserColumns.packRiskAnswers(riskAnswers));
+    }
+
+    private static List<User> boundaryUsers() {
+        int year = Year.now().getValue();
+        int[] ages = {18, 29, 30, 40, 41, 60, 61, 90};
+        int[] incomes = {0, 1, 200000, 200001};
+        House[] houses = {null, new House(OwnershipStatus.owned), new House(OwnershipStatus.mortgaged)};
+        Vehicle[] vehicles = {null, new Vehicle(year - 5), new Vehicle(year - 6)};
+        List<List<Integer>> answers = List.of(List.of(0, 0, 0), List.of(1, 0, 0), List.of(0, 1, 1), List.of(1, 1, 1));
+
+        List<User> users = new ArrayList<>();
+        for (int age : ages)
+            for (int income : incomes)
+                for (House house : houses)
+                    for (Vehicle vehicle : vehicles)
+                        for (List<Integer> riskAnswers : answers)
+                            for (int dependents = 0; dependents <= 1; dependents++)
+                                for (MaritalStatus maritalStatus : MaritalStatus.values())
+                                    users.add(new User(age, dependents, house, income, maritalStatus, riskAnswers, vehicle));
+        return users;
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionTableRiskProfileEngineTest {
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+    private final DecisionTableRiskProfileEngine engine = new DecisionTableRiskProfileEngine(riskProfileService, CurrentYear.SYSTEM);
+
+    @Test
+    void givenUsersAcrossAllRuleBoundaries_whenBuildRiskProfile_thenMatchRuleChain() {
+        // Given
+        int year = Year.now().getValue();
+        int[] ages = {18, 29, 30, 40, 41, 60, 61, 90};
+        int[] incomes = {0, 1, 200000, 200001};
+        House[] houses = {null, new House(OwnershipStatus.owned), new House(OwnershipStatus.mortgaged)};
+        Vehicle[] vehicles = {null, new Vehicle(year + 1), new Vehicle(year - 5), new Vehicle(year - 6)};
+        List<List<Integer>> answers = List.of(List.of(0, 0, 0), List.of(0, 1, 0), List.of(1, 0, 1), List.of(1, 1, 1));
+
+        for (int age : ages)
+            for (int income : incomes)
+                for (House house : houses)
+                    for (Vehicle vehicle : vehicles)
+                        for (List<Integer> riskAnswers : answers)
+                            for (int dependents = 0; dependents <= 1; dependents++)
+                                for (MaritalStatus maritalStatus : MaritalStatus.values()) {
+                                    User user = new User(age, dependents, house, income, maritalStatus, riskAnswers, vehicle);
+
+                                    // When
+                                    RiskProfile expected = riskProfileService.buildRiskProfile(user);
+                                    RiskProfile actual = engine.buildRiskProfile(user);
+
+                                    // Then
+                                    assertEquals(plans(expected), plans(actual));
+                                }
+    }
+
+    @Test
+    void givenRiskAnswersOutsideKeySpace_whenBuildRiskProfile_thenFallBackToRuleChain() {
+        // Given
+        User user = new User(35, 0, null, 50000, MaritalStatus.single, List.of(2, 2, 1), null);
+
+        // When
+        RiskProfile riskProfile = engine.buildRiskProfile(user);
+
+        // Then
+        assertEquals(InsurancePlan.responsible, riskProfile.getLife());
+        assertEquals(InsurancePlan.ineligible, riskProfile.getAuto());
+    }
+
+    @Test
+    void givenUserWithinKeySpace_whenPackAndUnpack_thenKeepAllFeatures() {
+        // Given
+        int year = Year.now().getValue();
+        User user = new User(50, 2, new House(OwnershipStatus.mortgaged), 0,
+                MaritalStatus.married, List.of(1, 0, 1), new Vehicle(year - 8));
+
+        // When
+        int key = RiskFeatureKey.of(user, year);
+
+        // Then
+        assertEquals(2, RiskFeatureKey.baseScoreOf(key));
+        assertEquals(RiskFeatureKey.AGE_41_TO_60, RiskFeatureKey.ageBucketOf(key));
+        assertTrue(RiskFeatureKey.noIncomeOf(key));
+        assertFalse(RiskFeatureKey.highIncomeOf(key));
+        assertEquals(RiskFeatureKey.HOUSE_MORTGAGED, RiskFeatureKey.houseOf(key));
+        assertTrue(RiskFeatureKey.dependentsOf(key));
+        assertTrue(RiskFeatureKey.marriedOf(key));
+        assertEquals(RiskFeatureKey.VEHICLE_OLD, RiskFeatureKey.vehicleOf(key));
+    }
+
+    private static String plans(RiskProfile riskProfile) {
+        return Arrays.toString(new InsurancePlan[]{
+                riskProfile.getAuto(), riskProfile.getDisability(), riskProfile.getHome(), riskProfile.getLife()});
+    }
+
+}
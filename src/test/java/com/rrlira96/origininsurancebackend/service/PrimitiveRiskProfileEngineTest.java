@@ -0,0 +1,88 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+
+import static com.rrlira96.origininsurancebackend.model.InsurancePlan.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrimitiveRiskProfileEngineTest {
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+    private final PrimitiveRiskProfileEngine engine = new PrimitiveRiskProfileEngine(CurrentYear.SYSTEM);
+
+    @Test
+    void givenUsersAcrossAllRuleBoundaries_whenBuildRiskProfile_thenMatchRuleChain() {
+        // Given
+        int year = Year.now().getValue();
+        int[] ages = {18, 29, 30, 40, 41, 60, 61, 90};
+        int[] incomes = {0, 1, 200000, 200001};
+        House[] houses = {null, new House(OwnershipStatus.owned), new House(OwnershipStatus.mortgaged)};
+        Vehicle[] vehicles = {null, new Vehicle(year - 5), new Vehicle(year - 6)};
+        List<List<Integer>> answers = List.of(List.of(0, 0, 0), List.of(1, 0, 1), List.of(1, 1, 1), List.of(2, 2, 2));
+
+        for (int age : ages)
+            for (int income : incomes)
+                for (House house : houses)
+                    for (Vehicle vehicle : vehicles)
+                        for (List<Integer> riskAnswers : answers)
+                            for (int dependents = 0; dependents <= 1; dependents++)
+                                for (MaritalStatus maritalStatus : MaritalStatus.values()) {
+                                    User user = new User(age, dependents, house, income, maritalStatus, riskAnswers, vehicle);
+
+                                    // When
+                                    RiskProfile expected = riskProfileService.buildRiskProfile(user);
+                                    RiskProfile actual = engine.buildRiskProfile(user);
+
+                                    // Then
+                                    assertEquals(expected.getAuto(), actual.getAuto());
+                                    assertEquals(expected.getDisability(), actual.getDisability());
+                                    assertEquals(expected.getHome(), actual.getHome());
+                                    assertEquals(expected.getLife(), actual.getLife());
+                                }
+    }
+
+    @Test
+    void givenVehicleFromFiveYearsAgo_whenYearRollsOver_thenVehicleStopsCountingAsNew() {
+        // Given
+        MutableClock clock = new MutableClock(Instant.parse("2025-12-31T23:59:59Z"));
+        PrimitiveRiskProfileEngine rolloverEngine = new PrimitiveRiskProfileEngine(new CurrentYear(clock));
+        User user = new User(50, 0, null, 50000, MaritalStatus.single, List.of(0, 0, 0), new Vehicle(2020));
+
+        // When
+        InsurancePlan beforeRollover = rolloverEngine.buildRiskProfile(user).getAuto();
+        clock.instant = Instant.parse("2026-01-01T00:00:00Z");
+        InsurancePlan afterRollover = rolloverEngine.buildRiskProfile(user).getAuto();
+
+        // Then
+        assertEquals(regular, beforeRollover);
+        assertEquals(economic, afterRollover);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.rrlira96.origininsurancebackend.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskProfileBatchServiceTest {
+
+    private static final String PATH = "/api/v1/risk-profiles/batch";
+    private static final String VALID = "{\"age\":35,\"dependents\":2,\"house\":{\"ownership_status\":\"owned\"},"
+            + "\"income\":0,\"marital_status\":\"married\",\"risk_questions\":[0,1,0],\"vehicle\":{\"year\":2018}}";
+    private static final String YOUNG = "{\"age\":25,\"dependents\":0,\"income\":250000,\"marital_status\":\"single\","
+            + "\"risk_questions\":[1,1,1]}";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new SimpleModule("user").addDeserializer(User.class, new UserDeserializer()))
+            .build();
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+    private final RiskProfileBatchService riskProfileBatchService =
+            new RiskProfileBatchService(objectMapper, riskProfileService, new CompiledUserValidator());
+
+    @Test
+    void givenJsonArray_whenScore_thenWriteOneProfilePerUserInOrder() throws Exception {
+        // When
+        List<String> lines = score("[" + VALID + "," + YOUNG + "]");
+
+        // Then
+        assertEquals(List.of(expected(VALID), expected(YOUNG)), lines);
+    }
+
+    @Test
+    void givenNdjson_whenScore_thenWriteOneProfilePerLineInOrder() throws Exception {
+        // When
+        List<String> lines = score(YOUNG + "\n" + VALID + "\n" + YOUNG + "\n");
+
+        // Then
+        assertEquals(List.of(expected(YOUNG), expected(VALID), expected(YOUNG)), lines);
+    }
+
+    @Test
+    void givenInvalidUser_whenScore_thenReportItsErrorsInlineAndScoreTheRest() throws Exception {
+        // Given
+        String invalid = "{\"age\":0,\"dependents\":-1,\"income\":0,\"marital_status\":\"single\","
+                + "\"risk_questions\":[0,1]}";
+
+        // When
+        List<String> lines = score(VALID + "\n" + invalid + "\n" + YOUNG);
+
+        // Then
+        assertEquals(3, lines.size());
+        assertEquals(expected(VALID), lines.get(0));
+        assertEquals(List.of("Field age must be greater than 0", "Field dependents must be greater than or equal to 0",
+                "Field riskAnswers must be of size 3"), details(lines.get(1)));
+        assertEquals(400, objectMapper.readTree(lines.get(1)).get("errors").get(0).get("status").asInt());
+        assertEquals(PATH, objectMapper.readTree(lines.get(1)).get("errors").get(0).get("path").asText());
+        assertEquals(expected(YOUNG), lines.get(2));
+    }
+
+    @Test
+    void givenUnreadableValue_whenScore_thenReportItAndResumeAtTheNextRecord() throws Exception {
+        // Given
+        String unreadable = "{\"age\":35,\"marital_status\":\"divorced\",\"risk_questions\":[0,0,0]}";
+
+        // When
+        List<String> lines = score("[" + YOUNG + "," + unreadable + "," + VALID + "]");
+
+        // Then
+        assertEquals(3, lines.size());
+        assertEquals(expected(YOUNG), lines.get(0));
+        assertEquals(List.of("Invalid value: divorced"), details(lines.get(1)));
+        assertEquals(expected(VALID), lines.get(2));
+    }
+
+    @Test
+    void givenSyntaxError_whenScore_thenReportItAndStop() throws Exception {
+        // When
+        List<String> lines = score(VALID + "\n{\"age\":35,,}\n" + YOUNG + "\n");
+
+        // Then
+        assertEquals(2, lines.size());
+        assertEquals(expected(VALID), lines.get(0));
+        assertTrue(details(lines.get(1)).get(0).startsWith("Malformed record: "), lines.get(1));
+    }
+
+    @Test
+    void givenBatchScoredInParallelChunks_whenScore_thenKeepInputOrder() throws Exception {
+        // Given
+        int year = Year.now().getValue();
+        List<String> users = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String user = "{\"age\":" + (18 + i % 60) + ",\"dependents\":" + i % 3 + ",\"income\":" + i % 7 * 50000
+                    + ",\"marital_status\":\"" + (i % 2 == 0 ? "single" : "married") + "\",\"risk_questions\":["
+                    + (i & 1) + "," + (i >> 1 & 1) + "," + (i >> 2 & 1) + "]"
+                    + (i % 5 == 0 ? "" : ",\"vehicle\":{\"year\":" + (year - i % 9) + "}")
+                    + (i % 4 == 0 ? "" : ",\"house\":{\"ownership_status\":\"" + (i % 3 == 0 ? "owned" : "mortgaged")
+                    + "\"}")
+                    + "}";
+            users.add(user);
+            expected.add(expected(user));
+        }
+
+        // When
+        List<String> lines = score(String.join("\n", users));
+
+        // Then
+        assertEquals(expected, lines);
+    }
+
+    private List<String> score(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = riskProfileBatchService.score(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                out, PATH);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        assertEquals(written, lines.size());
+        return lines;
+    }
+
+    private String expected(String user) throws Exception {
+        RiskProfile riskProfile = riskProfileService.buildRiskProfile(objectMapper.readValue(user, User.class));
+        return new String(riskProfile.jsonBytes(), StandardCharsets.UTF_8);
+    }
+
+    private List<String> details(String line) throws Exception {
+        List<String> details = new ArrayList<>();
+        for (JsonNode error : objectMapper.readTree(line).get("errors")) details.add(error.get("detail").asText());
+        return details;
+    }
+
+}
@@ -4,12 +4,14 @@ import com.rrlira96.origininsurancebackend.model.*;
 import org.junit.jupiter.api.Test;
 
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static com.rrlira96.origininsurancebackend.model.InsurancePlan.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class RiskProfileServiceTest {
 
@@ -309,10 +311,10 @@ class RiskProfileServiceTest {
         User user = new User(20, 0, null, 50000,
                 MaritalStatus.single, List.of(1, 1, 1), null);
 
-        RiskProfile riskProfile = new RiskProfile();
+        RiskProfile scoredProfile = RiskProfile.of(regular, regular, regular, regular);
 
         // When
-        RiskProfileService.setIneligibleInsurance(user, riskProfile);
+        RiskProfile riskProfile = RiskProfileService.withIneligibleInsurance(user, scoredProfile);
 
         // Then
         assertEquals(ineligible, riskProfile.getAuto());
@@ -325,14 +327,34 @@ class RiskProfileServiceTest {
         User user = new User(66, 3, new House(OwnershipStatus.owned), 50000,
                 MaritalStatus.married, List.of(0, 1, 1), new Vehicle(2023));
 
-        RiskProfile riskProfile = new RiskProfile();
+        RiskProfile scoredProfile = RiskProfile.of(regular, regular, regular, regular);
 
         // When
-        RiskProfileService.setIneligibleInsurance(user, riskProfile);
+        RiskProfile riskProfile = RiskProfileService.withIneligibleInsurance(user, scoredProfile);
 
         // Then
         assertEquals(ineligible, riskProfile.getDisability());
         assertEquals(ineligible, riskProfile.getLife());
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenRuleTimer_whenBuildRiskProfile_thenTimeEveryRuleAndReturnSameProfile() {
+        // Given
+        User user = new User(35, 2, new House(OwnershipStatus.mortgaged), 250000,
+                MaritalStatus.married, List.of(0, 1, 0), new Vehicle(Year.now().getValue() - 1));
+        RiskProfileService service = new RiskProfileService();
+        List<String> timedRules = new ArrayList<>();
+
+        // When
+        RiskProfile riskProfile = service.buildRiskProfile(user, (rule, start) -> {
+            timedRules.add(rule);
+            return System.nanoTime();
+        });
+
+        // Then
+        assertSame(service.buildRiskProfile(user), riskProfile);
+        assertEquals(List.of("base_score", "age", "income", "house", "dependents", "marital_status", "vehicle",
+                "plans", "ineligible"), timedRules);
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.rrlira96.origininsurancebackend.service;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetRiskProfileEngine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks every alternative scoring engine against {@link RiskProfileService} on the whole input domain, reduced to
+ * its equivalence classes: one value on each side of every rule boundary (and the extremes) for each field, in every
+ * combination. The same domain then times each engine against the rule chain, and an engine slower than
+ * {@code scoring.gate.max-ratio} times the rule chain (0.75 by default) fails the build. Timing depends on the machine,
+ * so that check is tagged {@value #SPEED_GATE} and only runs with the {@code perf} profile.
+ */
+class ScoringEquivalenceTest {
+
+    static final String SPEED_GATE = "perf";
+
+    private static final int YEAR = Year.now().getValue();
+    private static final int[] AGES = {1, 18, 29, 30, 31, 39, 40, 41, 59, 60, 61, 100};
+    private static final int[] INCOMES = {0, 1, 199999, 200000, 200001, Integer.MAX_VALUE};
+    private static final Integer[] VEHICLE_YEARS = {null, YEAR + 1, YEAR, YEAR - 4, YEAR - 5, YEAR - 6, YEAR - 50, 0,
+            -1};
+    private static final OwnershipStatus[] HOUSES = {null, OwnershipStatus.owned, OwnershipStatus.mortgaged};
+    private static final int[] DEPENDENTS = {0, 1, 5};
+    private static final MaritalStatus[] MARITAL_STATUSES = MaritalStatus.values();
+    private static final int RISK_ANSWERS = 8;
+    private static final int DOMAIN = AGES.length * INCOMES.length * VEHICLE_YEARS.length * HOUSES.length
+            * DEPENDENTS.length * MARITAL_STATUSES.length * RISK_ANSWERS;
+
+    private static final int CHUNK = 4096;
+    private static final long WARM_UP_NANOS = 500_000_000L;
+    private static final int TIMED_PASSES = 3;
+    private static final int TIMED_ROUNDS = 5;
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+    private final User[] users = IntStream.range(0, DOMAIN).mapToObj(ScoringEquivalenceTest::user).toArray(User[]::new);
+    private final UserColumns columns = columns(users);
+
+    @Test
+    void givenEveryEquivalenceClassOfUser_whenScoreWithEachEngine_thenMatchRuleChain() {
+        // Given
+        byte[] expected = scoreInParallel(engine(riskProfileService));
+
+        for (Map.Entry<String, DomainScorer> candidate : candidates().entrySet()) {
+            // When
+            byte[] actual = scoreInParallel(candidate.getValue());
+
+            // Then
+            List<String> mismatches = IntStream.range(0, DOMAIN)
+                    .filter(i -> actual[i] != expected[i])
+                    .limit(5)
+                    .mapToObj(i -> describe(users[i]) + ": expected " + RiskProfile.fromCode(expected[i] & 0xFF)
+                            + " but was " + RiskProfile.fromCode(actual[i] & 0xFF))
+                    .collect(Collectors.toList());
+            assertTrue(mismatches.isEmpty(), candidate.getKey() + " differs from the rule chain on " + mismatches);
+        }
+    }
+
+    @Test
+    @Tag(SPEED_GATE)
+    void givenEveryEquivalenceClassOfUser_whenTimeEachEngine_thenNoneSlowerThanTheGateAllows() {
+        // Given
+        double maxRatio = Double.parseDouble(System.getProperty("scoring.gate.max-ratio", "0.75"));
+        double reference = nanosPerUser(engine(riskProfileService));
+
+        // When
+        StringBuilder timings = new StringBuilder(String.format("rule chain %.1f ns/user", reference));
+        List<String> slower = new ArrayList<>();
+        for (Map.Entry<String, DomainScorer> candidate : candidates().entrySet()) {
+            double nanos = nanosPerUser(candidate.getValue());
+            timings.append(String.format(", %s %.1f ns/user (%.2fx)", candidate.getKey(), nanos, nanos / reference));
+            if (nanos > reference * maxRatio) slower.add(candidate.getKey());
+        }
+
+        // Then
+        assertTrue(slower.isEmpty(), slower + " take more than " + maxRatio + " times as long as the rule chain: "
+                + timings);
+    }
+
+    private Map<String, DomainScorer> candidates() {
+        Map<String, DomainScorer> candidates = new LinkedHashMap<>();
+        candidates.put("decision-table", engine(new DecisionTableRiskProfileEngine(riskProfileService,
+                CurrentYear.SYSTEM)));
+        candidates.put("primitive", engine(new PrimitiveRiskProfileEngine(CurrentYear.SYSTEM)));
+        candidates.put("rule-set", engine(new RuleSetRiskProfileEngine(RuleSet.DEFAULT, CurrentYear.SYSTEM)));
+        // Not thread-safe, so one per thread
+        ThreadLocal<ColumnarRiskProfileScorer> columnar =
+                ThreadLocal.withInitial(() -> new ColumnarRiskProfileScorer(CurrentYear.SYSTEM));
+        candidates.put("columnar", (from, to, codes) -> columnar.get().score(columns, from, to, codes));
+        return candidates;
+    }
+
+    private DomainScorer engine(RiskProfileEngine engine) {
+        return (from, to, codes) -> {
+            for (int i = from; i < to; i++) codes[i] = (byte) engine.buildRiskProfile(users[i]).code();
+        };
+    }
+
+    private static byte[] scoreInParallel(DomainScorer scorer) {
+        byte[] codes = new byte[DOMAIN];
+        IntStream.range(0, (DOMAIN + CHUNK - 1) / CHUNK).parallel()
+                .forEach(chunk -> scorer.score(chunk * CHUNK, Math.min(DOMAIN, (chunk + 1) * CHUNK), codes));
+        return codes;
+    }
+
+    /**
+     * Best of a few rounds over the whole domain, on one thread, after half a second of warm-up for the JIT.
+     */
+    private static double nanosPerUser(DomainScorer scorer) {
+        byte[] codes = new byte[DOMAIN];
+        long warmUpEnd = System.nanoTime() + WARM_UP_NANOS;
+        while (System.nanoTime() - warmUpEnd < 0) scorer.score(0, DOMAIN, codes);
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < TIMED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int pass = 0; pass < TIMED_PASSES; pass++) scorer.score(0, DOMAIN, codes);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / TIMED_PASSES / DOMAIN;
+    }
+
+    private static User user(int index) {
+        int answers = index % RISK_ANSWERS;
+        index /= RISK_ANSWERS;
+        MaritalStatus maritalStatus = MARITAL_STATUSES[index % MARITAL_STATUSES.length];
+        index /= MARITAL_STATUSES.length;
+        int dependents = DEPENDENTS[index % DEPENDENTS.length];
+        index /= DEPENDENTS.length;
+        OwnershipStatus house = HOUSES[index % HOUSES.length];
+        index /= HOUSES.length;
+        Integer vehicleYear = VEHICLE_YEARS[index % VEHICLE_YEARS.length];
+        index /= VEHICLE_YEARS.length;
+        int income = INCOMES[index % INCOMES.length];
+        index /= INCOMES.length;
+        int age = AGES[index];
+
+        return new User(age, dependents, house == null ? null : new House(house), income, maritalStatus,
+                List.of(answers & 1, answers >> 1 & 1, answers >> 2 & 1),
+                vehicleYear == null ? null : new Vehicle(vehicleYear));
+    }
+
+    private static UserColumns columns(User[] users) {
+        UserColumns columns = new UserColumns(users.length);
+        for (int row = 0; row < users.length; row++) columns.set(row, users[row]);
+        return columns;
+    }
+
+    private static String describe(User user) {
+        List<Object> fields = new ArrayList<>();
+        fields.add("age=" + user.getAge());
+        fields.add("income=" + user.getIncome());
+        fields.add("vehicle=" + (user.getVehicle() == null ? null : user.getVehicle().getYear()));
+        fields.add("house=" + (user.getHouse() == null ? null : user.getHouse().getOwnershipStatus()));
+        fields.add("dependents=" + user.getDependents());
+        fields.add("marital_status=" + user.getMaritalStatus());
+        fields.add("risk_questions=" + user.getRiskAnswers());
+        return fields.toString();
+    }
+
+    @FunctionalInterface
+    private interface DomainScorer {
+
+        void score(int from, int to, byte[] codes);
+
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.rrlira96.origininsurancebackend.shadow;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShadowEvaluatorTest {
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenCandidateWithLowerHighIncome_whenOfferEveryRequest_thenCountDivergencesByLineAndTransition()
+            throws Exception {
+        // Given
+        RuleSet candidateRules = ruleSet("version=v2\nincome.high.above=100000\n");
+        ShadowEvaluator evaluator = new ShadowEvaluator(new RuleSetRiskProfileEngine(candidateRules,
+                CurrentYear.SYSTEM), candidateRules.version(), 1, 2, 4096);
+        long expected = 0;
+        for (int income = 50000; income < 250000; income += 1000) {
+            User user = new User(45, 0, null, income, MaritalStatus.single, List.of(0, 1, 0), null);
+            RiskProfile primary = riskProfileService.buildRiskProfile(user);
+
+            // When
+            evaluator.offer(user, primary);
+            if (income > 100000 && income <= 200000) expected++;
+        }
+        awaitCompared(evaluator, 200);
+
+        // Then
+        Map<String, Object> report = evaluator.report();
+        assertEquals("v2", report.get("candidate"));
+        assertEquals(200L, report.get("sampled"));
+        assertEquals(0L, report.get("dropped"));
+        assertEquals(expected, report.get("diverged"));
+        Map<String, Map<String, Long>> divergences = (Map<String, Map<String, Long>>) report.get("divergences");
+        assertTrue(divergences.get("auto").isEmpty());
+        assertEquals(Map.of("regular->economic", expected), divergences.get("disability"));
+        assertTrue(divergences.get("home").isEmpty());
+        assertEquals(Map.of("regular->economic", expected), divergences.get("life"));
+        evaluator.close();
+    }
+
+    @Test
+    void givenSaturatedShadowPool_whenOffer_thenDropWithoutWaiting() throws Exception {
+        // Given a candidate that holds the only shadow thread until released
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ShadowEvaluator evaluator = new ShadowEvaluator(user -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return RiskProfile.fromCode(0);
+        }, "blocking", 1, 1, 2);
+        User user = new User(35, 0, null, 0, MaritalStatus.single, List.of(0, 0, 0), null);
+        evaluator.offer(user, RiskProfile.fromCode(0));
+        started.await();
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) evaluator.offer(user, RiskProfile.fromCode(0));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+
+        // Then
+        assertTrue(elapsedMillis < 1000, "offer waited " + elapsedMillis + " ms");
+        assertEquals(11L, evaluator.report().get("sampled"));
+        assertEquals(8L, evaluator.report().get("dropped"));
+        evaluator.close();
+    }
+
+    @Test
+    void givenCandidateRuleSetChange_whenReport_thenStartOverForTheNewVersion() throws Exception {
+        // Given
+        ShadowEvaluator evaluator = new ShadowEvaluator(riskProfileService, "v1", 1, 1, 16);
+        User user = new User(35, 0, null, 0, MaritalStatus.single, List.of(0, 0, 0), null);
+        evaluator.offer(user, RiskProfile.fromCode(0));
+        awaitCompared(evaluator, 1);
+
+        // When
+        evaluator.onRuleSetChange(RuleSet.DEFAULT, ruleSet("version=v3\n"));
+
+        // Then
+        Map<String, Object> report = evaluator.report();
+        assertEquals("v3", report.get("candidate"));
+        assertEquals(0L, report.get("sampled"));
+        assertEquals(0L, report.get("compared"));
+        evaluator.close();
+    }
+
+    private static void awaitCompared(ShadowEvaluator evaluator, long expected) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if ((long) evaluator.report().get("compared") == expected) return;
+            Thread.sleep(10);
+        }
+        fail("Shadow evaluator compared " + evaluator.report().get("compared") + " of " + expected);
+    }
+
+    private static RuleSet ruleSet(String properties) throws IOException {
+        Properties loaded = new Properties();
+        loaded.load(new StringReader(properties));
+        return RuleSet.of(loaded, "test");
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.rrlira96.origininsurancebackend.sweep;
+
+import com.rrlira96.origininsurancebackend.model.*;
+import com.rrlira96.origininsurancebackend.rules.RuleSet;
+import com.rrlira96.origininsurancebackend.rules.RuleSetRiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.RiskProfileEngine;
+import com.rrlira96.origininsurancebackend.service.RiskProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskProfileSweepServiceTest {
+
+    private static final int YEAR = CurrentYear.SYSTEM.get();
+
+    private final RiskProfileService riskProfileService = new RiskProfileService();
+
+    @Test
+    void givenEveryField_whenSweep_thenEachValueScoresAsOnItsOwn() {
+        // Given
+        AtomicInteger evaluations = new AtomicInteger();
+        RiskProfileEngine counting = user -> {
+            evaluations.incrementAndGet();
+            return riskProfileService.buildRiskProfile(user);
+        };
+        RiskProfileSweepService service = service(counting, null);
+        List<SweepRange> ranges = List.of(new SweepRange(SweepField.age, 1, 120),
+                new SweepRange(SweepField.income, 0, 400_000), new SweepRange(SweepField.dependents, 0, 5),
+                new SweepRange(SweepField.vehicle_year, YEAR - 30, YEAR + 1));
+
+        for (User base : List.of(user(35, 50_000, null), user(70, 0, new House(OwnershipStatus.mortgaged)))) {
+            SweepRequest request = new SweepRequest(base, ranges);
+
+            // When
+            assertFalse(service.validate(request).hasErrors());
+            evaluations.set(0);
+            SweepResponse response = service.sweep(request);
+
+            // Then
+            assertTrue(evaluations.get() <= 12, "evaluations: " + evaluations.get());
+            for (int i = 0; i < ranges.size(); i++) assertCovers(base, ranges.get(i), response.getSweeps().get(i));
+        }
+    }
+
+    @Test
+    void givenRuleSetEngine_whenSweep_thenCutAtItsThresholds() {
+        // Given
+        Properties properties = new Properties();
+        properties.setProperty(RuleSet.AGE_YOUNG_BELOW, "25");
+        properties.setProperty(RuleSet.AGE_INELIGIBLE_ABOVE, "65");
+        RuleSetRiskProfileEngine engine = new RuleSetRiskProfileEngine(RuleSet.of(properties, "test"),
+                CurrentYear.SYSTEM);
+        RiskProfileSweepService service = service(engine, engine);
+        SweepRange range = new SweepRange(SweepField.age, 18, 90);
+
+        // When
+        SweepResponse response = service.sweep(new SweepRequest(user(35, 50_000, null), List.of(range)));
+
+        // Then
+        Sweep sweep = response.getSweeps().get(0);
+        assertEquals(List.of(18, 25, 41, 66), sweep.getIntervals().stream().map(SweepInterval::getFrom)
+                .collect(Collectors.toList()));
+        for (SweepInterval interval : sweep.getIntervals()) {
+            for (int age = interval.getFrom(); age <= interval.getTo(); age++) {
+                assertSame(engine.buildRiskProfile(SweepField.age.with(user(35, 50_000, null), age)),
+                        interval.getRiskProfile());
+            }
+        }
+    }
+
+    @Test
+    void givenInvalidUserAndRanges_whenValidate_thenRejectEachByPath() {
+        // Given
+        RiskProfileSweepService service = service(riskProfileService, null);
+        SweepRequest request = new SweepRequest(user(0, 50_000, null), List.of(
+                new SweepRange(SweepField.age, 0, 10), new SweepRange(SweepField.income, 10, 5),
+                new SweepRange(null, 0, 1)));
+
+        // When
+        BindingResult bindingResult = service.validate(request);
+
+        // Then
+        assertEquals(List.of("user.age", "ranges[0].from", "ranges[1].to", "ranges[2].field"),
+                bindingResult.getFieldErrors().stream().map(FieldError::getField).collect(Collectors.toList()));
+    }
+
+    private void assertCovers(User base, SweepRange range, Sweep sweep) {
+        int next = range.getFrom();
+        RiskProfile previous = null;
+        for (SweepInterval interval : sweep.getIntervals()) {
+            assertEquals(next, interval.getFrom());
+            assertNotSame(previous, interval.getRiskProfile());
+            // Every value of small ranges, and the edges and a midpoint of wide ones
+            int step = Math.max(1, (interval.getTo() - interval.getFrom()) / 100);
+            for (long value = interval.getFrom(); value <= interval.getTo(); value += step) {
+                assertSame(riskProfileService.buildRiskProfile(range.getField().with(base, (int) value)),
+                        interval.getRiskProfile(), range.getField() + "=" + value);
+            }
+            assertSame(riskProfileService.buildRiskProfile(range.getField().with(base, interval.getTo())),
+                    interval.getRiskProfile());
+            previous = interval.getRiskProfile();
+            next = interval.getTo() + 1;
+        }
+        assertEquals(range.getTo() + 1, next);
+    }
+
+    private static RiskProfileSweepService service(RiskProfileEngine engine, RuleSetRiskProfileEngine ruleSetEngine) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (ruleSetEngine != null) beanFactory.addBean("ruleSetRiskProfileEngine", ruleSetEngine);
+        return new RiskProfileSweepService(engine, new CompiledUserValidator(), CurrentYear.SYSTEM,
+                beanFactory.getBeanProvider(RuleSetRiskProfileEngine.class));
+    }
+
+    private static User user(int age, int income, House house) {
+        return new User(age, 1, house, income, MaritalStatus.married, List.of(0, 1, 0), new Vehicle(YEAR - 3));
+    }
+
+}
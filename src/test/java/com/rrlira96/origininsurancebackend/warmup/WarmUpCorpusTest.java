@@ -0,0 +1,94 @@
+package com.rrlira96.origininsurancebackend.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.rrlira96.origininsurancebackend.controller.UserQuery;
+import com.rrlira96.origininsurancebackend.model.CompiledUserValidator;
+import com.rrlira96.origininsurancebackend.model.User;
+import com.rrlira96.origininsurancebackend.model.UserDeserializer;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import com.rrlira96.origininsurancebackend.service.RiskFeatureKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MapBindingResult;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmUpCorpusTest {
+
+    private static final int YEAR = CurrentYear.SYSTEM.get();
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addDeserializer(User.class, new UserDeserializer()));
+    private final CompiledUserValidator validator = new CompiledUserValidator();
+
+    @Test
+    void givenCorpusUsers_whenKeyed_thenReachEveryRuleInputCombination() {
+        // Given
+        Set<Integer> reachable = new HashSet<>();
+        for (int key = 0; key < RiskFeatureKey.SIZE; key++) {
+            if (RiskFeatureKey.isReachable(key)) reachable.add(key);
+        }
+
+        // When
+        Set<Integer> keys = new HashSet<>();
+        for (User user : WarmUpCorpus.users(YEAR)) keys.add(RiskFeatureKey.of(user, YEAR));
+
+        // Then
+        assertEquals(reachable, keys);
+    }
+
+    @Test
+    void givenCorpusRequests_whenExpectedToFail_thenRejectedByBindingOrValidation() throws IOException {
+        // Given
+        List<WarmUpRequest> requests = WarmUpCorpus.requests(objectMapper, YEAR);
+
+        // When / Then
+        int rejections = 0;
+        for (WarmUpRequest request : requests) {
+            if (request.expectedStatus != 400) continue;
+            rejections++;
+            assertTrue(rejected(request), request.toString());
+        }
+        assertTrue(rejections >= 10, "rejections: " + rejections);
+        for (WarmUpRequest request : requests) {
+            if (request.expectedStatus == 200 && request.pathAndQuery.equals(WarmUpCorpus.PATH)) {
+                assertFalse(rejected(request), request.toString());
+            }
+        }
+    }
+
+    private boolean rejected(WarmUpRequest request) {
+        User user;
+        BindingResult bindingResult = new MapBindingResult(new HashMap<>(), "user");
+        if (request.body == null) {
+            user = UserQuery.parse(parameters(request.pathAndQuery), bindingResult);
+        } else {
+            try {
+                user = objectMapper.readValue(request.body, User.class);
+            } catch (IOException ex) {
+                return true;
+            }
+        }
+        if (user != null) validator.validate(user, bindingResult);
+        return bindingResult.hasErrors();
+    }
+
+    private static Map<String, String[]> parameters(String pathAndQuery) {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        for (String pair : pathAndQuery.substring(pathAndQuery.indexOf('?') + 1).split("&")) {
+            int equals = pair.indexOf('=');
+            parameters.put(pair.substring(0, equals), new String[]{pair.substring(equals + 1)});
+        }
+        return parameters;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.rrlira96.origininsurancebackend.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rrlira96.origininsurancebackend.metrics.RiskProfileMetrics;
+import com.rrlira96.origininsurancebackend.metrics.Stage;
+import com.rrlira96.origininsurancebackend.model.RiskProfile;
+import com.rrlira96.origininsurancebackend.service.CurrentYear;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmUpTrafficFilterTest {
+
+    private final WarmUp warmUp = new WarmUp(new ObjectMapper(), CurrentYear.SYSTEM, Duration.ofSeconds(1), 1);
+    private final WarmUpTrafficFilter filter = new WarmUpTrafficFilter(warmUp);
+
+    @BeforeEach
+    void startWarmUp() {
+        WarmUpTraffic.started();
+    }
+
+    @AfterEach
+    void endWarmUp() {
+        WarmUpTraffic.ended();
+    }
+
+    @Test
+    void givenWarmUpToken_whenFilter_thenMarkOnlyThatRequest() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/risk-profiles");
+        request.addHeader(WarmUp.HEADER, warmUp.token());
+        List<Boolean> marked = new ArrayList<>();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> marked.add(WarmUpTraffic.isCurrent()));
+
+        // Then
+        assertEquals(List.of(true), marked);
+        assertFalse(WarmUpTraffic.isCurrent());
+    }
+
+    @Test
+    void givenMissingOrWrongToken_whenFilter_thenDoNotMark() throws Exception {
+        // Given
+        MockHttpServletRequest plain = new MockHttpServletRequest("POST", "/api/v1/risk-profiles");
+        MockHttpServletRequest forged = new MockHttpServletRequest("POST", "/api/v1/risk-profiles");
+        forged.addHeader(WarmUp.HEADER, "true");
+        List<Boolean> marked = new ArrayList<>();
+
+        // When
+        filter.doFilter(plain, new MockHttpServletResponse(), (req, res) -> marked.add(WarmUpTraffic.isCurrent()));
+        filter.doFilter(forged, new MockHttpServletResponse(), (req, res) -> marked.add(WarmUpTraffic.isCurrent()));
+
+        // Then
+        assertEquals(List.of(false, false), marked);
+    }
+
+    @Test
+    void givenWarmUpRequest_whenRecordMetrics_thenLeaveThemUntouched() throws Exception {
+        // Given
+        RiskProfileMetrics metrics = new RiskProfileMetrics(true, 1);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/risk-profiles");
+        request.addHeader(WarmUp.HEADER, warmUp.token());
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            metrics.stage(Stage.scoring).record(1_000);
+            metrics.recordOutcome(RiskProfile.fromCode(0));
+            metrics.recordValidationFailure("age");
+        });
+
+        // Then
+        StringBuilder scrape = new StringBuilder();
+        metrics.writeTo(scrape);
+        assertTrue(scrape.indexOf("risk_profile_stage_duration_seconds_count{stage=\"scoring\"} 0\n") >= 0);
+        assertFalse(scrape.toString().matches("(?s).*risk_profile_(outcomes|validation_failures)_total\\{[^}]*} 1\n.*"),
+                scrape.toString());
+    }
+
+}